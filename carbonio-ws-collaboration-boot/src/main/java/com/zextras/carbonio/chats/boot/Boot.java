@@ -6,11 +6,14 @@ package com.zextras.carbonio.chats.boot;
 
 import com.google.inject.Inject;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zextras.carbonio.chats.core.cache.CacheInvalidationBroadcaster;
 import com.zextras.carbonio.chats.core.config.AppConfig;
 import com.zextras.carbonio.chats.core.config.ConfigName;
 import com.zextras.carbonio.chats.core.config.ServerConfiguration;
 import com.zextras.carbonio.chats.core.exception.InternalErrorException;
 import com.zextras.carbonio.chats.core.infrastructure.authentication.AuthenticationService;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.impl.VideoServerConnectionPool;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.impl.VideoServerReaper;
 import com.zextras.carbonio.chats.core.logging.ChatsLogger;
 import com.zextras.carbonio.chats.core.web.security.EventsWebSocketAuthenticationFilter;
 import com.zextras.carbonio.chats.core.web.socket.EventsWebSocketEndpointConfigurator;
@@ -44,6 +47,9 @@ public class Boot {
   private final AuthenticationService authenticationService;
   private final EventsWebSocketManager eventsWebSocketManager;
   private final VideoServerEventListener videoServerEventListener;
+  private final VideoServerConnectionPool videoServerConnectionPool;
+  private final VideoServerReaper videoServerReaper;
+  private final CacheInvalidationBroadcaster cacheInvalidationBroadcaster;
   private final AppConfig appConfig;
 
   @Inject
@@ -55,6 +61,9 @@ public class Boot {
       AuthenticationService authenticationService,
       EventsWebSocketManager eventsWebSocketManager,
       VideoServerEventListener videoServerEventListener,
+      VideoServerConnectionPool videoServerConnectionPool,
+      VideoServerReaper videoServerReaper,
+      CacheInvalidationBroadcaster cacheInvalidationBroadcaster,
       AppConfig appConfig) {
     this.serverConfiguration = serverConfiguration;
     this.resteasyListener = resteasyListener;
@@ -63,6 +72,9 @@ public class Boot {
     this.authenticationService = authenticationService;
     this.eventsWebSocketManager = eventsWebSocketManager;
     this.videoServerEventListener = videoServerEventListener;
+    this.videoServerConnectionPool = videoServerConnectionPool;
+    this.videoServerReaper = videoServerReaper;
+    this.cacheInvalidationBroadcaster = cacheInvalidationBroadcaster;
     this.appConfig = appConfig;
   }
 
@@ -92,7 +104,15 @@ public class Boot {
           List<String> supportedVersions = VersionProvider.getSupportedVersions();
           wsContainer.addEndpoint(
               ServerEndpointConfig.Builder.create(EventsWebSocketManager.class, "/events")
-                  .configurator(new EventsWebSocketEndpointConfigurator(eventsWebSocketManager))
+                  .configurator(
+                      new EventsWebSocketEndpointConfigurator(
+                          eventsWebSocketManager,
+                          appConfig
+                              .get(Boolean.class, ConfigName.WEBSOCKET_COMPRESSION_ENABLED)
+                              .orElse(true),
+                          appConfig
+                              .get(Boolean.class, ConfigName.WEBSOCKET_COMPRESSION_CONTEXT_TAKEOVER)
+                              .orElse(false)))
                   .subprotocols(supportedVersions)
                   .build());
           servletContext
@@ -109,6 +129,10 @@ public class Boot {
     context.addServlet(new ServletHolder(HttpServletDispatcher.class), "/*");
 
     videoServerEventListener.start();
+    videoServerConnectionPool.start();
+    videoServerReaper.start();
+    eventsWebSocketManager.start();
+    cacheInvalidationBroadcaster.start();
 
     server.start();
 
@@ -6,26 +6,163 @@ package com.zextras.carbonio.chats.core.cache;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.zextras.carbonio.chats.core.config.AppConfig;
+import com.zextras.carbonio.chats.core.config.ConfigName;
+import com.zextras.carbonio.chats.core.data.model.RoomMembership;
 import com.zextras.carbonio.chats.core.data.model.UserProfile;
 import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
 
 @Singleton
 public class CacheHandler {
 
+  public static final String ROOM_MEMBERSHIP_CACHE = "room-membership";
+
   private final Cache<String, UserProfile> userProfileCache;
+  private final Cache<String, Optional<String>> authTokenCache;
+  private final Cache<String, RoomMembership> roomMembershipCache;
+  private final Cache<String, List<String>> meetingSessionsCache;
+  private volatile BiConsumer<String, String> invalidationListener;
 
   @Inject
-  public CacheHandler() {
+  public CacheHandler(AppConfig appConfig) {
     this.userProfileCache =
-        Caffeine.newBuilder().expireAfterWrite(Duration.ofMinutes(60)).maximumSize(100).build();
+        Caffeine.newBuilder()
+            .expireAfterWrite(
+                Duration.ofSeconds(
+                    appConfig
+                        .get(Integer.class, ConfigName.USER_PROFILE_CACHE_TTL_IN_SEC)
+                        .orElse(3600)))
+            .maximumSize(
+                appConfig.get(Integer.class, ConfigName.USER_PROFILE_CACHE_MAX_SIZE).orElse(10000))
+            .build();
+    this.authTokenCache =
+        Caffeine.newBuilder()
+            .maximumSize(
+                appConfig.get(Integer.class, ConfigName.AUTH_TOKEN_CACHE_MAX_SIZE).orElse(10000))
+            .expireAfter(
+                new AuthTokenExpiry(
+                    Duration.ofSeconds(
+                        appConfig
+                            .get(Integer.class, ConfigName.AUTH_TOKEN_CACHE_TTL_IN_SEC)
+                            .orElse(60)),
+                    Duration.ofSeconds(
+                        appConfig
+                            .get(Integer.class, ConfigName.AUTH_TOKEN_CACHE_NEGATIVE_TTL_IN_SEC)
+                            .orElse(10))))
+            .build();
+    this.roomMembershipCache =
+        Caffeine.newBuilder()
+            .expireAfterWrite(
+                Duration.ofSeconds(
+                    appConfig
+                        .get(Integer.class, ConfigName.ROOM_MEMBERSHIP_CACHE_TTL_IN_SEC)
+                        .orElse(30)))
+            .maximumSize(
+                appConfig
+                    .get(Integer.class, ConfigName.ROOM_MEMBERSHIP_CACHE_MAX_SIZE)
+                    .orElse(10000))
+            .build();
+    this.meetingSessionsCache =
+        Caffeine.newBuilder()
+            .expireAfterWrite(
+                Duration.ofSeconds(
+                    appConfig
+                        .get(Integer.class, ConfigName.MEETING_SESSIONS_CACHE_TTL_IN_SEC)
+                        .orElse(5)))
+            .maximumSize(
+                appConfig
+                    .get(Integer.class, ConfigName.MEETING_SESSIONS_CACHE_MAX_SIZE)
+                    .orElse(10000))
+            .build();
+    this.invalidationListener = (cacheName, key) -> {};
     Runtime.getRuntime()
-        .addShutdownHook(
-            new Thread(this.userProfileCache::invalidateAll, "Cache handler shutdown hook"));
+        .addShutdownHook(new Thread(this::invalidateAll, "Cache handler shutdown hook"));
   }
 
   public Cache<String, UserProfile> getUserProfileCache() {
     return userProfileCache;
   }
+
+  /**
+   * Returns the cache of the validated authentication tokens. A token is mapped to the
+   * identifier of its user, or to an empty {@link Optional} if it was rejected: the two cases
+   * expire after different times.
+   */
+  public Cache<String, Optional<String>> getAuthTokenCache() {
+    return authTokenCache;
+  }
+
+  /**
+   * Returns the cache of the rooms members, keyed by room identifier. Entries are only loaded
+   * through {@link Cache#get}, so an invalidation can never be overwritten by a membership read
+   * before it. Every service method which changes the subscriptions of a room must invalidate its
+   * entry with {@link #invalidateRoomMembership}; the expiration only bounds how long a node can
+   * see a stale membership when an invalidation does not reach it.
+   */
+  public Cache<String, RoomMembership> getRoomMembershipCache() {
+    return roomMembershipCache;
+  }
+
+  /**
+   * Invalidates the cached members of a room on this node and notifies the invalidation listener,
+   * so that the other nodes invalidate it as well.
+   *
+   * @param roomId room identifier
+   */
+  public void invalidateRoomMembership(String roomId) {
+    roomMembershipCache.invalidate(roomId);
+    invalidationListener.accept(ROOM_MEMBERSHIP_CACHE, roomId);
+  }
+
+  /**
+   * Sets the listener notified of the invalidations made on this node, receiving the name of the
+   * cache and the invalidated key.
+   */
+  public void setInvalidationListener(BiConsumer<String, String> invalidationListener) {
+    this.invalidationListener = invalidationListener;
+  }
+
+  /**
+   * Returns the cache of the users which have a video server session in a meeting, keyed by
+   * meeting identifier. It is used to route the video server events, so it is invalidated when a
+   * session is created or destroyed on this node and expires quickly to pick up the changes made
+   * by the other nodes.
+   */
+  public Cache<String, List<String>> getMeetingSessionsCache() {
+    return meetingSessionsCache;
+  }
+
+  public void invalidateAll() {
+    userProfileCache.invalidateAll();
+    authTokenCache.invalidateAll();
+    roomMembershipCache.invalidateAll();
+    meetingSessionsCache.invalidateAll();
+  }
+
+  private record AuthTokenExpiry(Duration validTokenTtl, Duration rejectedTokenTtl)
+      implements Expiry<String, Optional<String>> {
+
+    @Override
+    public long expireAfterCreate(String token, Optional<String> userId, long currentTime) {
+      return (userId.isPresent() ? validTokenTtl : rejectedTokenTtl).toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String token, Optional<String> userId, long currentTime, long currentDuration) {
+      return expireAfterCreate(token, userId, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        String token, Optional<String> userId, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
 }
@@ -0,0 +1,141 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.cache;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.BuiltinExchangeType;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Delivery;
+import com.rabbitmq.client.Recoverable;
+import com.rabbitmq.client.RecoveryListener;
+import com.zextras.carbonio.chats.core.logging.ChatsLogger;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts the cache invalidations made on this node to the other nodes through a fanout
+ * exchange of the message broker, and applies the ones they broadcast. Every node consumes from
+ * its own exclusive queue bound to the exchange and skips the invalidations it sent itself.
+ *
+ * <p>An invalidation is sent with the name of the cache as routing key and the invalidated key as
+ * body. When the broker is not reachable the invalidations are lost, and the other nodes see the
+ * stale entries until they expire.
+ */
+@Singleton
+public class CacheInvalidationBroadcaster {
+
+  private static final String EXCHANGE = "ws-collaboration-cache-invalidations";
+  private static final String NODE_QUEUE_PREFIX = "ws-collaboration-cache-node-";
+
+  private final Channel channel;
+  private final String nodeId;
+  private final String nodeQueue;
+  private final Map<String, Consumer<String>> handlers;
+
+  @Inject
+  public CacheInvalidationBroadcaster(Channel channel, CacheHandler cacheHandler) {
+    this.channel = channel;
+    this.nodeId = UUID.randomUUID().toString();
+    this.nodeQueue = NODE_QUEUE_PREFIX + nodeId;
+    this.handlers = new ConcurrentHashMap<>();
+    subscribe(
+        CacheHandler.ROOM_MEMBERSHIP_CACHE,
+        roomId -> cacheHandler.getRoomMembershipCache().invalidate(roomId));
+    cacheHandler.setInvalidationListener(this::broadcast);
+    if (channel instanceof Recoverable recoverableChannel) {
+      recoverableChannel.addRecoveryListener(
+          new RecoveryListener() {
+            @Override
+            public void handleRecovery(Recoverable recoverable) {
+              ChatsLogger.warn("Cache invalidation channel recovery completed successfully");
+              start();
+            }
+
+            @Override
+            public void handleRecoveryStarted(Recoverable recoverable) {
+              ChatsLogger.warn("Cache invalidation channel recovery started...");
+            }
+          });
+    }
+  }
+
+  /** Declares the exchange and the queue of this node, and starts consuming from it. */
+  public void start() {
+    if (channel == null || !channel.isOpen()) {
+      ChatsLogger.error("Unable to start cache invalidation consumer: channel is not up!");
+      return;
+    }
+    try {
+      synchronized (channel) {
+        channel.exchangeDeclare(EXCHANGE, BuiltinExchangeType.FANOUT, false, false, null);
+        channel.queueDeclare(nodeQueue, false, true, true, null);
+        channel.queueBind(nodeQueue, EXCHANGE, "");
+        channel.basicConsume(nodeQueue, true, (tag, delivery) -> handle(delivery), tag -> {});
+      }
+    } catch (Exception e) {
+      ChatsLogger.error("Error starting cache invalidation consumer", e);
+    }
+  }
+
+  /**
+   * Registers the handler applying the invalidations of a cache received from the other nodes.
+   *
+   * @param cacheName name of the cache
+   * @param handler receives the invalidated key
+   */
+  public void subscribe(String cacheName, Consumer<String> handler) {
+    handlers.put(cacheName, handler);
+  }
+
+  /**
+   * Sends an invalidation to the other nodes.
+   *
+   * @param cacheName name of the cache
+   * @param key invalidated key
+   */
+  public void broadcast(String cacheName, String key) {
+    if (channel == null || !channel.isOpen()) {
+      ChatsLogger.warn(
+          String.format(
+              "Unable to broadcast invalidation of cache '%s': channel is not up!", cacheName));
+      return;
+    }
+    try {
+      synchronized (channel) {
+        channel.basicPublish(
+            EXCHANGE,
+            cacheName,
+            new AMQP.BasicProperties.Builder().appId(nodeId).build(),
+            key.getBytes(StandardCharsets.UTF_8));
+      }
+    } catch (Exception e) {
+      ChatsLogger.warn(
+          String.format("Unable to broadcast invalidation of cache '%s'", cacheName), e);
+    }
+  }
+
+  private void handle(Delivery delivery) {
+    if (nodeId.equals(delivery.getProperties().getAppId())) {
+      return;
+    }
+    Consumer<String> handler = handlers.get(delivery.getEnvelope().getRoutingKey());
+    if (handler == null) {
+      return;
+    }
+    try {
+      handler.accept(new String(delivery.getBody(), StandardCharsets.UTF_8));
+    } catch (Exception e) {
+      ChatsLogger.warn(
+          String.format(
+              "Unable to apply invalidation of cache '%s'", delivery.getEnvelope().getRoutingKey()),
+          e);
+    }
+  }
+}
@@ -23,5 +23,6 @@ public class ChatsConstant {
     public static final int EDIT_MESSAGE_TIME_LIMIT_IN_MINUTES = 10;
     public static final int DELETE_MESSAGE_TIME_LIMIT_IN_MINUTES = 10;
     public static final int MAX_GROUP_MEMBERS = 128;
+    public static final int ROOMS_CHANGES_LOOKBACK_IN_SEC = 60;
   }
 }
@@ -16,6 +16,9 @@ public enum ConfigName {
   HIKARI_MAX_POOL_SIZE,
   HIKARI_LEAK_DETECTION_THRESHOLD,
   HIKARI_MAX_LIFETIME,
+  DATABASE_L2_CACHE_ENABLED,
+  DATABASE_L2_CACHE_MAX_SIZE,
+  DATABASE_L2_CACHE_TTL_IN_SEC,
   XMPP_SERVER_HOST,
   XMPP_SERVER_HTTP_PORT,
   XMPP_SERVER_USERNAME,
@@ -46,6 +49,30 @@ public enum ConfigName {
   EDIT_MESSAGE_TIME_LIMIT_IN_MINUTES,
   DELETE_MESSAGE_TIME_LIMIT_IN_MINUTES,
   MAX_GROUP_MEMBERS,
+  ROOMS_CHANGES_LOOKBACK_IN_SEC,
+
+  // cache configurations
+  USER_PROFILE_CACHE_MAX_SIZE,
+  USER_PROFILE_CACHE_TTL_IN_SEC,
+  AUTH_TOKEN_CACHE_MAX_SIZE,
+  AUTH_TOKEN_CACHE_TTL_IN_SEC,
+  AUTH_TOKEN_CACHE_NEGATIVE_TTL_IN_SEC,
+  ROOM_MEMBERSHIP_CACHE_MAX_SIZE,
+  ROOM_MEMBERSHIP_CACHE_TTL_IN_SEC,
+  MEETING_SESSIONS_CACHE_MAX_SIZE,
+  MEETING_SESSIONS_CACHE_TTL_IN_SEC,
+
+  // video server configurations
+  VIDEO_SERVER_CONNECTION_POOL_SIZE,
+  VIDEO_SERVER_TALKING_EVENT_INTERVAL_IN_MILLI,
+  VIDEO_SERVER_TRANSPORT,
+  VIDEO_SERVER_WEBSOCKET_PORT,
+  VIDEO_SERVER_NODES,
+  VIDEO_SERVER_REAPER_INTERVAL_IN_SEC,
+
+  // health check configurations
+  HEALTH_CHECK_SNAPSHOT_TTL_IN_SEC,
+  HEALTH_CHECK_PROBE_TIMEOUT_IN_MILLI,
 
   // broker configurations
   VIRTUAL_HOST,
@@ -54,8 +81,13 @@ public enum ConfigName {
   CONNECTION_TIMEOUT_IN_MILLI,
   AUTOMATIC_RECOVERY_ENABLED,
   TOPOLOGY_RECOVERY_ENABLED,
+  SHARED_CONSUMER_ENABLED,
   // jetty configuration
   MAX_THREADS,
   MIN_THREADS,
-  MAX_QUEUE_REQUESTS
+  MAX_QUEUE_REQUESTS,
+  WEBSOCKET_COMPRESSION_ENABLED,
+  WEBSOCKET_COMPRESSION_CONTEXT_TAKEOVER,
+  WEBSOCKET_OUTBOUND_QUEUE_SIZE,
+  WEBSOCKET_OUTBOUND_OVERFLOW_POLICY
 }
@@ -53,6 +53,15 @@ public class ConsulAppConfig extends AppConfig {
         "carbonio-ws-collaboration/hikari/leak-detection-threshold");
     namesMapping.put(
         ConfigName.HIKARI_MAX_LIFETIME, "carbonio-ws-collaboration/hikari/max-lifetime");
+    namesMapping.put(
+        ConfigName.DATABASE_L2_CACHE_ENABLED,
+        "carbonio-ws-collaboration/database/l2-cache-enabled");
+    namesMapping.put(
+        ConfigName.DATABASE_L2_CACHE_MAX_SIZE,
+        "carbonio-ws-collaboration/database/l2-cache-max-size");
+    namesMapping.put(
+        ConfigName.DATABASE_L2_CACHE_TTL_IN_SEC,
+        "carbonio-ws-collaboration/database/l2-cache-ttl-in-sec");
     namesMapping.put(ConfigName.XMPP_SERVER_USERNAME, "carbonio-message-dispatcher/api/username");
     namesMapping.put(ConfigName.XMPP_SERVER_PASSWORD, "carbonio-message-dispatcher/api/password");
     namesMapping.put(
@@ -83,6 +92,58 @@ public class ConsulAppConfig extends AppConfig {
         "carbonio-ws-collaboration/configs/delete-message-time-limit-in-minutes");
     namesMapping.put(
         ConfigName.MAX_GROUP_MEMBERS, "carbonio-ws-collaboration/configs/max-group-members");
+    namesMapping.put(
+        ConfigName.ROOMS_CHANGES_LOOKBACK_IN_SEC,
+        "carbonio-ws-collaboration/configs/rooms-changes-lookback-in-sec");
+    namesMapping.put(
+        ConfigName.USER_PROFILE_CACHE_MAX_SIZE,
+        "carbonio-ws-collaboration/cache/user-profile-max-size");
+    namesMapping.put(
+        ConfigName.USER_PROFILE_CACHE_TTL_IN_SEC,
+        "carbonio-ws-collaboration/cache/user-profile-ttl-in-sec");
+    namesMapping.put(
+        ConfigName.AUTH_TOKEN_CACHE_MAX_SIZE,
+        "carbonio-ws-collaboration/cache/auth-token-max-size");
+    namesMapping.put(
+        ConfigName.AUTH_TOKEN_CACHE_TTL_IN_SEC,
+        "carbonio-ws-collaboration/cache/auth-token-ttl-in-sec");
+    namesMapping.put(
+        ConfigName.AUTH_TOKEN_CACHE_NEGATIVE_TTL_IN_SEC,
+        "carbonio-ws-collaboration/cache/auth-token-negative-ttl-in-sec");
+    namesMapping.put(
+        ConfigName.ROOM_MEMBERSHIP_CACHE_MAX_SIZE,
+        "carbonio-ws-collaboration/cache/room-membership-max-size");
+    namesMapping.put(
+        ConfigName.ROOM_MEMBERSHIP_CACHE_TTL_IN_SEC,
+        "carbonio-ws-collaboration/cache/room-membership-ttl-in-sec");
+    namesMapping.put(
+        ConfigName.MEETING_SESSIONS_CACHE_MAX_SIZE,
+        "carbonio-ws-collaboration/cache/meeting-sessions-max-size");
+    namesMapping.put(
+        ConfigName.MEETING_SESSIONS_CACHE_TTL_IN_SEC,
+        "carbonio-ws-collaboration/cache/meeting-sessions-ttl-in-sec");
+    namesMapping.put(
+        ConfigName.VIDEO_SERVER_CONNECTION_POOL_SIZE,
+        "carbonio-ws-collaboration/videoserver/connection-pool-size");
+    namesMapping.put(
+        ConfigName.VIDEO_SERVER_TALKING_EVENT_INTERVAL_IN_MILLI,
+        "carbonio-ws-collaboration/videoserver/talking-event-interval-in-milli");
+    namesMapping.put(
+        ConfigName.VIDEO_SERVER_TRANSPORT, "carbonio-ws-collaboration/videoserver/transport");
+    namesMapping.put(
+        ConfigName.VIDEO_SERVER_WEBSOCKET_PORT,
+        "carbonio-ws-collaboration/videoserver/websocket-port");
+    namesMapping.put(
+        ConfigName.VIDEO_SERVER_NODES, "carbonio-ws-collaboration/videoserver/nodes");
+    namesMapping.put(
+        ConfigName.VIDEO_SERVER_REAPER_INTERVAL_IN_SEC,
+        "carbonio-ws-collaboration/videoserver/reaper-interval-in-sec");
+    namesMapping.put(
+        ConfigName.HEALTH_CHECK_SNAPSHOT_TTL_IN_SEC,
+        "carbonio-ws-collaboration/health/snapshot-ttl-in-sec");
+    namesMapping.put(
+        ConfigName.HEALTH_CHECK_PROBE_TIMEOUT_IN_MILLI,
+        "carbonio-ws-collaboration/health/probe-timeout-in-milli");
     namesMapping.put(ConfigName.VIRTUAL_HOST, "carbonio-ws-collaboration/broker/virtual-host");
     namesMapping.put(
         ConfigName.REQUESTED_HEARTBEAT_IN_SEC,
@@ -99,11 +160,26 @@ public class ConsulAppConfig extends AppConfig {
     namesMapping.put(
         ConfigName.TOPOLOGY_RECOVERY_ENABLED,
         "carbonio-ws-collaboration/broker/topology-recovery-enabled");
+    namesMapping.put(
+        ConfigName.SHARED_CONSUMER_ENABLED,
+        "carbonio-ws-collaboration/broker/shared-consumer-enabled");
     namesMapping.put(ConfigName.VIDEO_SERVER_TOKEN, "carbonio-videoserver/api-secret");
     namesMapping.put(ConfigName.MAX_THREADS, "carbonio-ws-collaboration/server/max-threads");
     namesMapping.put(ConfigName.MIN_THREADS, "carbonio-ws-collaboration/server/min-threads");
     namesMapping.put(
         ConfigName.MAX_QUEUE_REQUESTS, "carbonio-ws-collaboration/server/max-queue-requests");
+    namesMapping.put(
+        ConfigName.WEBSOCKET_COMPRESSION_ENABLED,
+        "carbonio-ws-collaboration/server/websocket-compression-enabled");
+    namesMapping.put(
+        ConfigName.WEBSOCKET_COMPRESSION_CONTEXT_TAKEOVER,
+        "carbonio-ws-collaboration/server/websocket-compression-context-takeover");
+    namesMapping.put(
+        ConfigName.WEBSOCKET_OUTBOUND_QUEUE_SIZE,
+        "carbonio-ws-collaboration/server/websocket-outbound-queue-size");
+    namesMapping.put(
+        ConfigName.WEBSOCKET_OUTBOUND_OVERFLOW_POLICY,
+        "carbonio-ws-collaboration/server/websocket-outbound-overflow-policy");
   }
 
   private boolean loaded = false;
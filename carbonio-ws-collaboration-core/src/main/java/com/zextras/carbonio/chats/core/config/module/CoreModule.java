@@ -22,6 +22,7 @@ import com.zextras.carbonio.chats.api.HealthApi;
 import com.zextras.carbonio.chats.api.HealthApiService;
 import com.zextras.carbonio.chats.api.MeetingsApi;
 import com.zextras.carbonio.chats.api.MeetingsApiService;
+import com.zextras.carbonio.chats.api.OffsetDateTimeProvider;
 import com.zextras.carbonio.chats.api.PreviewApi;
 import com.zextras.carbonio.chats.api.PreviewApiService;
 import com.zextras.carbonio.chats.api.RoomsApi;
@@ -35,7 +36,10 @@ import com.zextras.carbonio.chats.core.config.JacksonConfig;
 import com.zextras.carbonio.chats.core.exception.EventDispatcherException;
 import com.zextras.carbonio.chats.core.infrastructure.authentication.AuthenticationService;
 import com.zextras.carbonio.chats.core.infrastructure.authentication.impl.UserManagementAuthenticationService;
+import com.zextras.carbonio.chats.core.infrastructure.database.DatabaseCacheNotifier;
 import com.zextras.carbonio.chats.core.infrastructure.database.DatabaseInfoService;
+import com.zextras.carbonio.chats.core.infrastructure.database.impl.BroadcastDatabaseCacheNotifier;
+import com.zextras.carbonio.chats.core.infrastructure.database.impl.EbeanCacheChangeListener;
 import com.zextras.carbonio.chats.core.infrastructure.database.impl.EbeanDatabaseInfoService;
 import com.zextras.carbonio.chats.core.infrastructure.event.EventDispatcher;
 import com.zextras.carbonio.chats.core.infrastructure.event.impl.EventDispatcherRabbitMq;
@@ -49,8 +53,11 @@ import com.zextras.carbonio.chats.core.infrastructure.videoserver.VideoServerCli
 import com.zextras.carbonio.chats.core.infrastructure.videoserver.VideoServerConfig;
 import com.zextras.carbonio.chats.core.infrastructure.videoserver.VideoServerService;
 import com.zextras.carbonio.chats.core.infrastructure.videoserver.impl.VideoServerConfigImpl;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.impl.VideoServerConnectionPool;
 import com.zextras.carbonio.chats.core.infrastructure.videoserver.impl.VideoServerHttpClient;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.impl.VideoServerNodes;
 import com.zextras.carbonio.chats.core.infrastructure.videoserver.impl.VideoServerServiceImpl;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.impl.VideoServerWebSocketClient;
 import com.zextras.carbonio.chats.core.logging.annotation.TimedCall;
 import com.zextras.carbonio.chats.core.logging.aop.TimedCallInterceptor;
 import com.zextras.carbonio.chats.core.mapper.AttachmentMapper;
@@ -128,13 +135,21 @@ import io.ebean.config.DatabaseConfig;
 import java.io.IOException;
 import java.time.Clock;
 import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeoutException;
 import org.flywaydb.core.Flyway;
 
 public class CoreModule extends AbstractModule {
 
   private static final String URL_PATTERN = "http://%s:%s";
+  private static final String NODE_URL_PATTERN = "http://%s";
+  private static final String NODE_WS_URL_PATTERN = "ws://%s";
+  private static final String VIDEO_SERVER_WEBSOCKET_TRANSPORT = "websocket";
+  private static final String DEFAULT_VIDEO_SERVER_WEBSOCKET_PORT = "8188";
 
   @Override
   protected void configure() {
@@ -142,6 +157,7 @@ public class CoreModule extends AbstractModule {
     // This is bound twice, once for RestEasy injection and one for everything else
     bind(JacksonConfig.class);
     bind(ObjectMapper.class).toProvider(JacksonConfig.class);
+    bind(OffsetDateTimeProvider.class);
 
     bind(AuthenticationFilter.class);
     bind(VersionedResponseFilter.class);
@@ -173,6 +189,7 @@ public class CoreModule extends AbstractModule {
     bind(HealthApiService.class).to(HealthApiServiceImpl.class);
     bind(HealthcheckService.class).to(HealthcheckServiceImpl.class);
     bind(DatabaseInfoService.class).to(EbeanDatabaseInfoService.class);
+    bind(DatabaseCacheNotifier.class).to(BroadcastDatabaseCacheNotifier.class);
 
     bind(MembersService.class).to(MembersServiceImpl.class);
     bind(SubscriptionRepository.class).to(EbeanSubscriptionRepository.class);
@@ -199,6 +216,7 @@ public class CoreModule extends AbstractModule {
     bind(ParticipantMapper.class).to(ParticipantMapperImpl.class);
 
     bind(VideoServerService.class).to(VideoServerServiceImpl.class);
+    bind(VideoServerConnectionPool.class);
     bind(VideoServerMeetingRepository.class).to(EbeanVideoServerMeetingRepository.class);
     bind(VideoServerSessionRepository.class).to(EbeanVideoServerSessionRepository.class);
 
@@ -263,11 +281,28 @@ public class CoreModule extends AbstractModule {
 
   @Singleton
   @Provides
-  private Database getDatabase(HikariDataSource dataSource, Clock clock) {
+  private Database getDatabase(
+      HikariDataSource dataSource,
+      Clock clock,
+      AppConfig appConfig,
+      DatabaseCacheNotifier databaseCacheNotifier) {
     DatabaseConfig databaseConfig = new DatabaseConfig();
     databaseConfig.setDataSource(dataSource);
     databaseConfig.setClock(clock);
     databaseConfig.setDatabasePlatformName(Platform.POSTGRES.toString());
+    if (appConfig.get(Boolean.class, ConfigName.DATABASE_L2_CACHE_ENABLED).orElse(false)) {
+      int cacheMaxSize =
+          appConfig.get(Integer.class, ConfigName.DATABASE_L2_CACHE_MAX_SIZE).orElse(10000);
+      int cacheTtl =
+          appConfig.get(Integer.class, ConfigName.DATABASE_L2_CACHE_TTL_IN_SEC).orElse(60);
+      databaseConfig.setCacheMaxSize(cacheMaxSize);
+      databaseConfig.setCacheMaxTimeToLive(cacheTtl);
+      databaseConfig.setQueryCacheMaxSize(cacheMaxSize);
+      databaseConfig.setQueryCacheMaxTimeToLive(cacheTtl);
+      databaseConfig.add(new EbeanCacheChangeListener(databaseCacheNotifier));
+    } else {
+      databaseConfig.setDisableL2Cache(true);
+    }
     return DatabaseFactory.create(databaseConfig);
   }
 
@@ -370,15 +405,56 @@ public class CoreModule extends AbstractModule {
 
   @Singleton
   @Provides
-  private VideoServerClient getVideoServerClient(
-      AppConfig appConfig, HttpClient httpClient, ObjectMapper objectMapper) {
-    return new VideoServerHttpClient(
-        httpClient,
-        String.format(
-            URL_PATTERN,
-            appConfig.get(String.class, ConfigName.VIDEO_SERVER_HOST).orElseThrow(),
-            appConfig.get(String.class, ConfigName.VIDEO_SERVER_PORT).orElseThrow()),
-        objectMapper);
+  private VideoServerNodes getVideoServerNodes(AppConfig appConfig, ObjectMapper objectMapper) {
+    java.net.http.HttpClient httpClient =
+        java.net.http.HttpClient.newBuilder()
+            .version(java.net.http.HttpClient.Version.HTTP_1_1)
+            .connectTimeout(VideoServerHttpClient.TIMEOUT)
+            .build();
+    boolean webSocketTransport =
+        VIDEO_SERVER_WEBSOCKET_TRANSPORT.equalsIgnoreCase(
+            appConfig.get(String.class, ConfigName.VIDEO_SERVER_TRANSPORT).orElse(""));
+    List<String> nodes =
+        appConfig
+            .get(String.class, ConfigName.VIDEO_SERVER_NODES)
+            .map(
+                value ->
+                    Arrays.stream(value.split(","))
+                        .map(String::trim)
+                        .filter(node -> !node.isEmpty())
+                        .toList())
+            .orElse(List.of());
+    Map<String, String> addresses = new LinkedHashMap<>();
+    nodes.forEach(node -> addresses.put(node, node));
+    if (addresses.isEmpty()) {
+      // the default node is stored with the meetings by its HTTP address whatever the transport,
+      // so that the meetings it hosts are still found after the transport is changed
+      String host = appConfig.get(String.class, ConfigName.VIDEO_SERVER_HOST).orElseThrow();
+      String node =
+          String.join(
+              ":", host, appConfig.get(String.class, ConfigName.VIDEO_SERVER_PORT).orElseThrow());
+      addresses.put(
+          node,
+          webSocketTransport
+              ? String.join(
+                  ":",
+                  host,
+                  appConfig
+                      .get(String.class, ConfigName.VIDEO_SERVER_WEBSOCKET_PORT)
+                      .orElse(DEFAULT_VIDEO_SERVER_WEBSOCKET_PORT))
+              : node);
+    }
+    Map<String, VideoServerClient> clients = new LinkedHashMap<>();
+    addresses.forEach(
+        (node, address) ->
+            clients.put(
+                node,
+                webSocketTransport
+                    ? new VideoServerWebSocketClient(
+                        httpClient, String.format(NODE_WS_URL_PATTERN, address), objectMapper)
+                    : new VideoServerHttpClient(
+                        httpClient, String.format(NODE_URL_PATTERN, address), objectMapper)));
+    return new VideoServerNodes(clients);
   }
 
   @Singleton
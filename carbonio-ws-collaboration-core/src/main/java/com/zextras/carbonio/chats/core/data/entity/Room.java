@@ -5,6 +5,7 @@
 package com.zextras.carbonio.chats.core.data.entity;
 
 import com.zextras.carbonio.chats.model.RoomTypeDto;
+import io.ebean.annotation.Cache;
 import io.ebean.annotation.WhenCreated;
 import io.ebean.annotation.WhenModified;
 import jakarta.persistence.CascadeType;
@@ -22,6 +23,7 @@ import java.time.OffsetDateTime;
 import java.util.List;
 
 @Entity
+@Cache
 @Table(name = "ROOM", schema = "CHATS")
 public class Room {
 
@@ -48,6 +50,10 @@ public class Room {
   @Column(name = "MEETING_ID", length = 64)
   private String meetingId;
 
+  // Sorted identifiers of the members of a one-to-one room, unique so it's found with one probe
+  @Column(name = "ONE_TO_ONE_KEY", length = 129)
+  private String oneToOneKey;
+
   @Column(name = "CREATED_AT")
   @Temporal(TemporalType.TIMESTAMP)
   @WhenCreated
@@ -130,6 +136,15 @@ public class Room {
     return this;
   }
 
+  public String getOneToOneKey() {
+    return oneToOneKey;
+  }
+
+  public Room oneToOneKey(String oneToOneKey) {
+    this.oneToOneKey = oneToOneKey;
+    return this;
+  }
+
   public List<Subscription> getSubscriptions() {
     return subscriptions;
   }
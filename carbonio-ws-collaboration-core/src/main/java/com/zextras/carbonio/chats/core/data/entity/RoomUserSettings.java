@@ -4,6 +4,7 @@
 
 package com.zextras.carbonio.chats.core.data.entity;
 
+import io.ebean.annotation.Cache;
 import io.ebean.annotation.WhenCreated;
 import io.ebean.annotation.WhenModified;
 import jakarta.persistence.Column;
@@ -20,6 +21,7 @@ import java.time.OffsetDateTime;
 import java.util.Objects;
 
 @Entity
+@Cache(enableQueryCache = true)
 @Table(name = "ROOM_USER_SETTINGS", schema = "CHATS")
 public class RoomUserSettings {
 
@@ -4,6 +4,7 @@
 
 package com.zextras.carbonio.chats.core.data.entity;
 
+import io.ebean.annotation.Cache;
 import io.ebean.annotation.WhenCreated;
 import io.ebean.annotation.WhenModified;
 import jakarta.persistence.Column;
@@ -16,6 +17,7 @@ import java.time.OffsetDateTime;
 import java.util.Objects;
 
 @Entity
+@Cache
 @Table(name = "CHATS_USER", schema = "CHATS")
 public class User {
 
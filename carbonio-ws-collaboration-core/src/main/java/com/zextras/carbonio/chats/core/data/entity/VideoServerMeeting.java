@@ -36,6 +36,9 @@ public class VideoServerMeeting {
   @Column(name = "VIDEO_ROOM_ID", length = 64, nullable = false)
   private String videoRoomId;
 
+  @Column(name = "SERVER_NODE", length = 256)
+  private String serverNode;
+
   @OneToMany(mappedBy = "videoServerMeeting", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
   private List<VideoServerSession> videoServerSessions;
 
@@ -97,6 +100,15 @@ public class VideoServerMeeting {
     return this;
   }
 
+  public String getServerNode() {
+    return serverNode;
+  }
+
+  public VideoServerMeeting serverNode(String serverNode) {
+    this.serverNode = serverNode;
+    return this;
+  }
+
   public List<VideoServerSession> getVideoServerSessions() {
     return videoServerSessions;
   }
@@ -0,0 +1,46 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.data.model;
+
+import com.zextras.carbonio.chats.model.RoomTypeDto;
+import java.util.Map;
+
+/**
+ * Summary of a room and of its members, enough to authorize a user on the room without loading
+ * the whole entity with its subscriptions.
+ */
+public class RoomMembership {
+
+  private final String roomId;
+  private final RoomTypeDto type;
+  private final Map<String, Boolean> members;
+
+  public RoomMembership(String roomId, RoomTypeDto type, Map<String, Boolean> members) {
+    this.roomId = roomId;
+    this.type = type;
+    this.members = Map.copyOf(members);
+  }
+
+  public static RoomMembership create(
+      String roomId, RoomTypeDto type, Map<String, Boolean> members) {
+    return new RoomMembership(roomId, type, members);
+  }
+
+  public String getRoomId() {
+    return roomId;
+  }
+
+  public RoomTypeDto getType() {
+    return type;
+  }
+
+  public boolean isMember(String userId) {
+    return members.containsKey(userId);
+  }
+
+  public boolean isOwner(String userId) {
+    return members.getOrDefault(userId, false);
+  }
+}
@@ -0,0 +1,104 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.data.model;
+
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Columns of a room read to list it, with its members when requested, without loading the room
+ * entity and its subscriptions.
+ */
+public class RoomSummary {
+
+  private String id;
+  private String name;
+  private String description;
+  private String type;
+  private OffsetDateTime pictureUpdatedAt;
+  private String meetingId;
+  private OffsetDateTime createdAt;
+  private OffsetDateTime updatedAt;
+  private final Map<String, Boolean> members = new LinkedHashMap<>();
+
+  public static RoomSummary create() {
+    return new RoomSummary();
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  public void setDescription(String description) {
+    this.description = description;
+  }
+
+  public String getType() {
+    return type;
+  }
+
+  public void setType(String type) {
+    this.type = type;
+  }
+
+  public OffsetDateTime getPictureUpdatedAt() {
+    return pictureUpdatedAt;
+  }
+
+  public void setPictureUpdatedAt(OffsetDateTime pictureUpdatedAt) {
+    this.pictureUpdatedAt = pictureUpdatedAt;
+  }
+
+  public String getMeetingId() {
+    return meetingId;
+  }
+
+  public void setMeetingId(String meetingId) {
+    this.meetingId = meetingId;
+  }
+
+  public OffsetDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(OffsetDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public OffsetDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(OffsetDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
+  /** Returns the members of the room, by user identifier, with whether they are owners. */
+  public Map<String, Boolean> getMembers() {
+    return members;
+  }
+
+  public RoomSummary addMember(String userId, boolean owner) {
+    members.put(userId, owner);
+    return this;
+  }
+}
@@ -4,32 +4,50 @@
 
 package com.zextras.carbonio.chats.core.infrastructure.authentication.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.zextras.carbonio.chats.core.cache.CacheHandler;
 import com.zextras.carbonio.chats.core.infrastructure.authentication.AuthenticationService;
 import com.zextras.carbonio.usermanagement.UserManagementClient;
 import com.zextras.carbonio.usermanagement.entities.UserId;
+import com.zextras.carbonio.usermanagement.exceptions.UnAuthorized;
 import java.util.Optional;
 
 @Singleton
 public class UserManagementAuthenticationService implements AuthenticationService {
 
   private final UserManagementClient userManagementClient;
+  private final Cache<String, Optional<String>> authTokenCache;
 
   @Inject
-  public UserManagementAuthenticationService(UserManagementClient userManagementClient) {
+  public UserManagementAuthenticationService(
+      UserManagementClient userManagementClient, CacheHandler cacheHandler) {
     this.userManagementClient = userManagementClient;
+    this.authTokenCache = cacheHandler.getAuthTokenCache();
   }
 
+  /**
+   * Validates the token through the cache: concurrent requests with the same token wait for a
+   * single call to user management. Rejected tokens are cached too, while failures caused by
+   * user management errors are not, so they are retried by the next request.
+   */
   @Override
   public Optional<String> validateCredentials(String authToken) {
-    return Optional.ofNullable(authToken)
-        .map(
-            token ->
-                userManagementClient
-                    .validateUserToken(token)
-                    .map(UserId::getUserId)
-                    .getOrElse(() -> null));
+    if (authToken == null) {
+      return Optional.empty();
+    }
+    Optional<String> userId = authTokenCache.get(authToken, this::validateUserToken);
+    return userId == null ? Optional.empty() : userId;
+  }
+
+  private Optional<String> validateUserToken(String token) {
+    return userManagementClient
+        .validateUserToken(token)
+        .map(UserId::getUserId)
+        .map(Optional::ofNullable)
+        .recover(UnAuthorized.class, e -> Optional.empty())
+        .getOrElse(() -> null);
   }
 
   @Override
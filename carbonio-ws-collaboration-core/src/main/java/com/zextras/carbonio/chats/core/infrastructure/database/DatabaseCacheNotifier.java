@@ -0,0 +1,21 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.infrastructure.database;
+
+/**
+ * Propagates to the other nodes the changes this node made to the entities kept in the database
+ * second level cache. The node receiving a change must clear its caches for the entity type, using
+ * {@code Database.cacheManager().clear(entityType)}.
+ */
+public interface DatabaseCacheNotifier {
+
+  /**
+   * Notifies that an entity of the given type was inserted, updated or deleted by this node.
+   *
+   * @param entityType type of the changed entity
+   * @param entityId identifier of the changed entity
+   */
+  void notifyChanged(Class<?> entityType, Object entityId);
+}
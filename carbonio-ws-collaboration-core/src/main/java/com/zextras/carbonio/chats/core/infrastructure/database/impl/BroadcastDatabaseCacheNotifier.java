@@ -0,0 +1,59 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.infrastructure.database.impl;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.google.inject.Singleton;
+import com.zextras.carbonio.chats.core.cache.CacheInvalidationBroadcaster;
+import com.zextras.carbonio.chats.core.infrastructure.database.DatabaseCacheNotifier;
+import io.ebean.Database;
+import jakarta.persistence.Entity;
+
+/**
+ * Propagates the changes through the {@link CacheInvalidationBroadcaster}, with the name of the
+ * entity type as key. A node receiving a change clears all its database caches for that type, so
+ * the other nodes stop serving the changed entity as soon as the change reaches them instead of
+ * when it expires.
+ */
+@Singleton
+public class BroadcastDatabaseCacheNotifier implements DatabaseCacheNotifier {
+
+  public static final String DATABASE_CACHE = "database";
+
+  private final CacheInvalidationBroadcaster cacheInvalidationBroadcaster;
+  private final Provider<Database> database;
+
+  @Inject
+  public BroadcastDatabaseCacheNotifier(
+      CacheInvalidationBroadcaster cacheInvalidationBroadcaster, Provider<Database> database) {
+    this.cacheInvalidationBroadcaster = cacheInvalidationBroadcaster;
+    this.database = database;
+    cacheInvalidationBroadcaster.subscribe(DATABASE_CACHE, this::clearCaches);
+  }
+
+  @Override
+  public void notifyChanged(Class<?> entityType, Object entityId) {
+    cacheInvalidationBroadcaster.broadcast(DATABASE_CACHE, entityType.getName());
+  }
+
+  private void clearCaches(String entityType) {
+    Class<?> entityClass = getEntityClass(entityType);
+    database.get().cacheManager().clear(entityClass);
+  }
+
+  private static Class<?> getEntityClass(String entityType) {
+    try {
+      Class<?> entityClass =
+          Class.forName(entityType, false, BroadcastDatabaseCacheNotifier.class.getClassLoader());
+      if (!entityClass.isAnnotationPresent(Entity.class)) {
+        throw new IllegalArgumentException(String.format("'%s' is not an entity", entityType));
+      }
+      return entityClass;
+    } catch (ClassNotFoundException e) {
+      throw new IllegalArgumentException(String.format("Unknown entity '%s'", entityType), e);
+    }
+  }
+}
@@ -0,0 +1,71 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.infrastructure.database.impl;
+
+import com.zextras.carbonio.chats.core.data.entity.Room;
+import com.zextras.carbonio.chats.core.data.entity.RoomUserSettings;
+import com.zextras.carbonio.chats.core.data.entity.User;
+import com.zextras.carbonio.chats.core.infrastructure.database.DatabaseCacheNotifier;
+import com.zextras.carbonio.chats.core.logging.ChatsLogger;
+import io.ebean.event.BeanPersistListener;
+import java.util.Set;
+
+/**
+ * Forwards the committed changes of the cached entities to the {@link DatabaseCacheNotifier}, so
+ * the other nodes can invalidate their caches.
+ */
+public class EbeanCacheChangeListener implements BeanPersistListener {
+
+  private final DatabaseCacheNotifier databaseCacheNotifier;
+
+  public EbeanCacheChangeListener(DatabaseCacheNotifier databaseCacheNotifier) {
+    this.databaseCacheNotifier = databaseCacheNotifier;
+  }
+
+  @Override
+  public boolean isRegisterFor(Class<?> cls) {
+    return Room.class.equals(cls) || User.class.equals(cls) || RoomUserSettings.class.equals(cls);
+  }
+
+  @Override
+  public void inserted(Object bean) {
+    notifyChanged(bean);
+  }
+
+  @Override
+  public void updated(Object bean, Set<String> updatedProperties) {
+    notifyChanged(bean);
+  }
+
+  @Override
+  public void deleted(Object bean) {
+    notifyChanged(bean);
+  }
+
+  @Override
+  public void softDeleted(Object bean) {
+    notifyChanged(bean);
+  }
+
+  private void notifyChanged(Object bean) {
+    try {
+      databaseCacheNotifier.notifyChanged(bean.getClass(), getId(bean));
+    } catch (Exception e) {
+      ChatsLogger.warn(
+          String.format("Unable to notify the change of a %s", bean.getClass().getSimpleName()), e);
+    }
+  }
+
+  private static Object getId(Object bean) {
+    if (bean instanceof Room room) {
+      return room.getId();
+    } else if (bean instanceof User user) {
+      return user.getId();
+    } else if (bean instanceof RoomUserSettings settings) {
+      return settings.getId();
+    }
+    return null;
+  }
+}
@@ -4,29 +4,59 @@
 
 package com.zextras.carbonio.chats.core.infrastructure.event.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.BuiltinExchangeType;
 import com.rabbitmq.client.Channel;
 import com.zextras.carbonio.async.model.DomainEvent;
+import com.zextras.carbonio.chats.core.config.AppConfig;
+import com.zextras.carbonio.chats.core.config.ConfigName;
 import com.zextras.carbonio.chats.core.infrastructure.event.EventDispatcher;
 import com.zextras.carbonio.chats.core.logging.ChatsLogger;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 @Singleton
 public class EventDispatcherRabbitMq implements EventDispatcher {
 
   private static final String USER_ROUTING_KEY = "user-events";
+  private static final String TARGET_SESSION_HEADER = "target-session";
+  private static final long DECLARED_EXCHANGES_MAX_SIZE = 100000;
+  private static final Duration DECLARED_EXCHANGES_EXPIRATION = Duration.ofMinutes(10);
 
   private final Channel channel;
   private final ObjectMapper objectMapper;
+  private final boolean sharedConsumer;
+
+  /**
+   * User exchanges already declared on this channel. The cache is dropped when the channel shuts
+   * down, so after a broker restart every exchange is declared again before its first publish.
+   */
+  private final Cache<String, Boolean> declaredExchanges;
 
   @Inject
-  public EventDispatcherRabbitMq(Channel channel, ObjectMapper objectMapper) {
+  public EventDispatcherRabbitMq(Channel channel, ObjectMapper objectMapper, AppConfig appConfig) {
     this.channel = channel;
     this.objectMapper = objectMapper;
+    this.sharedConsumer =
+        appConfig.get(Boolean.class, ConfigName.SHARED_CONSUMER_ENABLED).orElse(false);
+    this.declaredExchanges =
+        Caffeine.newBuilder()
+            .expireAfterWrite(DECLARED_EXCHANGES_EXPIRATION)
+            .maximumSize(DECLARED_EXCHANGES_MAX_SIZE)
+            .build();
+    if (channel != null) {
+      channel.addShutdownListener(cause -> declaredExchanges.invalidateAll());
+    }
   }
 
   @Override
@@ -36,7 +66,7 @@ public class EventDispatcherRabbitMq implements EventDispatcher {
 
   @Override
   public void sendToUserExchange(String userId, DomainEvent event) {
-    sendToExchange(userId, event);
+    sendToExchange(List.of(userId), event);
   }
 
   @Override
@@ -52,36 +82,70 @@ public class EventDispatcherRabbitMq implements EventDispatcher {
     }
     String userQueue = userId + "/" + queueId;
     try {
-      channel.queueDeclare(queueId, false, false, true, null);
-      channel.basicPublish(
-          "",
-          queueId,
-          null,
-          objectMapper.writeValueAsString(event).getBytes(StandardCharsets.UTF_8));
+      synchronized (channel) {
+        if (sharedConsumer) {
+          // there is no queue per websocket session: the event goes through the user exchange and
+          // the node holding the session delivers it only to the targeted one
+          declareUserExchange(userId);
+          channel.basicPublish(
+              userId,
+              USER_ROUTING_KEY,
+              new AMQP.BasicProperties.Builder()
+                  .headers(Map.of(TARGET_SESSION_HEADER, queueId))
+                  .build(),
+              serialize(event));
+        } else {
+          channel.queueDeclare(queueId, false, false, true, null);
+          channel.basicPublish("", queueId, null, serialize(event));
+        }
+      }
     } catch (Exception e) {
       ChatsLogger.warn(String.format("Unable to send message to user queue '%s'", userQueue), e);
     }
   }
 
-  private void sendToExchange(String userId, DomainEvent event) {
+  /**
+   * Sends the event to every user exchange. The event is serialized only once and all the
+   * publishes are written to the channel in a single batch: exchanges not yet known are declared
+   * with no-wait, so the batch never blocks waiting for a broker round trip.
+   */
+  private void sendToExchange(List<String> usersIds, DomainEvent event) {
+    if (usersIds.isEmpty()) {
+      return;
+    }
     if (channel == null || !channel.isOpen()) {
       ChatsLogger.error("Unable to send event to exchange: event dispatcher channel is not up!");
       return;
     }
+    byte[] body;
     try {
-      channel.exchangeDeclare(userId, BuiltinExchangeType.DIRECT, false, false, null);
-      channel.basicPublish(
-          userId,
-          USER_ROUTING_KEY,
-          null,
-          objectMapper.writeValueAsString(event).getBytes(StandardCharsets.UTF_8));
-    } catch (Exception e) {
-      ChatsLogger.warn(String.format("Unable to send message to user '%s'", userId), e);
+      body = serialize(event);
+    } catch (JsonProcessingException e) {
+      ChatsLogger.warn(String.format("Unable to serialize event '%s'", event.getType()), e);
+      return;
+    }
+    synchronized (channel) {
+      for (String userId : new LinkedHashSet<>(usersIds)) {
+        try {
+          declareUserExchange(userId);
+          channel.basicPublish(userId, USER_ROUTING_KEY, null, body);
+        } catch (Exception e) {
+          declaredExchanges.invalidate(userId);
+          ChatsLogger.warn(String.format("Unable to send message to user '%s'", userId), e);
+        }
+      }
     }
   }
 
-  private void sendToExchange(List<String> usersIds, DomainEvent event) {
-    usersIds.forEach(userId -> sendToExchange(userId, event));
+  private void declareUserExchange(String userId) throws IOException {
+    if (declaredExchanges.getIfPresent(userId) == null) {
+      channel.exchangeDeclareNoWait(userId, BuiltinExchangeType.DIRECT, false, false, false, null);
+      declaredExchanges.put(userId, Boolean.TRUE);
+    }
+  }
+
+  private byte[] serialize(DomainEvent event) throws JsonProcessingException {
+    return objectMapper.writeValueAsString(event).getBytes(StandardCharsets.UTF_8);
   }
 
   @Override
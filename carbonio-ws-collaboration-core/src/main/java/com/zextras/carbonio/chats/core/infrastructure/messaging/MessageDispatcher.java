@@ -67,6 +67,16 @@ public interface MessageDispatcher extends HealthIndicator {
    */
   void addRoomMember(String roomId, String senderId, String memberId);
 
+  /**
+   * Invites a set of members to join a room on XMPP server and sends the related affiliation
+   * messages, grouping the operations in as few requests as possible
+   *
+   * @param roomId room identifier
+   * @param senderId inviting user identifier
+   * @param memberIds identifiers of the users to add
+   */
+  void addRoomMembers(String roomId, String senderId, List<String> memberIds);
+
   /**
    * Removes a member from a room on XMPP server. It will destroy the room automatically when the
    * last member is removed. Moreover, also the inbox entries and all room messages will be deleted.
@@ -76,6 +86,15 @@ public interface MessageDispatcher extends HealthIndicator {
    */
   void removeRoomMember(String roomId, String memberId);
 
+  /**
+   * Removes a set of members from a room on XMPP server, grouping the operations in as few requests
+   * as possible. It will destroy the room automatically when the last member is removed.
+   *
+   * @param roomId room identifier
+   * @param memberIds identifiers of the users to remove
+   */
+  void removeRoomMembers(String roomId, List<String> memberIds);
+
   /**
    * Sends an affiliation message to a room on XMPP server
    *
@@ -20,6 +20,7 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -43,6 +44,9 @@ public class MessageDispatcherMongooseImpl implements MessageDispatcher {
   private static final String MUC_LIGHT = "muc_light";
   private static final String MUC_DOMAIN = "muclight.carbonio";
 
+  // maximum number of members handled by a single multi-operation GraphQL document
+  private static final int MEMBERS_PER_REQUEST = 50;
+
   private final HttpClient httpClient;
   private final String mongooseimURL;
   private final ObjectMapper objectMapper;
@@ -86,11 +90,7 @@ public class MessageDispatcherMongooseImpl implements MessageDispatcher {
         throw new MessageDispatcherException(PARSING_ERROR, e);
       }
     }
-    memberIds.forEach(
-        member -> {
-          addRoomMember(roomId, senderId, member);
-          sendAffiliationMessage(roomId, senderId, member, MessageType.MEMBER_ADDED);
-        });
+    addRoomMembers(roomId, senderId, memberIds);
   }
 
   @Override
@@ -221,6 +221,81 @@ public class MessageDispatcherMongooseImpl implements MessageDispatcher {
     }
   }
 
+  @Override
+  public void addRoomMembers(String roomId, String senderId, List<String> memberIds) {
+    for (List<String> chunk : partition(memberIds)) {
+      StringBuilder invitations = new StringBuilder();
+      StringBuilder affiliations = new StringBuilder();
+      for (int i = 0; i < chunk.size(); i++) {
+        invitations
+            .append(String.format("invite%d: inviteUser (", i))
+            .append(String.format("room: \"%s\", ", roomIdToRoomDomain(roomId)))
+            .append(String.format("sender: \"%s\", ", userIdToUserDomain(senderId)))
+            .append(String.format("recipient: \"%s\") ", userIdToUserDomain(chunk.get(i))));
+        affiliations
+            .append(String.format("affiliation%d: sendStanza (", i))
+            .append(
+                String.format(
+                    "stanza: \"\"\"%s\"\"\") ",
+                    XmppMessageBuilder.create(
+                            roomIdToRoomDomain(roomId), userIdToUserDomain(senderId))
+                        .type(MessageType.MEMBER_ADDED)
+                        .addConfig("user-id", chunk.get(i))
+                        .build()))
+            .append("{ id } ");
+      }
+      GraphQlResponse result =
+          executeMutation(
+              GraphQlBody.create(
+                  "mutation addRoomMembers { muc_light { "
+                      + invitations
+                      + "} stanza { "
+                      + affiliations
+                      + "} }",
+                  "addRoomMembers",
+                  Map.of()));
+      if (result.getErrors() != null) {
+        try {
+          throw new MessageDispatcherException(
+              String.format(
+                  "Error while adding room members: %s",
+                  objectMapper.writeValueAsString(result.getErrors())));
+        } catch (JsonProcessingException e) {
+          throw new MessageDispatcherException(PARSING_ERROR, e);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void removeRoomMembers(String roomId, List<String> memberIds) {
+    for (List<String> chunk : partition(memberIds)) {
+      StringBuilder kicks = new StringBuilder();
+      for (int i = 0; i < chunk.size(); i++) {
+        kicks
+            .append(String.format("kick%d: kickUser (", i))
+            .append(String.format("room: \"%s\", ", roomIdToRoomDomain(roomId)))
+            .append(String.format("user: \"%s\") ", userIdToUserDomain(chunk.get(i))));
+      }
+      GraphQlResponse result =
+          executeMutation(
+              GraphQlBody.create(
+                  "mutation removeRoomMembers { muc_light { " + kicks + "} }",
+                  "removeRoomMembers",
+                  Map.of()));
+      if (result.getErrors() != null) {
+        try {
+          throw new MessageDispatcherException(
+              String.format(
+                  "Error while removing room members: %s",
+                  objectMapper.writeValueAsString(result.getErrors())));
+        } catch (JsonProcessingException e) {
+          throw new MessageDispatcherException(PARSING_ERROR, e);
+        }
+      }
+    }
+  }
+
   @Override
   public void sendAffiliationMessage(
       String roomId, String senderId, String memberId, MessageType messageType) {
@@ -431,6 +506,14 @@ public class MessageDispatcherMongooseImpl implements MessageDispatcher {
             Map.of()));
   }
 
+  private List<List<String>> partition(List<String> ids) {
+    List<List<String>> chunks = new ArrayList<>();
+    for (int i = 0; i < ids.size(); i += MEMBERS_PER_REQUEST) {
+      chunks.add(ids.subList(i, Math.min(i + MEMBERS_PER_REQUEST, ids.size())));
+    }
+    return chunks;
+  }
+
   private String roomIdToRoomDomain(String roomId) {
     return String.join("@", roomId, MUC_DOMAIN);
   }
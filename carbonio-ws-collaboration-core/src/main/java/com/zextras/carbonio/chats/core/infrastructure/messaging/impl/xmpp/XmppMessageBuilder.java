@@ -5,30 +5,38 @@
 package com.zextras.carbonio.chats.core.infrastructure.messaging.impl.xmpp;
 
 import com.zextras.carbonio.chats.core.exception.BadRequestException;
-import com.zextras.carbonio.chats.core.exception.InternalErrorException;
 import com.zextras.carbonio.chats.core.exception.MessageDispatcherException;
 import com.zextras.carbonio.chats.core.infrastructure.messaging.MessageType;
-import java.io.ByteArrayInputStream;
-import java.io.StringWriter;
-import java.io.Writer;
+import java.io.StringReader;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.text.StringEscapeUtils;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.ls.DOMImplementationLS;
-import org.w3c.dom.ls.LSOutput;
-import org.w3c.dom.ls.LSSerializer;
 
+/**
+ * Builds the XMPP message stanzas sent to the rooms.
+ *
+ * <p>The stanza is written directly as text, attributes quoted with apostrophes, and only the
+ * message to forward is parsed, with a streaming reader, into a minimal tree of its elements.
+ */
 public class XmppMessageBuilder {
 
+  private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+  // Children of the message to forward which must not be forwarded with it
+  private static final Set<String> NOT_FORWARDED_ELEMENTS =
+      Set.of("markable", "forwarded", "reply", "stanza-id", "x");
+
   private final String to;
   private final String from;
   private final List<XmppConfiguration> configurations;
@@ -89,168 +97,324 @@ public class XmppMessageBuilder {
   }
 
   public String build() {
-    try {
-      Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
-      Element message = createMessageElement(document);
-      document.appendChild(message);
-      if (!configurations.isEmpty()) {
-        message.appendChild(createConfigurationsElement(document));
-      }
-      message.appendChild(
-          createTextElement(
-              document, "body", Optional.ofNullable(body).orElse(""), !StringUtils.isEmpty(body)));
-      Optional.ofNullable(replyId)
-          .ifPresent(id -> message.appendChild(createReplyElement(document)));
-      Optional.ofNullable(messageToForward)
-          .ifPresent(m -> message.appendChild(createForwardedElement(document)));
-      DOMImplementationLS domImplLS = (DOMImplementationLS) document.getImplementation();
-      LSSerializer serializer = domImplLS.createLSSerializer();
-      serializer.getDomConfig().setParameter("xml-declaration", false);
-      LSOutput lsOutput = domImplLS.createLSOutput();
-      lsOutput.setEncoding("UTF-8");
-      Writer stringWriter = new StringWriter();
-      lsOutput.setCharacterStream(stringWriter);
-      serializer.write(document, lsOutput);
-      return stringWriter.toString().replace("\"", "'");
-    } catch (ParserConfigurationException e) {
-      throw new InternalErrorException("Unable to initialize the XMPP message", e);
+    String recipient =
+        Optional.ofNullable(to)
+            .orElseThrow(
+                () ->
+                    new MessageDispatcherException(
+                        "Cannot create an XMPP message without recipient"));
+    String sender =
+        Optional.ofNullable(from)
+            .orElseThrow(
+                () ->
+                    new MessageDispatcherException(
+                        "Cannot create an XMPP message without sender"));
+    StanzaWriter writer = new StanzaWriter();
+    writer.startElement("message").attribute("xmlns", "jabber:client").attribute("from", sender);
+    Optional.ofNullable(messageId).ifPresent(id -> writer.attribute("id", id));
+    writer.attribute("to", recipient).attribute("type", "groupchat");
+    if (!configurations.isEmpty()) {
+      writer.startElement("x").attribute("xmlns", "urn:xmpp:muclight:0#configuration");
+      configurations.forEach(
+          config -> writer.textElement(config.getKey(), config.getValue(), config.isEncoded()));
+      writer.endElement("x");
     }
+    writer.textElement("body", Optional.ofNullable(body).orElse(""), !StringUtils.isEmpty(body));
+    Optional.ofNullable(replyId)
+        .ifPresent(
+            id ->
+                writer
+                    .startElement("reply")
+                    .attribute("xmlns", "urn:xmpp:reply:0")
+                    .attribute("id", id)
+                    .attribute("to", recipient)
+                    .endElement("reply"));
+    Optional.ofNullable(messageToForward).ifPresent(m -> writeForwarded(writer));
+    return writer.endElement("message").toString();
   }
 
-  private Element createForwardedElement(Document document) {
-    Element element = document.createElementNS("urn:xmpp:forward:0", "forwarded");
-    Optional.ofNullable(messageToForwardSentAt)
-        .ifPresent(
-            sentAt -> {
-              Element delay = document.createElementNS("urn:xmpp:delay", "delay");
-              delay.setAttribute("stamp", sentAt.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME));
-              element.appendChild(delay);
-            });
-    if (messageToForward.contains("<body>")) {
-      String body =
-          messageToForward.substring(
-              messageToForward.indexOf("<body>") + 6, messageToForward.indexOf("</body>"));
-      messageToForward = messageToForward.replace(body, StringEscapeUtils.escapeXml10(body));
-    }
-    Document documentTag;
-    Element messageTag;
-    try {
-      documentTag =
-          DocumentBuilderFactory.newInstance()
-              .newDocumentBuilder()
-              .parse(new ByteArrayInputStream(messageToForward.getBytes()));
-    } catch (Exception e) {
-      throw new BadRequestException("Cannot read the message to forward", e);
-    }
-    messageTag = documentTag.getDocumentElement();
-    Optional<Element> forwardedTag =
-        Optional.ofNullable(
-            Optional.ofNullable((Element) messageTag.getElementsByTagName("forwarded").item(0))
-                .orElse(
-                    Optional.ofNullable((Element) messageTag.getElementsByTagName("result").item(0))
-                        .map(r -> (Element) r.getElementsByTagName("forwarded").item(0))
-                        .orElse(null)));
+  private void writeForwarded(StanzaWriter writer) {
+    StanzaElement messageTag = parseMessageToForward();
+    Optional<StanzaElement> forwardedTag =
+        messageTag
+            .find("forwarded")
+            .or(() -> messageTag.find("result").flatMap(r -> r.find("forwarded")));
     int countAtt;
     String textBody;
     if (forwardedTag.isPresent()) {
       countAtt =
           forwardedTag
-              .flatMap(
-                  f ->
-                      Optional.ofNullable(f.getAttributes().getNamedItem("count"))
-                          .map(c -> Integer.parseInt(c.getNodeValue()) + 1))
+              .flatMap(f -> Optional.ofNullable(f.getAttribute("count")))
+              .map(c -> Integer.parseInt(c) + 1)
               .orElse(1);
       textBody =
           forwardedTag
-              .flatMap(
-                  f ->
-                      Optional.ofNullable((Element) f.getElementsByTagName("message").item(0))
-                          .flatMap(
-                              m ->
-                                  Optional.ofNullable(m.getElementsByTagName("body").item(0))
-                                      .map(b -> StringEscapeUtils.unescapeXml(b.getTextContent()))))
+              .flatMap(f -> f.find("message"))
+              .flatMap(m -> m.find("body"))
+              .map(b -> StringEscapeUtils.unescapeXml(b.getTextContent()))
               .orElse("");
     } else {
       countAtt = 1;
       textBody =
-          Optional.ofNullable((Element) messageTag.getElementsByTagName("body").item(0))
+          messageTag
+              .find("body")
               .map(b -> StringEscapeUtils.unescapeXml(b.getTextContent()))
               .orElse("");
     }
-    element.setAttribute("count", String.valueOf(countAtt));
 
-    Optional<Element> bodyTag =
-        Optional.ofNullable((Element) messageTag.getElementsByTagName("body").item(0));
+    Optional<StanzaElement> bodyTag = messageTag.find("body");
     if (bodyTag.isPresent()) {
-      if (!StringUtils.isEmpty(textBody) && !bodyTag.get().hasAttribute("encoded")) {
+      if (!StringUtils.isEmpty(textBody) && bodyTag.get().getAttribute("encoded") == null) {
         bodyTag.get().setAttribute("encoded", "UTF-8");
       }
       bodyTag.get().setTextContent(textBody);
     } else {
-      messageTag.appendChild(createTextElement(documentTag, "body", textBody, true));
+      StanzaElement newBody = new StanzaElement("body");
+      if (!StringUtils.isEmpty(textBody)) {
+        newBody.setAttribute("encoded", "UTF-8");
+      }
+      newBody.setTextContent(textBody);
+      messageTag.appendChild(newBody);
     }
+    NOT_FORWARDED_ELEMENTS.forEach(messageTag::removeChild);
 
-    Optional.ofNullable(messageTag.getElementsByTagName("markable").item(0))
-        .ifPresent(messageTag::removeChild);
-    Optional.ofNullable(messageTag.getElementsByTagName("forwarded").item(0))
-        .ifPresent(messageTag::removeChild);
-    Optional.ofNullable(messageTag.getElementsByTagName("reply").item(0))
-        .ifPresent(messageTag::removeChild);
-    Optional.ofNullable(messageTag.getElementsByTagName("stanza-id").item(0))
-        .ifPresent(messageTag::removeChild);
-    Optional.ofNullable(messageTag.getElementsByTagName("x").item(0))
-        .ifPresent(messageTag::removeChild);
-    Node messageTagImported = document.importNode(messageTag, true);
-    element.appendChild(messageTagImported);
-    return element;
+    writer
+        .startElement("forwarded")
+        .attribute("xmlns", "urn:xmpp:forward:0")
+        .attribute("count", String.valueOf(countAtt));
+    Optional.ofNullable(messageToForwardSentAt)
+        .ifPresent(
+            sentAt ->
+                writer
+                    .startElement("delay")
+                    .attribute("xmlns", "urn:xmpp:delay")
+                    .attribute("stamp", sentAt.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME))
+                    .endElement("delay"));
+    messageTag.write(writer);
+    writer.endElement("forwarded");
   }
 
-  private Element createReplyElement(Document document) {
-    Element element = document.createElementNS("urn:xmpp:reply:0", "reply");
-    element.setAttribute("to", to);
-    element.setAttribute("id", replyId);
-    return element;
+  private StanzaElement parseMessageToForward() {
+    // the body of the message to forward may contain unescaped text
+    String message = messageToForward;
+    int bodyStart = message.indexOf("<body>");
+    int bodyEnd = message.indexOf("</body>");
+    if (bodyStart >= 0 && bodyEnd > bodyStart) {
+      message =
+          message.substring(0, bodyStart + 6)
+              + StringEscapeUtils.escapeXml10(message.substring(bodyStart + 6, bodyEnd))
+              + message.substring(bodyEnd);
+    }
+    try {
+      XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(new StringReader(message));
+      try {
+        return StanzaElement.read(reader);
+      } finally {
+        reader.close();
+      }
+    } catch (XMLStreamException | RuntimeException e) {
+      throw new BadRequestException("Cannot read the message to forward", e);
+    }
   }
 
-  private Element createMessageElement(Document document) {
-    Element element = document.createElementNS("jabber:client", "message");
-    element.setAttribute(
-        "to",
-        Optional.ofNullable(to)
-            .orElseThrow(
-                () ->
-                    new MessageDispatcherException(
-                        "Cannot create an XMPP message without recipient")));
-    element.setAttribute(
-        "from",
-        Optional.ofNullable(from)
-            .orElseThrow(
-                () ->
-                    new MessageDispatcherException(
-                        "Cannot create an XMPP message without sender")));
-    Optional.ofNullable(messageId).ifPresent(id -> element.setAttribute("id", id));
-    element.setAttribute("type", "groupchat");
-    return element;
+  private static XMLInputFactory createInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newFactory();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    return factory;
   }
 
-  private Element createConfigurationsElement(Document document) {
-    Element element = document.createElementNS("urn:xmpp:muclight:0#configuration", "x");
-    configurations.forEach(
-        config ->
-            element.appendChild(
-                createTextElement(
-                    document, config.getKey(), config.getValue(), config.isEncoded())));
-    return element;
+  /**
+   * Writes a stanza as text. Elements without content are written as empty elements, so the start
+   * tag of an element is closed only when its first child or text is written.
+   */
+  private static class StanzaWriter {
+
+    private final StringBuilder stanza = new StringBuilder(256);
+    private boolean startTagOpen;
+
+    public StanzaWriter startElement(String name) {
+      closeStartTag();
+      stanza.append('<').append(name);
+      startTagOpen = true;
+      return this;
+    }
+
+    public StanzaWriter attribute(String name, String value) {
+      stanza.append(' ').append(name).append("='");
+      escape(value, true);
+      stanza.append('\'');
+      return this;
+    }
+
+    public StanzaWriter text(String text) {
+      if (!text.isEmpty()) {
+        closeStartTag();
+        escape(text, false);
+      }
+      return this;
+    }
+
+    public StanzaWriter endElement(String name) {
+      if (startTagOpen) {
+        stanza.append("/>");
+        startTagOpen = false;
+      } else {
+        stanza.append("</").append(name).append('>');
+      }
+      return this;
+    }
+
+    public StanzaWriter textElement(String name, String value, boolean isEncoded) {
+      startElement(name);
+      if (isEncoded && !StringUtils.isEmpty(value)) {
+        attribute("encoded", "UTF-8");
+      }
+      return text(value).endElement(name);
+    }
+
+    private void closeStartTag() {
+      if (startTagOpen) {
+        stanza.append('>');
+        startTagOpen = false;
+      }
+    }
+
+    // double quotes are always escaped, the stanza is sent inside a GraphQL block string
+    private void escape(String value, boolean isAttribute) {
+      for (int i = 0; i < value.length(); i++) {
+        char c = value.charAt(i);
+        switch (c) {
+          case '&' -> stanza.append("&amp;");
+          case '<' -> stanza.append("&lt;");
+          case '>' -> stanza.append("&gt;");
+          case '\r' -> stanza.append("&#13;");
+          case '\'' -> stanza.append(isAttribute ? "&apos;" : "'");
+          case '"' -> stanza.append("&quot;");
+          case '\n' -> stanza.append(isAttribute ? "&#10;" : "\n");
+          case '\t' -> stanza.append(isAttribute ? "&#9;" : "\t");
+          default -> stanza.append(c);
+        }
+      }
+    }
+
+    @Override
+    public String toString() {
+      return stanza.toString();
+    }
   }
 
-  private Element createTextElement(
-      Document document, String name, String value, boolean isEncoded) {
-    Element element = document.createElement(name);
-    if (isEncoded && !StringUtils.isEmpty(value)) {
-      element.setAttribute("encoded", "UTF-8");
+  /**
+   * Minimal element tree of a stanza read from text. Namespace declarations are not kept, and the
+   * attributes are kept sorted by name.
+   */
+  private static class StanzaElement {
+
+    private final String name;
+    private final Map<String, String> attributes = new TreeMap<>();
+    // child elements and text, in document order
+    private final List<Object> children = new ArrayList<>();
+
+    private StanzaElement(String name) {
+      this.name = name;
+    }
+
+    private static StanzaElement read(XMLStreamReader reader) throws XMLStreamException {
+      reader.nextTag();
+      return readElement(reader);
+    }
+
+    private static StanzaElement readElement(XMLStreamReader reader) throws XMLStreamException {
+      StanzaElement element =
+          new StanzaElement(qualifiedName(reader.getPrefix(), reader.getLocalName()));
+      for (int i = 0; i < reader.getAttributeCount(); i++) {
+        element.attributes.put(
+            qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+            reader.getAttributeValue(i));
+      }
+      while (reader.hasNext()) {
+        int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          element.children.add(readElement(reader));
+        } else if (event == XMLStreamConstants.END_ELEMENT) {
+          return element;
+        } else if (event == XMLStreamConstants.CHARACTERS
+            || event == XMLStreamConstants.CDATA
+            || event == XMLStreamConstants.SPACE) {
+          element.children.add(reader.getText());
+        }
+      }
+      return element;
+    }
+
+    private static String qualifiedName(String prefix, String localName) {
+      return StringUtils.isEmpty(prefix) ? localName : prefix + ":" + localName;
+    }
+
+    public String getAttribute(String name) {
+      return attributes.get(name);
+    }
+
+    public void setAttribute(String name, String value) {
+      attributes.put(name, value);
+    }
+
+    public String getTextContent() {
+      StringBuilder text = new StringBuilder();
+      children.forEach(
+          child ->
+              text.append(
+                  child instanceof StanzaElement element ? element.getTextContent() : child));
+      return text.toString();
+    }
+
+    public void setTextContent(String text) {
+      children.clear();
+      children.add(text);
+    }
+
+    public void appendChild(StanzaElement child) {
+      children.add(child);
+    }
+
+    /** Returns the first descendant with the given name, in document order. */
+    public Optional<StanzaElement> find(String name) {
+      for (Object child : children) {
+        if (child instanceof StanzaElement element) {
+          if (element.name.equals(name)) {
+            return Optional.of(element);
+          }
+          Optional<StanzaElement> descendant = element.find(name);
+          if (descendant.isPresent()) {
+            return descendant;
+          }
+        }
+      }
+      return Optional.empty();
+    }
+
+    /** Removes the first child with the given name. */
+    public void removeChild(String name) {
+      children.stream()
+          .filter(child -> child instanceof StanzaElement element && element.name.equals(name))
+          .findFirst()
+          .ifPresent(children::remove);
+    }
+
+    public void write(StanzaWriter writer) {
+      writer.startElement(name);
+      attributes.forEach(writer::attribute);
+      children.forEach(
+          child -> {
+            if (child instanceof StanzaElement element) {
+              element.write(writer);
+            } else {
+              writer.text((String) child);
+            }
+          });
+      writer.endElement(name);
     }
-    element.appendChild(document.createTextNode(value));
-    return element;
   }
 
   private static class XmppConfiguration {
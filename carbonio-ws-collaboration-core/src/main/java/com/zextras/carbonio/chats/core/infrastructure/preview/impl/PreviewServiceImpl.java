@@ -151,7 +151,7 @@ public class PreviewServiceImpl implements PreviewService {
                 () ->
                     new com.zextras.carbonio.chats.core.exception.NotFoundException(
                         String.format("File with id '%s' not found", fileId)));
-    roomService.getRoomAndValidateUser(UUID.fromString(originMetadata.getRoomId()), user, false);
+    roomService.validateUserMembership(UUID.fromString(originMetadata.getRoomId()), user, false);
   }
 
   @Override
@@ -8,6 +8,7 @@ import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.request.V
 import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.VideoServerResponse;
 import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.audiobridge.AudioBridgeResponse;
 import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.videoroom.VideoRoomResponse;
+import java.util.concurrent.CompletableFuture;
 
 public interface VideoServerClient {
 
@@ -18,6 +19,9 @@ public interface VideoServerClient {
   VideoServerResponse sendConnectionVideoServerRequest(
       String connectionId, VideoServerMessageRequest request);
 
+  CompletableFuture<VideoServerResponse> sendConnectionVideoServerRequestAsync(
+      String connectionId, VideoServerMessageRequest request);
+
   VideoServerResponse sendHandleVideoServerRequest(
       String connectionId, String handleId, VideoServerMessageRequest request);
 
@@ -26,4 +30,16 @@ public interface VideoServerClient {
 
   VideoRoomResponse sendVideoRoomRequest(
       String connectionId, String handleId, VideoServerMessageRequest request);
+
+  CompletableFuture<VideoRoomResponse> sendVideoRoomRequestAsync(
+      String connectionId, String handleId, VideoServerMessageRequest request);
+
+  /**
+   * Tells whether the VideoServer binds the connections to the transport session which created
+   * them, so that the connections created by another client have to be claimed before relying on
+   * them.
+   */
+  default boolean bindsConnections() {
+    return false;
+  }
 }
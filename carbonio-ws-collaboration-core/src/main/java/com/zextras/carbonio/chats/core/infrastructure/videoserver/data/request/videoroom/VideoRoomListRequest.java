@@ -0,0 +1,49 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.infrastructure.videoserver.data.request.videoroom;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import java.util.Objects;
+
+/**
+ * This class represents the video room request to list the available rooms.
+ *
+ * @see <a href="https://janus.conf.meetecho.com/docs/videoroom.html">VideoRoomListRequest</a>
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class VideoRoomListRequest extends VideoRoomRequest {
+
+  public static final String LIST = "list";
+
+  private String request;
+
+  public static VideoRoomListRequest create() {
+    return new VideoRoomListRequest();
+  }
+
+  public String getRequest() {
+    return request;
+  }
+
+  public VideoRoomListRequest request(String request) {
+    this.request = request;
+    return this;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof VideoRoomListRequest that)) return false;
+    return Objects.equals(getRequest(), that.getRequest());
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(getRequest());
+  }
+}
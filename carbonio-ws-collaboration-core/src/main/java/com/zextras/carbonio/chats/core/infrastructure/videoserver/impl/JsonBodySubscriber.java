@@ -0,0 +1,99 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.infrastructure.videoserver.impl;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * Parses a JSON response body while it is received, feeding each chunk to a non-blocking Jackson
+ * parser: the body is never copied into a single buffer or string, and no thread waits for it.
+ *
+ * @param <T> type the body is mapped to
+ */
+class JsonBodySubscriber<T> implements BodySubscriber<T> {
+
+  private final ObjectMapper objectMapper;
+  private final Class<T> type;
+  private final CompletableFuture<T> body;
+  private final JsonParser parser;
+  private final ByteArrayFeeder feeder;
+  private final TokenBuffer tokens;
+
+  private Flow.Subscription subscription;
+
+  JsonBodySubscriber(ObjectMapper objectMapper, Class<T> type) {
+    this.objectMapper = objectMapper;
+    this.type = type;
+    this.body = new CompletableFuture<>();
+    try {
+      this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    this.tokens = new TokenBuffer(parser);
+  }
+
+  @Override
+  public CompletionStage<T> getBody() {
+    return body;
+  }
+
+  @Override
+  public void onSubscribe(Flow.Subscription subscription) {
+    this.subscription = subscription;
+    subscription.request(Long.MAX_VALUE);
+  }
+
+  @Override
+  public void onNext(List<ByteBuffer> buffers) {
+    try {
+      for (ByteBuffer buffer : buffers) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        feeder.feedInput(bytes, 0, bytes.length);
+        copyAvailableTokens();
+      }
+    } catch (IOException e) {
+      subscription.cancel();
+      body.completeExceptionally(e);
+    }
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    body.completeExceptionally(throwable);
+  }
+
+  @Override
+  public void onComplete() {
+    try {
+      feeder.endOfInput();
+      copyAvailableTokens();
+      body.complete(objectMapper.readValue(tokens.asParser(objectMapper), type));
+    } catch (IOException e) {
+      body.completeExceptionally(e);
+    }
+  }
+
+  private void copyAvailableTokens() throws IOException {
+    JsonToken token;
+    while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+      tokens.copyCurrentEvent(parser);
+    }
+  }
+}
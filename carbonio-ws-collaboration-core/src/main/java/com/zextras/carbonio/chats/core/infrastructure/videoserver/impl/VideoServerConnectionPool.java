@@ -0,0 +1,187 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.infrastructure.videoserver.impl;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.zextras.carbonio.chats.core.config.AppConfig;
+import com.zextras.carbonio.chats.core.config.ConfigName;
+import com.zextras.carbonio.chats.core.exception.VideoServerException;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.VideoServerConfig;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.request.VideoServerMessageRequest;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.VideoServerResponse;
+import com.zextras.carbonio.chats.core.logging.ChatsLogger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a number of ready 'connections' (sessions) on the VideoServer, so that starting a meeting
+ * or joining it does not have to wait for the connection creation round trip.
+ *
+ * <p>Only connections are pooled: plugin handles carry the user and meeting they belong to in
+ * their opaque id, which is needed to route the VideoServer events and can only be set when
+ * attaching, so they are still attached on demand. Idle connections are kept alive sending a
+ * keepalive request before the VideoServer session timeout expires. Each VideoServer node has
+ * its own pool, since a connection can only be used on the node that created it.
+ */
+@Singleton
+public class VideoServerConnectionPool {
+
+  private static final String JANUS_CREATE = "create";
+  private static final String JANUS_KEEPALIVE = "keepalive";
+  private static final String JANUS_DESTROY = "destroy";
+  private static final String JANUS_SUCCESS = "success";
+  private static final String JANUS_ACK = "ack";
+
+  private static final int DEFAULT_POOL_SIZE = 10;
+  // VideoServer sessions expire after 60 seconds without any request
+  private static final int MAINTENANCE_INTERVAL_IN_SEC = 25;
+
+  private final VideoServerNodes videoServerNodes;
+  private final String apiSecret;
+  private final int poolSize;
+  private final Map<String, BlockingQueue<String>> connections;
+  private final Set<String> failingNodes;
+  private final ScheduledExecutorService scheduler;
+
+  @Inject
+  public VideoServerConnectionPool(
+      VideoServerNodes videoServerNodes,
+      VideoServerConfig videoServerConfig,
+      AppConfig appConfig) {
+    this.videoServerNodes = videoServerNodes;
+    this.apiSecret = videoServerConfig.getApiSecret();
+    this.poolSize =
+        appConfig
+            .get(Integer.class, ConfigName.VIDEO_SERVER_CONNECTION_POOL_SIZE)
+            .orElse(DEFAULT_POOL_SIZE);
+    this.connections = new LinkedHashMap<>();
+    videoServerNodes.getNodes().forEach(node -> connections.put(node, new LinkedBlockingQueue<>()));
+    this.failingNodes = ConcurrentHashMap.newKeySet();
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              Thread thread = new Thread(r, "VideoServerConnectionPool-Maintenance");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  public void start() {
+    if (poolSize <= 0) {
+      ChatsLogger.info("Video server connection pool disabled");
+      return;
+    }
+    scheduler.scheduleWithFixedDelay(
+        this::maintain, 0, MAINTENANCE_INTERVAL_IN_SEC, TimeUnit.SECONDS);
+    Runtime.getRuntime()
+        .addShutdownHook(new Thread(this::stop, "Video server connection pool shutdown hook"));
+  }
+
+  public void stop() {
+    scheduler.shutdownNow();
+    connections.forEach(
+        (node, nodeConnections) -> {
+          List<String> idleConnections = new ArrayList<>();
+          nodeConnections.drainTo(idleConnections);
+          idleConnections.forEach(connectionId -> destroyConnection(node, connectionId));
+        });
+  }
+
+  /**
+   * Hands out a ready connection of a node, removing it from the pool.
+   *
+   * @param node the VideoServer node the connection is needed on
+   * @return the connection id if the pool of the node is not empty, {@link Optional#empty()}
+   *     otherwise
+   */
+  public Optional<String> acquire(String node) {
+    return Optional.ofNullable(connections.get(node)).map(BlockingQueue::poll);
+  }
+
+  /**
+   * Tells whether the last maintenance of the pool of a node failed to refill it, meaning that the
+   * node cannot create connections and should not take new meetings.
+   *
+   * @param node the VideoServer node
+   * @return true if the pool of the node could not be refilled, false otherwise
+   */
+  public boolean isRefillFailing(String node) {
+    return failingNodes.contains(node);
+  }
+
+  void maintain() {
+    connections.forEach(this::maintain);
+  }
+
+  private void maintain(String node, BlockingQueue<String> nodeConnections) {
+    try {
+      nodeConnections.forEach(connectionId -> keepAlive(node, nodeConnections, connectionId));
+      while (nodeConnections.size() < poolSize) {
+        nodeConnections.add(createConnection(node));
+      }
+      failingNodes.remove(node);
+    } catch (Exception e) {
+      failingNodes.add(node);
+      ChatsLogger.warn(
+          "Unable to refill video server connection pool of node " + node + ": " + e.getMessage());
+    }
+  }
+
+  int size() {
+    return connections.values().stream().mapToInt(BlockingQueue::size).sum();
+  }
+
+  private void keepAlive(String node, BlockingQueue<String> nodeConnections, String connectionId) {
+    try {
+      VideoServerResponse response =
+          videoServerNodes
+              .getClient(node)
+              .sendConnectionVideoServerRequest(connectionId, buildRequest(JANUS_KEEPALIVE));
+      if (!JANUS_ACK.equals(response.getStatus())) {
+        nodeConnections.remove(connectionId);
+      }
+    } catch (Exception e) {
+      nodeConnections.remove(connectionId);
+    }
+  }
+
+  private String createConnection(String node) {
+    VideoServerResponse response =
+        videoServerNodes.getClient(node).sendVideoServerRequest(buildRequest(JANUS_CREATE));
+    if (!JANUS_SUCCESS.equals(response.getStatus())) {
+      throw new VideoServerException("Error creating video server connection");
+    }
+    return response.getDataId();
+  }
+
+  private void destroyConnection(String node, String connectionId) {
+    try {
+      videoServerNodes
+          .getClient(node)
+          .sendConnectionVideoServerRequest(connectionId, buildRequest(JANUS_DESTROY));
+    } catch (Exception e) {
+      ChatsLogger.debug("Unable to destroy pooled video server connection " + connectionId);
+    }
+  }
+
+  private VideoServerMessageRequest buildRequest(String action) {
+    return VideoServerMessageRequest.create()
+        .messageRequest(action)
+        .transactionId(UUID.randomUUID().toString())
+        .apiSecret(apiSecret);
+  }
+}
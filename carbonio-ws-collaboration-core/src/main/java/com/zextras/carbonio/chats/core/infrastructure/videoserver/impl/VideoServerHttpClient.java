@@ -14,19 +14,29 @@ import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.request.V
 import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.VideoServerResponse;
 import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.audiobridge.AudioBridgeResponse;
 import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.videoroom.VideoRoomResponse;
-import com.zextras.carbonio.chats.core.web.utility.HttpClient;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.Map;
-import org.apache.commons.io.IOUtils;
-import org.apache.http.HttpStatus;
-import org.apache.http.client.methods.CloseableHttpResponse;
-
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Sends the requests to the VideoServer through the JDK {@link HttpClient}, which keeps its own
+ * pool of connections and does not hold a thread for each request in flight. Responses are parsed
+ * while they are received by a {@link JsonBodySubscriber}; the synchronous methods just wait for
+ * the asynchronous ones.
+ */
 @Singleton
 public class VideoServerHttpClient implements VideoServerClient {
 
   private static final String JANUS_ENDPOINT = "/janus";
   private static final String JANUS_INFO_ENDPOINT = "/info";
+  private static final int HTTP_OK = 200;
+
+  public static final Duration TIMEOUT = Duration.ofSeconds(5);
 
   private final HttpClient httpClient;
   private final String videoServerURL;
@@ -42,135 +52,114 @@ public class VideoServerHttpClient implements VideoServerClient {
 
   @Override
   public VideoServerResponse sendGetInfoRequest() {
-    try (CloseableHttpResponse response =
-        httpClient.sendGet(
-            buildVideoServerUrl() + JANUS_INFO_ENDPOINT,
-            Map.of("Content-Type", "application/json"))) {
-      int statusCode = response.getStatusLine().getStatusCode();
-      if (statusCode != HttpStatus.SC_OK) {
-        throw new VideoServerException("Video server returns error response: " + statusCode);
-      }
-      return objectMapper.readValue(
-          IOUtils.toString(response.getEntity().getContent(), StandardCharsets.UTF_8),
-          VideoServerResponse.class);
-    } catch (JsonProcessingException e) {
-      throw new VideoServerException("Unable to convert request body to JSON");
-    } catch (IOException e) {
-      throw new VideoServerException("Something went wrong executing request");
-    }
+    return await(
+        send(
+            requestBuilder(buildVideoServerUrl() + JANUS_INFO_ENDPOINT).GET().build(),
+            VideoServerResponse.class));
   }
 
   @Override
   public VideoServerResponse sendVideoServerRequest(VideoServerMessageRequest request) {
-    try (CloseableHttpResponse response =
-        httpClient.sendPost(
-            buildVideoServerUrl(),
-            Map.of("Content-Type", "application/json"),
-            objectMapper.writeValueAsString(request))) {
-
-      int statusCode = response.getStatusLine().getStatusCode();
-      if (statusCode != HttpStatus.SC_OK) {
-        throw new VideoServerException("Video server returns error response: " + statusCode);
-      }
-      return objectMapper.readValue(
-          IOUtils.toString(response.getEntity().getContent(), StandardCharsets.UTF_8),
-          VideoServerResponse.class);
-    } catch (JsonProcessingException e) {
-      throw new VideoServerException("Unable to convert request body to JSON", e);
-    } catch (IOException e) {
-      throw new VideoServerException("Something went wrong executing request", e);
-    }
+    return await(post(buildVideoServerUrl(), request, VideoServerResponse.class));
   }
 
   @Override
   public VideoServerResponse sendConnectionVideoServerRequest(
       String connectionId, VideoServerMessageRequest request) {
-    try (CloseableHttpResponse response =
-        httpClient.sendPost(
-            buildVideoServerUrl(connectionId),
-            Map.of("Content-Type", "application/json"),
-            objectMapper.writeValueAsString(request))) {
-
-      int statusCode = response.getStatusLine().getStatusCode();
-      if (statusCode != HttpStatus.SC_OK) {
-        throw new VideoServerException("Video server returns error response: " + statusCode);
-      }
-      return objectMapper.readValue(
-          IOUtils.toString(response.getEntity().getContent(), StandardCharsets.UTF_8),
-          VideoServerResponse.class);
-    } catch (JsonProcessingException e) {
-      throw new VideoServerException("Unable to convert request body to JSON", e);
-    } catch (IOException e) {
-      throw new VideoServerException("Something went wrong executing request", e);
-    }
+    return await(sendConnectionVideoServerRequestAsync(connectionId, request));
+  }
+
+  @Override
+  public CompletableFuture<VideoServerResponse> sendConnectionVideoServerRequestAsync(
+      String connectionId, VideoServerMessageRequest request) {
+    return post(buildVideoServerUrl(connectionId), request, VideoServerResponse.class);
   }
 
   @Override
   public VideoServerResponse sendHandleVideoServerRequest(
       String connectionId, String handleId, VideoServerMessageRequest request) {
-    try (CloseableHttpResponse response =
-        httpClient.sendPost(
-            buildVideoServerUrl(connectionId, handleId),
-            Map.of("Content-Type", "application/json"),
-            objectMapper.writeValueAsString(request))) {
-
-      int statusCode = response.getStatusLine().getStatusCode();
-      if (statusCode != HttpStatus.SC_OK) {
-        throw new VideoServerException("Video server returns error response: " + statusCode);
-      }
-      return objectMapper.readValue(
-          IOUtils.toString(response.getEntity().getContent(), StandardCharsets.UTF_8),
-          VideoServerResponse.class);
-    } catch (JsonProcessingException e) {
-      throw new VideoServerException("Unable to convert request body to JSON", e);
-    } catch (IOException e) {
-      throw new VideoServerException("Something went wrong executing request", e);
-    }
+    return await(
+        post(buildVideoServerUrl(connectionId, handleId), request, VideoServerResponse.class));
   }
 
   @Override
   public AudioBridgeResponse sendAudioBridgeRequest(
       String connectionId, String handleId, VideoServerMessageRequest request) {
-    try (CloseableHttpResponse response =
-        httpClient.sendPost(
-            buildVideoServerUrl(connectionId, handleId),
-            Map.of("Content-Type", "application/json"),
-            objectMapper.writeValueAsString(request))) {
-
-      int statusCode = response.getStatusLine().getStatusCode();
-      if (statusCode != HttpStatus.SC_OK) {
-        throw new VideoServerException("Video server returns error response: " + statusCode);
-      }
-      return objectMapper.readValue(
-          IOUtils.toString(response.getEntity().getContent(), StandardCharsets.UTF_8),
-          AudioBridgeResponse.class);
-    } catch (JsonProcessingException e) {
-      throw new VideoServerException("Unable to convert request body to JSON", e);
-    } catch (IOException e) {
-      throw new VideoServerException("Something went wrong executing request", e);
-    }
+    return await(
+        post(buildVideoServerUrl(connectionId, handleId), request, AudioBridgeResponse.class));
   }
 
   @Override
   public VideoRoomResponse sendVideoRoomRequest(
       String connectionId, String handleId, VideoServerMessageRequest request) {
-    try (CloseableHttpResponse response =
-        httpClient.sendPost(
-            buildVideoServerUrl(connectionId, handleId),
-            Map.of("Content-Type", "application/json"),
-            objectMapper.writeValueAsString(request))) {
-
-      int statusCode = response.getStatusLine().getStatusCode();
-      if (statusCode != HttpStatus.SC_OK) {
-        throw new VideoServerException("Video server returns error response: " + statusCode);
-      }
-      return objectMapper.readValue(
-          IOUtils.toString(response.getEntity().getContent(), StandardCharsets.UTF_8),
-          VideoRoomResponse.class);
+    return await(sendVideoRoomRequestAsync(connectionId, handleId, request));
+  }
+
+  @Override
+  public CompletableFuture<VideoRoomResponse> sendVideoRoomRequestAsync(
+      String connectionId, String handleId, VideoServerMessageRequest request) {
+    return post(buildVideoServerUrl(connectionId, handleId), request, VideoRoomResponse.class);
+  }
+
+  private <T> CompletableFuture<T> post(
+      String url, VideoServerMessageRequest request, Class<T> responseType) {
+    String body;
+    try {
+      body = objectMapper.writeValueAsString(request);
     } catch (JsonProcessingException e) {
-      throw new VideoServerException("Unable to convert request body to JSON", e);
-    } catch (IOException e) {
-      throw new VideoServerException("Something went wrong executing request", e);
+      return CompletableFuture.failedFuture(
+          new VideoServerException("Unable to convert request body to JSON", e));
+    }
+    return send(
+        requestBuilder(url).POST(HttpRequest.BodyPublishers.ofString(body)).build(), responseType);
+  }
+
+  private <T> CompletableFuture<T> send(HttpRequest request, Class<T> responseType) {
+    return httpClient
+        .sendAsync(request, jsonBodyHandler(responseType))
+        .handle(
+            (response, throwable) -> {
+              if (throwable != null) {
+                throw toVideoServerException(throwable);
+              }
+              if (response.statusCode() != HTTP_OK) {
+                throw new VideoServerException(
+                    "Video server returns error response: " + response.statusCode());
+              }
+              return response.body();
+            });
+  }
+
+  /** Parses the body only for successful responses, the others are discarded unread. */
+  private <T> BodyHandler<T> jsonBodyHandler(Class<T> responseType) {
+    return responseInfo ->
+        responseInfo.statusCode() == HTTP_OK
+            ? new JsonBodySubscriber<>(objectMapper, responseType)
+            : BodySubscribers.replacing(null);
+  }
+
+  private HttpRequest.Builder requestBuilder(String url) {
+    return HttpRequest.newBuilder(URI.create(url))
+        .timeout(TIMEOUT)
+        .header("Content-Type", "application/json");
+  }
+
+  private VideoServerException toVideoServerException(Throwable throwable) {
+    Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+    if (cause instanceof VideoServerException videoServerException) {
+      return videoServerException;
+    }
+    if (cause instanceof JsonProcessingException) {
+      return new VideoServerException("Unable to parse video server response", cause);
+    }
+    return new VideoServerException("Something went wrong executing request", cause);
+  }
+
+  private <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      throw toVideoServerException(e);
     }
   }
 
@@ -0,0 +1,107 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.infrastructure.videoserver.impl;
+
+import com.zextras.carbonio.chats.core.exception.VideoServerException;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.VideoServerClient;
+import jakarta.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * The VideoServer nodes available to host meetings, each one with its own client.
+ *
+ * <p>A meeting lives entirely on the node it was placed on when started: its rooms, its handles
+ * and the connections of all its participants. The node is stored with the meeting and every
+ * later interaction is sent to the client of that node. Meetings stored without a node were
+ * started before more nodes could be configured and belong to the first one.
+ */
+public class VideoServerNodes {
+
+  private final Map<String, VideoServerClient> clients;
+  private final String defaultNode;
+
+  /**
+   * @param clients the client of each node, the first one being the default node
+   */
+  public VideoServerNodes(Map<String, VideoServerClient> clients) {
+    if (clients.isEmpty()) {
+      throw new IllegalArgumentException("At least one video server node is required");
+    }
+    this.clients = Collections.unmodifiableMap(new LinkedHashMap<>(clients));
+    this.defaultNode = this.clients.keySet().iterator().next();
+  }
+
+  public Set<String> getNodes() {
+    return clients.keySet();
+  }
+
+  /**
+   * Resolves the node a meeting was placed on.
+   *
+   * @param node the node stored with the meeting, if any
+   * @return the given node, or the default one if it is null
+   */
+  public String getNode(@Nullable String node) {
+    return node == null ? defaultNode : node;
+  }
+
+  /**
+   * Returns the client of a node.
+   *
+   * @param node the node stored with the meeting, if any
+   * @return the {@link VideoServerClient} of the node
+   * @throws VideoServerException if the node is not configured anymore
+   */
+  public VideoServerClient getClient(@Nullable String node) {
+    VideoServerClient client = clients.get(getNode(node));
+    if (client == null) {
+      throw new VideoServerException("Video server node " + node + " is not configured");
+    }
+    return client;
+  }
+
+  /**
+   * Chooses the node where a new meeting is placed: the available one hosting the fewest active
+   * meetings. Ties are broken by rendezvous hashing on the meeting id, so that equally loaded
+   * nodes share the new meetings instead of all of them going to the first node. The nodes are
+   * checked for availability in this order, so a node which is down, and then hosts no meetings,
+   * is skipped instead of taking every new meeting.
+   *
+   * @param meetingId the meeting identifier
+   * @param activeMeetings the number of active meetings hosted by a node
+   * @param available whether a node can take new meetings
+   * @return the chosen node
+   * @throws VideoServerException if no node can take new meetings
+   */
+  public String selectNode(
+      String meetingId, ToIntFunction<String> activeMeetings, Predicate<String> available) {
+    if (clients.size() == 1) {
+      return defaultNode;
+    }
+    Map<String, Integer> load = new LinkedHashMap<>();
+    clients.keySet().forEach(node -> load.put(node, activeMeetings.applyAsInt(node)));
+    return load.keySet().stream()
+        .sorted(
+            Comparator.<String>comparingInt(load::get)
+                .thenComparing(
+                    Comparator.<String>comparingLong(node -> score(node, meetingId)).reversed()))
+        .filter(available)
+        .findFirst()
+        .orElseThrow(() -> new VideoServerException("No video server node is available"));
+  }
+
+  private static long score(String node, String meetingId) {
+    return UUID.nameUUIDFromBytes((node + "/" + meetingId).getBytes(StandardCharsets.UTF_8))
+        .getMostSignificantBits();
+  }
+}
@@ -0,0 +1,497 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.infrastructure.videoserver.impl;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.zextras.carbonio.chats.core.cache.CacheHandler;
+import com.zextras.carbonio.chats.core.config.AppConfig;
+import com.zextras.carbonio.chats.core.config.ConfigName;
+import com.zextras.carbonio.chats.core.data.entity.VideoServerMeeting;
+import com.zextras.carbonio.chats.core.data.entity.VideoServerSession;
+import com.zextras.carbonio.chats.core.exception.VideoServerException;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.VideoServerClient;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.VideoServerConfig;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.request.VideoServerMessageRequest;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.request.VideoServerPluginRequest;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.request.audiobridge.AudioBridgeCreateRequest;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.request.audiobridge.AudioBridgeDestroyRequest;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.request.audiobridge.AudioBridgeListRequest;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.request.videoroom.VideoRoomCreateRequest;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.request.videoroom.VideoRoomDestroyRequest;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.request.videoroom.VideoRoomListRequest;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.VideoServerResponse;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.audiobridge.AudioBridgeDataInfo;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.audiobridge.AudioBridgeDataRoom;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.audiobridge.AudioBridgePluginData;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.videoroom.VideoRoomDataInfo;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.videoroom.VideoRoomDataRoom;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.videoroom.VideoRoomPluginData;
+import com.zextras.carbonio.chats.core.logging.ChatsLogger;
+import com.zextras.carbonio.chats.core.repository.ParticipantRepository;
+import com.zextras.carbonio.chats.core.repository.VideoServerMeetingRepository;
+import com.zextras.carbonio.chats.core.repository.VideoServerSessionRepository;
+import com.zextras.carbonio.chats.core.service.ParticipantService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the VideoServer state and the database state of the meetings consistent.
+ *
+ * <p>The VideoServer destroys a connection (session) which does not receive any request for its
+ * session timeout, so the connections of all the meetings and participant sessions stored in the
+ * database are kept alive on a fixed schedule, whichever instance created them: a meeting survives
+ * the restart of its instance, and with more instances every connection simply receives more
+ * keepalives. The keepalives are sent concurrently and awaited for a bounded time, so that a slow
+ * node cannot delay them past the session timeout.
+ *
+ * <p>When the VideoServer binds the connections to the transport which created them, the stored
+ * connections are claimed when the instance starts, so that the ones created by the previous
+ * process are not destroyed with its transport once the VideoServer {@code
+ * reclaim_session_timeout} expires. The connections of the other instances are claimed too: they
+ * keep working, since every reply is sent through the transport of its request.
+ *
+ * <p>The keepalive also tells which connections are gone, for example after a VideoServer
+ * restart: their meetings and participant sessions are removed from the database, destroying on
+ * the VideoServer whatever is left of them, and their participants leave the meeting as if they
+ * had closed their websocket, which stops the meeting once the last one has left.
+ *
+ * <p>Rooms are not bound to any connection and outlive them, so they are periodically reconciled
+ * too: the rooms listed by each plugin of a node which do not belong to any meeting stored for
+ * that node are destroyed. A room is destroyed only when it is found orphan by two reconciliations
+ * in a row, so that the rooms of a meeting which is being started are never touched. Connections
+ * left without their database rows cannot be listed through the VideoServer API, but they are not
+ * kept alive anymore and are destroyed by the VideoServer itself when their timeout expires.
+ */
+@Singleton
+public class VideoServerReaper {
+
+  private static final String JANUS_CREATE = "create";
+  private static final String JANUS_ATTACH = "attach";
+  private static final String JANUS_MESSAGE = "message";
+  private static final String JANUS_KEEPALIVE = "keepalive";
+  private static final String JANUS_CLAIM = "claim";
+  private static final String JANUS_DESTROY = "destroy";
+  private static final String JANUS_SUCCESS = "success";
+  private static final String JANUS_ACK = "ack";
+  private static final String JANUS_SERVER_INFO = "server_info";
+  private static final String JANUS_VIDEOROOM_PLUGIN = "janus.plugin.videoroom";
+  private static final String JANUS_AUDIOBRIDGE_PLUGIN = "janus.plugin.audiobridge";
+  // JANUS_ERROR_SESSION_NOT_FOUND
+  private static final long JANUS_SESSION_NOT_FOUND = 458L;
+
+  // VideoServer sessions expire after 60 seconds without any request
+  private static final int KEEPALIVE_INTERVAL_IN_SEC = 25;
+  private static final int KEEPALIVE_TIMEOUT_IN_SEC = 10;
+  private static final int DEFAULT_REAPER_INTERVAL_IN_SEC = 300;
+
+  private final VideoServerNodes videoServerNodes;
+  private final VideoServerMeetingRepository videoServerMeetingRepository;
+  private final VideoServerSessionRepository videoServerSessionRepository;
+  private final ParticipantRepository participantRepository;
+  private final ParticipantService participantService;
+  private final CacheHandler cacheHandler;
+  private final String apiSecret;
+  private final int reaperInterval;
+  private final Map<String, Set<String>> orphanRooms;
+  private final ScheduledExecutorService scheduler;
+
+  @Inject
+  public VideoServerReaper(
+      VideoServerNodes videoServerNodes,
+      VideoServerMeetingRepository videoServerMeetingRepository,
+      VideoServerSessionRepository videoServerSessionRepository,
+      ParticipantRepository participantRepository,
+      ParticipantService participantService,
+      CacheHandler cacheHandler,
+      VideoServerConfig videoServerConfig,
+      AppConfig appConfig) {
+    this.videoServerNodes = videoServerNodes;
+    this.videoServerMeetingRepository = videoServerMeetingRepository;
+    this.videoServerSessionRepository = videoServerSessionRepository;
+    this.participantRepository = participantRepository;
+    this.participantService = participantService;
+    this.cacheHandler = cacheHandler;
+    this.apiSecret = videoServerConfig.getApiSecret();
+    this.reaperInterval =
+        appConfig
+            .get(Integer.class, ConfigName.VIDEO_SERVER_REAPER_INTERVAL_IN_SEC)
+            .orElse(DEFAULT_REAPER_INTERVAL_IN_SEC);
+    this.orphanRooms = new ConcurrentHashMap<>();
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              Thread thread = new Thread(r, "VideoServerReaper");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  public void start() {
+    scheduler.execute(this::claimConnections);
+    scheduler.scheduleWithFixedDelay(
+        this::keepAlive, KEEPALIVE_INTERVAL_IN_SEC, KEEPALIVE_INTERVAL_IN_SEC, TimeUnit.SECONDS);
+    if (reaperInterval > 0) {
+      scheduler.scheduleWithFixedDelay(
+          this::reapOrphanRooms, reaperInterval, reaperInterval, TimeUnit.SECONDS);
+    } else {
+      ChatsLogger.info("Video server orphan rooms reaper disabled");
+    }
+    Runtime.getRuntime()
+        .addShutdownHook(new Thread(scheduler::shutdownNow, "Video server reaper shutdown hook"));
+  }
+
+  /**
+   * Claims the connections of the meetings and participant sessions stored in the database,
+   * removing the ones whose connection does not exist anymore.
+   */
+  void claimConnections() {
+    try {
+      keepAlive(true);
+    } catch (Exception e) {
+      ChatsLogger.warn("Unable to claim video server connections: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Sends a keepalive request on the connections of the meetings and participant sessions stored
+   * in the database, removing the ones whose connection does not exist anymore.
+   */
+  void keepAlive() {
+    try {
+      keepAlive(false);
+    } catch (Exception e) {
+      ChatsLogger.warn("Unable to keep video server connections alive: " + e.getMessage());
+    }
+  }
+
+  private void keepAlive(boolean claim) {
+    List<VideoServerMeeting> videoServerMeetings = videoServerMeetingRepository.getAll();
+    Map<String, CompletableFuture<Boolean>> keepalives = new HashMap<>();
+    for (VideoServerMeeting videoServerMeeting : videoServerMeetings) {
+      VideoServerClient videoServerClient;
+      try {
+        videoServerClient = videoServerNodes.getClient(videoServerMeeting.getServerNode());
+      } catch (VideoServerException e) {
+        ChatsLogger.warn(
+            "Video server meeting " + videoServerMeeting.getMeetingId() + ": " + e.getMessage());
+        continue;
+      }
+      String action = claim && videoServerClient.bindsConnections() ? JANUS_CLAIM : JANUS_KEEPALIVE;
+      getConnectionIds(videoServerMeeting)
+          .forEach(
+              connectionId ->
+                  keepalives.put(
+                      connectionId, sendKeepAlive(videoServerClient, connectionId, action)));
+    }
+    if (keepalives.isEmpty()) {
+      return;
+    }
+    CompletableFuture.allOf(keepalives.values().toArray(CompletableFuture[]::new))
+        .completeOnTimeout(null, KEEPALIVE_TIMEOUT_IN_SEC, TimeUnit.SECONDS)
+        .join();
+    // a keepalive not answered in time tells nothing about its connection
+    videoServerMeetings.forEach(
+        videoServerMeeting ->
+            removeGone(
+                videoServerMeeting,
+                connectionId ->
+                    Optional.ofNullable(keepalives.get(connectionId))
+                        .map(keepalive -> keepalive.getNow(false))
+                        .orElse(false)));
+  }
+
+  private List<String> getConnectionIds(VideoServerMeeting videoServerMeeting) {
+    List<String> connectionIds = new ArrayList<>();
+    connectionIds.add(videoServerMeeting.getConnectionId());
+    getVideoServerSessions(videoServerMeeting).stream()
+        .map(VideoServerSession::getConnectionId)
+        .forEach(connectionIds::add);
+    return connectionIds;
+  }
+
+  private List<VideoServerSession> getVideoServerSessions(VideoServerMeeting videoServerMeeting) {
+    return Optional.ofNullable(videoServerMeeting.getVideoServerSessions()).orElse(List.of());
+  }
+
+  private void removeGone(VideoServerMeeting videoServerMeeting, Predicate<String> isGone) {
+    String meetingId = videoServerMeeting.getMeetingId();
+    List<VideoServerSession> videoServerSessions = getVideoServerSessions(videoServerMeeting);
+    if (isGone.test(videoServerMeeting.getConnectionId())) {
+      ChatsLogger.info(
+          "Removing video server meeting "
+              + meetingId
+              + " since its connection does not exist anymore");
+      VideoServerClient videoServerClient =
+          videoServerNodes.getClient(videoServerMeeting.getServerNode());
+      videoServerSessions.forEach(
+          videoServerSession ->
+              destroyConnection(videoServerClient, videoServerSession.getConnectionId()));
+      videoServerMeetingRepository.deleteById(meetingId);
+      cacheHandler.getMeetingSessionsCache().invalidate(meetingId);
+      participantRepository
+          .getByMeetingId(meetingId)
+          .forEach(participant -> removeParticipant(meetingId, participant.getQueueId()));
+      return;
+    }
+    videoServerSessions.stream()
+        .filter(videoServerSession -> isGone.test(videoServerSession.getConnectionId()))
+        .forEach(
+            videoServerSession -> {
+              ChatsLogger.info(
+                  "Removing video server session of user "
+                      + videoServerSession.getUserId()
+                      + " in meeting "
+                      + meetingId
+                      + " since its connection does not exist anymore");
+              videoServerSessionRepository.remove(videoServerSession);
+              cacheHandler.getMeetingSessionsCache().invalidate(meetingId);
+              removeParticipant(meetingId, videoServerSession.getQueueId());
+            });
+  }
+
+  /**
+   * Makes the participant leave the meeting, as its media are gone with the connection. The
+   * meeting is stopped when the last participant leaves.
+   */
+  private void removeParticipant(String meetingId, String queueId) {
+    if (queueId == null) {
+      return;
+    }
+    try {
+      participantService.removeMeetingParticipant(UUID.fromString(queueId));
+    } catch (Exception e) {
+      ChatsLogger.warn(
+          "Unable to remove participant with queue "
+              + queueId
+              + " from meeting "
+              + meetingId
+              + ": "
+              + e.getMessage());
+    }
+  }
+
+  /**
+   * Keeps a connection alive, claiming it if the action is a claim.
+   *
+   * @return a future completed with true if the VideoServer answers that the connection does not
+   *     exist, false if it is alive or if its state cannot be known because the VideoServer is not
+   *     reachable
+   */
+  private CompletableFuture<Boolean> sendKeepAlive(
+      VideoServerClient videoServerClient, String connectionId, String action) {
+    try {
+      return videoServerClient
+          .sendConnectionVideoServerRequestAsync(connectionId, buildRequest(action))
+          .handle(
+              (response, throwable) -> {
+                if (throwable != null) {
+                  ChatsLogger.debug(
+                      "Unable to keep video server connection " + connectionId + " alive");
+                  return false;
+                }
+                return !JANUS_ACK.equals(response.getStatus())
+                    && response.getError() != null
+                    && response.getError().getCode() == JANUS_SESSION_NOT_FOUND;
+              });
+    } catch (Exception e) {
+      ChatsLogger.debug("Unable to keep video server connection " + connectionId + " alive");
+      return CompletableFuture.completedFuture(false);
+    }
+  }
+
+  /**
+   * Destroys the rooms of every VideoServer node which do not belong to any meeting stored in the
+   * database.
+   */
+  void reapOrphanRooms() {
+    try {
+      Map<String, List<VideoServerMeeting>> meetingsByNode =
+          videoServerMeetingRepository.getAll().stream()
+              .collect(
+                  Collectors.groupingBy(
+                      videoServerMeeting ->
+                          videoServerNodes.getNode(videoServerMeeting.getServerNode())));
+      videoServerNodes
+          .getNodes()
+          .forEach(node -> reapOrphanRooms(node, meetingsByNode.getOrDefault(node, List.of())));
+    } catch (Exception e) {
+      ChatsLogger.warn("Unable to reap orphan video server rooms: " + e.getMessage());
+    }
+  }
+
+  private void reapOrphanRooms(String node, List<VideoServerMeeting> videoServerMeetings) {
+    VideoServerClient videoServerClient = videoServerNodes.getClient(node);
+    try {
+      if (!JANUS_SERVER_INFO.equals(videoServerClient.sendGetInfoRequest().getStatus())) {
+        return;
+      }
+    } catch (Exception e) {
+      ChatsLogger.debug("Video server node " + node + " is not reachable, skipping reaper");
+      return;
+    }
+
+    VideoServerResponse connection =
+        videoServerClient.sendVideoServerRequest(buildRequest(JANUS_CREATE));
+    if (!JANUS_SUCCESS.equals(connection.getStatus())) {
+      throw new VideoServerException("Error creating video server connection on node " + node);
+    }
+    String connectionId = connection.getDataId();
+    try {
+      Set<String> found = new HashSet<>();
+      reapOrphanAudioRooms(
+          node,
+          videoServerClient,
+          connectionId,
+          videoServerMeetings.stream()
+              .map(VideoServerMeeting::getAudioRoomId)
+              .collect(Collectors.toSet()),
+          found);
+      reapOrphanVideoRooms(
+          node,
+          videoServerClient,
+          connectionId,
+          videoServerMeetings.stream()
+              .map(VideoServerMeeting::getVideoRoomId)
+              .collect(Collectors.toSet()),
+          found);
+      orphanRooms.put(node, found);
+    } finally {
+      destroyConnection(videoServerClient, connectionId);
+    }
+  }
+
+  private void reapOrphanAudioRooms(
+      String node,
+      VideoServerClient videoServerClient,
+      String connectionId,
+      Set<String> meetingRooms,
+      Set<String> found) {
+    String handleId = attach(videoServerClient, connectionId, JANUS_AUDIOBRIDGE_PLUGIN);
+    List<String> rooms =
+        Optional.ofNullable(
+                videoServerClient
+                    .sendAudioBridgeRequest(
+                        connectionId,
+                        handleId,
+                        buildPluginRequest(
+                            AudioBridgeListRequest.create().request(AudioBridgeListRequest.LIST)))
+                    .getPluginData())
+            .map(AudioBridgePluginData::getDataInfo)
+            .map(AudioBridgeDataInfo::getRooms)
+            .orElse(List.of())
+            .stream()
+            .map(AudioBridgeDataRoom::getRoom)
+            .filter(room -> room != null && room.startsWith(AudioBridgeCreateRequest.ROOM_DEFAULT))
+            .filter(room -> !meetingRooms.contains(room))
+            .toList();
+    for (String room : rooms) {
+      if (isConfirmedOrphan(node, room, found)) {
+        ChatsLogger.info("Destroying orphan audio bridge room " + room + " on node " + node);
+        videoServerClient.sendAudioBridgeRequest(
+            connectionId,
+            handleId,
+            buildPluginRequest(
+                AudioBridgeDestroyRequest.create()
+                    .request(AudioBridgeDestroyRequest.DESTROY)
+                    .room(room)
+                    .permanent(false)));
+      }
+    }
+  }
+
+  private void reapOrphanVideoRooms(
+      String node,
+      VideoServerClient videoServerClient,
+      String connectionId,
+      Set<String> meetingRooms,
+      Set<String> found) {
+    String handleId = attach(videoServerClient, connectionId, JANUS_VIDEOROOM_PLUGIN);
+    List<String> rooms =
+        Optional.ofNullable(
+                videoServerClient
+                    .sendVideoRoomRequest(
+                        connectionId,
+                        handleId,
+                        buildPluginRequest(
+                            VideoRoomListRequest.create().request(VideoRoomListRequest.LIST)))
+                    .getPluginData())
+            .map(VideoRoomPluginData::getDataInfo)
+            .map(VideoRoomDataInfo::getRooms)
+            .orElse(List.of())
+            .stream()
+            .map(VideoRoomDataRoom::getRoom)
+            .filter(room -> room != null && room.startsWith(VideoRoomCreateRequest.ROOM_DEFAULT))
+            .filter(room -> !meetingRooms.contains(room))
+            .toList();
+    for (String room : rooms) {
+      if (isConfirmedOrphan(node, room, found)) {
+        ChatsLogger.info("Destroying orphan video room " + room + " on node " + node);
+        videoServerClient.sendVideoRoomRequest(
+            connectionId,
+            handleId,
+            buildPluginRequest(
+                VideoRoomDestroyRequest.create()
+                    .request(VideoRoomDestroyRequest.DESTROY)
+                    .room(room)
+                    .permanent(false)));
+      }
+    }
+  }
+
+  /**
+   * Records a room found orphan by the current reconciliation.
+   *
+   * @return true if the room was found orphan by the previous reconciliation too
+   */
+  private boolean isConfirmedOrphan(String node, String room, Set<String> found) {
+    found.add(room);
+    return orphanRooms.getOrDefault(node, Set.of()).contains(room);
+  }
+
+  private String attach(VideoServerClient videoServerClient, String connectionId, String plugin) {
+    VideoServerResponse response =
+        videoServerClient.sendConnectionVideoServerRequest(
+            connectionId, buildRequest(JANUS_ATTACH).pluginName(plugin));
+    if (!JANUS_SUCCESS.equals(response.getStatus())) {
+      throw new VideoServerException("Error attaching to plugin " + plugin);
+    }
+    return response.getDataId();
+  }
+
+  private void destroyConnection(VideoServerClient videoServerClient, String connectionId) {
+    try {
+      videoServerClient.sendConnectionVideoServerRequest(
+          connectionId, buildRequest(JANUS_DESTROY));
+    } catch (Exception e) {
+      ChatsLogger.debug("Unable to destroy video server connection " + connectionId);
+    }
+  }
+
+  private VideoServerMessageRequest buildPluginRequest(
+      VideoServerPluginRequest videoServerPluginRequest) {
+    return buildRequest(JANUS_MESSAGE).videoServerPluginRequest(videoServerPluginRequest);
+  }
+
+  private VideoServerMessageRequest buildRequest(String action) {
+    return VideoServerMessageRequest.create()
+        .messageRequest(action)
+        .transactionId(UUID.randomUUID().toString())
+        .apiSecret(apiSecret);
+  }
+}
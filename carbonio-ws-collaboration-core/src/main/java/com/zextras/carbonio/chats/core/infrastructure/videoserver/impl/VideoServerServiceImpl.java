@@ -6,6 +6,7 @@ package com.zextras.carbonio.chats.core.infrastructure.videoserver.impl;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.zextras.carbonio.chats.core.cache.CacheHandler;
 import com.zextras.carbonio.chats.core.data.entity.VideoServerMeeting;
 import com.zextras.carbonio.chats.core.data.entity.VideoServerSession;
 import com.zextras.carbonio.chats.core.exception.VideoServerException;
@@ -48,6 +49,8 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 @Singleton
@@ -73,9 +76,11 @@ public class VideoServerServiceImpl implements VideoServerService {
   private static final String USER_VIDEO_IN_OPAQUE_ID_PATTERN = "vi/%s/%s";
   private static final String USER_SCREEN_OPAQUE_ID_PATTERN = "s/%s/%s";
 
-  private final VideoServerClient videoServerClient;
+  private final VideoServerNodes videoServerNodes;
+  private final VideoServerConnectionPool videoServerConnectionPool;
   private final VideoServerMeetingRepository videoServerMeetingRepository;
   private final VideoServerSessionRepository videoServerSessionRepository;
+  private final CacheHandler cacheHandler;
   private final Clock clock;
 
   private final String apiSecret;
@@ -83,13 +88,17 @@ public class VideoServerServiceImpl implements VideoServerService {
   @Inject
   public VideoServerServiceImpl(
       VideoServerConfig videoServerConfig,
-      VideoServerClient videoServerClient,
+      VideoServerNodes videoServerNodes,
+      VideoServerConnectionPool videoServerConnectionPool,
       VideoServerMeetingRepository videoServerMeetingRepository,
       VideoServerSessionRepository videoServerSessionRepository,
+      CacheHandler cacheHandler,
       Clock clock) {
-    this.videoServerClient = videoServerClient;
+    this.videoServerNodes = videoServerNodes;
+    this.videoServerConnectionPool = videoServerConnectionPool;
     this.videoServerMeetingRepository = videoServerMeetingRepository;
     this.videoServerSessionRepository = videoServerSessionRepository;
+    this.cacheHandler = cacheHandler;
     this.clock = clock;
     this.apiSecret = videoServerConfig.getApiSecret();
   }
@@ -101,16 +110,20 @@ public class VideoServerServiceImpl implements VideoServerService {
       return;
     }
 
-    VideoServerResponse connectionResponse = createMeetingConnection();
-    String connectionId = connectionResponse.getDataId();
+    String serverNode =
+        videoServerNodes.selectNode(meetingId, this::countActiveMeetings, this::canTakeMeetings);
+    VideoServerClient videoServerClient = videoServerNodes.getClient(serverNode);
+    String connectionId = acquireConnection(serverNode);
 
     VideoServerResponse audioPluginResponse =
         attachToPlugin(
+            videoServerClient,
             connectionId,
             JANUS_AUDIOBRIDGE_PLUGIN,
             String.format(MEETING_AUDIO_OPAQUE_ID_PATTERN, meetingId));
     VideoServerResponse videoPluginResponse =
         attachToPlugin(
+            videoServerClient,
             connectionId,
             JANUS_VIDEOROOM_PLUGIN,
             String.format(MEETING_VIDEO_OPAQUE_ID_PATTERN, meetingId));
@@ -119,8 +132,9 @@ public class VideoServerServiceImpl implements VideoServerService {
     String videoHandleId = videoPluginResponse.getDataId();
 
     AudioBridgeResponse audioRoomResponse =
-        createAudioBridgeRoom(meetingId, connectionId, audioHandleId);
-    VideoRoomResponse videoRoomResponse = createVideoRoom(meetingId, connectionId, videoHandleId);
+        createAudioBridgeRoom(videoServerClient, meetingId, connectionId, audioHandleId);
+    VideoRoomResponse videoRoomResponse =
+        createVideoRoom(videoServerClient, meetingId, connectionId, videoHandleId);
 
     String audioRoomId = audioRoomResponse.getRoom();
     String videoRoomId = videoRoomResponse.getRoom();
@@ -132,11 +146,31 @@ public class VideoServerServiceImpl implements VideoServerService {
             .audioHandleId(audioHandleId)
             .videoHandleId(videoHandleId)
             .audioRoomId(audioRoomId)
-            .videoRoomId(videoRoomId));
+            .videoRoomId(videoRoomId)
+            .serverNode(serverNode));
+  }
+
+  // Meetings stored without a node were started before more nodes could be configured and belong
+  // to the default one
+  private int countActiveMeetings(String serverNode) {
+    return videoServerMeetingRepository.countByServerNode(
+        serverNode, serverNode.equals(videoServerNodes.getNode(null)));
+  }
+
+  // A node can take new meetings while it answers and its connection pool can be refilled
+  private boolean canTakeMeetings(String serverNode) {
+    return !videoServerConnectionPool.isRefillFailing(serverNode) && isAlive(serverNode);
+  }
+
+  private String acquireConnection(String serverNode) {
+    return videoServerConnectionPool
+        .acquire(serverNode)
+        .orElseGet(
+            () -> createMeetingConnection(videoServerNodes.getClient(serverNode)).getDataId());
   }
 
-  private VideoServerResponse createMeetingConnection() {
-    VideoServerResponse response = createConnection();
+  private VideoServerResponse createMeetingConnection(VideoServerClient videoServerClient) {
+    VideoServerResponse response = createConnection(videoServerClient);
     if (!JANUS_SUCCESS.equals(response.getStatus())) {
       throw new VideoServerException("Error creating video server connection");
     }
@@ -144,9 +178,12 @@ public class VideoServerServiceImpl implements VideoServerService {
   }
 
   private VideoServerResponse attachToPlugin(
-      String connectionId, String pluginType, String opaqueId) {
+      VideoServerClient videoServerClient,
+      String connectionId,
+      String pluginType,
+      String opaqueId) {
     VideoServerResponse response =
-        interactWithConnection(connectionId, JANUS_ATTACH, pluginType, opaqueId);
+        interactWithConnection(videoServerClient, connectionId, JANUS_ATTACH, pluginType, opaqueId);
     if (!JANUS_SUCCESS.equals(response.getStatus())) {
       throw new VideoServerException("Error attaching to plugin " + pluginType);
     }
@@ -154,7 +191,10 @@ public class VideoServerServiceImpl implements VideoServerService {
   }
 
   private AudioBridgeResponse createAudioBridgeRoom(
-      String meetingId, String connectionId, String audioHandleId) {
+      VideoServerClient videoServerClient,
+      String meetingId,
+      String connectionId,
+      String audioHandleId) {
     AudioBridgeCreateRequest audioRequest =
         AudioBridgeCreateRequest.create()
             .request(AudioBridgeCreateRequest.CREATE)
@@ -169,7 +209,8 @@ public class VideoServerServiceImpl implements VideoServerService {
             .audioLevelEvent(true);
 
     AudioBridgeResponse response =
-        sendAudioBridgePluginMessage(connectionId, audioHandleId, audioRequest, null);
+        sendAudioBridgePluginMessage(
+            videoServerClient, connectionId, audioHandleId, audioRequest, null);
     if (!AudioBridgeResponse.CREATED.equals(response.getAudioBridge())) {
       throw new VideoServerException(
           "An error occurred when creating an audiobridge room for the connection "
@@ -183,7 +224,10 @@ public class VideoServerServiceImpl implements VideoServerService {
   }
 
   private VideoRoomResponse createVideoRoom(
-      String meetingId, String connectionId, String videoHandleId) {
+      VideoServerClient videoServerClient,
+      String meetingId,
+      String connectionId,
+      String videoHandleId) {
     VideoRoomCreateRequest videoRequest =
         VideoRoomCreateRequest.create()
             .request(VideoRoomCreateRequest.CREATE)
@@ -201,7 +245,8 @@ public class VideoServerServiceImpl implements VideoServerService {
                     .collect(Collectors.joining(",")));
 
     VideoRoomResponse response =
-        sendVideoRoomPluginMessage(connectionId, videoHandleId, videoRequest, null);
+        sendVideoRoomPluginMessage(
+            videoServerClient, connectionId, videoHandleId, videoRequest, null);
     if (!VideoRoomResponse.CREATED.equals(response.getVideoRoom())) {
       throw new VideoServerException(
           "An error occurred when creating a videoroom room for the connection "
@@ -220,33 +265,40 @@ public class VideoServerServiceImpl implements VideoServerService {
         .getById(meetingId)
         .ifPresent(
             videoServerMeeting -> {
+              VideoServerClient videoServerClient = getVideoServerClient(videoServerMeeting);
               destroyAudioBridgeRoom(
+                  videoServerClient,
                   meetingId,
                   videoServerMeeting.getConnectionId(),
                   videoServerMeeting.getAudioHandleId(),
                   videoServerMeeting.getAudioRoomId());
               destroyVideoRoom(
+                  videoServerClient,
                   meetingId,
                   videoServerMeeting.getConnectionId(),
                   videoServerMeeting.getVideoHandleId(),
                   videoServerMeeting.getVideoRoomId());
 
               destroyPluginHandle(
+                  videoServerClient,
                   videoServerMeeting.getConnectionId(),
                   videoServerMeeting.getAudioHandleId(),
                   meetingId);
               destroyPluginHandle(
+                  videoServerClient,
                   videoServerMeeting.getConnectionId(),
                   videoServerMeeting.getVideoHandleId(),
                   meetingId);
 
-              destroyConnection(videoServerMeeting.getConnectionId(), meetingId);
+              destroyConnection(videoServerClient, videoServerMeeting.getConnectionId(), meetingId);
               videoServerMeetingRepository.deleteById(meetingId);
+              cacheHandler.getMeetingSessionsCache().invalidate(meetingId);
             });
   }
 
-  private void destroyPluginHandle(String connectionId, String handleId, String meetingId) {
-    VideoServerResponse response = destroyPluginHandle(connectionId, handleId);
+  private void destroyPluginHandle(
+      VideoServerClient videoServerClient, String connectionId, String handleId, String meetingId) {
+    VideoServerResponse response = destroyPluginHandle(videoServerClient, connectionId, handleId);
     if (!JANUS_SUCCESS.equals(response.getStatus())) {
       ChatsLogger.debug(
           "An error occurred when destroying the plugin handle for the connection "
@@ -258,8 +310,9 @@ public class VideoServerServiceImpl implements VideoServerService {
     }
   }
 
-  private void destroyConnection(String connectionId, String meetingId) {
-    VideoServerResponse response = destroyConnection(connectionId);
+  private void destroyConnection(
+      VideoServerClient videoServerClient, String connectionId, String meetingId) {
+    VideoServerResponse response = destroyConnection(videoServerClient, connectionId);
     if (!JANUS_SUCCESS.equals(response.getStatus())) {
       ChatsLogger.debug(
           "An error occurred when destroying the video server connection "
@@ -270,7 +323,11 @@ public class VideoServerServiceImpl implements VideoServerService {
   }
 
   private void destroyVideoRoom(
-      String meetingId, String connectionId, String videoHandleId, String videoRoomId) {
+      VideoServerClient videoServerClient,
+      String meetingId,
+      String connectionId,
+      String videoHandleId,
+      String videoRoomId) {
     VideoRoomDestroyRequest destroyRequest =
         VideoRoomDestroyRequest.create()
             .request(VideoRoomDestroyRequest.DESTROY)
@@ -278,7 +335,8 @@ public class VideoServerServiceImpl implements VideoServerService {
             .permanent(false);
 
     VideoRoomResponse response =
-        sendVideoRoomPluginMessage(connectionId, videoHandleId, destroyRequest, null);
+        sendVideoRoomPluginMessage(
+            videoServerClient, connectionId, videoHandleId, destroyRequest, null);
     if (!VideoRoomResponse.DESTROYED.equals(response.getVideoRoom())) {
       ChatsLogger.debug(
           "An error occurred when destroying the video room for the connection "
@@ -291,7 +349,11 @@ public class VideoServerServiceImpl implements VideoServerService {
   }
 
   private void destroyAudioBridgeRoom(
-      String meetingId, String connectionId, String audioHandleId, String audioRoomId) {
+      VideoServerClient videoServerClient,
+      String meetingId,
+      String connectionId,
+      String audioHandleId,
+      String audioRoomId) {
     AudioBridgeDestroyRequest destroyRequest =
         AudioBridgeDestroyRequest.create()
             .request(AudioBridgeDestroyRequest.DESTROY)
@@ -299,7 +361,8 @@ public class VideoServerServiceImpl implements VideoServerService {
             .permanent(false);
 
     AudioBridgeResponse response =
-        sendAudioBridgePluginMessage(connectionId, audioHandleId, destroyRequest, null);
+        sendAudioBridgePluginMessage(
+            videoServerClient, connectionId, audioHandleId, destroyRequest, null);
     if (!AudioBridgeResponse.DESTROYED.equals(response.getAudioBridge())) {
       ChatsLogger.debug(
           "An error occurred when destroying the audio bridge room for the connection "
@@ -334,93 +397,140 @@ public class VideoServerServiceImpl implements VideoServerService {
       return;
     }
 
-    String connectionId = createConnection().getDataId();
+    VideoServerClient videoServerClient = getVideoServerClient(videoServerMeeting);
+    String connectionId =
+        acquireConnection(videoServerNodes.getNode(videoServerMeeting.getServerNode()));
 
-    String audioHandleId =
-        attachToPlugin(
-                connectionId,
-                JANUS_AUDIOBRIDGE_PLUGIN,
-                String.format(USER_AUDIO_OPAQUE_ID_PATTERN, userId, meetingId))
-            .getDataId();
-    String videoOutHandleId =
-        attachToPlugin(
+    // attaches only depend on the connection and each publisher join only on its own handle,
+    // so they are pipelined instead of being sent one after the other
+    CompletableFuture<String> audioHandle =
+        attachToPluginAsync(
+            videoServerClient,
+            connectionId,
+            JANUS_AUDIOBRIDGE_PLUGIN,
+            String.format(USER_AUDIO_OPAQUE_ID_PATTERN, userId, meetingId));
+    CompletableFuture<String> videoOutHandle =
+        attachToPluginAsync(
+                videoServerClient,
                 connectionId,
                 JANUS_VIDEOROOM_PLUGIN,
                 String.format(USER_VIDEO_OUT_OPAQUE_ID_PATTERN, userId, meetingId))
-            .getDataId();
-    String videoInHandleId =
-        attachToPlugin(
-                connectionId,
-                JANUS_VIDEOROOM_PLUGIN,
-                String.format(USER_VIDEO_IN_OPAQUE_ID_PATTERN, userId, meetingId))
-            .getDataId();
-    String screenHandleId =
-        attachToPlugin(
+            .thenCompose(
+                handleId ->
+                    joinVideoRoomAsPublisherAsync(
+                        videoServerClient,
+                        connectionId,
+                        userId,
+                        handleId,
+                        videoServerMeeting.getVideoRoomId(),
+                        MediaType.VIDEO));
+    CompletableFuture<String> videoInHandle =
+        attachToPluginAsync(
+            videoServerClient,
+            connectionId,
+            JANUS_VIDEOROOM_PLUGIN,
+            String.format(USER_VIDEO_IN_OPAQUE_ID_PATTERN, userId, meetingId));
+    CompletableFuture<String> screenHandle =
+        attachToPluginAsync(
+                videoServerClient,
                 connectionId,
                 JANUS_VIDEOROOM_PLUGIN,
                 String.format(USER_SCREEN_OPAQUE_ID_PATTERN, userId, meetingId))
-            .getDataId();
+            .thenCompose(
+                handleId ->
+                    joinVideoRoomAsPublisherAsync(
+                        videoServerClient,
+                        connectionId,
+                        userId,
+                        handleId,
+                        videoServerMeeting.getVideoRoomId(),
+                        MediaType.SCREEN));
 
-    joinVideoRoomAsPublisher(
-        connectionId,
-        userId,
-        videoOutHandleId,
-        videoServerMeeting.getVideoRoomId(),
-        MediaType.VIDEO);
+    await(CompletableFuture.allOf(audioHandle, videoOutHandle, videoInHandle, screenHandle));
 
-    joinVideoRoomAsPublisher(
-        connectionId,
-        userId,
-        screenHandleId,
-        videoServerMeeting.getVideoRoomId(),
-        MediaType.SCREEN);
-
-    videoServerSession.ifPresentOrElse(
-        session ->
-            videoServerSessionRepository.update(
-                session
-                    .userId(userId)
-                    .queueId(queueId)
-                    .videoServerMeeting(videoServerMeeting)
-                    .connectionId(connectionId)
-                    .audioHandleId(audioHandleId)
-                    .videoOutHandleId(videoOutHandleId)
-                    .videoInHandleId(videoInHandleId)
-                    .screenHandleId(screenHandleId)),
-        () ->
-            videoServerSessionRepository.insert(
-                VideoServerSession.create(userId, queueId, videoServerMeeting)
-                    .connectionId(connectionId)
-                    .audioHandleId(audioHandleId)
-                    .videoOutHandleId(videoOutHandleId)
-                    .videoInHandleId(videoInHandleId)
-                    .screenHandleId(screenHandleId)));
-  }
-
-  private void joinVideoRoomAsPublisher(
+    videoServerSessionRepository.insert(
+        VideoServerSession.create(userId, queueId, videoServerMeeting)
+            .connectionId(connectionId)
+            .audioHandleId(audioHandle.join())
+            .videoOutHandleId(videoOutHandle.join())
+            .videoInHandleId(videoInHandle.join())
+            .screenHandleId(screenHandle.join()));
+    cacheHandler.getMeetingSessionsCache().invalidate(meetingId);
+  }
+
+  private CompletableFuture<String> attachToPluginAsync(
+      VideoServerClient videoServerClient,
+      String connectionId,
+      String pluginType,
+      String opaqueId) {
+    VideoServerMessageRequest request =
+        VideoServerMessageRequest.create()
+            .messageRequest(JANUS_ATTACH)
+            .transactionId(UUID.randomUUID().toString())
+            .apiSecret(apiSecret)
+            .pluginName(pluginType)
+            .opaqueId(opaqueId);
+
+    return videoServerClient
+        .sendConnectionVideoServerRequestAsync(connectionId, request)
+        .thenApply(
+            response -> {
+              if (!JANUS_SUCCESS.equals(response.getStatus())) {
+                throw new VideoServerException("Error attaching to plugin " + pluginType);
+              }
+              return response.getDataId();
+            });
+  }
+
+  private CompletableFuture<String> joinVideoRoomAsPublisherAsync(
+      VideoServerClient videoServerClient,
       String connectionId,
       String userId,
       String videoHandleId,
       String videoRoomId,
       MediaType mediaType) {
-    VideoRoomResponse videoRoomResponse =
-        sendVideoRoomPluginMessage(
-            connectionId,
-            videoHandleId,
-            VideoRoomJoinRequest.create()
-                .request(VideoRoomJoinRequest.JOIN)
-                .ptype(Ptype.PUBLISHER.toString().toLowerCase())
-                .room(videoRoomId)
-                .id(Feed.create().type(mediaType).userId(userId).toString()),
-            null);
+    VideoServerMessageRequest request =
+        VideoServerMessageRequest.create()
+            .messageRequest(VideoServerServiceImpl.JANUS_MESSAGE)
+            .transactionId(UUID.randomUUID().toString())
+            .videoServerPluginRequest(
+                VideoRoomJoinRequest.create()
+                    .request(VideoRoomJoinRequest.JOIN)
+                    .ptype(Ptype.PUBLISHER.toString().toLowerCase())
+                    .room(videoRoomId)
+                    .id(Feed.create().type(mediaType).userId(userId).toString()))
+            .apiSecret(apiSecret);
 
-    if (!VideoRoomResponse.ACK.equals(videoRoomResponse.getStatus())) {
-      throw new VideoServerException(
-          "An error occurred while user "
-              + userId
-              + " with connection id "
-              + connectionId
-              + " is joining video room as publisher");
+    return videoServerClient
+        .sendVideoRoomRequestAsync(connectionId, videoHandleId, request)
+        .thenApply(
+            videoRoomResponse -> {
+              if (!VideoRoomResponse.ACK.equals(videoRoomResponse.getStatus())) {
+                throw new VideoServerException(
+                    "An error occurred while user "
+                        + userId
+                        + " with connection id "
+                        + connectionId
+                        + " is joining video room as publisher");
+              }
+              return videoHandleId;
+            });
+  }
+
+  /**
+   * This method waits for the completion of an asynchronous video server interaction, rethrowing
+   * its failure as it would have been thrown by the synchronous call.
+   *
+   * @param future the asynchronous interaction to wait for
+   */
+  private static void await(CompletableFuture<?> future) {
+    try {
+      future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof VideoServerException videoServerException) {
+        throw videoServerException;
+      }
+      throw new VideoServerException("Something went wrong interacting with video server", e);
     }
   }
 
@@ -428,29 +538,48 @@ public class VideoServerServiceImpl implements VideoServerService {
   public void destroyMeetingParticipant(String userId, String meetingId) {
     videoServerMeetingRepository
         .getById(meetingId)
-        .flatMap(
+        .ifPresent(
             videoServerMeeting ->
                 videoServerMeeting.getVideoServerSessions().stream()
                     .filter(sessionUser -> sessionUser.getUserId().equals(userId))
-                    .findFirst())
-        .ifPresent(
-            videoServerSession -> {
-              destroyParticipantSession(meetingId, videoServerSession);
-              videoServerSessionRepository.remove(videoServerSession);
-            });
+                    .findFirst()
+                    .ifPresent(
+                        videoServerSession -> {
+                          destroyParticipantSession(
+                              getVideoServerClient(videoServerMeeting),
+                              meetingId,
+                              videoServerSession);
+                          videoServerSessionRepository.remove(videoServerSession);
+                          cacheHandler.getMeetingSessionsCache().invalidate(meetingId);
+                        }));
   }
 
-  private void destroyParticipantSession(String meetingId, VideoServerSession videoServerSession) {
+  private void destroyParticipantSession(
+      VideoServerClient videoServerClient,
+      String meetingId,
+      VideoServerSession videoServerSession) {
     destroyPluginHandle(
-        videoServerSession.getConnectionId(), videoServerSession.getAudioHandleId(), meetingId);
+        videoServerClient,
+        videoServerSession.getConnectionId(),
+        videoServerSession.getAudioHandleId(),
+        meetingId);
     destroyPluginHandle(
-        videoServerSession.getConnectionId(), videoServerSession.getVideoOutHandleId(), meetingId);
+        videoServerClient,
+        videoServerSession.getConnectionId(),
+        videoServerSession.getVideoOutHandleId(),
+        meetingId);
     destroyPluginHandle(
-        videoServerSession.getConnectionId(), videoServerSession.getVideoInHandleId(), meetingId);
+        videoServerClient,
+        videoServerSession.getConnectionId(),
+        videoServerSession.getVideoInHandleId(),
+        meetingId);
     destroyPluginHandle(
-        videoServerSession.getConnectionId(), videoServerSession.getScreenHandleId(), meetingId);
+        videoServerClient,
+        videoServerSession.getConnectionId(),
+        videoServerSession.getScreenHandleId(),
+        meetingId);
 
-    destroyConnection(videoServerSession.getConnectionId(), meetingId);
+    destroyConnection(videoServerClient, videoServerSession.getConnectionId(), meetingId);
   }
 
   @Override
@@ -464,11 +593,13 @@ public class VideoServerServiceImpl implements VideoServerService {
 
     VideoServerMeeting videoServerMeeting = getVideoServerMeeting(meetingId);
     VideoServerSession videoServerSession = getVideoServerSession(userId, videoServerMeeting);
+    VideoServerClient videoServerClient = getVideoServerClient(videoServerMeeting);
 
     try {
       switch (mediaStreamSettingsDto.getType()) {
         case VIDEO ->
             updateVideoStream(
+                videoServerClient,
                 userId,
                 meetingId,
                 videoServerSession,
@@ -476,6 +607,7 @@ public class VideoServerServiceImpl implements VideoServerService {
                 mediaStreamSettingsDto.getSdp());
         case SCREEN ->
             updateScreenStream(
+                videoServerClient,
                 userId,
                 meetingId,
                 videoServerSession,
@@ -489,6 +621,7 @@ public class VideoServerServiceImpl implements VideoServerService {
   }
 
   private void updateVideoStream(
+      VideoServerClient videoServerClient,
       String userId,
       String meetingId,
       VideoServerSession videoServerSession,
@@ -506,6 +639,7 @@ public class VideoServerServiceImpl implements VideoServerService {
 
     if (enabled) {
       publishStreamOnVideoRoom(
+          videoServerClient,
           userId,
           videoServerSession.getConnectionId(),
           videoServerSession.getVideoOutHandleId(),
@@ -517,6 +651,7 @@ public class VideoServerServiceImpl implements VideoServerService {
   }
 
   private void updateScreenStream(
+      VideoServerClient videoServerClient,
       String userId,
       String meetingId,
       VideoServerSession videoServerSession,
@@ -534,6 +669,7 @@ public class VideoServerServiceImpl implements VideoServerService {
 
     if (enabled) {
       publishStreamOnVideoRoom(
+          videoServerClient,
           userId,
           videoServerSession.getConnectionId(),
           videoServerSession.getScreenHandleId(),
@@ -545,6 +681,7 @@ public class VideoServerServiceImpl implements VideoServerService {
   }
 
   private void publishStreamOnVideoRoom(
+      VideoServerClient videoServerClient,
       String userId,
       String connectionId,
       String handleId,
@@ -553,6 +690,7 @@ public class VideoServerServiceImpl implements VideoServerService {
 
     VideoRoomResponse videoRoomResponse =
         sendVideoRoomPluginMessage(
+            videoServerClient,
             connectionId,
             handleId,
             VideoRoomPublishRequest.create()
@@ -580,6 +718,7 @@ public class VideoServerServiceImpl implements VideoServerService {
   public void updateAudioStream(String userId, String meetingId, boolean enabled) {
     VideoServerMeeting videoServerMeeting = getVideoServerMeeting(meetingId);
     VideoServerSession videoServerSession = getVideoServerSession(userId, videoServerMeeting);
+    VideoServerClient videoServerClient = getVideoServerClient(videoServerMeeting);
 
     if (videoServerSession.hasAudioStreamOn() == enabled) {
       ChatsLogger.debug(
@@ -590,6 +729,7 @@ public class VideoServerServiceImpl implements VideoServerService {
     }
 
     muteAudioStream(
+        videoServerClient,
         videoServerMeeting.getConnectionId(),
         videoServerSession.getConnectionId(),
         userId,
@@ -601,6 +741,7 @@ public class VideoServerServiceImpl implements VideoServerService {
   }
 
   private void muteAudioStream(
+      VideoServerClient videoServerClient,
       String meetingConnectionId,
       String connectionId,
       String userId,
@@ -610,6 +751,7 @@ public class VideoServerServiceImpl implements VideoServerService {
 
     AudioBridgeResponse audioBridgeResponse =
         sendAudioBridgePluginMessage(
+            videoServerClient,
             meetingConnectionId,
             meetingAudioHandleId,
             AudioBridgeMuteRequest.create()
@@ -631,14 +773,23 @@ public class VideoServerServiceImpl implements VideoServerService {
   public void answerRtcMediaStream(String userId, String meetingId, String sdp) {
     VideoServerMeeting videoServerMeeting = getVideoServerMeeting(meetingId);
     VideoServerSession videoServerSession = getVideoServerSession(userId, videoServerMeeting);
+    VideoServerClient videoServerClient = getVideoServerClient(videoServerMeeting);
 
     startVideoIn(
-        videoServerSession.getConnectionId(), videoServerSession.getVideoInHandleId(), sdp);
+        videoServerClient,
+        videoServerSession.getConnectionId(),
+        videoServerSession.getVideoInHandleId(),
+        sdp);
   }
 
-  private void startVideoIn(String connectionId, String videoInHandleId, String sdp) {
+  private void startVideoIn(
+      VideoServerClient videoServerClient,
+      String connectionId,
+      String videoInHandleId,
+      String sdp) {
     VideoRoomResponse videoRoomResponse =
         sendVideoRoomPluginMessage(
+            videoServerClient,
             connectionId,
             videoInHandleId,
             VideoRoomStartVideoInRequest.create().request(VideoRoomStartVideoInRequest.START),
@@ -658,9 +809,11 @@ public class VideoServerServiceImpl implements VideoServerService {
       String userId, String meetingId, SubscriptionUpdatesDto subscriptionUpdatesDto) {
     VideoServerMeeting videoServerMeeting = getVideoServerMeeting(meetingId);
     VideoServerSession videoServerSession = getVideoServerSession(userId, videoServerMeeting);
+    VideoServerClient videoServerClient = getVideoServerClient(videoServerMeeting);
 
     if (!videoServerSession.hasVideoInStreamOn()) {
       joinVideoRoomAsSubscriber(
+          videoServerClient,
           videoServerSession.getConnectionId(),
           userId,
           videoServerSession.getVideoInHandleId(),
@@ -669,6 +822,7 @@ public class VideoServerServiceImpl implements VideoServerService {
       videoServerSessionRepository.update(videoServerSession.videoInStreamOn(true));
     } else {
       updateSubscriptions(
+          videoServerClient,
           videoServerSession.getConnectionId(),
           userId,
           videoServerSession.getVideoInHandleId(),
@@ -677,6 +831,7 @@ public class VideoServerServiceImpl implements VideoServerService {
   }
 
   private void joinVideoRoomAsSubscriber(
+      VideoServerClient videoServerClient,
       String connectionId,
       String userId,
       String videoHandleId,
@@ -685,6 +840,7 @@ public class VideoServerServiceImpl implements VideoServerService {
 
     VideoRoomResponse videoRoomResponse =
         sendVideoRoomPluginMessage(
+            videoServerClient,
             connectionId,
             videoHandleId,
             VideoRoomJoinRequest.create()
@@ -721,6 +877,7 @@ public class VideoServerServiceImpl implements VideoServerService {
   }
 
   private void updateSubscriptions(
+      VideoServerClient videoServerClient,
       String connectionId,
       String userId,
       String videoInHandleId,
@@ -728,6 +885,7 @@ public class VideoServerServiceImpl implements VideoServerService {
 
     VideoRoomResponse videoRoomResponse =
         sendVideoRoomPluginMessage(
+            videoServerClient,
             connectionId,
             videoInHandleId,
             VideoRoomUpdateSubscriptionsRequest.create()
@@ -782,8 +940,10 @@ public class VideoServerServiceImpl implements VideoServerService {
   public void offerRtcAudioStream(String userId, String meetingId, String sdp) {
     VideoServerMeeting videoServerMeeting = getVideoServerMeeting(meetingId);
     VideoServerSession videoServerSession = getVideoServerSession(userId, videoServerMeeting);
+    VideoServerClient videoServerClient = getVideoServerClient(videoServerMeeting);
 
     joinAudioBridgeRoom(
+        videoServerClient,
         userId,
         videoServerSession.getConnectionId(),
         videoServerSession.getAudioHandleId(),
@@ -792,10 +952,16 @@ public class VideoServerServiceImpl implements VideoServerService {
   }
 
   private void joinAudioBridgeRoom(
-      String userId, String connectionId, String audioHandleId, String audioRoomId, String sdp) {
+      VideoServerClient videoServerClient,
+      String userId,
+      String connectionId,
+      String audioHandleId,
+      String audioRoomId,
+      String sdp) {
 
     AudioBridgeResponse audioBridgeResponse =
         sendAudioBridgePluginMessage(
+            videoServerClient,
             connectionId,
             audioHandleId,
             AudioBridgeJoinRequest.create()
@@ -831,6 +997,10 @@ public class VideoServerServiceImpl implements VideoServerService {
                     "No videoserver meeting found for the meeting " + meetingId));
   }
 
+  private VideoServerClient getVideoServerClient(VideoServerMeeting videoServerMeeting) {
+    return videoServerNodes.getClient(videoServerMeeting.getServerNode());
+  }
+
   private VideoServerSession getVideoServerSession(
       String userId, VideoServerMeeting videoServerMeeting) {
     return videoServerMeeting.getVideoServerSessions().stream()
@@ -846,17 +1016,24 @@ public class VideoServerServiceImpl implements VideoServerService {
   }
 
   /**
-   * This method checks if the video server is alive.
+   * This method checks if the video server can host meetings, that is if at least one of its
+   * nodes is alive and can take new meetings.
    *
-   * @return true if the video server returns the server_info status, false otherwise
+   * @return true if a video server node returns the server_info status and its connection pool
+   *     can be refilled, false otherwise
    * @see <a href="https://janus.conf.meetecho.com/docs/rest.html">JanusRestApi</a>
    */
   @Override
   public boolean isAlive() {
+    return videoServerNodes.getNodes().stream().anyMatch(this::canTakeMeetings);
+  }
+
+  private boolean isAlive(String serverNode) {
     try {
-      return JANUS_SERVER_INFO.equals(videoServerClient.sendGetInfoRequest().getStatus());
+      return JANUS_SERVER_INFO.equals(
+          videoServerNodes.getClient(serverNode).sendGetInfoRequest().getStatus());
     } catch (Exception e) {
-      ChatsLogger.warn("Can't communicate with Video server due to: " + e);
+      ChatsLogger.warn("Can't communicate with Video server node " + serverNode + " due to: " + e);
       return false;
     }
   }
@@ -864,9 +1041,10 @@ public class VideoServerServiceImpl implements VideoServerService {
   /**
    * This method creates a 'connection' (session) on the VideoServer.
    *
+   * @param videoServerClient the client of the VideoServer node
    * @return VideoServerResponse
    */
-  private VideoServerResponse createConnection() {
+  private VideoServerResponse createConnection(VideoServerClient videoServerClient) {
     VideoServerMessageRequest request =
         VideoServerMessageRequest.create()
             .messageRequest(JANUS_CREATE)
@@ -878,16 +1056,19 @@ public class VideoServerServiceImpl implements VideoServerService {
   /**
    * This method destroys a specified connection on the VideoServer.
    *
+   * @param videoServerClient the client of the VideoServer node hosting the connection
    * @param connectionId the 'connection' (session) id
    * @return VideoServerResponse
    */
-  private VideoServerResponse destroyConnection(String connectionId) {
-    return interactWithConnection(connectionId, JANUS_DESTROY, null, null);
+  private VideoServerResponse destroyConnection(
+      VideoServerClient videoServerClient, String connectionId) {
+    return interactWithConnection(videoServerClient, connectionId, JANUS_DESTROY, null, null);
   }
 
   /**
    * This method allows interaction with a connection on the VideoServer.
    *
+   * @param videoServerClient the client of the VideoServer node hosting the connection
    * @param connectionId the 'connection' (session) id created on the VideoServer
    * @param action the action to perform on this 'connection' (session)
    * @param opaqueId the user id or meeting id associated to this handle-session on the VideoServer
@@ -895,7 +1076,11 @@ public class VideoServerServiceImpl implements VideoServerService {
    * @return VideoServerResponse
    */
   private VideoServerResponse interactWithConnection(
-      String connectionId, String action, @Nullable String pluginName, @Nullable String opaqueId) {
+      VideoServerClient videoServerClient,
+      String connectionId,
+      String action,
+      @Nullable String pluginName,
+      @Nullable String opaqueId) {
 
     VideoServerMessageRequest request =
         VideoServerMessageRequest.create()
@@ -911,22 +1096,26 @@ public class VideoServerServiceImpl implements VideoServerService {
   /**
    * This method destroys the previously attached plugin handle.
    *
+   * @param videoServerClient the client of the VideoServer node hosting the connection
    * @param connectionId the 'connection' (session) id
    * @param handleId the plugin handle id
    * @return VideoServerResponse
    */
-  private VideoServerResponse destroyPluginHandle(String connectionId, String handleId) {
-    return sendDetachPluginMessage(connectionId, handleId);
+  private VideoServerResponse destroyPluginHandle(
+      VideoServerClient videoServerClient, String connectionId, String handleId) {
+    return sendDetachPluginMessage(videoServerClient, connectionId, handleId);
   }
 
   /**
    * This method detaches the audio bridge plugin handle.
    *
+   * @param videoServerClient the client of the VideoServer node hosting the connection
    * @param connectionId the 'connection' (session) id
    * @param handleId the previously attached plugin handle id
    * @return VideoServerResponse
    */
-  private VideoServerResponse sendDetachPluginMessage(String connectionId, String handleId) {
+  private VideoServerResponse sendDetachPluginMessage(
+      VideoServerClient videoServerClient, String connectionId, String handleId) {
 
     VideoServerMessageRequest request =
         VideoServerMessageRequest.create()
@@ -940,6 +1129,7 @@ public class VideoServerServiceImpl implements VideoServerService {
   /**
    * This method sends a message to an audio bridge plugin.
    *
+   * @param videoServerClient the client of the VideoServer node hosting the connection
    * @param connectionId the 'connection' (session) id
    * @param handleId the audio bridge plugin handle id
    * @param videoServerPluginRequest the plugin request body
@@ -947,6 +1137,7 @@ public class VideoServerServiceImpl implements VideoServerService {
    * @return AudioBridgeResponse
    */
   private AudioBridgeResponse sendAudioBridgePluginMessage(
+      VideoServerClient videoServerClient,
       String connectionId,
       String handleId,
       VideoServerPluginRequest videoServerPluginRequest,
@@ -966,6 +1157,7 @@ public class VideoServerServiceImpl implements VideoServerService {
   /**
    * This method sends a message to a video room plugin.
    *
+   * @param videoServerClient the client of the VideoServer node hosting the connection
    * @param connectionId the 'connection' (session) id
    * @param handleId the video room plugin handle id
    * @param videoServerPluginRequest the plugin request body
@@ -973,6 +1165,7 @@ public class VideoServerServiceImpl implements VideoServerService {
    * @return VideoRoomResponse
    */
   private VideoRoomResponse sendVideoRoomPluginMessage(
+      VideoServerClient videoServerClient,
       String connectionId,
       String handleId,
       VideoServerPluginRequest videoServerPluginRequest,
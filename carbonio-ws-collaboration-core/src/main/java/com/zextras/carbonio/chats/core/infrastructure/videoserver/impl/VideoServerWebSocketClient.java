@@ -0,0 +1,377 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.infrastructure.videoserver.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.zextras.carbonio.chats.core.exception.VideoServerException;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.VideoServerClient;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.request.VideoServerMessageRequest;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.VideoServerResponse;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.audiobridge.AudioBridgeResponse;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.videoroom.VideoRoomResponse;
+import com.zextras.carbonio.chats.core.logging.ChatsLogger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Sends the requests to the VideoServer through a single, persistent WebSocket connection instead
+ * of a new HTTP exchange for each of them.
+ *
+ * <p>Requests are multiplexed on the connection and every reply is matched to its request through
+ * the transaction identifier. A request is completed by the first reply with its transaction
+ * (success, error or ack, exactly as the HTTP transport answers): the asynchronous events which
+ * may follow an ack are delivered by the VideoServer event handler and are ignored here. The
+ * connection is opened on the first request and opened again after it is lost.
+ *
+ * <p>Janus binds the sessions to the transport which created them and, when the connection is
+ * lost, destroys them unless the {@code reclaim_session_timeout} of its general configuration is
+ * set. The sessions created or claimed through this client are therefore claimed on the new
+ * connection before any other request is sent: the ones Janus no longer knows, because the timeout
+ * is not set or has expired, are logged as lost and their next requests fail as with any unknown
+ * session, so that the connection pool replaces them and the meetings using them report the error.
+ *
+ * @see <a href="https://janus.conf.meetecho.com/docs/rest.html#WS">Janus WebSockets API</a>
+ */
+public class VideoServerWebSocketClient implements VideoServerClient {
+
+  private static final String JANUS_PROTOCOL = "janus-protocol";
+  private static final String JANUS_INFO = "info";
+  private static final String JANUS_CREATE = "create";
+  private static final String JANUS_DESTROY = "destroy";
+  private static final String JANUS_CLAIM = "claim";
+  private static final String JANUS_SUCCESS = "success";
+  private static final String JANUS = "janus";
+  private static final String APISECRET = "apisecret";
+  private static final String TRANSACTION = "transaction";
+  private static final String SESSION_ID = "session_id";
+  private static final String HANDLE_ID = "handle_id";
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+  private final HttpClient httpClient;
+  private final URI videoServerURI;
+  private final ObjectMapper objectMapper;
+  private final Map<String, CompletableFuture<JsonNode>> pendingRequests;
+  private final Set<String> sessions;
+
+  private CompletableFuture<WebSocket> connection;
+  private volatile String apiSecret;
+  private CompletableFuture<WebSocket> lastSend;
+
+  public VideoServerWebSocketClient(
+      HttpClient httpClient, String videoServerURL, ObjectMapper objectMapper) {
+    this.httpClient = httpClient;
+    this.videoServerURI = URI.create(videoServerURL);
+    this.objectMapper = objectMapper;
+    this.pendingRequests = new ConcurrentHashMap<>();
+    this.sessions = ConcurrentHashMap.newKeySet();
+  }
+
+  @Override
+  public VideoServerResponse sendGetInfoRequest() {
+    return await(
+        send(
+            VideoServerMessageRequest.create().messageRequest(JANUS_INFO),
+            null,
+            null,
+            VideoServerResponse.class));
+  }
+
+  @Override
+  public VideoServerResponse sendVideoServerRequest(VideoServerMessageRequest request) {
+    return await(send(request, null, null, VideoServerResponse.class));
+  }
+
+  @Override
+  public VideoServerResponse sendConnectionVideoServerRequest(
+      String connectionId, VideoServerMessageRequest request) {
+    return await(sendConnectionVideoServerRequestAsync(connectionId, request));
+  }
+
+  @Override
+  public CompletableFuture<VideoServerResponse> sendConnectionVideoServerRequestAsync(
+      String connectionId, VideoServerMessageRequest request) {
+    return send(request, connectionId, null, VideoServerResponse.class);
+  }
+
+  @Override
+  public VideoServerResponse sendHandleVideoServerRequest(
+      String connectionId, String handleId, VideoServerMessageRequest request) {
+    return await(send(request, connectionId, handleId, VideoServerResponse.class));
+  }
+
+  @Override
+  public AudioBridgeResponse sendAudioBridgeRequest(
+      String connectionId, String handleId, VideoServerMessageRequest request) {
+    return await(send(request, connectionId, handleId, AudioBridgeResponse.class));
+  }
+
+  @Override
+  public VideoRoomResponse sendVideoRoomRequest(
+      String connectionId, String handleId, VideoServerMessageRequest request) {
+    return await(sendVideoRoomRequestAsync(connectionId, handleId, request));
+  }
+
+  @Override
+  public CompletableFuture<VideoRoomResponse> sendVideoRoomRequestAsync(
+      String connectionId, String handleId, VideoServerMessageRequest request) {
+    return send(request, connectionId, handleId, VideoRoomResponse.class);
+  }
+
+  @Override
+  public boolean bindsConnections() {
+    return true;
+  }
+
+  private <T> CompletableFuture<T> send(
+      VideoServerMessageRequest request,
+      String connectionId,
+      String handleId,
+      Class<T> responseType) {
+    String transaction = UUID.randomUUID().toString();
+    String message;
+    try {
+      ObjectNode node = objectMapper.valueToTree(request);
+      node.put(TRANSACTION, transaction);
+      putId(node, SESSION_ID, connectionId);
+      putId(node, HANDLE_ID, handleId);
+      message = objectMapper.writeValueAsString(node);
+    } catch (Exception e) {
+      return CompletableFuture.failedFuture(
+          new VideoServerException("Unable to convert request body to JSON", e));
+    }
+
+    CompletableFuture<JsonNode> reply = new CompletableFuture<>();
+    pendingRequests.put(transaction, reply);
+    reply.whenComplete((r, e) -> pendingRequests.remove(transaction));
+    trackSession(request, connectionId, reply);
+    sendText(message)
+        .whenComplete(
+            (webSocket, throwable) -> {
+              if (throwable != null) {
+                reply.completeExceptionally(throwable);
+              }
+            });
+    return reply
+        .orTimeout(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+        .handle(
+            (node, throwable) -> {
+              if (throwable != null) {
+                throw toVideoServerException(throwable);
+              }
+              try {
+                return objectMapper.treeToValue(node, responseType);
+              } catch (Exception e) {
+                throw new VideoServerException("Unable to parse video server response", e);
+              }
+            });
+  }
+
+  /**
+   * Keeps the sessions created or claimed through this client, which have to be claimed on
+   * reconnection.
+   */
+  private void trackSession(
+      VideoServerMessageRequest request, String connectionId, CompletableFuture<JsonNode> reply) {
+    if (connectionId == null && JANUS_CREATE.equals(request.getMessageRequest())) {
+      apiSecret = request.getApiSecret();
+      reply.thenAccept(
+          node -> {
+            if (JANUS_SUCCESS.equals(node.path(JANUS).asText())) {
+              sessions.add(node.path("data").path("id").asText());
+            }
+          });
+    } else if (connectionId != null && JANUS_CLAIM.equals(request.getMessageRequest())) {
+      apiSecret = request.getApiSecret();
+      reply.thenAccept(
+          node -> {
+            if (JANUS_SUCCESS.equals(node.path(JANUS).asText())) {
+              sessions.add(connectionId);
+            }
+          });
+    } else if (connectionId != null && JANUS_DESTROY.equals(request.getMessageRequest())) {
+      sessions.remove(connectionId);
+    }
+  }
+
+  /** Janus ids are numbers, but they are handled as strings everywhere else. */
+  private void putId(ObjectNode node, String field, String id) {
+    if (id == null) {
+      return;
+    }
+    try {
+      node.put(field, Long.parseLong(id));
+    } catch (NumberFormatException e) {
+      node.put(field, id);
+    }
+  }
+
+  /** The WebSocket API allows a single outstanding send, so messages are chained. */
+  private synchronized CompletableFuture<WebSocket> sendText(String message) {
+    CompletableFuture<Void> previous =
+        lastSend == null
+            ? CompletableFuture.completedFuture(null)
+            : lastSend.handle((webSocket, throwable) -> null);
+    lastSend =
+        previous
+            .thenCompose(v -> getConnection())
+            .thenCompose(webSocket -> webSocket.sendText(message, true));
+    return lastSend;
+  }
+
+  private synchronized CompletableFuture<WebSocket> getConnection() {
+    if (connection == null || connection.isCompletedExceptionally() || isClosed(connection)) {
+      connection =
+          httpClient
+              .newWebSocketBuilder()
+              .subprotocols(JANUS_PROTOCOL)
+              .connectTimeout(TIMEOUT)
+              .buildAsync(videoServerURI, new ReplyListener())
+              .thenCompose(this::claimSessions);
+    }
+    return connection;
+  }
+
+  /** A connection lost while its sessions were being claimed is not cleared by the listener. */
+  private boolean isClosed(CompletableFuture<WebSocket> webSocketConnection) {
+    WebSocket webSocket = webSocketConnection.getNow(null);
+    return webSocket != null && (webSocket.isOutputClosed() || webSocket.isInputClosed());
+  }
+
+  /** Claims the sessions one at a time, as the WebSocket API allows a single outstanding send. */
+  private CompletableFuture<WebSocket> claimSessions(WebSocket webSocket) {
+    CompletableFuture<Void> claims = CompletableFuture.completedFuture(null);
+    for (String sessionId : List.copyOf(sessions)) {
+      claims = claims.thenCompose(v -> claimSession(webSocket, sessionId));
+    }
+    return claims.thenApply(v -> webSocket);
+  }
+
+  private CompletableFuture<Void> claimSession(WebSocket webSocket, String sessionId) {
+    String transaction = UUID.randomUUID().toString();
+    ObjectNode node = objectMapper.createObjectNode();
+    node.put(JANUS, JANUS_CLAIM);
+    node.put(TRANSACTION, transaction);
+    putId(node, SESSION_ID, sessionId);
+    if (apiSecret != null) {
+      node.put(APISECRET, apiSecret);
+    }
+
+    CompletableFuture<JsonNode> reply = new CompletableFuture<>();
+    pendingRequests.put(transaction, reply);
+    reply.whenComplete((r, e) -> pendingRequests.remove(transaction));
+    webSocket
+        .sendText(node.toString(), true)
+        .whenComplete(
+            (ws, throwable) -> {
+              if (throwable != null) {
+                reply.completeExceptionally(throwable);
+              }
+            });
+    return reply
+        .orTimeout(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+        .handle(
+            (claimReply, throwable) -> {
+              if (throwable != null || !JANUS_SUCCESS.equals(claimReply.path(JANUS).asText())) {
+                sessions.remove(sessionId);
+                ChatsLogger.warn(
+                    "Video server session " + sessionId + " was lost with its connection");
+              }
+              return null;
+            });
+  }
+
+  private VideoServerException toVideoServerException(Throwable throwable) {
+    Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+    if (cause instanceof VideoServerException videoServerException) {
+      return videoServerException;
+    }
+    if (cause instanceof TimeoutException) {
+      return new VideoServerException("Video server did not reply in time", cause);
+    }
+    return new VideoServerException("Something went wrong executing request", cause);
+  }
+
+  private <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      throw toVideoServerException(e);
+    }
+  }
+
+  private synchronized void connectionLost(WebSocket webSocket, Throwable cause) {
+    if (connection != null && connection.getNow(null) == webSocket) {
+      connection = null;
+    }
+    pendingRequests
+        .values()
+        .forEach(
+            reply ->
+                reply.completeExceptionally(
+                    new VideoServerException("Video server connection lost", cause)));
+  }
+
+  private class ReplyListener implements WebSocket.Listener {
+
+    private final StringBuilder text = new StringBuilder();
+
+    @Override
+    public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+      text.append(data);
+      if (last) {
+        String message = text.toString();
+        text.setLength(0);
+        handleReply(message);
+      }
+      webSocket.request(1);
+      return null;
+    }
+
+    @Override
+    public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+      ChatsLogger.warn(
+          String.format("Video server websocket closed: %d %s", statusCode, reason));
+      connectionLost(webSocket, null);
+      return null;
+    }
+
+    @Override
+    public void onError(WebSocket webSocket, Throwable error) {
+      ChatsLogger.warn("Video server websocket error", error);
+      connectionLost(webSocket, error);
+    }
+
+    private void handleReply(String message) {
+      try {
+        JsonNode reply = objectMapper.readTree(message);
+        JsonNode transaction = reply.get(TRANSACTION);
+        if (transaction == null) {
+          return;
+        }
+        CompletableFuture<JsonNode> pending = pendingRequests.get(transaction.asText());
+        if (pending != null) {
+          pending.complete(reply);
+        }
+      } catch (Exception e) {
+        ChatsLogger.warn("Unable to parse video server websocket message", e);
+      }
+    }
+  }
+}
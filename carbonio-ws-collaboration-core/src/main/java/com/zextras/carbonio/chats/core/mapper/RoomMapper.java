@@ -6,6 +6,7 @@ package com.zextras.carbonio.chats.core.mapper;
 
 import com.zextras.carbonio.chats.core.data.entity.Room;
 import com.zextras.carbonio.chats.core.data.entity.RoomUserSettings;
+import com.zextras.carbonio.chats.core.data.model.RoomSummary;
 import com.zextras.carbonio.chats.model.RoomDto;
 import jakarta.annotation.Nullable;
 import java.util.List;
@@ -58,4 +59,19 @@ public interface RoomMapper {
       @Nullable Map<String, RoomUserSettings> settingsMapByRoomId,
       boolean includeMembers,
       boolean includeSettings);
+
+  /**
+   * Converts {@link List} of {@link RoomSummary} to {@link List} of {@link RoomDto}
+   *
+   * @param rooms {@link List} of {@link RoomSummary} to convert
+   * @param settingsMapByRoomId current user settings {@link Map} for {@link RoomUserSettings}
+   * @param includeMembers if true, it includes the room members
+   * @param includeSettings if true, it includes the current user settings
+   * @return Conversation result ({@link List} of {@link RoomDto})
+   */
+  List<RoomDto> summary2dto(
+      List<RoomSummary> rooms,
+      @Nullable Map<String, RoomUserSettings> settingsMapByRoomId,
+      boolean includeMembers,
+      boolean includeSettings);
 }
@@ -8,9 +8,12 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.zextras.carbonio.chats.core.data.entity.Room;
 import com.zextras.carbonio.chats.core.data.entity.RoomUserSettings;
+import com.zextras.carbonio.chats.core.data.model.RoomSummary;
 import com.zextras.carbonio.chats.core.mapper.RoomMapper;
 import com.zextras.carbonio.chats.core.mapper.SubscriptionMapper;
+import com.zextras.carbonio.chats.model.MemberDto;
 import com.zextras.carbonio.chats.model.RoomDto;
+import com.zextras.carbonio.chats.model.RoomTypeDto;
 import com.zextras.carbonio.chats.model.RoomUserSettingsDto;
 import jakarta.annotation.Nullable;
 import java.util.Collections;
@@ -90,6 +93,45 @@ public class RoomMapperImpl implements RoomMapper {
             .collect(Collectors.toList());
   }
 
+  @Override
+  public List<RoomDto> summary2dto(
+      List<RoomSummary> rooms,
+      @Nullable Map<String, RoomUserSettings> settingsMapByRoomId,
+      boolean includeMembers,
+      boolean includeSettings) {
+    return rooms.stream()
+        .map(
+            room ->
+                RoomDto.create()
+                    .id(UUID.fromString(room.getId()))
+                    .name(room.getName())
+                    .description(room.getDescription())
+                    .type(RoomTypeDto.valueOf(room.getType()))
+                    .pictureUpdatedAt(room.getPictureUpdatedAt())
+                    .meetingId(
+                        room.getMeetingId() == null ? null : UUID.fromString(room.getMeetingId()))
+                    .createdAt(room.getCreatedAt())
+                    .updatedAt(room.getUpdatedAt())
+                    .members(
+                        includeMembers
+                            ? room.getMembers().entrySet().stream()
+                                .map(
+                                    member ->
+                                        MemberDto.create()
+                                            .userId(UUID.fromString(member.getKey()))
+                                            .owner(member.getValue()))
+                                .toList()
+                            : Collections.emptyList())
+                    .userSettings(
+                        includeSettings
+                            ? getRoomUserSettingsDto(
+                                settingsMapByRoomId == null
+                                    ? null
+                                    : settingsMapByRoomId.get(room.getId()))
+                            : null))
+        .toList();
+  }
+
   private RoomUserSettingsDto getRoomUserSettingsDto(@Nullable RoomUserSettings userSettings) {
     RoomUserSettingsDto userSettingsDto = RoomUserSettingsDto.create();
     if (userSettings == null) {
@@ -6,6 +6,8 @@ package com.zextras.carbonio.chats.core.repository;
 
 import com.zextras.carbonio.chats.core.data.entity.Room;
 import com.zextras.carbonio.chats.core.data.entity.Subscription;
+import com.zextras.carbonio.chats.core.data.model.RoomSummary;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,13 +22,26 @@ public interface RoomRepository {
   List<String> getIdsByUserId(String userId);
 
   /**
-   * Retrieves all {@link Room} of which the user is subscribed
+   * Retrieves the summaries of all rooms of which the user is subscribed, reading only the listed
+   * columns
+   *
+   * @param userId      user identifier
+   * @param withMembers if true, summaries will also have the room members, read in a single query
+   * @return {@link RoomSummary} {@link List} of the rooms of which the user is subscribed
+   */
+  List<RoomSummary> getSummariesByUserId(String userId, boolean withMembers);
+
+  /**
+   * Retrieves the {@link Room} of which the user is subscribed changed after the specified date,
+   * that is the room itself, one of its subscriptions or the user settings for it
    *
    * @param userId            user identifier
+   * @param since             date after which the changes are retrieved
    * @param withSubscriptions if true, rooms will also have subscriptions {@link Subscription}
-   * @return {@link Room} {@link List} of which the user is subscribed
+   * @return {@link Room} {@link List} of which the user is subscribed changed after the date
    */
-  List<Room> getByUserId(String userId, boolean withSubscriptions);
+  List<Room> getByUserIdChangedSince(
+      String userId, OffsetDateTime since, boolean withSubscriptions);
 
   /**
    * Retrieves the {@link Room} requested with its subscriptions {@link Subscription}
@@ -46,7 +61,7 @@ public interface RoomRepository {
   Optional<Room> getOneToOneByAllUserIds(String user1Id, String user2Id);
 
   /**
-   * Inserts a new {@link Room}
+   * Inserts a new {@link Room}, with the key of its members if it's a one-to-one
    *
    * @param room {@link Room} to insert
    * @return {@link Room} inserted
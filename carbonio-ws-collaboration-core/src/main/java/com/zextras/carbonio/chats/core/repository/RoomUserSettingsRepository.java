@@ -38,6 +38,15 @@ public interface RoomUserSettingsRepository {
    */
   Map<String, RoomUserSettings> getMapGroupedByUserId(String userId);
 
+  /**
+   * Returns a map with the settings set by the user for the specified rooms
+   *
+   * @param userId  user identifier
+   * @param roomIds collection {@link Collection} of rooms identifiers
+   * @return {@link Map} with the room id {@link String} as the key and that room settings {@link RoomUserSettings} as the value
+   */
+  Map<String, RoomUserSettings> getMapGroupedByUserId(String userId, Collection<String> roomIds);
+
   /**
    * Returns a list of all user setting for a room
    *
@@ -44,7 +44,7 @@ public interface SubscriptionRepository {
   Subscription insert(Subscription subscription);
 
   /**
-   * Deletes a subscription by its identifier
+   * Deletes a subscription by its identifier, marking its room as updated
    *
    * @param roomId room identifier {@link String}
    * @param userId user identifier {@link String}
@@ -5,15 +5,27 @@
 package com.zextras.carbonio.chats.core.repository;
 
 import com.zextras.carbonio.chats.core.data.entity.VideoServerMeeting;
+import java.util.List;
 import java.util.Optional;
 
 public interface VideoServerMeetingRepository {
 
   Optional<VideoServerMeeting> getById(String meetingId);
 
+  List<VideoServerMeeting> getAll();
+
   VideoServerMeeting insert(VideoServerMeeting videoServerMeeting);
 
   void deleteById(String meetingId);
 
   VideoServerMeeting update(VideoServerMeeting videoServerMeeting);
+
+  /**
+   * Counts the meetings placed on a VideoServer node.
+   *
+   * @param serverNode the VideoServer node
+   * @param includeWithoutServerNode whether to also count the meetings stored without a node
+   * @return the number of meetings
+   */
+  int countByServerNode(String serverNode, boolean includeWithoutServerNode);
 }
@@ -43,6 +43,14 @@ public class EbeanParticipantRepository implements ParticipantRepository {
     return db.find(Participant.class).where().eq("id.meetingId", meetingId).findList();
   }
 
+  @Override
+  public List<String> getParticipantsIds(String meetingId) {
+    return db.sqlQuery("select user_id from chats.participant where meeting_id = ?")
+        .setParameter(meetingId)
+        .mapToScalar(String.class)
+        .findList();
+  }
+
   @Override
   public List<Participant> getHandRaisedByMeetingId(String meetingId) {
     return db.find(Participant.class)
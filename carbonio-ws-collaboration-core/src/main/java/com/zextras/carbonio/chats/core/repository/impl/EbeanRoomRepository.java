@@ -7,13 +7,18 @@ package com.zextras.carbonio.chats.core.repository.impl;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.zextras.carbonio.chats.core.data.entity.Room;
+import com.zextras.carbonio.chats.core.data.model.RoomSummary;
 import com.zextras.carbonio.chats.core.repository.RoomRepository;
 import com.zextras.carbonio.chats.model.RoomTypeDto;
 import io.ebean.Database;
 import io.ebean.Query;
 import io.ebean.annotation.Transactional;
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Singleton
 public class EbeanRoomRepository implements RoomRepository {
@@ -36,12 +41,62 @@ public class EbeanRoomRepository implements RoomRepository {
 
   @Override
   @Transactional
-  public List<Room> getByUserId(String userId, boolean withSubscriptions) {
+  public List<RoomSummary> getSummariesByUserId(String userId, boolean withMembers) {
+    List<RoomSummary> rooms =
+        db.findDto(
+                RoomSummary.class,
+                "select r.id, r.name, r.description, r.type, r.picture_updated_at, r.meeting_id, "
+                    + "r.created_at, r.updated_at from chats.room r "
+                    + "inner join chats.subscription s on s.room_id = r.id "
+                    + "where s.user_id = :userId")
+            .setParameter("userId", userId)
+            .findList();
+    if (withMembers && !rooms.isEmpty()) {
+      Map<String, RoomSummary> roomsById =
+          rooms.stream().collect(Collectors.toMap(RoomSummary::getId, Function.identity()));
+      db.sqlQuery(
+              "select m.room_id, m.user_id, m.owner from chats.subscription s "
+                  + "inner join chats.subscription m on m.room_id = s.room_id "
+                  + "where s.user_id = ?")
+          .setParameter(userId)
+          .findEachRow(
+              (resultSet, rowNum) -> {
+                // a room joined after the first query is not listed
+                RoomSummary room = roomsById.get(resultSet.getString(1));
+                if (room != null) {
+                  room.addMember(resultSet.getString(2), resultSet.getBoolean(3));
+                }
+              });
+    }
+    return rooms;
+  }
+
+  @Override
+  @Transactional
+  public List<Room> getByUserIdChangedSince(
+      String userId, OffsetDateTime since, boolean withSubscriptions) {
     Query<Room> roomQuery = db.find(Room.class);
     if (withSubscriptions) {
       roomQuery = roomQuery.fetch("subscriptions");
     }
-    return roomQuery.where().eq("subscriptions.userId", userId).findList();
+    return roomQuery
+        .where()
+        .eq("subscriptions.userId", userId)
+        .or()
+        .gt("updatedAt", since)
+        .raw(
+            "id in (select s.room_id from chats.subscription s "
+                + "where s.room_id in (select room_id from chats.subscription where user_id = ?) "
+                + "and s.updated_at > ?)",
+            userId,
+            since)
+        .raw(
+            "id in (select rus.room_id from chats.room_user_settings rus "
+                + "where rus.user_id = ? and rus.updated_at > ?)",
+            userId,
+            since)
+        .endOr()
+        .findList();
   }
 
   @Override
@@ -55,37 +110,20 @@ public class EbeanRoomRepository implements RoomRepository {
   public Optional<Room> getOneToOneByAllUserIds(String user1Id, String user2Id) {
     return db.find(Room.class)
         .where()
-        .eq("type", RoomTypeDto.ONE_TO_ONE)
-        .and()
-        .raw(
-            "id in ( "
-                + "select distinct a.room_id from chats.subscription a "
-                + "inner join chats.subscription b on a.room_id = b.room_id "
-                + "and (a.user_id = '"
-                + user1Id
-                + "' or a.user_id = '"
-                + user2Id
-                + "') "
-                + "and (b.user_id = '"
-                + user1Id
-                + "' or b.user_id = '"
-                + user2Id
-                + "') "
-                + "where (a.user_id = '"
-                + user1Id
-                + "' and b.user_id = '"
-                + user2Id
-                + "') "
-                + "or (a.user_id = '"
-                + user2Id
-                + "' and b.user_id = '"
-                + user1Id
-                + "'))")
+        .eq("oneToOneKey", toOneToOneKey(user1Id, user2Id))
         .findOneOrEmpty();
   }
 
   @Override
   public Room insert(Room room) {
+    if (RoomTypeDto.ONE_TO_ONE.equals(room.getType())
+        && room.getSubscriptions() != null
+        && room.getSubscriptions().size() == 2) {
+      room.oneToOneKey(
+          toOneToOneKey(
+              room.getSubscriptions().get(0).getUserId(),
+              room.getSubscriptions().get(1).getUserId()));
+    }
     db.insert(room);
     return room;
   }
@@ -100,4 +138,10 @@ public class EbeanRoomRepository implements RoomRepository {
   public void delete(String roomId) {
     db.delete(Room.class, roomId);
   }
+
+  private static String toOneToOneKey(String user1Id, String user2Id) {
+    return user1Id.compareTo(user2Id) < 0
+        ? String.join("/", user1Id, user2Id)
+        : String.join("/", user2Id, user1Id);
+  }
 }
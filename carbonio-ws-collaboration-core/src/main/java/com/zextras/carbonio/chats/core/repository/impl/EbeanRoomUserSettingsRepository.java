@@ -27,10 +27,8 @@ public class EbeanRoomUserSettingsRepository implements RoomUserSettingsReposito
 
   @Override
   public Optional<RoomUserSettings> getByRoomIdAndUserId(String roomId, String userId) {
-    return db.find(RoomUserSettings.class)
-        .where()
-        .eq("id", new SubscriptionId(roomId, userId))
-        .findOneOrEmpty();
+    return Optional.ofNullable(
+        db.find(RoomUserSettings.class, new SubscriptionId(roomId, userId)));
   }
 
   @Override
@@ -44,6 +42,18 @@ public class EbeanRoomUserSettingsRepository implements RoomUserSettingsReposito
         .where()
         .eq("userId", userId)
         .setMapKey("id.roomId")
+        .setUseQueryCache(true)
+        .findMap();
+  }
+
+  @Override
+  public Map<String, RoomUserSettings> getMapGroupedByUserId(
+      String userId, Collection<String> roomIds) {
+    return db.find(RoomUserSettings.class)
+        .where()
+        .eq("userId", userId)
+        .in("id.roomId", roomIds)
+        .setMapKey("id.roomId")
         .findMap();
   }
 
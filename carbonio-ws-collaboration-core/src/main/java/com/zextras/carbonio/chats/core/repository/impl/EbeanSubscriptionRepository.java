@@ -6,11 +6,14 @@ package com.zextras.carbonio.chats.core.repository.impl;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.zextras.carbonio.chats.core.data.entity.Room;
 import com.zextras.carbonio.chats.core.data.entity.Subscription;
 import com.zextras.carbonio.chats.core.data.entity.SubscriptionId;
 import com.zextras.carbonio.chats.core.repository.SubscriptionRepository;
 import io.ebean.Database;
 import io.ebean.annotation.Transactional;
+import java.time.Clock;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,10 +21,12 @@ import java.util.Optional;
 public class EbeanSubscriptionRepository implements SubscriptionRepository {
 
   private final Database db;
+  private final Clock clock;
 
   @Inject
-  public EbeanSubscriptionRepository(Database db) {
+  public EbeanSubscriptionRepository(Database db, Clock clock) {
     this.db = db;
+    this.clock = clock;
   }
 
   public Optional<Subscription> getById(String roomId, String userId) {
@@ -50,24 +55,27 @@ public class EbeanSubscriptionRepository implements SubscriptionRepository {
   }
 
   @Override
+  @Transactional
   public void delete(String roomId, String userId) {
     db.delete(Subscription.class, new SubscriptionId(roomId, userId));
+    // a removed member leaves no row behind, so the room itself records the change
+    db.update(Room.class)
+        .set("updatedAt", OffsetDateTime.ofInstant(clock.instant(), clock.getZone()))
+        .where()
+        .idEq(roomId)
+        .update();
   }
 
   @Override
   @Transactional
   public List<String> getContacts(String userId) {
-    return db.createQuery(Subscription.class)
-        .setDistinct(true)
-        .select("userId")
-        .where()
-        .in(
-            "id.roomId",
-            db.createQuery(Subscription.class)
-                .select("id.roomId")
-                .where()
-                .eq("userId", userId)
-                .query())
-        .findSingleAttributeList();
+    // the rooms of the user are read by the primary key, their members by the room index
+    return db.sqlQuery(
+            "select distinct b.user_id from chats.subscription a "
+                + "inner join chats.subscription b on b.room_id = a.room_id "
+                + "where a.user_id = ?")
+        .setParameter(userId)
+        .mapToScalar(String.class)
+        .findList();
   }
 }
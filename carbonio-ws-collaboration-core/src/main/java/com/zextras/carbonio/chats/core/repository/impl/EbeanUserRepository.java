@@ -24,12 +24,12 @@ public class EbeanUserRepository implements UserRepository {
 
   @Override
   public Optional<User> getById(String id) {
-    return database.find(User.class).where().eq("id", id).findOneOrEmpty();
+    return Optional.ofNullable(database.find(User.class, id));
   }
 
   @Override
   public List<User> getByIds(List<String> ids) {
-    return database.find(User.class).where().in("id", ids).findList();
+    return database.find(User.class).where().idIn(ids).findList();
   }
 
   @Override
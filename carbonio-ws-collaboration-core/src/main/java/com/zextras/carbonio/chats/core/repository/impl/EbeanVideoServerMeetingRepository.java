@@ -9,6 +9,8 @@ import com.google.inject.Singleton;
 import com.zextras.carbonio.chats.core.data.entity.VideoServerMeeting;
 import com.zextras.carbonio.chats.core.repository.VideoServerMeetingRepository;
 import io.ebean.Database;
+import io.ebean.ExpressionList;
+import java.util.List;
 import java.util.Optional;
 
 @Singleton
@@ -30,6 +32,11 @@ public class EbeanVideoServerMeetingRepository implements VideoServerMeetingRepo
         .findOneOrEmpty();
   }
 
+  @Override
+  public List<VideoServerMeeting> getAll() {
+    return db.find(VideoServerMeeting.class).fetch("videoServerSessions").findList();
+  }
+
   @Override
   public VideoServerMeeting insert(VideoServerMeeting videoServerMeeting) {
     db.insert(videoServerMeeting);
@@ -46,4 +53,12 @@ public class EbeanVideoServerMeetingRepository implements VideoServerMeetingRepo
     db.update(videoServerMeeting);
     return videoServerMeeting;
   }
+
+  @Override
+  public int countByServerNode(String serverNode, boolean includeWithoutServerNode) {
+    ExpressionList<VideoServerMeeting> query = db.find(VideoServerMeeting.class).where();
+    return includeWithoutServerNode
+        ? query.or().eq("serverNode", serverNode).isNull("serverNode").endOr().findCount()
+        : query.eq("serverNode", serverNode).findCount();
+  }
 }
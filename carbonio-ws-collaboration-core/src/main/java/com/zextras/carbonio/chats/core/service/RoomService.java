@@ -15,6 +15,7 @@ import com.zextras.carbonio.chats.model.RoomCreationFieldsDto;
 import com.zextras.carbonio.chats.model.RoomDto;
 import com.zextras.carbonio.chats.model.RoomEditableFieldsDto;
 import com.zextras.carbonio.chats.model.RoomExtraFieldDto;
+import com.zextras.carbonio.chats.model.RoomsChangesDto;
 import jakarta.annotation.Nullable;
 import java.io.InputStream;
 import java.time.OffsetDateTime;
@@ -47,6 +48,19 @@ public interface RoomService {
    */
   Room getRoomAndValidateUser(UUID roomId, UserPrincipal currentUser, boolean mustBeOwner);
 
+  /**
+   * Checks if the current user is subscribed to the room without loading the room entity. The
+   * room members are cached, so this is the method to use when the room itself is not needed.
+   *
+   * @param roomId room identifier {@link UUID}
+   * @param currentUser current authenticate user {@link UserPrincipal}
+   * @param mustBeOwner if true, the user must be a room owner
+   * @throws NotFoundException if the indicated room doesn't exist
+   * @throws ForbiddenException if the user isn't a room member
+   * @throws ForbiddenException if the user isn't a room owner and mustBeOwner is true
+   */
+  void validateUserMembership(UUID roomId, UserPrincipal currentUser, boolean mustBeOwner);
+
   /**
    * Gets the room entity for internal usage
    *
@@ -90,6 +104,20 @@ public interface RoomService {
    */
   List<RoomDto> getRooms(@Nullable List<RoomExtraFieldDto> extraFields, UserPrincipal currentUser);
 
+  /**
+   * Retrieves the rooms the user has access to changed after the specified date, with the
+   * identifiers of every room the user has access to
+   *
+   * @param since date after which the changes are retrieved {@link OffsetDateTime}
+   * @param extraFields rooms extra fields to include {@link RoomExtraFieldDto}
+   * @param currentUser current authenticated user {@link UserPrincipal}
+   * @return The changed rooms and the date to use for the next request {@link RoomsChangesDto}
+   */
+  RoomsChangesDto getRoomsChanges(
+      OffsetDateTime since,
+      @Nullable List<RoomExtraFieldDto> extraFields,
+      UserPrincipal currentUser);
+
   /**
    * Mutes notification for the specified room
    *
@@ -73,7 +73,7 @@ public class AttachmentServiceImpl implements AttachmentService {
             .getById(fileId.toString())
             .orElseThrow(
                 () -> new NotFoundException(String.format("Attachment '%s' not found", fileId)));
-    roomService.getRoomAndValidateUser(UUID.fromString(metadata.getRoomId()), currentUser, false);
+    roomService.validateUserMembership(UUID.fromString(metadata.getRoomId()), currentUser, false);
     return new FileContentAndMetadata(
         storagesService.getFileStreamById(metadata.getId(), metadata.getUserId()), metadata);
   }
@@ -81,7 +81,7 @@ public class AttachmentServiceImpl implements AttachmentService {
   @Override
   public AttachmentsPaginationDto getAttachmentInfoByRoomId(
       UUID roomId, Integer itemsNumber, @Nullable String filter, UserPrincipal currentUser) {
-    roomService.getRoomAndValidateUser(roomId, currentUser, false);
+    roomService.validateUserMembership(roomId, currentUser, false);
     PaginationFilter paginationFilter = null;
     if (filter != null) {
       try {
@@ -125,7 +125,7 @@ public class AttachmentServiceImpl implements AttachmentService {
             .getById(fileId.toString())
             .orElseThrow(
                 () -> new NotFoundException(String.format("Attachment '%s' not found", fileId)));
-    roomService.getRoomAndValidateUser(UUID.fromString(metadata.getRoomId()), currentUser, false);
+    roomService.validateUserMembership(UUID.fromString(metadata.getRoomId()), currentUser, false);
     return attachmentMapper.ent2dto(metadata);
   }
 
@@ -141,7 +141,7 @@ public class AttachmentServiceImpl implements AttachmentService {
       @Nullable String replyId,
       @Nullable String area,
       UserPrincipal currentUser) {
-    roomService.getRoomAndValidateUser(roomId, currentUser, false);
+    roomService.validateUserMembership(roomId, currentUser, false);
     UUID fileId = UUID.randomUUID();
     FileMetadata metadata =
         FileMetadata.create()
@@ -178,7 +178,7 @@ public class AttachmentServiceImpl implements AttachmentService {
                 () ->
                     new NotFoundException(
                         String.format("Attachment '%s' not found", originalAttachmentId)));
-    roomService.getRoomAndValidateUser(
+    roomService.validateUserMembership(
         UUID.fromString(sourceMetadata.getRoomId()), currentUser, false);
     FileMetadata metadata =
         FileMetadata.create()
@@ -6,6 +6,8 @@ package com.zextras.carbonio.chats.core.service.impl;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.zextras.carbonio.chats.core.config.AppConfig;
+import com.zextras.carbonio.chats.core.config.ConfigName;
 import com.zextras.carbonio.chats.core.infrastructure.DependencyType;
 import com.zextras.carbonio.chats.core.infrastructure.HealthIndicator;
 import com.zextras.carbonio.chats.core.infrastructure.authentication.AuthenticationService;
@@ -15,18 +17,48 @@ import com.zextras.carbonio.chats.core.infrastructure.messaging.MessageDispatche
 import com.zextras.carbonio.chats.core.infrastructure.profiling.ProfilingService;
 import com.zextras.carbonio.chats.core.infrastructure.storage.StoragesService;
 import com.zextras.carbonio.chats.core.infrastructure.videoserver.VideoServerService;
+import com.zextras.carbonio.chats.core.logging.ChatsLogger;
 import com.zextras.carbonio.chats.core.service.HealthcheckService;
 import com.zextras.carbonio.chats.core.infrastructure.preview.PreviewService;
 import com.zextras.carbonio.chats.model.DependencyHealthDto;
 import com.zextras.carbonio.chats.model.DependencyHealthTypeDto;
 import com.zextras.carbonio.chats.model.HealthStatusDto;
 import com.zextras.carbonio.chats.model.HealthStatusTypeDto;
+import java.time.Duration;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Probes the dependencies concurrently, each one bounded by a timeout, and keeps the result as a
+ * snapshot for a short time: a probe slower than the timeout is reported as not healthy. When the
+ * snapshot expires it is served once more while a new one is taken in background, so the callers
+ * only wait for the very first probe. A snapshot time to live of zero disables the snapshot.
+ *
+ * <p>A probe that times out keeps running until the dependency answers: while it runs, the next
+ * checks wait on it instead of submitting another one, so a hanging dependency holds at most one
+ * thread of the probe pool.
+ */
 @Singleton
 public class HealthcheckServiceImpl implements HealthcheckService {
 
+  private static final int DEFAULT_SNAPSHOT_TTL_IN_SEC = 5;
+  private static final int DEFAULT_PROBE_TIMEOUT_IN_MILLI = 2000;
+
   private final List<HealthDependency> dependencies;
+  private final Duration snapshotTtl;
+  private final Duration probeTimeout;
+  private final ExecutorService executor;
+  private final AtomicReference<HealthSnapshot> snapshot = new AtomicReference<>();
+  private final AtomicReference<CompletableFuture<HealthSnapshot>> refresh =
+      new AtomicReference<>();
 
   @Inject
   public HealthcheckServiceImpl(
@@ -37,7 +69,8 @@ public class HealthcheckServiceImpl implements HealthcheckService {
       PreviewService previewService,
       AuthenticationService authenticationService,
       ProfilingService profilingService,
-      VideoServerService videoServerService) {
+      VideoServerService videoServerService,
+      AppConfig appConfig) {
     dependencies =
         List.of(
             HealthDependency.create(databaseInfoService, DependencyType.DATABASE),
@@ -48,43 +81,141 @@ public class HealthcheckServiceImpl implements HealthcheckService {
             HealthDependency.create(storagesService, DependencyType.STORAGE_SERVICE),
             HealthDependency.create(previewService, DependencyType.PREVIEWER_SERVICE),
             HealthDependency.create(videoServerService, DependencyType.VIDEOSERVER_SERVICE));
+    this.snapshotTtl =
+        Duration.ofSeconds(
+            appConfig
+                .get(Integer.class, ConfigName.HEALTH_CHECK_SNAPSHOT_TTL_IN_SEC)
+                .orElse(DEFAULT_SNAPSHOT_TTL_IN_SEC));
+    this.probeTimeout =
+        Duration.ofMillis(
+            appConfig
+                .get(Integer.class, ConfigName.HEALTH_CHECK_PROBE_TIMEOUT_IN_MILLI)
+                .orElse(DEFAULT_PROBE_TIMEOUT_IN_MILLI));
+    AtomicInteger threadCount = new AtomicInteger();
+    this.executor =
+        Executors.newFixedThreadPool(
+            dependencies.size(),
+            r -> {
+              Thread thread = new Thread(r, "HealthcheckService-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
   }
 
   @Override
   public HealthStatusTypeDto getServiceStatus() {
-    return checkServiceStatus();
+    return checkServiceStatus(getSnapshot());
   }
 
   @Override
   public HealthStatusDto getServiceHealth() {
+    HealthSnapshot currentSnapshot = getSnapshot();
     return HealthStatusDto.create()
         .isLive(true)
-        .status(checkServiceStatus())
+        .status(checkServiceStatus(currentSnapshot))
         .dependencies(
             dependencies.stream()
                 .map(
                     dependency ->
                         DependencyHealthDto.create()
                             .name(dependency.getDependencyHealthType())
-                            .isHealthy(dependency.isAlive()))
+                            .isHealthy(currentSnapshot.isAlive(dependency.getType())))
                 .toList());
   }
 
-  private HealthStatusTypeDto checkServiceStatus() {
+  private HealthStatusTypeDto checkServiceStatus(HealthSnapshot currentSnapshot) {
     if (dependencies.stream()
-        .anyMatch(dependency -> dependency.getType().isRequired() && !dependency.isAlive())) {
+        .anyMatch(
+            dependency ->
+                dependency.getType().isRequired()
+                    && !currentSnapshot.isAlive(dependency.getType()))) {
       return HealthStatusTypeDto.ERROR;
     } else if (dependencies.stream()
-        .anyMatch(dependency -> !dependency.getType().isRequired() && !dependency.isAlive())) {
+        .anyMatch(
+            dependency ->
+                !dependency.getType().isRequired()
+                    && !currentSnapshot.isAlive(dependency.getType()))) {
       return HealthStatusTypeDto.WARN;
     }
     return HealthStatusTypeDto.OK;
   }
 
+  private HealthSnapshot getSnapshot() {
+    if (snapshotTtl.isZero()) {
+      return probeDependencies().join();
+    }
+    HealthSnapshot currentSnapshot = snapshot.get();
+    if (currentSnapshot == null) {
+      return refreshSnapshot().join();
+    }
+    if (currentSnapshot.isExpired(snapshotTtl)) {
+      refreshSnapshot();
+    }
+    return currentSnapshot;
+  }
+
+  /** Starts a new probe unless one is already running, in which case it is shared. */
+  private CompletableFuture<HealthSnapshot> refreshSnapshot() {
+    CompletableFuture<HealthSnapshot> newRefresh = new CompletableFuture<>();
+    CompletableFuture<HealthSnapshot> runningRefresh = refresh.compareAndExchange(null, newRefresh);
+    if (runningRefresh != null) {
+      return runningRefresh;
+    }
+    probeDependencies()
+        .whenComplete(
+            (newSnapshot, error) -> {
+              snapshot.set(newSnapshot);
+              refresh.set(null);
+              newRefresh.complete(newSnapshot);
+            });
+    return newRefresh;
+  }
+
+  private CompletableFuture<HealthSnapshot> probeDependencies() {
+    Map<DependencyType, CompletableFuture<Boolean>> probes = new EnumMap<>(DependencyType.class);
+    dependencies.forEach(dependency -> probes.put(dependency.getType(), probe(dependency)));
+    return CompletableFuture.allOf(probes.values().toArray(CompletableFuture[]::new))
+        .thenApply(
+            ignored -> {
+              Map<DependencyType, Boolean> results = new EnumMap<>(DependencyType.class);
+              probes.forEach((type, result) -> results.put(type, result.join()));
+              return new HealthSnapshot(results, System.nanoTime());
+            });
+  }
+
+  private CompletableFuture<Boolean> probe(HealthDependency dependency) {
+    // the timeout completes a copy, so that the running probe can still be shared
+    return dependency
+        .probe(executor)
+        .copy()
+        .completeOnTimeout(false, probeTimeout.toMillis(), TimeUnit.MILLISECONDS)
+        .exceptionally(
+            e -> {
+              ChatsLogger.warn(
+                  String.format(
+                      "Health check of %s failed: %s",
+                      dependency.getType().getName(), e.getMessage()));
+              return false;
+            });
+  }
+
+  private record HealthSnapshot(Map<DependencyType, Boolean> results, long takenAt) {
+
+    boolean isAlive(DependencyType type) {
+      return results.getOrDefault(type, false);
+    }
+
+    boolean isExpired(Duration ttl) {
+      return System.nanoTime() - takenAt >= ttl.toNanos();
+    }
+  }
+
   private static class HealthDependency {
 
     private final HealthIndicator service;
     private final DependencyType type;
+    private final AtomicReference<CompletableFuture<Boolean>> runningProbe =
+        new AtomicReference<>();
 
     public HealthDependency(HealthIndicator dependency, DependencyType type) {
       this.service = dependency;
@@ -95,8 +226,26 @@ public class HealthcheckServiceImpl implements HealthcheckService {
       return new HealthDependency(dependency, type);
     }
 
-    public boolean isAlive() {
-      return service.isAlive();
+    /** Starts a new probe unless the previous one is still running, in which case it is shared. */
+    public CompletableFuture<Boolean> probe(Executor executor) {
+      CompletableFuture<Boolean> currentProbe = runningProbe.get();
+      if (currentProbe != null && !currentProbe.isDone()) {
+        return currentProbe;
+      }
+      CompletableFuture<Boolean> newProbe = new CompletableFuture<>();
+      if (!runningProbe.compareAndSet(currentProbe, newProbe)) {
+        return runningProbe.get();
+      }
+      CompletableFuture.supplyAsync(service::isAlive, executor)
+          .whenComplete(
+              (alive, error) -> {
+                if (error != null) {
+                  newProbe.completeExceptionally(error);
+                } else {
+                  newProbe.complete(alive);
+                }
+              });
+      return newProbe;
     }
 
     public DependencyType getType() {
@@ -220,7 +220,7 @@ public class MeetingServiceImpl implements MeetingService {
 
   @Override
   public MeetingDto getMeetingByRoomId(UUID roomId, UserPrincipal currentUser) {
-    roomService.getRoomAndValidateUser(roomId, currentUser, false);
+    roomService.validateUserMembership(roomId, currentUser, false);
     return meetingMapper.ent2dto(
         getMeetingEntityByRoomId(roomId)
             .orElseThrow(
@@ -11,6 +11,7 @@ import com.zextras.carbonio.async.model.RoomMemberAdded;
 import com.zextras.carbonio.async.model.RoomMemberRemoved;
 import com.zextras.carbonio.async.model.RoomOwnerDemoted;
 import com.zextras.carbonio.async.model.RoomOwnerPromoted;
+import com.zextras.carbonio.chats.core.cache.CacheHandler;
 import com.zextras.carbonio.chats.core.data.entity.Room;
 import com.zextras.carbonio.chats.core.data.entity.RoomUserSettings;
 import com.zextras.carbonio.chats.core.data.entity.Subscription;
@@ -55,6 +56,7 @@ public class MembersServiceImpl implements MembersService {
   private final MeetingService meetingService;
   private final ParticipantService participantService;
   private final CapabilityService capabilityService;
+  private final CacheHandler cacheHandler;
 
   @Inject
   public MembersServiceImpl(
@@ -67,7 +69,8 @@ public class MembersServiceImpl implements MembersService {
       MessageDispatcher messageDispatcher,
       MeetingService meetingService,
       ParticipantService participantService,
-      CapabilityService capabilityService) {
+      CapabilityService capabilityService,
+      CacheHandler cacheHandler) {
     this.roomService = roomService;
     this.subscriptionRepository = subscriptionRepository;
     this.roomUserSettingsRepository = roomUserSettingsRepository;
@@ -78,6 +81,7 @@ public class MembersServiceImpl implements MembersService {
     this.meetingService = meetingService;
     this.participantService = participantService;
     this.capabilityService = capabilityService;
+    this.cacheHandler = cacheHandler;
   }
 
   @Override
@@ -106,6 +110,7 @@ public class MembersServiceImpl implements MembersService {
 
     subscription.owner(isOwner);
     subscriptionRepository.update(subscription);
+    cacheHandler.invalidateRoomMembership(room.getId());
     eventDispatcher.sendToUserExchange(
         room.getSubscriptions().stream().map(Subscription::getUserId).toList(),
         isOwner
@@ -130,9 +135,12 @@ public class MembersServiceImpl implements MembersService {
     validateInsertRoomMembers(memberIds, room, currentUser);
 
     OffsetDateTime currentDateTime = OffsetDateTime.now();
+    messageDispatcher.addRoomMembers(
+        room.getId(),
+        currentUser.getId(),
+        membersToInsert.stream().map(member -> member.getUserId().toString()).toList());
     List<MemberInsertedDto> membersInserted = new ArrayList<>();
     for (MemberToInsertDto member : membersToInsert) {
-      addMemberToRoom(member.getUserId().toString(), room, currentUser.getId());
       MemberInsertedDto memberInsertedDto = processRoomSubscription(room, member, currentDateTime);
 
       membersInserted.add(memberInsertedDto);
@@ -176,6 +184,7 @@ public class MembersServiceImpl implements MembersService {
 
     List<Subscription> subscriptionsUpdated =
         subscriptionRepository.updateAll(subscriptionsToUpdate);
+    cacheHandler.invalidateRoomMembership(room.getId());
     subscriptionsToUpdate.forEach(
         subscription ->
             eventDispatcher.sendToUserExchange(
@@ -236,12 +245,6 @@ public class MembersServiceImpl implements MembersService {
             });
   }
 
-  private void addMemberToRoom(String memberId, Room room, String currentUserId) {
-    messageDispatcher.addRoomMember(room.getId(), currentUserId, memberId);
-    messageDispatcher.sendAffiliationMessage(
-        room.getId(), currentUserId, memberId, MessageType.MEMBER_ADDED);
-  }
-
   private MemberInsertedDto processRoomSubscription(
       Room room, MemberToInsertDto member, OffsetDateTime dateTime) {
     Subscription subscription =
@@ -252,6 +255,7 @@ public class MembersServiceImpl implements MembersService {
                 .owner(member.isOwner())
                 .joinedAt(dateTime));
     room.getSubscriptions().add(subscription);
+    cacheHandler.invalidateRoomMembership(room.getId());
 
     processRoomUserSettings(room, member, dateTime);
 
@@ -302,6 +306,7 @@ public class MembersServiceImpl implements MembersService {
         .getByRoomIdAndUserId(roomId.toString(), userId.toString())
         .ifPresent(roomUserSettingsRepository::delete);
     subscriptionRepository.delete(room.getId(), userId.toString());
+    cacheHandler.invalidateRoomMembership(room.getId());
     eventDispatcher.sendToUserExchange(
         room.getSubscriptions().stream().map(Subscription::getUserId).toList(),
         RoomMemberRemoved.create()
@@ -261,8 +261,7 @@ public class ParticipantServiceImpl implements ParticipantService {
   @Override
   public void updateMediaStream(
       UUID meetingId, MediaStreamSettingsDto mediaStreamSettingsDto, UserPrincipal currentUser) {
-    Meeting meeting = validateMeeting(meetingId);
-    Participant participant = validateMeetingParticipant(currentUser.getId(), meeting);
+    Participant participant = validateMeetingParticipant(currentUser.getId(), meetingId);
 
     boolean mediaStreamEnabled = mediaStreamSettingsDto.isEnabled();
 
@@ -274,7 +273,7 @@ public class ParticipantServiceImpl implements ParticipantService {
           participantRepository.update(participant.videoStreamOn(mediaStreamEnabled));
           if (!mediaStreamEnabled) {
             eventDispatcher.sendToUserExchange(
-                meeting.getParticipants().stream().map(Participant::getUserId).distinct().toList(),
+                participantRepository.getParticipantsIds(meetingId.toString()),
                 MeetingMediaStreamChanged.create()
                     .meetingId(meetingId)
                     .userId(UUID.fromString(currentUser.getId()))
@@ -292,7 +291,7 @@ public class ParticipantServiceImpl implements ParticipantService {
           participantRepository.update(participant.screenStreamOn(mediaStreamEnabled));
           if (!mediaStreamEnabled) {
             eventDispatcher.sendToUserExchange(
-                meeting.getParticipants().stream().map(Participant::getUserId).distinct().toList(),
+                participantRepository.getParticipantsIds(meetingId.toString()),
                 MeetingMediaStreamChanged.create()
                     .meetingId(meetingId)
                     .userId(UUID.fromString(currentUser.getId()))
@@ -311,25 +310,23 @@ public class ParticipantServiceImpl implements ParticipantService {
   @Override
   public void updateAudioStream(
       UUID meetingId, AudioStreamSettingsDto audioStreamSettingsDto, UserPrincipal currentUser) {
-    Meeting meeting = validateMeeting(meetingId);
     Participant participant =
-        validateAndGetParticipant(meeting, audioStreamSettingsDto.getUserToModerate(), currentUser);
+        validateAndGetParticipant(
+            meetingId, audioStreamSettingsDto.getUserToModerate(), currentUser);
     validateModeratorAction(
-        participant.getUserId(), meeting, currentUser, audioStreamSettingsDto.isEnabled());
+        participant.getUserId(), meetingId, currentUser, audioStreamSettingsDto.isEnabled());
 
     boolean enabled = audioStreamSettingsDto.isEnabled();
 
     if (participant.hasAudioStreamOn() != enabled) {
       videoServerService.updateAudioStream(participant.getUserId(), meetingId.toString(), enabled);
       participantRepository.update(participant.audioStreamOn(enabled));
+      List<String> participantsIds = participantRepository.getParticipantsIds(meetingId.toString());
       Optional.ofNullable(audioStreamSettingsDto.getUserToModerate())
           .ifPresentOrElse(
               targetUserId ->
                   eventDispatcher.sendToUserExchange(
-                      meeting.getParticipants().stream()
-                          .map(Participant::getUserId)
-                          .distinct()
-                          .toList(),
+                      participantsIds,
                       MeetingAudioStreamChanged.create()
                           .meetingId(meetingId)
                           .userId(UUID.fromString(targetUserId))
@@ -339,10 +336,7 @@ public class ParticipantServiceImpl implements ParticipantService {
                           .sentDate(OffsetDateTime.now())),
               () ->
                   eventDispatcher.sendToUserExchange(
-                      meeting.getParticipants().stream()
-                          .map(Participant::getUserId)
-                          .distinct()
-                          .toList(),
+                      participantsIds,
                       MeetingAudioStreamChanged.create()
                           .meetingId(meetingId)
                           .userId(currentUser.getUUID())
@@ -353,68 +347,67 @@ public class ParticipantServiceImpl implements ParticipantService {
   }
 
   private Participant validateAndGetParticipant(
-      Meeting meeting, String userToModerate, UserPrincipal currentUser) {
+      UUID meetingId, String userToModerate, UserPrincipal currentUser) {
 
     String userId = userToModerate != null ? userToModerate : currentUser.getId();
 
-    return validateMeetingParticipant(userId, meeting);
+    return validateMeetingParticipant(userId, meetingId);
   }
 
   private void validateModeratorAction(
-      String userId, Meeting meeting, UserPrincipal currentUser, boolean shouldBeEnabled) {
+      String userId, UUID meetingId, UserPrincipal currentUser, boolean shouldBeEnabled) {
     if (!userId.equals(currentUser.getId())) {
       if (shouldBeEnabled) {
         throw new BadRequestException(
             String.format(
                 "User '%s' cannot perform this action for user '%s'", currentUser.getId(), userId));
       }
-      roomService.getRoomAndValidateUser(UUID.fromString(meeting.getRoomId()), currentUser, true);
-      validateMeetingParticipant(currentUser.getId(), meeting);
+      roomService.validateUserMembership(
+          UUID.fromString(validateMeeting(meetingId).getRoomId()), currentUser, true);
+      validateMeetingParticipant(currentUser.getId(), meetingId);
     }
   }
 
   @Override
   public void answerRtcMediaStream(UUID meetingId, String sdp, UserPrincipal currentUser) {
-    Meeting meeting = validateMeeting(meetingId);
-    validateMeetingParticipant(currentUser.getId(), meeting);
+    validateMeetingParticipant(currentUser.getId(), meetingId);
     videoServerService.answerRtcMediaStream(currentUser.getId(), meetingId.toString(), sdp);
   }
 
   @Override
   public void updateSubscriptionsMediaStream(
       UUID meetingId, SubscriptionUpdatesDto subscriptionUpdatesDto, UserPrincipal currentUser) {
-    Meeting meeting = validateMeeting(meetingId);
-    validateMeetingParticipant(currentUser.getId(), meeting);
+    validateMeetingParticipant(currentUser.getId(), meetingId);
     videoServerService.updateSubscriptionsMediaStream(
         currentUser.getId(), meetingId.toString(), subscriptionUpdatesDto);
   }
 
   @Override
   public void offerRtcAudioStream(UUID meetingId, String sdp, UserPrincipal currentUser) {
-    Meeting meeting = validateMeeting(meetingId);
-    validateMeetingParticipant(currentUser.getId(), meeting);
+    validateMeetingParticipant(currentUser.getId(), meetingId);
     videoServerService.offerRtcAudioStream(currentUser.getId(), meetingId.toString(), sdp);
   }
 
-  private Participant validateMeetingParticipant(String userId, Meeting meeting) {
-    return meeting.getParticipants().stream()
-        .filter(p -> userId.equals(p.getUserId()))
-        .findAny()
+  // The participant is read by primary key, so the meeting is loaded only to tell whether it is
+  // the meeting or the participant to be missing
+  private Participant validateMeetingParticipant(String userId, UUID meetingId) {
+    return participantRepository
+        .getById(meetingId.toString(), userId)
         .orElseThrow(
-            () ->
-                new NotFoundException(
-                    String.format(
-                        "User '%s' not found into meeting '%s'", userId, meeting.getId())));
+            () -> {
+              validateMeeting(meetingId);
+              return new NotFoundException(
+                  String.format("User '%s' not found into meeting '%s'", userId, meetingId));
+            });
   }
 
   @Override
   public void updateHandStatus(
       UUID meetingId, HandStatusDto handStatusDto, UserPrincipal currentUser) {
-    Meeting meeting = validateMeeting(meetingId);
     Participant participant =
-        validateAndGetParticipant(meeting, handStatusDto.getUserToModerate(), currentUser);
+        validateAndGetParticipant(meetingId, handStatusDto.getUserToModerate(), currentUser);
     validateModeratorAction(
-        participant.getUserId(), meeting, currentUser, handStatusDto.isRaised());
+        participant.getUserId(), meetingId, currentUser, handStatusDto.isRaised());
 
     boolean handCurrentlyRaised = participant.getHandRaisedAt() != null;
     boolean handShouldBeRaised = handStatusDto.isRaised();
@@ -422,11 +415,10 @@ public class ParticipantServiceImpl implements ParticipantService {
     if (handCurrentlyRaised != handShouldBeRaised) {
       OffsetDateTime dateTime = handShouldBeRaised ? OffsetDateTime.now(clock) : null;
       participantRepository.update(participant.handRaisedAt(dateTime));
-      List<Participant> participantsWithHandRaised =
-          participantRepository.getHandRaisedByMeetingId(meetingId.toString());
+      List<String> participantsIds = participantRepository.getParticipantsIds(meetingId.toString());
       if (handShouldBeRaised) {
         eventDispatcher.sendToUserExchange(
-            meeting.getParticipants().stream().map(Participant::getUserId).distinct().toList(),
+            participantsIds,
             MeetingParticipantHandRaised.create()
                 .meetingId(meetingId)
                 .userId(currentUser.getUUID())
@@ -439,10 +431,7 @@ public class ParticipantServiceImpl implements ParticipantService {
             .ifPresentOrElse(
                 targetUserId ->
                     eventDispatcher.sendToUserExchange(
-                        meeting.getParticipants().stream()
-                            .map(Participant::getUserId)
-                            .distinct()
-                            .toList(),
+                        participantsIds,
                         MeetingParticipantHandRaised.create()
                             .meetingId(meetingId)
                             .userId(UUID.fromString(targetUserId))
@@ -452,10 +441,7 @@ public class ParticipantServiceImpl implements ParticipantService {
                             .sentDate(OffsetDateTime.now())),
                 () ->
                     eventDispatcher.sendToUserExchange(
-                        meeting.getParticipants().stream()
-                            .map(Participant::getUserId)
-                            .distinct()
-                            .toList(),
+                        participantsIds,
                         MeetingParticipantHandRaised.create()
                             .meetingId(meetingId)
                             .userId(currentUser.getUUID())
@@ -464,11 +450,11 @@ public class ParticipantServiceImpl implements ParticipantService {
                             .sentDate(OffsetDateTime.now())));
       }
       eventDispatcher.sendToUserExchange(
-          meeting.getParticipants().stream().map(Participant::getUserId).distinct().toList(),
+          participantsIds,
           MeetingParticipantHandRaisedList.create()
               .meetingId(meetingId)
               .participants(
-                  participantsWithHandRaised.stream()
+                  participantRepository.getHandRaisedByMeetingId(meetingId.toString()).stream()
                       .map(Participant::getUserId)
                       .map(UUID::fromString)
                       .toList())
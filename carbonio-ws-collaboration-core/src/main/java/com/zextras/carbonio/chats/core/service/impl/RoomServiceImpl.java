@@ -15,6 +15,7 @@ import com.zextras.carbonio.async.model.RoomPictureChanged;
 import com.zextras.carbonio.async.model.RoomPictureDeleted;
 import com.zextras.carbonio.async.model.RoomUnmuted;
 import com.zextras.carbonio.async.model.RoomUpdated;
+import com.zextras.carbonio.chats.core.cache.CacheHandler;
 import com.zextras.carbonio.chats.core.config.AppConfig;
 import com.zextras.carbonio.chats.core.config.ChatsConstant.CONFIGURATIONS_DEFAULT_VALUES;
 import com.zextras.carbonio.chats.core.config.ConfigName;
@@ -24,6 +25,8 @@ import com.zextras.carbonio.chats.core.data.entity.Room;
 import com.zextras.carbonio.chats.core.data.entity.RoomUserSettings;
 import com.zextras.carbonio.chats.core.data.entity.Subscription;
 import com.zextras.carbonio.chats.core.data.model.FileContentAndMetadata;
+import com.zextras.carbonio.chats.core.data.model.RoomMembership;
+import com.zextras.carbonio.chats.core.data.model.RoomSummary;
 import com.zextras.carbonio.chats.core.data.type.FileMetadataType;
 import com.zextras.carbonio.chats.core.exception.BadRequestException;
 import com.zextras.carbonio.chats.core.exception.ConflictException;
@@ -50,6 +53,8 @@ import com.zextras.carbonio.chats.model.RoomDto;
 import com.zextras.carbonio.chats.model.RoomEditableFieldsDto;
 import com.zextras.carbonio.chats.model.RoomExtraFieldDto;
 import com.zextras.carbonio.chats.model.RoomTypeDto;
+import com.zextras.carbonio.chats.model.RoomsChangesDto;
+import io.ebean.DuplicateKeyException;
 import jakarta.annotation.Nullable;
 import java.io.InputStream;
 import java.time.Clock;
@@ -60,6 +65,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Singleton
 public class RoomServiceImpl implements RoomService {
@@ -81,6 +87,7 @@ public class RoomServiceImpl implements RoomService {
   private final RoomMapper roomMapper;
   private final Clock clock;
   private final AppConfig appConfig;
+  private final CacheHandler cacheHandler;
 
   @Inject
   public RoomServiceImpl(
@@ -97,7 +104,8 @@ public class RoomServiceImpl implements RoomService {
       MessageDispatcher messageDispatcher,
       RoomMapper roomMapper,
       Clock clock,
-      AppConfig appConfig) {
+      AppConfig appConfig,
+      CacheHandler cacheHandler) {
     this.roomRepository = roomRepository;
     this.roomUserSettingsRepository = roomUserSettingsRepository;
     this.fileMetadataRepository = fileMetadataRepository;
@@ -112,6 +120,7 @@ public class RoomServiceImpl implements RoomService {
     this.roomMapper = roomMapper;
     this.clock = clock;
     this.appConfig = appConfig;
+    this.cacheHandler = cacheHandler;
   }
 
   @Override
@@ -122,12 +131,49 @@ public class RoomServiceImpl implements RoomService {
       includeMembers = extraFields.contains(RoomExtraFieldDto.MEMBERS);
       includeSettings = extraFields.contains(RoomExtraFieldDto.SETTINGS);
     }
-    List<Room> rooms = roomRepository.getByUserId(currentUser.getId(), includeMembers);
+    List<RoomSummary> rooms =
+        roomRepository.getSummariesByUserId(currentUser.getId(), includeMembers);
     Map<String, RoomUserSettings> settingsMap = null;
     if (includeSettings) {
       settingsMap = roomUserSettingsRepository.getMapGroupedByUserId(currentUser.getId());
     }
-    return roomMapper.ent2dto(rooms, settingsMap, includeMembers, includeSettings);
+    return roomMapper.summary2dto(rooms, settingsMap, includeMembers, includeSettings);
+  }
+
+  @Override
+  public RoomsChangesDto getRoomsChanges(
+      OffsetDateTime since,
+      @Nullable List<RoomExtraFieldDto> extraFields,
+      UserPrincipal currentUser) {
+    if (since == null) {
+      throw new BadRequestException("The date of the last sync is required");
+    }
+    // taken before reading, so changes made meanwhile are returned again by the next request
+    OffsetDateTime syncedAt = OffsetDateTime.ofInstant(clock.instant(), clock.getZone());
+    // the rooms are read from a while before the last sync, so that the changes committed after
+    // it was taken, or stamped by a node whose clock is behind, are not lost
+    OffsetDateTime changedSince =
+        since.minusSeconds(
+            appConfig
+                .get(Integer.class, ConfigName.ROOMS_CHANGES_LOOKBACK_IN_SEC)
+                .orElse(CONFIGURATIONS_DEFAULT_VALUES.ROOMS_CHANGES_LOOKBACK_IN_SEC));
+    boolean includeMembers = false, includeSettings = false;
+    if (extraFields != null) {
+      includeMembers = extraFields.contains(RoomExtraFieldDto.MEMBERS);
+      includeSettings = extraFields.contains(RoomExtraFieldDto.SETTINGS);
+    }
+    List<Room> rooms =
+        roomRepository.getByUserIdChangedSince(currentUser.getId(), changedSince, includeMembers);
+    Map<String, RoomUserSettings> settingsMap = null;
+    if (includeSettings && !rooms.isEmpty()) {
+      settingsMap =
+          roomUserSettingsRepository.getMapGroupedByUserId(
+              currentUser.getId(), rooms.stream().map(Room::getId).toList());
+    }
+    return RoomsChangesDto.create()
+        .syncedAt(syncedAt)
+        .rooms(roomMapper.ent2dto(rooms, settingsMap, includeMembers, includeSettings))
+        .roomsIds(getRoomsIds(currentUser));
   }
 
   @Override
@@ -151,7 +197,15 @@ public class RoomServiceImpl implements RoomService {
     createRoom(room, currentUser, members);
 
     room.subscriptions(membersService.initRoomSubscriptions(members, room));
-    room = roomRepository.insert(room);
+    try {
+      room = roomRepository.insert(room);
+    } catch (DuplicateKeyException e) {
+      // another request created the same one-to-one room after the validation, so the XMPP room
+      // just created is destroyed by removing its members
+      messageDispatcher.removeRoomMembers(
+          room.getId(), members.stream().map(MemberDto::getUserId).map(UUID::toString).toList());
+      throw new ConflictException("The one-to-one room already exists for these users", e);
+    }
 
     eventDispatcher.sendToUserExchange(
         room.getSubscriptions().stream().map(Subscription::getUserId).toList(),
@@ -354,10 +408,10 @@ public class RoomServiceImpl implements RoomService {
                 fileMetadataRepository.delete(metadata);
               });
     }
-    room.getSubscriptions().stream()
-        .map(Subscription::getUserId)
-        .forEach(userId -> messageDispatcher.removeRoomMember(room.getId(), userId));
+    messageDispatcher.removeRoomMembers(
+        room.getId(), room.getSubscriptions().stream().map(Subscription::getUserId).toList());
     roomRepository.delete(roomId.toString());
+    cacheHandler.invalidateRoomMembership(roomId.toString());
     eventDispatcher.sendToUserExchange(
         room.getSubscriptions().stream().map(Subscription::getUserId).toList(),
         RoomDeleted.create()
@@ -386,7 +440,7 @@ public class RoomServiceImpl implements RoomService {
 
   @Override
   public void unmuteRoom(UUID roomId, UserPrincipal currentUser) {
-    getRoomAndValidateUser(roomId, currentUser, false);
+    validateUserMembership(roomId, currentUser, false);
     roomUserSettingsRepository
         .getByRoomIdAndUserId(roomId.toString(), currentUser.getId())
         .ifPresent(
@@ -436,23 +490,48 @@ public class RoomServiceImpl implements RoomService {
         roomRepository
             .getById(roomId.toString())
             .orElseThrow(() -> new NotFoundException(String.format("Room '%s'", roomId)));
-    List<Subscription> subscriptions = room.getSubscriptions();
+    // the membership is not cached from here: a subscription removed after the room was read
+    // could be overwritten by this stale copy
+    validateMembership(toRoomMembership(room), currentUser, mustBeOwner);
+    return room;
+  }
 
-    Subscription member =
-        subscriptions.stream()
-            .filter(subscription -> subscription.getUserId().equals(currentUser.getId()))
-            .findAny()
-            .orElseThrow(
-                () ->
-                    new ForbiddenException(
-                        String.format(
-                            "User '%s' is not a member of room '%s'",
-                            currentUser.getId(), roomId)));
-    if (mustBeOwner && !member.isOwner()) {
+  @Override
+  public void validateUserMembership(UUID roomId, UserPrincipal currentUser, boolean mustBeOwner) {
+    RoomMembership membership =
+        cacheHandler
+            .getRoomMembershipCache()
+            .get(
+                roomId.toString(),
+                id -> roomRepository.getById(id).map(this::toRoomMembership).orElse(null));
+    if (membership == null) {
+      throw new NotFoundException(String.format("Room '%s'", roomId));
+    }
+    validateMembership(membership, currentUser, mustBeOwner);
+  }
+
+  private RoomMembership toRoomMembership(Room room) {
+    return RoomMembership.create(
+        room.getId(),
+        room.getType(),
+        room.getSubscriptions().stream()
+            .collect(Collectors.toMap(Subscription::getUserId, Subscription::isOwner)));
+  }
+
+  private void validateMembership(
+      RoomMembership membership, UserPrincipal currentUser, boolean mustBeOwner) {
+    if (!membership.isMember(currentUser.getId())) {
       throw new ForbiddenException(
-          String.format("User '%s' is not an owner of room '%s'", currentUser.getId(), roomId));
+          String.format(
+              "User '%s' is not a member of room '%s'",
+              currentUser.getId(), membership.getRoomId()));
+    }
+    if (mustBeOwner && !membership.isOwner(currentUser.getId())) {
+      throw new ForbiddenException(
+          String.format(
+              "User '%s' is not an owner of room '%s'",
+              currentUser.getId(), membership.getRoomId()));
     }
-    return room;
   }
 
   @Override
@@ -462,7 +541,7 @@ public class RoomServiceImpl implements RoomService {
 
   @Override
   public FileContentAndMetadata getRoomPicture(UUID roomId, UserPrincipal currentUser) {
-    getRoomAndValidateUser(roomId, currentUser, false);
+    validateUserMembership(roomId, currentUser, false);
     FileMetadata metadata =
         fileMetadataRepository
             .find(null, roomId.toString(), FileMetadataType.ROOM_AVATAR)
@@ -4,9 +4,12 @@
 
 package com.zextras.carbonio.chats.core.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.zextras.carbonio.chats.core.cache.CacheHandler;
 import com.zextras.carbonio.chats.core.data.entity.User;
+import com.zextras.carbonio.chats.core.data.model.UserProfile;
 import com.zextras.carbonio.chats.core.exception.NotFoundException;
 import com.zextras.carbonio.chats.core.infrastructure.profiling.ProfilingService;
 import com.zextras.carbonio.chats.core.repository.UserRepository;
@@ -14,7 +17,11 @@ import com.zextras.carbonio.chats.core.service.UserService;
 import com.zextras.carbonio.chats.core.web.security.UserPrincipal;
 import com.zextras.carbonio.chats.model.UserDto;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Singleton
@@ -22,24 +29,21 @@ public class UserServiceImpl implements UserService {
 
   private final ProfilingService profilingService;
   private final UserRepository userRepository;
+  private final Cache<String, UserProfile> userProfileCache;
 
   @Inject
-  public UserServiceImpl(ProfilingService profilingService, UserRepository userRepository) {
+  public UserServiceImpl(
+      ProfilingService profilingService, UserRepository userRepository, CacheHandler cacheHandler) {
     this.profilingService = profilingService;
     this.userRepository = userRepository;
+    this.userProfileCache = cacheHandler.getUserProfileCache();
   }
 
   @Override
   public UserDto getUserById(UUID userId, UserPrincipal currentUser) {
     UserDto partialDto =
-        profilingService
-            .getById(currentUser, userId)
-            .map(
-                p ->
-                    UserDto.create()
-                        .id(UUID.fromString(p.getId()))
-                        .email(p.getEmail())
-                        .name(p.getName()))
+        getProfile(userId, currentUser)
+            .map(this::toUserDto)
             .orElseThrow(
                 () ->
                     new NotFoundException(
@@ -53,19 +57,14 @@ public class UserServiceImpl implements UserService {
   @Override
   public List<UserDto> getUsersByIds(List<UUID> userIds, UserPrincipal currentUser) {
     List<String> strUserIds = userIds.stream().map(UUID::toString).toList();
-    List<User> users = userRepository.getByIds(strUserIds);
-    return profilingService.getByIds(currentUser, strUserIds).stream()
+    Map<String, User> users =
+        userRepository.getByIds(strUserIds).stream()
+            .collect(Collectors.toMap(User::getId, Function.identity(), (u1, u2) -> u1));
+    return getProfiles(strUserIds, currentUser).stream()
         .map(
-            p ->
-                UserDto.create()
-                    .id(UUID.fromString(p.getId()))
-                    .email(p.getEmail())
-                    .name(p.getName()))
-        .map(
-            userDto -> {
-              users.stream()
-                  .filter(u -> u.getId().equals(userDto.getId().toString()))
-                  .findFirst()
+            profile -> {
+              UserDto userDto = toUserDto(profile);
+              Optional.ofNullable(users.get(userDto.getId().toString()))
                   .ifPresent(u -> userDto.statusMessage(u.getStatusMessage()));
               return userDto;
             })
@@ -74,6 +73,44 @@ public class UserServiceImpl implements UserService {
 
   @Override
   public boolean userExists(UUID userId, UserPrincipal currentUser) {
-    return profilingService.getById(currentUser, userId).isPresent();
+    return getProfile(userId, currentUser).isPresent();
+  }
+
+  private Optional<UserProfile> getProfile(UUID userId, UserPrincipal currentUser) {
+    return Optional.ofNullable(
+        userProfileCache.get(
+            userId.toString(),
+            id -> profilingService.getById(currentUser, userId).orElse(null)));
+  }
+
+  /**
+   * Returns the profiles of the requested users, in the requested order and without duplicates.
+   * Only the profiles missing from the cache are retrieved, with a single call to the profiling
+   * service.
+   */
+  private List<UserProfile> getProfiles(List<String> userIds, UserPrincipal currentUser) {
+    List<String> distinctUserIds = userIds.stream().distinct().toList();
+    Map<String, UserProfile> profiles =
+        userProfileCache.getAll(
+            distinctUserIds,
+            missingUserIds ->
+                profilingService
+                    .getByIds(
+                        currentUser,
+                        distinctUserIds.stream().filter(missingUserIds::contains).toList())
+                    .stream()
+                    .collect(
+                        Collectors.toMap(
+                            profile -> UUID.fromString(profile.getId()).toString(),
+                            Function.identity(),
+                            (p1, p2) -> p1)));
+    return distinctUserIds.stream().map(profiles::get).filter(Objects::nonNull).toList();
+  }
+
+  private UserDto toUserDto(UserProfile profile) {
+    return UserDto.create()
+        .id(UUID.fromString(profile.getId()))
+        .email(profile.getEmail())
+        .name(profile.getName());
   }
 }
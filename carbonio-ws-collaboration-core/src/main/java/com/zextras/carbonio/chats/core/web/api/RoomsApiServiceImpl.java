@@ -34,6 +34,7 @@ import jakarta.ws.rs.core.Response.Status;
 import jakarta.ws.rs.core.SecurityContext;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -78,6 +79,16 @@ public class RoomsApiServiceImpl implements RoomsApiService {
         .build();
   }
 
+  @Override
+  @TimedCall(logLevel = ChatsLoggerLevel.INFO)
+  public Response listRoomsChanges(
+      OffsetDateTime since, List<RoomExtraFieldDto> extraFields, SecurityContext securityContext) {
+    UserPrincipal currentUser = getCurrentUser(securityContext);
+    return Response.status(Status.OK)
+        .entity(roomService.getRoomsChanges(since, extraFields, currentUser))
+        .build();
+  }
+
   @Override
   @TimedCall
   public Response getRoom(UUID roomId, SecurityContext securityContext) {
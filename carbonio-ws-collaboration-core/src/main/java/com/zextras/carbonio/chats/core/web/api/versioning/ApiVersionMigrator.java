@@ -23,8 +23,11 @@ public class ApiVersionMigrator {
   }
 
   public Object downgrade(Object original) {
-    /** The Object can be either a single DTO or a List<DTO>. */
-    JsonNode jsonNode = mapper.valueToTree(original);
+    /**
+     * The Object can be either a single DTO, a List<DTO> or an already parsed JsonNode, which is
+     * migrated in place without copying it.
+     */
+    JsonNode jsonNode = original instanceof JsonNode node ? node : mapper.valueToTree(original);
 
     if (jsonNode.isArray()) {
       return migrateList(jsonNode);
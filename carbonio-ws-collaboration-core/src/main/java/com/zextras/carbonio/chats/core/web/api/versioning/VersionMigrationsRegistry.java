@@ -8,8 +8,10 @@ import com.vdurmont.semver4j.Semver;
 import com.zextras.carbonio.async.model.DomainEvent;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class VersionMigrationsRegistry {
 
@@ -17,29 +19,76 @@ public class VersionMigrationsRegistry {
 
   private final Set<ChangeSet> migrations = new TreeSet<>(Comparator.reverseOrder());
 
-  public void register(ChangeSet changeSet) {
+  /**
+   * Immutable view of the registered change sets, together with the migrator chains already
+   * resolved from it. It is replaced every time the change sets are modified, so a chain is built
+   * only once for every requested version and target class.
+   */
+  private volatile ResolvedMigrations resolved = new ResolvedMigrations(List.of(), 0);
+
+  public synchronized void register(ChangeSet changeSet) {
     this.migrations.add(changeSet);
+    this.resolved = new ResolvedMigrations(List.copyOf(migrations), resolved.revision() + 1);
   }
 
-  public void clear() {
+  public synchronized void clear() {
     this.migrations.clear();
+    this.resolved = new ResolvedMigrations(List.of(), resolved.revision() + 1);
+  }
+
+  /**
+   * Returns a number which changes every time the registered migrations change, so that callers
+   * can safely cache the result of a downgrade.
+   */
+  public long getRevision() {
+    return resolved.revision();
   }
 
   public List<ApiVersionMigration> getMigrationsAfter(
       Semver requestedVersion, Class<?> migrationClass) {
-    return migrations.stream()
-        .filter(changeSet -> changeSet.appliesToClass(migrationClass))
-        .filter(changeSet -> changeSet.isNewerThan(requestedVersion))
-        .flatMap(changeSet -> changeSet.migrations().stream())
-        .toList();
+    return resolved.getMigrationsAfter(requestedVersion, migrationClass);
   }
 
   public boolean hasMigrationsAfter(Semver requestedVersion) {
-    return migrations.stream().anyMatch(c -> c.isNewerThan(requestedVersion));
+    return resolved.hasMigrationsAfter(requestedVersion);
   }
 
   public ApiVersionMigrator migratorFor(Semver version, Class<?> responseClass) {
-    return new ApiVersionMigrator(getMigrationsAfter(version, responseClass));
+    return resolved.migratorFor(version, responseClass);
+  }
+
+  private record MigratorKey(String version, Class<?> migrationClass) {}
+
+  private record ResolvedMigrations(
+      List<ChangeSet> changeSets,
+      long revision,
+      Map<MigratorKey, ApiVersionMigrator> migrators,
+      Map<String, Boolean> versionsWithMigrations) {
+
+    ResolvedMigrations(List<ChangeSet> changeSets, long revision) {
+      this(changeSets, revision, new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    }
+
+    List<ApiVersionMigration> getMigrationsAfter(
+        Semver requestedVersion, Class<?> migrationClass) {
+      return changeSets.stream()
+          .filter(changeSet -> changeSet.appliesToClass(migrationClass))
+          .filter(changeSet -> changeSet.isNewerThan(requestedVersion))
+          .flatMap(changeSet -> changeSet.migrations().stream())
+          .toList();
+    }
+
+    boolean hasMigrationsAfter(Semver requestedVersion) {
+      return versionsWithMigrations.computeIfAbsent(
+          requestedVersion.getValue(),
+          version -> changeSets.stream().anyMatch(c -> c.isNewerThan(requestedVersion)));
+    }
+
+    ApiVersionMigrator migratorFor(Semver version, Class<?> responseClass) {
+      return migrators.computeIfAbsent(
+          new MigratorKey(version.getValue(), responseClass),
+          key -> new ApiVersionMigrator(getMigrationsAfter(version, responseClass)));
+    }
   }
 
   static {
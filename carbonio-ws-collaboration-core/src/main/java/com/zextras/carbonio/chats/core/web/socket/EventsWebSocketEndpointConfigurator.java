@@ -6,21 +6,45 @@ package com.zextras.carbonio.chats.core.web.socket;
 
 import com.vdurmont.semver4j.Semver;
 import jakarta.servlet.http.HttpSession;
+import jakarta.websocket.Extension;
 import jakarta.websocket.HandshakeResponse;
 import jakarta.websocket.server.HandshakeRequest;
 import jakarta.websocket.server.ServerEndpointConfig;
 import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public class EventsWebSocketEndpointConfigurator extends ServerEndpointConfig.Configurator {
 
+  private static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+  private static final String SERVER_NO_CONTEXT_TAKEOVER = "server_no_context_takeover";
+
   private final EventsWebSocketManager eventsWebSocketManager;
+  private final boolean compressionEnabled;
+  private final boolean compressionContextTakeover;
 
   public EventsWebSocketEndpointConfigurator(EventsWebSocketManager eventsWebSocketManager) {
+    this(eventsWebSocketManager, true, false);
+  }
+
+  /**
+   * @param compressionEnabled whether the permessage-deflate extension can be negotiated
+   * @param compressionContextTakeover whether the server keeps its compression context between
+   *     messages: it compresses repeated payloads better, but it keeps a deflater window for each
+   *     connection
+   */
+  public EventsWebSocketEndpointConfigurator(
+      EventsWebSocketManager eventsWebSocketManager,
+      boolean compressionEnabled,
+      boolean compressionContextTakeover) {
     this.eventsWebSocketManager = eventsWebSocketManager;
+    this.compressionEnabled = compressionEnabled;
+    this.compressionContextTakeover = compressionContextTakeover;
   }
 
   @Override
@@ -42,6 +66,69 @@ public class EventsWebSocketEndpointConfigurator extends ServerEndpointConfig.Co
         .orElse("");
   }
 
+  @Override
+  public List<Extension> getNegotiatedExtensions(
+      List<Extension> installed, List<Extension> requested) {
+    Set<String> installedNames = new HashSet<>();
+    installed.forEach(extension -> installedNames.add(extension.getName()));
+    Set<String> negotiatedNames = new HashSet<>();
+    List<Extension> negotiated = new ArrayList<>();
+    for (Extension extension : requested) {
+      // the client can offer the same extension more than once, ordered by preference
+      if (!installedNames.contains(extension.getName())
+          || !negotiatedNames.add(extension.getName())) {
+        continue;
+      }
+      if (PERMESSAGE_DEFLATE.equals(extension.getName())) {
+        if (!compressionEnabled) {
+          continue;
+        }
+        if (!compressionContextTakeover) {
+          extension = withoutServerContextTakeover(extension);
+        }
+      }
+      negotiated.add(extension);
+    }
+    return negotiated;
+  }
+
+  private static Extension withoutServerContextTakeover(Extension extension) {
+    if (extension.getParameters().stream()
+        .anyMatch(parameter -> SERVER_NO_CONTEXT_TAKEOVER.equals(parameter.getName()))) {
+      return extension;
+    }
+    List<Extension.Parameter> parameters = new ArrayList<>(extension.getParameters());
+    parameters.add(new NegotiatedParameter(SERVER_NO_CONTEXT_TAKEOVER, null));
+    return new NegotiatedExtension(extension.getName(), parameters);
+  }
+
+  private record NegotiatedExtension(String name, List<Extension.Parameter> parameters)
+      implements Extension {
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public List<Parameter> getParameters() {
+      return parameters;
+    }
+  }
+
+  private record NegotiatedParameter(String name, String value) implements Extension.Parameter {
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public String getValue() {
+      return value;
+    }
+  }
+
   private static Optional<Semver> parseSemanticVersion(String subprotocol) {
     try {
       return Optional.of(new Semver(subprotocol));
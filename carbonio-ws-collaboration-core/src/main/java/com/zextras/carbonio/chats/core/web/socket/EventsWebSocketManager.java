@@ -9,12 +9,17 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.BuiltinExchangeType;
 import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.DeliverCallback;
+import com.rabbitmq.client.Recoverable;
+import com.rabbitmq.client.RecoveryListener;
 import com.zextras.carbonio.async.model.DomainEvent;
 import com.zextras.carbonio.async.model.EventType;
 import com.zextras.carbonio.async.model.WebsocketConnected;
+import com.zextras.carbonio.chats.core.config.AppConfig;
+import com.zextras.carbonio.chats.core.config.ConfigName;
 import com.zextras.carbonio.chats.core.logging.ChatsLogger;
 import com.zextras.carbonio.chats.core.service.ParticipantService;
 import com.zextras.carbonio.chats.core.web.socket.versioning.WebsocketVersionMigrator;
@@ -30,6 +35,7 @@ import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -38,6 +44,9 @@ import java.util.concurrent.ConcurrentHashMap;
 public class EventsWebSocketManager {
 
   private static final String USER_ROUTING_KEY = "user-events";
+  private static final String TARGET_SESSION_HEADER = "target-session";
+  private static final String NODE_QUEUE_PREFIX = "ws-collaboration-node-";
+  private static final int DEFAULT_OUTBOUND_QUEUE_SIZE = 256;
 
   private final Map<String, String> consumerTagMap;
   private final Channel channel;
@@ -45,24 +54,118 @@ public class EventsWebSocketManager {
   private final WebsocketVersionMigrator migrator;
   private final ParticipantService participantService;
 
+  /**
+   * When enabled, this node consumes all the user events from a single queue and routes them to
+   * its websocket sessions through {@link #userSessions}, instead of declaring a queue, a binding
+   * and a consumer for every websocket session.
+   */
+  private final boolean sharedConsumer;
+
+  private final String nodeQueue;
+  private final Map<String, Set<Session>> userSessions;
+  private volatile String nodeConsumerTag;
+
+  /**
+   * Users whose exchange the node queue is bound to. It is changed only while holding {@link
+   * #bindingLock}, which serializes the broker calls binding and unbinding the node queue, so that
+   * they are never made inside the updates of {@link #userSessions}.
+   */
+  private final Set<String> boundUsers;
+
+  private final Object bindingLock;
+
+  /**
+   * Events are handed to the outbound queue of the session instead of being written directly, so
+   * that a slow client can neither block the consumer thread nor buffer events without limit.
+   */
+  private final Map<Session, SessionOutboundQueue> outboundQueues;
+
+  private final int outboundQueueSize;
+  private final OutboundOverflowPolicy outboundOverflowPolicy;
+  private final SessionOutboundQueue.Metrics outboundMetrics;
+
   @Inject
   public EventsWebSocketManager(
       Channel channel,
       ObjectMapper objectMapper,
       WebsocketVersionMigrator migrator,
-      ParticipantService participantService) {
+      ParticipantService participantService,
+      AppConfig appConfig) {
     this.channel = channel;
     this.objectMapper = objectMapper;
     this.migrator = migrator;
     this.participantService = participantService;
     this.consumerTagMap = new ConcurrentHashMap<>();
+    this.sharedConsumer =
+        appConfig.get(Boolean.class, ConfigName.SHARED_CONSUMER_ENABLED).orElse(false);
+    this.nodeQueue = NODE_QUEUE_PREFIX + UUID.randomUUID();
+    this.userSessions = new ConcurrentHashMap<>();
+    this.boundUsers = ConcurrentHashMap.newKeySet();
+    this.bindingLock = new Object();
+    this.outboundQueues = new ConcurrentHashMap<>();
+    this.outboundQueueSize =
+        appConfig
+            .get(Integer.class, ConfigName.WEBSOCKET_OUTBOUND_QUEUE_SIZE)
+            .orElse(DEFAULT_OUTBOUND_QUEUE_SIZE);
+    this.outboundOverflowPolicy =
+        appConfig
+            .get(String.class, ConfigName.WEBSOCKET_OUTBOUND_OVERFLOW_POLICY)
+            .flatMap(OutboundOverflowPolicy::fromString)
+            .orElse(OutboundOverflowPolicy.COALESCE);
+    this.outboundMetrics = new SessionOutboundQueue.Metrics();
+    if (sharedConsumer && channel instanceof Recoverable recoverableChannel) {
+      recoverableChannel.addRecoveryListener(
+          new RecoveryListener() {
+            @Override
+            public void handleRecovery(Recoverable recoverable) {
+              ChatsLogger.warn("Event websocket manager channel recovery completed successfully");
+              start();
+            }
+
+            @Override
+            public void handleRecoveryStarted(Recoverable recoverable) {
+              ChatsLogger.warn("Event websocket manager channel recovery started...");
+            }
+          });
+    }
     Runtime.getRuntime()
         .addShutdownHook(new Thread(this::stop, "Event websocket manager shutdown hook"));
   }
 
+  /**
+   * Declares the node queue and starts consuming from it when the shared consumer is enabled,
+   * binding it again to the exchanges of the users connected to this node. It does nothing
+   * otherwise, because every websocket session has its own consumer.
+   */
+  public void start() {
+    if (!sharedConsumer) {
+      return;
+    }
+    if (channel == null || !channel.isOpen()) {
+      ChatsLogger.error("Unable to start event websocket manager: channel is not up!");
+      return;
+    }
+    try {
+      channel.queueDeclare(nodeQueue, false, true, true, null);
+      synchronized (bindingLock) {
+        // the node queue has just been declared, so it is not bound to any exchange yet
+        boundUsers.clear();
+        userSessions.keySet().forEach(this::syncNodeQueueBinding);
+      }
+      nodeConsumerTag =
+          channel.basicConsume(nodeQueue, true, createNodeDeliverCallback(), tag -> {});
+    } catch (Exception e) {
+      ChatsLogger.error("Error starting event websocket manager node consumer", e);
+    }
+  }
+
   @OnOpen
   public void onOpen(Session session) throws IOException {
     SessionPingManager.add(session);
+    outboundQueues.put(
+        session,
+        new SessionOutboundQueue(
+            session, outboundQueueSize, outboundOverflowPolicy, objectMapper, outboundMetrics));
 
     UUID userId = UUID.fromString(getUserIdFromSession(session));
     UUID queueId = UUID.fromString(session.getId());
@@ -74,9 +177,11 @@ public class EventsWebSocketManager {
             .type(EventType.WEBSOCKET_CONNECTED)
             .sentDate(OffsetDateTime.now());
 
-    session
-        .getAsyncRemote()
-        .sendObject(migrator.downgradeIfNeeded(wsConnected, getVersion(session)));
+    sendToSession(session, migrator.downgradeIfNeeded(wsConnected, getVersion(session)));
+    if (sharedConsumer) {
+      addUserSession(userId.toString(), session);
+      return;
+    }
     if (channel == null || !channel.isOpen()) {
       ChatsLogger.error(
           String.format(
@@ -89,21 +194,8 @@ public class EventsWebSocketManager {
       channel.queueDeclare(queueId.toString(), false, false, true, null);
       channel.queueBind(queueId.toString(), userId.toString(), USER_ROUTING_KEY);
       DeliverCallback deliverCallback =
-          (consumerTag, delivery) -> {
-            String message = new String(delivery.getBody(), StandardCharsets.UTF_8);
-            try {
-              if (session.isOpen()) {
-                session
-                    .getAsyncRemote()
-                    .sendObject(migrator.downgradeIfNeeded(message, getVersion(session)));
-              }
-            } catch (Exception e) {
-              ChatsLogger.warn(
-                  String.format(
-                      "Error sending event message to websocket for user/queue '%s'%nMessage: '%s'",
-                      userQueue, message));
-            }
-          };
+          (consumerTag, delivery) ->
+              sendEvent(session, new String(delivery.getBody(), StandardCharsets.UTF_8));
       String tag =
           channel.basicConsume(queueId.toString(), true, deliverCallback, consumerTag -> {});
       consumerTagMap.put(queueId.toString(), tag);
@@ -113,6 +205,130 @@ public class EventsWebSocketManager {
     }
   }
 
+  private DeliverCallback createNodeDeliverCallback() {
+    return (consumerTag, delivery) -> {
+      Set<Session> sessions = userSessions.get(delivery.getEnvelope().getExchange());
+      if (sessions == null || sessions.isEmpty()) {
+        return;
+      }
+      String message = new String(delivery.getBody(), StandardCharsets.UTF_8);
+      Optional<String> targetSession = getTargetSession(delivery.getProperties());
+      sessions.stream()
+          .filter(s -> targetSession.map(id -> id.equals(s.getId())).orElse(true))
+          .forEach(s -> sendEvent(s, message));
+    };
+  }
+
+  private Optional<String> getTargetSession(AMQP.BasicProperties properties) {
+    return Optional.ofNullable(properties)
+        .map(AMQP.BasicProperties::getHeaders)
+        .map(headers -> headers.get(TARGET_SESSION_HEADER))
+        .map(String::valueOf);
+  }
+
+  private void sendEvent(Session session, String message) {
+    try {
+      if (session.isOpen()) {
+        sendToSession(session, migrator.downgradeIfNeeded(message, getVersion(session)));
+      }
+    } catch (Exception e) {
+      ChatsLogger.warn(
+          String.format(
+              "Error sending event message to websocket for user/queue '%s/%s'%nMessage: '%s'",
+              getUserIdFromSession(session), session.getId(), message));
+    }
+  }
+
+  private void sendToSession(Session session, String message) {
+    SessionOutboundQueue outboundQueue = outboundQueues.get(session);
+    if (outboundQueue != null) {
+      outboundQueue.offer(message);
+    }
+  }
+
+  private void removeOutboundQueue(Session session) {
+    SessionOutboundQueue outboundQueue = outboundQueues.remove(session);
+    if (outboundQueue != null) {
+      outboundQueue.close();
+    }
+  }
+
+  private void addUserSession(String userId, Session session) {
+    userSessions.compute(
+        userId,
+        (id, sessions) -> {
+          Set<Session> userSessionSet = sessions == null ? ConcurrentHashMap.newKeySet() : sessions;
+          userSessionSet.add(session);
+          return userSessionSet;
+        });
+    syncNodeQueueBinding(userId);
+  }
+
+  private void removeUserSession(String userId, Session session) {
+    userSessions.computeIfPresent(
+        userId,
+        (id, sessions) -> {
+          sessions.remove(session);
+          return sessions.isEmpty() ? null : sessions;
+        });
+    syncNodeQueueBinding(userId);
+  }
+
+  /**
+   * Binds the node queue to the exchange of the user if the user has sessions on this node, or
+   * unbinds it if not. Concurrent changes to the sessions of the user are applied in turn, so the
+   * binding always ends up matching the last one.
+   */
+  private void syncNodeQueueBinding(String userId) {
+    synchronized (bindingLock) {
+      boolean hasSessions = userSessions.containsKey(userId);
+      if (hasSessions && !boundUsers.contains(userId) && bindNodeQueue(userId)) {
+        boundUsers.add(userId);
+      } else if (!hasSessions && boundUsers.contains(userId) && unbindNodeQueue(userId)) {
+        boundUsers.remove(userId);
+      }
+    }
+  }
+
+  /**
+   * @return true if the node queue has been bound, false if the broker did not confirm it
+   */
+  private boolean bindNodeQueue(String userId) {
+    if (channel == null || !channel.isOpen()) {
+      ChatsLogger.warn(
+          String.format(
+              "Unable to bind node queue to exchange for user '%s': channel is not up!", userId));
+      return false;
+    }
+    try {
+      channel.exchangeDeclare(userId, BuiltinExchangeType.DIRECT, false, false, null);
+      channel.queueBind(nodeQueue, userId, USER_ROUTING_KEY);
+      return true;
+    } catch (Exception e) {
+      ChatsLogger.warn(
+          String.format("Error binding node queue to exchange for user '%s'", userId), e);
+      return false;
+    }
+  }
+
+  /**
+   * @return true if the node queue is not bound anymore, false if the broker refused to unbind it
+   */
+  private boolean unbindNodeQueue(String userId) {
+    if (channel == null || !channel.isOpen()) {
+      // the node queue is declared and bound again from scratch when the channel recovers
+      return true;
+    }
+    try {
+      channel.queueUnbind(nodeQueue, userId, USER_ROUTING_KEY);
+      return true;
+    } catch (Exception e) {
+      ChatsLogger.warn(
+          String.format("Error unbinding node queue from exchange for user '%s'", userId));
+      return false;
+    }
+  }
+
   @OnMessage
   public void onMessage(Session session, String message) {
     if (message == null || message.isBlank()) return;
@@ -130,7 +346,7 @@ public class EventsWebSocketManager {
          * (EventType.PING, EventType.PONG) will be removed as soon as possible.
          */
         var pong = DomainEvent.create().type(EventType.PONG).sentDate(OffsetDateTime.now());
-        session.getAsyncRemote().sendObject(migrator.downgradeIfNeeded(pong, getVersion(session)));
+        sendToSession(session, migrator.downgradeIfNeeded(pong, getVersion(session)));
       }
     } catch (Exception e) {
       SessionPingManager.remove(session);
@@ -152,12 +368,14 @@ public class EventsWebSocketManager {
   @OnClose
   public void onClose(Session session) {
     SessionPingManager.remove(session);
+    removeOutboundQueue(session);
     closeSession(session);
   }
 
   @OnError
   public void onError(Session session, Throwable throwable) {
     SessionPingManager.remove(session);
+    removeOutboundQueue(session);
     UUID userId = UUID.fromString(getUserIdFromSession(session));
     UUID queueId = UUID.fromString(session.getId());
     String userQueue = userId + "/" + queueId;
@@ -194,6 +412,11 @@ public class EventsWebSocketManager {
 
     participantService.removeMeetingParticipant(queueId);
 
+    if (sharedConsumer) {
+      removeUserSession(userId.toString(), session);
+      return;
+    }
+
     if (channel == null || !channel.isOpen()) {
       ChatsLogger.error(
           String.format(
@@ -245,9 +468,13 @@ public class EventsWebSocketManager {
   public void stop() {
     try {
       if (channel != null && channel.isOpen()) {
+        if (nodeConsumerTag != null) {
+          channel.basicCancel(nodeConsumerTag);
+        }
         channel.close();
         ChatsLogger.info("Event websocket manager channel closed successfully.");
       }
+      ChatsLogger.info("Event websocket manager outbound queues: " + outboundMetrics);
     } catch (Exception e) {
       ChatsLogger.error("Error during stopping event websocket manager", e);
     }
@@ -0,0 +1,28 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.web.socket;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/** What to do with an event when the outbound queue of a websocket session is full. */
+public enum OutboundOverflowPolicy {
+
+  /** The new event is discarded. */
+  DROP,
+
+  /**
+   * The new event replaces the queued one of the same type about the same entities, if any;
+   * otherwise the session is disconnected.
+   */
+  COALESCE,
+
+  /** The session is closed, so that the client reconnects and synchronizes its state again. */
+  DISCONNECT;
+
+  public static Optional<OutboundOverflowPolicy> fromString(String value) {
+    return Arrays.stream(values()).filter(policy -> policy.name().equalsIgnoreCase(value)).findAny();
+  }
+}
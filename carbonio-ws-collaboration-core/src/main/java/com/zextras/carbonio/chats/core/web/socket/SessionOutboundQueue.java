@@ -0,0 +1,305 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.web.socket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zextras.carbonio.chats.core.logging.ChatsLogger;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.CloseReason.CloseCodes;
+import jakarta.websocket.SendHandler;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded outbound buffer of a websocket session.
+ *
+ * <p>Events are sent one at a time: the next one is written only when the previous write has
+ * completed, and meanwhile they wait in a queue of at most {@code capacity} events. When the queue
+ * is full the {@link OutboundOverflowPolicy} decides what to do, so a client that does not keep up
+ * costs a bounded amount of memory and never blocks the thread which is delivering the events.
+ */
+public class SessionOutboundQueue implements SendHandler {
+
+  private static final List<String> COALESCING_FIELDS =
+      List.of("roomId", "meetingId", "userId", "queueId", "messageId", "mediaType");
+
+  private final Session session;
+  private final int capacity;
+  private final OutboundOverflowPolicy overflowPolicy;
+  private final ObjectMapper objectMapper;
+  private final Metrics metrics;
+  private final LinkedList<OutboundMessage> queue;
+
+  private boolean sending;
+  private boolean closed;
+  private long sent;
+  private long dropped;
+  private long coalesced;
+
+  public SessionOutboundQueue(
+      Session session,
+      int capacity,
+      OutboundOverflowPolicy overflowPolicy,
+      ObjectMapper objectMapper,
+      Metrics metrics) {
+    this.session = session;
+    this.capacity = capacity;
+    this.overflowPolicy = overflowPolicy;
+    this.objectMapper = objectMapper;
+    this.metrics = metrics;
+    this.queue = new LinkedList<>();
+  }
+
+  /**
+   * Sends the message as soon as the previous ones have been written, applying the overflow policy
+   * if too many messages are already waiting. It never blocks.
+   *
+   * @param message text message to send
+   */
+  public void offer(String message) {
+    OutboundMessage outboundMessage = new OutboundMessage(message);
+    boolean disconnect = false;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      metrics.enqueued.increment();
+      if (sending) {
+        if (queue.size() < capacity) {
+          queue.addLast(outboundMessage);
+        } else {
+          disconnect = !handleOverflow(outboundMessage);
+        }
+        outboundMessage = null;
+      } else {
+        sending = true;
+      }
+    }
+    if (disconnect) {
+      disconnect();
+    } else if (outboundMessage != null) {
+      send(outboundMessage);
+    }
+  }
+
+  /** Discards the pending messages: nothing is sent after this call. */
+  public void close() {
+    String summary;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      summary =
+          dropped > 0 || coalesced > 0
+              ? String.format(
+                  "%d sent, %d dropped, %d coalesced, %d pending",
+                  sent, dropped, coalesced, queue.size())
+              : null;
+      queue.clear();
+    }
+    if (summary != null) {
+      ChatsLogger.info(
+          String.format("Websocket session %s outbound queue closed: %s", session.getId(), summary));
+    }
+  }
+
+  public synchronized int size() {
+    return queue.size();
+  }
+
+  @Override
+  public void onResult(SendResult result) {
+    if (!result.isOK()) {
+      ChatsLogger.debug(
+          String.format(
+              "Error sending event message to websocket session %s: %s",
+              session.getId(), result.getException()));
+    }
+    OutboundMessage next;
+    synchronized (this) {
+      sent++;
+      next = closed ? null : queue.pollFirst();
+      if (next == null) {
+        sending = false;
+        return;
+      }
+    }
+    send(next);
+  }
+
+  /**
+   * Applies the overflow policy to a message which does not fit the queue.
+   *
+   * @return false if the session has to be disconnected, true otherwise
+   */
+  private boolean handleOverflow(OutboundMessage message) {
+    switch (overflowPolicy) {
+      case DROP -> {
+        dropped++;
+        metrics.dropped.increment();
+        return true;
+      }
+      case COALESCE -> {
+        if (coalesce(message)) {
+          coalesced++;
+          metrics.coalesced.increment();
+          return true;
+        }
+        return false;
+      }
+      default -> {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Replaces the queued message of the same kind in place, so that the events keep the order in
+   * which the client first had to be notified. If a later queued event refers to the same
+   * entities (e.g. a participant left after having joined), the old message is removed and the new
+   * one is appended instead, so that the client never ends up with an outdated state.
+   */
+  private boolean coalesce(OutboundMessage message) {
+    Optional<String> key = message.getCoalescingKey();
+    if (key.isEmpty()) {
+      return false;
+    }
+    Optional<String> entityKey = message.getEntityKey();
+    int queuedIndex = -1;
+    ListIterator<OutboundMessage> iterator = queue.listIterator();
+    while (iterator.hasNext()) {
+      OutboundMessage queued = iterator.next();
+      if (queuedIndex < 0) {
+        if (key.equals(queued.getCoalescingKey())) {
+          queuedIndex = iterator.previousIndex();
+        }
+      } else if (entityKey.equals(queued.getEntityKey())) {
+        queue.remove(queuedIndex);
+        queue.addLast(message);
+        return true;
+      }
+    }
+    if (queuedIndex < 0) {
+      return false;
+    }
+    queue.set(queuedIndex, message);
+    return true;
+  }
+
+  private void send(OutboundMessage message) {
+    if (!session.isOpen()) {
+      close();
+      return;
+    }
+    try {
+      session.getAsyncRemote().sendText(message.text, this);
+    } catch (Exception e) {
+      onResult(new SendResult(e));
+    }
+  }
+
+  private void disconnect() {
+    close();
+    metrics.disconnected.increment();
+    ChatsLogger.warn(
+        String.format(
+            "Websocket session %s outbound queue is full (%d events), closing the session"
+                + " [outbound queues: %s]",
+            session.getId(), capacity, metrics));
+    try {
+      session.close(new CloseReason(CloseCodes.TRY_AGAIN_LATER, "Outbound queue full"));
+    } catch (Exception e) {
+      ChatsLogger.warn("Error closing websocket session: " + session.getId(), e);
+    }
+  }
+
+  private final class OutboundMessage {
+
+    private final String text;
+    private Optional<String> coalescingKey;
+    private Optional<String> entityKey;
+
+    private OutboundMessage(String text) {
+      this.text = text;
+    }
+
+    /**
+     * Events with the same type which refer to the same entities carry the same kind of state, so
+     * only the last one matters to the client. The key is computed only when needed.
+     */
+    private Optional<String> getCoalescingKey() {
+      computeKeys();
+      return coalescingKey;
+    }
+
+    /** Identifies the entities the event refers to, whatever its type. */
+    private Optional<String> getEntityKey() {
+      computeKeys();
+      return entityKey;
+    }
+
+    private void computeKeys() {
+      if (coalescingKey != null) {
+        return;
+      }
+      coalescingKey = Optional.empty();
+      entityKey = Optional.empty();
+      try {
+        JsonNode node = objectMapper.readTree(text);
+        JsonNode type = node.get("type");
+        if (type == null || !type.isTextual()) {
+          return;
+        }
+        StringBuilder key = new StringBuilder();
+        COALESCING_FIELDS.forEach(
+            field -> key.append('|').append(Objects.toString(node.get(field), "")));
+        entityKey = Optional.of(key.toString());
+        coalescingKey = Optional.of(type.asText() + key);
+      } catch (Exception e) {
+        // not a JSON event: it can be neither coalesced nor related to other events
+      }
+    }
+  }
+
+  /** Counters of the outbound queues of all the websocket sessions of this node. */
+  public static class Metrics {
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder disconnected = new LongAdder();
+
+    public long getEnqueued() {
+      return enqueued.sum();
+    }
+
+    public long getDropped() {
+      return dropped.sum();
+    }
+
+    public long getCoalesced() {
+      return coalesced.sum();
+    }
+
+    public long getDisconnected() {
+      return disconnected.sum();
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "%d enqueued, %d dropped, %d coalesced, %d disconnected",
+          getEnqueued(), getDropped(), getCoalesced(), getDisconnected());
+    }
+  }
+}
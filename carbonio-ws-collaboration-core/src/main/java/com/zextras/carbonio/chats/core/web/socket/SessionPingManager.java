@@ -8,72 +8,145 @@ import com.zextras.carbonio.chats.core.logging.ChatsLogger;
 import jakarta.websocket.Session;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Pings the open websocket sessions every {@link #PING_INTERVAL} seconds.
+ *
+ * <p>Sessions are spread over a wheel of {@link #BUCKETS} buckets, one for each second of the
+ * interval: a single thread visits a bucket every second and pings all the sessions in it, so
+ * the cost of a session is an entry in a set instead of a scheduled task. A session is pinged as
+ * soon as it is added, and then every time the wheel comes back to its bucket.
+ */
 public class SessionPingManager {
 
   private static final int PING_INTERVAL = 30;
+  private static final int BUCKETS = PING_INTERVAL;
+  private static final long TICK_IN_MILLIS = TimeUnit.SECONDS.toMillis(PING_INTERVAL) / BUCKETS;
   private static final int ARBITRARY_BYTE = 0x01;
   private static final ByteBuffer PING_PAYLOAD = ByteBuffer.wrap(new byte[] {ARBITRARY_BYTE});
 
-  private static final AtomicInteger THREAD_NUMBER = new AtomicInteger(1);
-  private static final int THREAD_POOL_SIZE =
-      Math.max(4, Runtime.getRuntime().availableProcessors());
-
-  private static final ConcurrentHashMap<Session, ScheduledFuture<?>> ACTIVE_SESSIONS =
-      new ConcurrentHashMap<>();
+  private static final PingWheel WHEEL = new PingWheel(BUCKETS);
 
   private static final ScheduledExecutorService scheduler =
-      Executors.newScheduledThreadPool(THREAD_POOL_SIZE, r -> createDaemonThread(r));
+      Executors.newSingleThreadScheduledExecutor(r -> createDaemonThread(r));
+
+  static {
+    scheduler.scheduleAtFixedRate(
+        SessionPingManager::tick, TICK_IN_MILLIS, TICK_IN_MILLIS, TimeUnit.MILLISECONDS);
+  }
 
   public static void add(Session session) {
-    ScheduledFuture<?> future =
-        scheduler.scheduleAtFixedRate(
-            () -> {
-              if (session.isOpen()) {
-                try {
-                  session.getAsyncRemote().sendPing(PING_PAYLOAD);
-                } catch (IOException e) {
-                  ChatsLogger.warn("Error sending ping to websocket session " + session.getId());
-                  remove(session);
-                }
-              } else {
-                remove(session);
-              }
-            },
-            0,
-            PING_INTERVAL,
-            TimeUnit.SECONDS);
-    ACTIVE_SESSIONS.put(session, future);
+    if (WHEEL.add(session)) {
+      scheduler.execute(() -> ping(session));
+    }
   }
 
-  private static void closeSession(Session session) {
+  public static void remove(Session session) {
+    WHEEL.remove(session);
+    closeSession(session);
+  }
+
+  private static void tick() {
+    try {
+      WHEEL.next().forEach(SessionPingManager::ping);
+    } catch (Exception e) {
+      ChatsLogger.warn("Error pinging websocket sessions", e);
+    }
+  }
+
+  private static void ping(Session session) {
     if (session.isOpen()) {
       try {
-        session.close();
+        session.getAsyncRemote().sendPing(PING_PAYLOAD.duplicate());
       } catch (IOException e) {
-        ChatsLogger.warn("Error closing websocket session: " + session.getId(), e);
+        ChatsLogger.warn("Error sending ping to websocket session " + session.getId());
+        remove(session);
       }
+    } else {
+      remove(session);
     }
   }
 
-  public static void remove(Session session) {
-    ScheduledFuture<?> future = ACTIVE_SESSIONS.remove(session);
-    if (future != null) {
-      future.cancel(true);
+  private static void closeSession(Session session) {
+    if (session.isOpen()) {
+      try {
+        session.close();
+      } catch (IOException e) {
+        ChatsLogger.warn("Error closing websocket session: " + session.getId(), e);
+      }
     }
-    closeSession(session);
   }
 
   private static Thread createDaemonThread(Runnable r) {
-    Thread thread =
-        new Thread(r, "SessionPingManager-Scheduler-" + THREAD_NUMBER.getAndIncrement());
+    Thread thread = new Thread(r, "SessionPingManager-Scheduler");
     thread.setDaemon(true);
     return thread;
   }
+
+  /**
+   * Buckets of the sessions to ping, visited in a circle. A new session goes into the bucket
+   * visited last, so that it is visited again only after a whole turn of the wheel.
+   */
+  static class PingWheel {
+
+    private final ConcurrentHashMap<Session, Integer> activeSessions;
+    private final Set<Session>[] buckets;
+
+    private volatile int cursor;
+
+    @SuppressWarnings("unchecked")
+    PingWheel(int size) {
+      this.activeSessions = new ConcurrentHashMap<>();
+      this.buckets = new Set[size];
+      for (int i = 0; i < size; i++) {
+        buckets[i] = ConcurrentHashMap.newKeySet();
+      }
+      this.cursor = 0;
+    }
+
+    /**
+     * The bucket of a session is changed only inside the computation of its entry in the active
+     * sessions, so that an add and a remove of the same session cannot interleave.
+     *
+     * @return true if the session has been added, false if it was already in the wheel
+     */
+    boolean add(Session session) {
+      int bucket = (cursor + buckets.length - 1) % buckets.length;
+      AtomicBoolean added = new AtomicBoolean(false);
+      activeSessions.computeIfAbsent(
+          session,
+          s -> {
+            buckets[bucket].add(s);
+            added.set(true);
+            return bucket;
+          });
+      return added.get();
+    }
+
+    void remove(Session session) {
+      activeSessions.computeIfPresent(
+          session,
+          (s, bucket) -> {
+            buckets[bucket].remove(s);
+            return null;
+          });
+    }
+
+    /** Moves the wheel forward and returns the sessions of the bucket it has reached. */
+    Set<Session> next() {
+      Set<Session> bucket = buckets[cursor];
+      cursor = (cursor + 1) % buckets.length;
+      return bucket;
+    }
+
+    int size() {
+      return activeSessions.size();
+    }
+  }
 }
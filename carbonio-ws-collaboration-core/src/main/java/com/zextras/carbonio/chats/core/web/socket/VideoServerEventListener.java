@@ -21,6 +21,9 @@ import com.zextras.carbonio.async.model.MeetingParticipantTalking;
 import com.zextras.carbonio.async.model.MeetingSdpAnswered;
 import com.zextras.carbonio.async.model.MeetingSdpOffered;
 import com.zextras.carbonio.async.model.SubscribedStream;
+import com.zextras.carbonio.chats.core.cache.CacheHandler;
+import com.zextras.carbonio.chats.core.config.AppConfig;
+import com.zextras.carbonio.chats.core.config.ConfigName;
 import com.zextras.carbonio.chats.core.data.entity.VideoServerSession;
 import com.zextras.carbonio.chats.core.exception.EventDispatcherException;
 import com.zextras.carbonio.chats.core.infrastructure.event.EventDispatcher;
@@ -38,8 +41,13 @@ import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 @Singleton
 public class VideoServerEventListener {
@@ -58,23 +66,51 @@ public class VideoServerEventListener {
   private static final int JSEP_TYPE = 8;
   private static final int PLUGIN_TYPE = 64;
 
+  private static final int DEFAULT_TALKING_EVENT_INTERVAL_IN_MILLI = 500;
+
   private volatile String consumerTag;
 
   private final Channel channel;
   private final EventDispatcher eventDispatcher;
   private final ObjectMapper objectMapper;
   private final VideoServerService videoServerService;
+  private final CacheHandler cacheHandler;
+
+  /**
+   * The talking state of a user is sent at most once every {@link #talkingEventInterval}
+   * milliseconds: the changes received in between are merged and only the last state is sent when
+   * the interval elapses, if it differs from the one already sent.
+   */
+  private final long talkingEventInterval;
+
+  private final Map<TalkingKey, TalkingState> talkingStates;
+  private final ScheduledExecutorService talkingScheduler;
 
   @Inject
   public VideoServerEventListener(
       Channel channel,
       EventDispatcher eventDispatcher,
       ObjectMapper objectMapper,
-      VideoServerService videoServerService) {
+      VideoServerService videoServerService,
+      CacheHandler cacheHandler,
+      AppConfig appConfig) {
     this.channel = getRecoverableChannel(channel);
     this.eventDispatcher = eventDispatcher;
     this.objectMapper = objectMapper;
     this.videoServerService = videoServerService;
+    this.cacheHandler = cacheHandler;
+    this.talkingEventInterval =
+        appConfig
+            .get(Integer.class, ConfigName.VIDEO_SERVER_TALKING_EVENT_INTERVAL_IN_MILLI)
+            .orElse(DEFAULT_TALKING_EVENT_INTERVAL_IN_MILLI);
+    this.talkingStates = new ConcurrentHashMap<>();
+    this.talkingScheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            r -> {
+              Thread thread = new Thread(r, "VideoServerEventListener-Talking");
+              thread.setDaemon(true);
+              return thread;
+            });
     Runtime.getRuntime()
         .addShutdownHook(new Thread(this::stop, "Video server event listener shutdown hook"));
   }
@@ -113,6 +149,7 @@ public class VideoServerEventListener {
   }
 
   public void stop() {
+    talkingScheduler.shutdownNow();
     try {
       if (channel != null && channel.isOpen()) {
         if (consumerTag != null) {
@@ -216,16 +253,75 @@ public class VideoServerEventListener {
     if (!TALKING.equals(audioBridgeEvent) && !STOPPED_TALKING.equals(audioBridgeEvent)) return;
 
     UserFeed userFeed = UserFeed.fromString(event.getOpaqueId());
-    List<String> recipients = getMeetingVideoServerSessions(userFeed.getMeetingId());
+    TalkingKey key = new TalkingKey(userFeed.getMeetingId(), userFeed.getUserId());
+    boolean talking = TALKING.equals(audioBridgeEvent);
 
-    eventDispatcher.sendToUserExchange(
-        recipients,
-        MeetingParticipantTalking.create()
-            .meetingId(UUID.fromString(userFeed.getMeetingId()))
-            .userId(UUID.fromString(userFeed.getUserId()))
-            .isTalking(TALKING.equals(audioBridgeEvent))
-            .type(EventType.MEETING_PARTICIPANT_TALKING)
-            .sentDate(OffsetDateTime.now()));
+    if (talkingEventInterval <= 0) {
+      dispatchTalkingEvent(key, talking);
+      return;
+    }
+    boolean[] dispatchNow = {false};
+    talkingStates.compute(
+        key,
+        (k, state) -> {
+          if (state == null) {
+            dispatchNow[0] = true;
+            return new TalkingState(talking);
+          }
+          state.pending = talking;
+          return state;
+        });
+    if (dispatchNow[0]) {
+      dispatchTalkingEvent(key, talking);
+      scheduleTalkingFlush(key);
+    }
+  }
+
+  private void flushTalkingState(TalkingKey key) {
+    Boolean[] toDispatch = {null};
+    talkingStates.computeIfPresent(
+        key,
+        (k, state) -> {
+          if (state.pending == null || state.pending == state.sent) {
+            return null;
+          }
+          state.sent = state.pending;
+          state.pending = null;
+          toDispatch[0] = state.sent;
+          return state;
+        });
+    if (toDispatch[0] != null) {
+      dispatchTalkingEvent(key, toDispatch[0]);
+      scheduleTalkingFlush(key);
+    }
+  }
+
+  private void scheduleTalkingFlush(TalkingKey key) {
+    try {
+      talkingScheduler.schedule(
+          () -> flushTalkingState(key), talkingEventInterval, TimeUnit.MILLISECONDS);
+    } catch (Exception e) {
+      talkingStates.remove(key);
+    }
+  }
+
+  private void dispatchTalkingEvent(TalkingKey key, boolean talking) {
+    try {
+      eventDispatcher.sendToUserExchange(
+          getMeetingVideoServerSessions(key.meetingId()),
+          MeetingParticipantTalking.create()
+              .meetingId(UUID.fromString(key.meetingId()))
+              .userId(UUID.fromString(key.userId()))
+              .isTalking(talking)
+              .type(EventType.MEETING_PARTICIPANT_TALKING)
+              .sentDate(OffsetDateTime.now()));
+    } catch (Exception e) {
+      ChatsLogger.warn(
+          String.format(
+              "Error sending talking event of user '%s' in meeting '%s'",
+              key.userId(), key.meetingId()),
+          e);
+    }
   }
 
   private void handleStreamsEvent(VideoServerEvent event) {
@@ -291,9 +387,14 @@ public class VideoServerEventListener {
   }
 
   private @NotNull List<String> getMeetingVideoServerSessions(String meetingId) {
-    return videoServerService.getSessions(meetingId).stream()
-        .map(VideoServerSession::getUserId)
-        .toList();
+    return cacheHandler
+        .getMeetingSessionsCache()
+        .get(
+            meetingId,
+            id ->
+                videoServerService.getSessions(id).stream()
+                    .map(VideoServerSession::getUserId)
+                    .toList());
   }
 
   private MediaType mapEventType(MediaTrackType mediaTrackType) {
@@ -303,4 +404,16 @@ public class VideoServerEventListener {
       case SCREEN -> MediaType.SCREEN;
     };
   }
+
+  private record TalkingKey(String meetingId, String userId) {}
+
+  private static class TalkingState {
+
+    private boolean sent;
+    private Boolean pending;
+
+    private TalkingState(boolean sent) {
+      this.sent = sent;
+    }
+  }
 }
@@ -6,23 +6,41 @@ package com.zextras.carbonio.chats.core.web.socket.versioning;
 
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 import com.vdurmont.semver4j.Semver;
 import com.zextras.carbonio.async.model.DomainEvent;
-import com.zextras.carbonio.async.model.EventType;
 import com.zextras.carbonio.chats.core.exception.InternalErrorException;
 import com.zextras.carbonio.chats.core.web.api.versioning.VersionMigrationsRegistry;
-import java.util.EnumMap;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+@Singleton
 public class WebsocketVersionMigrator {
 
+  private static final long DOWNGRADED_EVENTS_MAX_SIZE = 1000;
+  private static final Duration DOWNGRADED_EVENTS_EXPIRATION = Duration.ofSeconds(10);
+
   private final ObjectMapper mapper;
   private final VersionMigrationsRegistry registry = VersionMigrationsRegistry.REGISTRY;
 
-  private static final Map<EventType, Class<? extends DomainEvent>> eventTypeClassRegistry =
-      new EnumMap<>(EventType.class);
+  /**
+   * Events already downgraded for a negotiated version. The same event is usually delivered to
+   * many sessions on this node (every member of a room, every tab of a user), so each distinct
+   * event is downgraded only once per version.
+   */
+  private final Cache<DowngradeKey, String> downgradedEvents;
+
+  private final Map<String, Semver> versions = new ConcurrentHashMap<>();
+
+  private static final Map<String, Class<? extends DomainEvent>> eventTypeClassRegistry =
+      new HashMap<>();
 
   static {
     initializeEventTypeClassRegistry();
@@ -31,15 +49,19 @@ public class WebsocketVersionMigrator {
   @Inject
   public WebsocketVersionMigrator(ObjectMapper mapper) {
     this.mapper = mapper;
+    this.downgradedEvents =
+        Caffeine.newBuilder()
+            .expireAfterWrite(DOWNGRADED_EVENTS_EXPIRATION)
+            .maximumSize(DOWNGRADED_EVENTS_MAX_SIZE)
+            .build();
   }
 
-  private String downgrade(DomainEvent event, Semver apiVersion) {
-    Class<?> eventClass = eventTypeClassRegistry.get(event.getType());
-
-    var apiVersionMigrator = registry.migratorFor(apiVersion, eventClass);
+  private String downgrade(String message, Semver apiVersion) {
     try {
-      var downgradedMessage = apiVersionMigrator.downgrade(mapper.readTree(toStringValue(event)));
-      return toStringValue(downgradedMessage);
+      JsonNode event = mapper.readTree(message);
+      Class<?> eventClass =
+          eventTypeClassRegistry.getOrDefault(event.path("type").asText(), DomainEvent.class);
+      return toStringValue(registry.migratorFor(apiVersion, eventClass).downgrade(event));
     } catch (JsonProcessingException e) {
       throw new InternalErrorException("Error serializing event: %s", e);
     }
@@ -47,19 +69,21 @@ public class WebsocketVersionMigrator {
 
   public String downgradeIfNeeded(DomainEvent event, String version)
       throws JsonProcessingException {
-    Semver apiVersion = new Semver(version);
+    Semver apiVersion = toSemver(version);
     if (needsDowngrade(apiVersion)) {
-      return downgrade(event, apiVersion);
+      return downgrade(toStringValue(event), apiVersion);
     }
 
     return toStringValue(event);
   }
 
   public String downgradeIfNeeded(String message, String version) throws JsonProcessingException {
-    Semver apiVersion = new Semver(version);
+    Semver apiVersion = toSemver(version);
 
     if (needsDowngrade(apiVersion)) {
-      return downgrade(parseDomainEvent(message), apiVersion);
+      return downgradedEvents.get(
+          new DowngradeKey(registry.getRevision(), version, message),
+          key -> downgrade(message, apiVersion));
     }
 
     return message;
@@ -69,8 +93,8 @@ public class WebsocketVersionMigrator {
     return registry.hasMigrationsAfter(apiVersion);
   }
 
-  private DomainEvent parseDomainEvent(String message) throws JsonProcessingException {
-    return mapper.readValue(message, DomainEvent.class);
+  private Semver toSemver(String version) {
+    return versions.computeIfAbsent(version, Semver::new);
   }
 
   private static void initializeEventTypeClassRegistry() {
@@ -78,23 +102,15 @@ public class WebsocketVersionMigrator {
     if (annotation == null) return;
 
     for (JsonSubTypes.Type subType : annotation.value()) {
-      EventType eventType = findEventTypeByName(subType.name());
-      if (eventType != null && DomainEvent.class.isAssignableFrom(subType.value())) {
-        eventTypeClassRegistry.put(eventType, (Class<? extends DomainEvent>) subType.value());
+      if (DomainEvent.class.isAssignableFrom(subType.value())) {
+        eventTypeClassRegistry.put(subType.name(), (Class<? extends DomainEvent>) subType.value());
       }
     }
   }
 
-  private static EventType findEventTypeByName(String name) {
-    for (EventType eventType : EventType.values()) {
-      if (eventType.toString().equals(name)) {
-        return eventType;
-      }
-    }
-    return null;
-  }
-
   private String toStringValue(Object o) throws JsonProcessingException {
     return mapper.writeValueAsString(o);
   }
+
+  private record DowngradeKey(long revision, String version, String message) {}
 }
@@ -0,0 +1,8 @@
+-- SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+--
+-- SPDX-License-Identifier: AGPL-3.0-only
+
+ALTER TABLE CHATS.VIDEOSERVER_MEETING
+    ADD COLUMN SERVER_NODE VARCHAR(256);
+
+CREATE INDEX VIDEOSERVER_MEETING_SERVER_NODE ON CHATS.VIDEOSERVER_MEETING (SERVER_NODE);
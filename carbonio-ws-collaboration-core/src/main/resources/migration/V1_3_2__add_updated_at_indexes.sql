@@ -0,0 +1,9 @@
+-- SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+--
+-- SPDX-License-Identifier: AGPL-3.0-only
+
+CREATE INDEX ROOM_UPDATED_AT ON CHATS.ROOM (UPDATED_AT);
+
+CREATE INDEX SUBSCRIPTION_ROOM_ID_UPDATED_AT ON CHATS.SUBSCRIPTION (ROOM_ID, UPDATED_AT);
+
+CREATE INDEX ROOM_USER_SETTINGS_USER_ID_UPDATED_AT ON CHATS.ROOM_USER_SETTINGS (USER_ID, UPDATED_AT);
@@ -0,0 +1,6 @@
+-- SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+--
+-- SPDX-License-Identifier: AGPL-3.0-only
+
+-- The primary key is led by USER_ID, lookups by room read the members from this index only
+CREATE INDEX SUBSCRIPTION_ROOM_ID_USER_ID ON CHATS.SUBSCRIPTION (ROOM_ID, USER_ID) INCLUDE (OWNER);
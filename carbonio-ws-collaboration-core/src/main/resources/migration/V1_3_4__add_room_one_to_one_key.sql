@@ -0,0 +1,25 @@
+-- SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+--
+-- SPDX-License-Identifier: AGPL-3.0-only
+
+ALTER TABLE CHATS.ROOM
+    ADD COLUMN ONE_TO_ONE_KEY VARCHAR(129);
+
+-- If the same users already have more than one one-to-one room, only the oldest gets the key
+UPDATE CHATS.ROOM
+SET ONE_TO_ONE_KEY = PAIRS.ONE_TO_ONE_KEY
+FROM (SELECT ROOM_ID,
+             ONE_TO_ONE_KEY,
+             ROW_NUMBER() OVER (PARTITION BY ONE_TO_ONE_KEY ORDER BY CREATED_AT, ROOM_ID) AS POSITION
+      FROM (SELECT S.ROOM_ID,
+                   R.CREATED_AT,
+                   STRING_AGG(S.USER_ID, '/' ORDER BY S.USER_ID COLLATE "C") AS ONE_TO_ONE_KEY
+            FROM CHATS.SUBSCRIPTION S
+                     INNER JOIN CHATS.ROOM R ON R.ID = S.ROOM_ID
+            WHERE R.TYPE = 'ONE_TO_ONE'
+            GROUP BY S.ROOM_ID, R.CREATED_AT
+            HAVING COUNT(*) = 2) ROOM_KEYS) PAIRS
+WHERE ROOM.ID = PAIRS.ROOM_ID
+  AND PAIRS.POSITION = 1;
+
+CREATE UNIQUE INDEX ROOM_ONE_TO_ONE_KEY ON CHATS.ROOM (ONE_TO_ONE_KEY);
@@ -0,0 +1,131 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.cache;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.CancelCallback;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.DeliverCallback;
+import com.rabbitmq.client.Delivery;
+import com.rabbitmq.client.Envelope;
+import com.zextras.carbonio.chats.core.annotations.UnitTest;
+import com.zextras.carbonio.chats.core.config.impl.MockAppConfig;
+import com.zextras.carbonio.chats.core.data.model.RoomMembership;
+import com.zextras.carbonio.chats.model.RoomTypeDto;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+@UnitTest
+class CacheInvalidationBroadcasterTest {
+
+  private static final String EXCHANGE = "ws-collaboration-cache-invalidations";
+  private static final String ROOM_ID = "room-1";
+
+  private Channel channel;
+  private CacheHandler cacheHandler;
+  private CacheInvalidationBroadcaster broadcaster;
+
+  @BeforeEach
+  void init() {
+    channel = mock(Channel.class);
+    when(channel.isOpen()).thenReturn(true);
+    cacheHandler = new CacheHandler(MockAppConfig.create());
+    broadcaster = new CacheInvalidationBroadcaster(channel, cacheHandler);
+  }
+
+  private DeliverCallback startConsumer() throws Exception {
+    broadcaster.start();
+    ArgumentCaptor<DeliverCallback> callback = ArgumentCaptor.forClass(DeliverCallback.class);
+    verify(channel, times(1))
+        .basicConsume(anyString(), eq(true), callback.capture(), any(CancelCallback.class));
+    return callback.getValue();
+  }
+
+  private Delivery createDelivery(String appId, String cacheName, String key) {
+    return new Delivery(
+        new Envelope(1L, false, EXCHANGE, cacheName),
+        new AMQP.BasicProperties.Builder().appId(appId).build(),
+        key.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private void cacheMembership() {
+    cacheHandler
+        .getRoomMembershipCache()
+        .put(ROOM_ID, RoomMembership.create(ROOM_ID, RoomTypeDto.GROUP, Map.of("user-1", true)));
+  }
+
+  @Test
+  @DisplayName("Broadcasts the room membership invalidated on this node")
+  void invalidateRoomMembership_testBroadcast() throws Exception {
+    cacheMembership();
+
+    cacheHandler.invalidateRoomMembership(ROOM_ID);
+
+    assertNull(cacheHandler.getRoomMembershipCache().getIfPresent(ROOM_ID));
+    verify(channel, times(1))
+        .basicPublish(
+            eq(EXCHANGE),
+            eq(CacheHandler.ROOM_MEMBERSHIP_CACHE),
+            any(AMQP.BasicProperties.class),
+            eq(ROOM_ID.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  @DisplayName("Invalidates the room membership broadcast by another node")
+  void start_testInvalidationReceived() throws Exception {
+    DeliverCallback callback = startConsumer();
+    cacheMembership();
+
+    callback.handle(
+        "tag", createDelivery("other-node", CacheHandler.ROOM_MEMBERSHIP_CACHE, ROOM_ID));
+
+    assertNull(cacheHandler.getRoomMembershipCache().getIfPresent(ROOM_ID));
+  }
+
+  @Test
+  @DisplayName("Skips the invalidations broadcast by this node")
+  void start_testOwnInvalidationSkipped() throws Exception {
+    DeliverCallback callback = startConsumer();
+    cacheHandler.invalidateRoomMembership(ROOM_ID);
+    ArgumentCaptor<AMQP.BasicProperties> properties =
+        ArgumentCaptor.forClass(AMQP.BasicProperties.class);
+    verify(channel, times(1))
+        .basicPublish(anyString(), anyString(), properties.capture(), any(byte[].class));
+    cacheMembership();
+
+    callback.handle(
+        "tag",
+        createDelivery(
+            properties.getValue().getAppId(), CacheHandler.ROOM_MEMBERSHIP_CACHE, ROOM_ID));
+
+    assertNotNull(cacheHandler.getRoomMembershipCache().getIfPresent(ROOM_ID));
+  }
+
+  @Test
+  @DisplayName("Does not broadcast when the channel is not up")
+  void broadcast_testChannelNotUp() throws Exception {
+    when(channel.isOpen()).thenReturn(false);
+
+    cacheHandler.invalidateRoomMembership(ROOM_ID);
+
+    verify(channel, never())
+        .basicPublish(anyString(), anyString(), any(AMQP.BasicProperties.class), any(byte[].class));
+  }
+}
@@ -7,9 +7,13 @@ package com.zextras.carbonio.chats.core.infrastructure.authentication.impl;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.zextras.carbonio.chats.core.annotations.UnitTest;
+import com.zextras.carbonio.chats.core.cache.CacheHandler;
+import com.zextras.carbonio.chats.core.config.impl.MockAppConfig;
 import com.zextras.carbonio.usermanagement.UserManagementClient;
 import com.zextras.carbonio.usermanagement.entities.UserId;
 import com.zextras.carbonio.usermanagement.exceptions.InternalServerError;
@@ -29,7 +33,8 @@ class UserManagementAuthenticationServiceTest {
   public UserManagementAuthenticationServiceTest() {
     this.userManagementClient = mock(UserManagementClient.class);
     this.userManagementAuthenticationService =
-        new UserManagementAuthenticationService(userManagementClient);
+        new UserManagementAuthenticationService(
+            userManagementClient, new CacheHandler(MockAppConfig.create()));
   }
 
   @Nested
@@ -85,5 +90,45 @@ class UserManagementAuthenticationServiceTest {
 
       assertTrue(userId.isEmpty());
     }
+
+    @Test
+    @DisplayName("Validates the same token only once")
+    void validateToken_testCachedToken() {
+      when(userManagementClient.validateUserToken("tokenz"))
+          .thenReturn(Try.success(new UserId("myUser")));
+
+      userManagementAuthenticationService.validateCredentials("tokenz");
+      Optional<String> userId = userManagementAuthenticationService.validateCredentials("tokenz");
+
+      assertEquals("myUser", userId.orElseThrow());
+      verify(userManagementClient, times(1)).validateUserToken("tokenz");
+    }
+
+    @Test
+    @DisplayName("Does not validate again a token which was rejected")
+    void validateToken_testCachedRejectedToken() {
+      when(userManagementClient.validateUserToken("tokenz"))
+          .thenReturn(Try.failure(new UnAuthorized()));
+
+      userManagementAuthenticationService.validateCredentials("tokenz");
+      Optional<String> userId = userManagementAuthenticationService.validateCredentials("tokenz");
+
+      assertTrue(userId.isEmpty());
+      verify(userManagementClient, times(1)).validateUserToken("tokenz");
+    }
+
+    @Test
+    @DisplayName("Validates the token again if the previous validation failed for a generic error")
+    void validateToken_testGenericFailureNotCached() {
+      when(userManagementClient.validateUserToken("tokenz"))
+          .thenReturn(Try.failure(new InternalServerError(new Exception())))
+          .thenReturn(Try.success(new UserId("myUser")));
+
+      userManagementAuthenticationService.validateCredentials("tokenz");
+      Optional<String> userId = userManagementAuthenticationService.validateCredentials("tokenz");
+
+      assertEquals("myUser", userId.orElseThrow());
+      verify(userManagementClient, times(2)).validateUserToken("tokenz");
+    }
   }
 }
@@ -0,0 +1,70 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.infrastructure.database.impl;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.zextras.carbonio.chats.core.annotations.UnitTest;
+import com.zextras.carbonio.chats.core.cache.CacheInvalidationBroadcaster;
+import com.zextras.carbonio.chats.core.data.entity.Room;
+import io.ebean.Database;
+import io.ebean.cache.ServerCacheManager;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+@UnitTest
+class BroadcastDatabaseCacheNotifierTest {
+
+  private final CacheInvalidationBroadcaster cacheInvalidationBroadcaster =
+      mock(CacheInvalidationBroadcaster.class);
+  private final Database database = mock(Database.class);
+  private final ServerCacheManager cacheManager = mock(ServerCacheManager.class);
+  private final BroadcastDatabaseCacheNotifier notifier =
+      new BroadcastDatabaseCacheNotifier(cacheInvalidationBroadcaster, () -> database);
+
+  @SuppressWarnings("unchecked")
+  private Consumer<String> getHandler() {
+    ArgumentCaptor<Consumer<String>> handler = ArgumentCaptor.forClass(Consumer.class);
+    verify(cacheInvalidationBroadcaster)
+        .subscribe(eq(BroadcastDatabaseCacheNotifier.DATABASE_CACHE), handler.capture());
+    return handler.getValue();
+  }
+
+  @Test
+  @DisplayName("Broadcasts the type of the changed entity")
+  void notifyChanged_testBroadcast() {
+    notifier.notifyChanged(Room.class, "room-id");
+
+    verify(cacheInvalidationBroadcaster)
+        .broadcast(BroadcastDatabaseCacheNotifier.DATABASE_CACHE, Room.class.getName());
+  }
+
+  @Test
+  @DisplayName("Clears the caches of the entity type changed by another node")
+  void subscribe_testCachesCleared() {
+    when(database.cacheManager()).thenReturn(cacheManager);
+
+    getHandler().accept(Room.class.getName());
+
+    verify(cacheManager).clear(Room.class);
+  }
+
+  @Test
+  @DisplayName("Rejects a change of a type which is not an entity")
+  void subscribe_testNotAnEntity() {
+    Consumer<String> handler = getHandler();
+
+    assertThrows(IllegalArgumentException.class, () -> handler.accept(String.class.getName()));
+    assertThrows(IllegalArgumentException.class, () -> handler.accept("not.a.Class"));
+    verifyNoInteractions(database);
+  }
+}
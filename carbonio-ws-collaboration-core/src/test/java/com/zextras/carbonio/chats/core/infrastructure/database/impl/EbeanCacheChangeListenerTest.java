@@ -0,0 +1,68 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.infrastructure.database.impl;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import com.zextras.carbonio.chats.core.annotations.UnitTest;
+import com.zextras.carbonio.chats.core.data.entity.Room;
+import com.zextras.carbonio.chats.core.data.entity.RoomUserSettings;
+import com.zextras.carbonio.chats.core.data.entity.Subscription;
+import com.zextras.carbonio.chats.core.data.entity.SubscriptionId;
+import com.zextras.carbonio.chats.core.data.entity.User;
+import com.zextras.carbonio.chats.core.infrastructure.database.DatabaseCacheNotifier;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+class EbeanCacheChangeListenerTest {
+
+  private final DatabaseCacheNotifier databaseCacheNotifier = mock(DatabaseCacheNotifier.class);
+  private final EbeanCacheChangeListener listener =
+      new EbeanCacheChangeListener(databaseCacheNotifier);
+
+  @Test
+  @DisplayName("Registers only for the cached entities")
+  void isRegisterFor_testCachedEntities() {
+    assertTrue(listener.isRegisterFor(Room.class));
+    assertTrue(listener.isRegisterFor(User.class));
+    assertTrue(listener.isRegisterFor(RoomUserSettings.class));
+    assertFalse(listener.isRegisterFor(Subscription.class));
+  }
+
+  @Test
+  @DisplayName("Notifies the changes of the cached entities with their identifiers")
+  void notifyChanged_testOk() {
+    Room room = Room.create().id("room-id");
+    RoomUserSettings settings = RoomUserSettings.create(room, "user-id");
+
+    listener.inserted(room);
+    listener.updated(User.create().id("user-id"), Set.of("statusMessage"));
+    listener.deleted(settings);
+
+    verify(databaseCacheNotifier).notifyChanged(Room.class, "room-id");
+    verify(databaseCacheNotifier).notifyChanged(User.class, "user-id");
+    verify(databaseCacheNotifier)
+        .notifyChanged(RoomUserSettings.class, new SubscriptionId("room-id", "user-id"));
+    verifyNoMoreInteractions(databaseCacheNotifier);
+  }
+
+  @Test
+  @DisplayName("Does not fail the write if the change cannot be notified")
+  void notifyChanged_testNotifierFails() {
+    doThrow(new RuntimeException("unreachable"))
+        .when(databaseCacheNotifier)
+        .notifyChanged(Room.class, "room-id");
+
+    assertDoesNotThrow(() -> listener.updated(Room.create().id("room-id"), Set.of("name")));
+  }
+}
@@ -0,0 +1,193 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.infrastructure.event.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.BuiltinExchangeType;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.ShutdownListener;
+import com.zextras.carbonio.async.model.DomainEvent;
+import com.zextras.carbonio.async.model.EventType;
+import com.zextras.carbonio.async.model.MeetingParticipantTalking;
+import com.zextras.carbonio.chats.core.annotations.UnitTest;
+import com.zextras.carbonio.chats.core.config.AppConfig;
+import com.zextras.carbonio.chats.core.config.ConfigName;
+import com.zextras.carbonio.chats.core.config.impl.MockAppConfig;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+@UnitTest
+class EventDispatcherRabbitMqTest {
+
+  private static final String USER_1_ID = "user-1";
+  private static final String USER_2_ID = "user-2";
+  private static final String USER_3_ID = "user-3";
+
+  private Channel channel;
+  private ObjectMapper objectMapper;
+  private DomainEvent event;
+
+  @BeforeEach
+  void init() {
+    channel = mock(Channel.class);
+    objectMapper = spy(new ObjectMapper());
+    event =
+        MeetingParticipantTalking.create()
+            .meetingId(UUID.randomUUID())
+            .userId(UUID.randomUUID())
+            .isTalking(true)
+            .type(EventType.MEETING_PARTICIPANT_TALKING);
+    when(channel.isOpen()).thenReturn(true);
+  }
+
+  private EventDispatcherRabbitMq createEventDispatcher(AppConfig appConfig) {
+    return new EventDispatcherRabbitMq(channel, objectMapper, appConfig);
+  }
+
+  private void verifyExchangeDeclared(String userId, int times) throws IOException {
+    verify(channel, times(times))
+        .exchangeDeclareNoWait(userId, BuiltinExchangeType.DIRECT, false, false, false, null);
+  }
+
+  @Nested
+  @DisplayName("Send to user exchange tests")
+  class SendToUserExchangeTests {
+
+    @Test
+    @DisplayName("Serializes the event once and publishes the same body to every user")
+    void sendToUserExchange_testSerializedOnce() throws Exception {
+      createEventDispatcher(MockAppConfig.create())
+          .sendToUserExchange(List.of(USER_1_ID, USER_2_ID, USER_3_ID), event);
+
+      ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+      verify(objectMapper, times(1)).writeValueAsString(event);
+      verify(channel, times(3))
+          .basicPublish(anyString(), eq("user-events"), isNull(), body.capture());
+      byte[] expectedBody = objectMapper.writeValueAsString(event).getBytes(StandardCharsets.UTF_8);
+      body.getAllValues().forEach(value -> assertArrayEquals(expectedBody, value));
+    }
+
+    @Test
+    @DisplayName("Publishes once to a user listed more than once")
+    void sendToUserExchange_testRecipientsDeduplicated() throws Exception {
+      createEventDispatcher(MockAppConfig.create())
+          .sendToUserExchange(List.of(USER_1_ID, USER_2_ID, USER_1_ID), event);
+
+      verify(channel, times(1)).basicPublish(eq(USER_1_ID), eq("user-events"), isNull(), any());
+      verify(channel, times(1)).basicPublish(eq(USER_2_ID), eq("user-events"), isNull(), any());
+      verifyExchangeDeclared(USER_1_ID, 1);
+    }
+
+    @Test
+    @DisplayName("Declares the exchange of a user only before the first publish")
+    void sendToUserExchange_testDeclaredExchangesCached() throws Exception {
+      EventDispatcherRabbitMq eventDispatcher = createEventDispatcher(MockAppConfig.create());
+
+      eventDispatcher.sendToUserExchange(USER_1_ID, event);
+      eventDispatcher.sendToUserExchange(List.of(USER_1_ID, USER_2_ID), event);
+
+      verifyExchangeDeclared(USER_1_ID, 1);
+      verifyExchangeDeclared(USER_2_ID, 1);
+      verify(channel, times(2)).basicPublish(eq(USER_1_ID), eq("user-events"), isNull(), any());
+    }
+
+    @Test
+    @DisplayName("Declares the exchange again after a failed publish")
+    void sendToUserExchange_testFailedPublishDeclaresAgain() throws Exception {
+      EventDispatcherRabbitMq eventDispatcher = createEventDispatcher(MockAppConfig.create());
+      doThrow(new IOException("channel error"))
+          .doNothing()
+          .when(channel)
+          .basicPublish(eq(USER_1_ID), eq("user-events"), isNull(), any());
+
+      eventDispatcher.sendToUserExchange(List.of(USER_1_ID, USER_2_ID), event);
+      eventDispatcher.sendToUserExchange(List.of(USER_1_ID, USER_2_ID), event);
+
+      verifyExchangeDeclared(USER_1_ID, 2);
+      verifyExchangeDeclared(USER_2_ID, 1);
+      verify(channel, times(2)).basicPublish(eq(USER_2_ID), eq("user-events"), isNull(), any());
+    }
+
+    @Test
+    @DisplayName("Declares every exchange again after the channel shuts down")
+    void sendToUserExchange_testShutdownClearsDeclaredExchanges() throws Exception {
+      EventDispatcherRabbitMq eventDispatcher = createEventDispatcher(MockAppConfig.create());
+      ArgumentCaptor<ShutdownListener> shutdownListener =
+          ArgumentCaptor.forClass(ShutdownListener.class);
+      verify(channel, times(1)).addShutdownListener(shutdownListener.capture());
+
+      eventDispatcher.sendToUserExchange(USER_1_ID, event);
+      shutdownListener.getValue().shutdownCompleted(null);
+      eventDispatcher.sendToUserExchange(USER_1_ID, event);
+
+      verifyExchangeDeclared(USER_1_ID, 2);
+    }
+
+    @Test
+    @DisplayName("Does not publish anything when the channel is not open")
+    void sendToUserExchange_testChannelClosed() throws Exception {
+      when(channel.isOpen()).thenReturn(false);
+
+      createEventDispatcher(MockAppConfig.create()).sendToUserExchange(USER_1_ID, event);
+
+      verify(channel, never()).basicPublish(anyString(), anyString(), any(), any());
+      verify(objectMapper, never()).writeValueAsString(any());
+    }
+  }
+
+  @Nested
+  @DisplayName("Send to user queue tests")
+  class SendToUserQueueTests {
+
+    @Test
+    @DisplayName("Declares the session queue and publishes to it")
+    void sendToUserQueue_testOk() throws Exception {
+      createEventDispatcher(MockAppConfig.create()).sendToUserQueue(USER_1_ID, "queue-id", event);
+
+      verify(channel, times(1)).queueDeclare("queue-id", false, false, true, null);
+      verify(channel, times(1)).basicPublish(eq(""), eq("queue-id"), isNull(), any());
+      verifyExchangeDeclared(USER_1_ID, 0);
+    }
+
+    @Test
+    @DisplayName("Publishes to the user exchange targeting the session with the shared consumer")
+    void sendToUserQueue_testSharedConsumer() throws Exception {
+      createEventDispatcher(MockAppConfig.create().set(ConfigName.SHARED_CONSUMER_ENABLED, "true"))
+          .sendToUserQueue(USER_1_ID, "queue-id", event);
+
+      ArgumentCaptor<AMQP.BasicProperties> properties =
+          ArgumentCaptor.forClass(AMQP.BasicProperties.class);
+      verifyExchangeDeclared(USER_1_ID, 1);
+      verify(channel, times(1))
+          .basicPublish(eq(USER_1_ID), eq("user-events"), properties.capture(), any());
+      verify(channel, never())
+          .queueDeclare(anyString(), anyBoolean(), anyBoolean(), anyBoolean(), any());
+      assertEquals("queue-id", properties.getValue().getHeaders().get("target-session"));
+    }
+  }
+}
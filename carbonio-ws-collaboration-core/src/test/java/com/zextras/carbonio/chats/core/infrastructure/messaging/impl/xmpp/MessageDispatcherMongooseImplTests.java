@@ -5,25 +5,107 @@
 package com.zextras.carbonio.chats.core.infrastructure.messaging.impl.xmpp;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.zextras.carbonio.chats.core.annotations.UnitTest;
 import com.zextras.carbonio.chats.core.web.utility.HttpClient;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.IntStream;
+import org.apache.http.HttpEntity;
+import org.apache.http.StatusLine;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 @UnitTest
 class MessageDispatcherMongooseImplTests {
 
+  private final HttpClient httpClient;
+  private final ObjectMapper objectMapper;
   private final MessageDispatcherMongooseImpl messageDispatcherMongooseImpl;
 
   public MessageDispatcherMongooseImplTests() {
+    httpClient = mock(HttpClient.class);
+    objectMapper = new ObjectMapper();
     messageDispatcherMongooseImpl =
-        new MessageDispatcherMongooseImpl(
-            mock(HttpClient.class), "mongooseimUrl", "token", new ObjectMapper());
+        new MessageDispatcherMongooseImpl(httpClient, "mongooseimUrl", "token", objectMapper);
+  }
+
+  private void mockGraphQlResponse() throws IOException {
+    CloseableHttpResponse response = mock(CloseableHttpResponse.class);
+    StatusLine statusLine = mock(StatusLine.class);
+    HttpEntity httpEntity = mock(HttpEntity.class);
+    when(response.getStatusLine()).thenReturn(statusLine);
+    when(response.getEntity()).thenReturn(httpEntity);
+    when(statusLine.getStatusCode()).thenReturn(200);
+    when(httpEntity.getContent())
+        .thenAnswer(
+            invocation ->
+                new ByteArrayInputStream(
+                    "{ \"data\": { } }".getBytes(StandardCharsets.UTF_8)));
+    when(httpClient.sendPost(eq("mongooseimUrl/api/graphql"), any(), anyString()))
+        .thenReturn(response);
+  }
+
+  @Test
+  @DisplayName("Given a set of members, it invites all of them with a single GraphQL mutation")
+  void addRoomMembers_singleRequest() throws IOException {
+    mockGraphQlResponse();
+
+    messageDispatcherMongooseImpl.addRoomMembers("room", "sender", List.of("user1", "user2"));
+
+    String affiliation =
+        "<message xmlns='jabber:client' from='sender@carbonio' to='room@muclight.carbonio'"
+            + " type='groupchat'><x xmlns='urn:xmpp:muclight:0#configuration'>"
+            + "<operation>memberAdded</operation><user-id>%s</user-id></x><body/></message>";
+    String query =
+        "mutation addRoomMembers { muc_light { "
+            + "invite0: inviteUser (room: \"room@muclight.carbonio\", sender: \"sender@carbonio\","
+            + " recipient: \"user1@carbonio\") "
+            + "invite1: inviteUser (room: \"room@muclight.carbonio\", sender: \"sender@carbonio\","
+            + " recipient: \"user2@carbonio\") "
+            + "} stanza { "
+            + "affiliation0: sendStanza (stanza: \"\"\""
+            + String.format(affiliation, "user1")
+            + "\"\"\") { id } "
+            + "affiliation1: sendStanza (stanza: \"\"\""
+            + String.format(affiliation, "user2")
+            + "\"\"\") { id } "
+            + "} }";
+    verify(httpClient, times(1))
+        .sendPost(
+            eq("mongooseimUrl/api/graphql"),
+            any(),
+            eq(
+                objectMapper.writeValueAsString(
+                    GraphQlBody.create(query, "addRoomMembers", Map.of()))));
+    verifyNoMoreInteractions(httpClient);
+  }
+
+  @Test
+  @DisplayName("Given a large set of members, it removes them splitting the GraphQL mutations")
+  void removeRoomMembers_splitRequests() throws IOException {
+    mockGraphQlResponse();
+
+    messageDispatcherMongooseImpl.removeRoomMembers(
+        "room", IntStream.range(0, 120).mapToObj(i -> "user" + i).toList());
+
+    verify(httpClient, times(3)).sendPost(eq("mongooseimUrl/api/graphql"), any(), anyString());
+    verifyNoMoreInteractions(httpClient);
   }
 
   @Test
@@ -33,6 +33,23 @@ class XmppMessageBuilderTest {
     assertEquals(hoped, result);
   }
 
+  @Test
+  @DisplayName("Builds an XMPP message escaping the reserved characters")
+  void buildMessageWithReservedCharacters() {
+    String hoped =
+        "<message xmlns='jabber:client' from='sender-id' id='it&apos;s &lt;&amp;&gt;'"
+            + " to='recipient-id' type='groupchat'><body encoded='UTF-8'>"
+            + "say &quot;hi&quot; &amp; it's 1 &lt; 2"
+            + "</body></message>";
+    String result =
+        XmppMessageBuilder.create("recipient-id", "sender-id")
+            .messageId("it's <&>")
+            .body("say \"hi\" & it's 1 < 2")
+            .build();
+    assertNotNull(result);
+    assertEquals(hoped, result);
+  }
+
   @Test
   @DisplayName("Builds an XMPP message without sender")
   void buildMessageWithoutSender() {
@@ -7,6 +7,7 @@ package com.zextras.carbonio.chats.core.infrastructure.preview.impl;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -99,8 +100,6 @@ class PreviewServiceImplTest {
             .build();
     when(fileMetadataRepository.getById(fileId.toString()))
         .thenReturn(Optional.of(expectedMetadata));
-    when(roomService.getRoomAndValidateUser(UUID.fromString(room1.getId()), currentUser, false))
-        .thenReturn(room1);
     Query parameters =
         new Query.QueryBuilder()
             .setFileOwnerId(user1Id.toString())
@@ -151,8 +150,6 @@ class PreviewServiceImplTest {
             .build();
     when(fileMetadataRepository.getById(fileId.toString()))
         .thenReturn(Optional.of(expectedMetadata));
-    when(roomService.getRoomAndValidateUser(UUID.fromString(room1.getId()), currentUser, false))
-        .thenReturn(room1);
     Query parameters =
         new Query.QueryBuilder()
             .setFileOwnerId(user1Id.toString())
@@ -203,8 +200,6 @@ class PreviewServiceImplTest {
             .build();
     when(fileMetadataRepository.getById(fileId.toString()))
         .thenReturn(Optional.of(expectedMetadata));
-    when(roomService.getRoomAndValidateUser(UUID.fromString(room1.getId()), currentUser, false))
-        .thenReturn(room1);
     Query parameters =
         new Query.QueryBuilder()
             .setFileOwnerId(user1Id.toString())
@@ -245,8 +240,6 @@ class PreviewServiceImplTest {
             .build();
     when(fileMetadataRepository.getById(fileId.toString()))
         .thenReturn(Optional.of(expectedMetadata));
-    when(roomService.getRoomAndValidateUser(UUID.fromString(room1.getId()), currentUser, false))
-        .thenReturn(room1);
     Query parameters =
         new Query.QueryBuilder()
             .setFileOwnerId(user1Id.toString())
@@ -297,8 +290,9 @@ class PreviewServiceImplTest {
             .build();
     when(fileMetadataRepository.getById(fileId.toString()))
         .thenReturn(Optional.of(expectedMetadata));
-    when(roomService.getRoomAndValidateUser(UUID.fromString(room1.getId()), currentUser, false))
-        .thenThrow(new ForbiddenException());
+    doThrow(new ForbiddenException())
+        .when(roomService)
+        .validateUserMembership(UUID.fromString(room1.getId()), currentUser, false);
 
     assertThrows(
         ForbiddenException.class,
@@ -328,8 +322,6 @@ class PreviewServiceImplTest {
             .build();
     when(fileMetadataRepository.getById(fileId.toString()))
         .thenReturn(Optional.of(expectedMetadata));
-    when(roomService.getRoomAndValidateUser(UUID.fromString(room1.getId()), currentUser, false))
-        .thenReturn(room1);
     when(previewClient.getPreviewOfImage(any(Query.class)))
         .thenReturn(Try.failure(new RuntimeException()));
     assertThrows(
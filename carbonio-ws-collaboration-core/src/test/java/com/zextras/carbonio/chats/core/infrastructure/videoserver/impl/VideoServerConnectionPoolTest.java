@@ -0,0 +1,167 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.infrastructure.videoserver.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.zextras.carbonio.chats.core.annotations.UnitTest;
+import com.zextras.carbonio.chats.core.config.ConfigName;
+import com.zextras.carbonio.chats.core.config.impl.MockAppConfig;
+import com.zextras.carbonio.chats.core.exception.VideoServerException;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.VideoServerClient;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.VideoServerConfig;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.request.VideoServerMessageRequest;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.VideoServerDataInfo;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.VideoServerResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+class VideoServerConnectionPoolTest {
+
+  private static final String NODE = "videoserver-1:8088";
+  private static final String OTHER_NODE = "videoserver-2:8088";
+
+  private final VideoServerClient videoServerClient;
+  private final VideoServerClient otherVideoServerClient;
+  private final VideoServerConfig videoServerConfig;
+  private final VideoServerConnectionPool videoServerConnectionPool;
+
+  public VideoServerConnectionPoolTest() {
+    this.videoServerClient = mock(VideoServerClient.class);
+    this.otherVideoServerClient = mock(VideoServerClient.class);
+    this.videoServerConfig = mock(VideoServerConfig.class);
+    when(videoServerConfig.getApiSecret()).thenReturn("token");
+    this.videoServerConnectionPool =
+        createVideoServerConnectionPool(new VideoServerNodes(Map.of(NODE, videoServerClient)));
+  }
+
+  private VideoServerConnectionPool createVideoServerConnectionPool(
+      VideoServerNodes videoServerNodes) {
+    return new VideoServerConnectionPool(
+        videoServerNodes,
+        videoServerConfig,
+        MockAppConfig.create().set(ConfigName.VIDEO_SERVER_CONNECTION_POOL_SIZE, "2"));
+  }
+
+  private VideoServerResponse connectionResponse(String connectionId) {
+    return VideoServerResponse.create()
+        .status("success")
+        .data(VideoServerDataInfo.create().id(connectionId));
+  }
+
+  @Test
+  @DisplayName("Fills the pool up to its size and hands out the created connections")
+  void maintain_fillsPool() {
+    when(videoServerClient.sendVideoServerRequest(any(VideoServerMessageRequest.class)))
+        .thenReturn(connectionResponse("connection-1"), connectionResponse("connection-2"));
+
+    videoServerConnectionPool.maintain();
+
+    assertEquals(2, videoServerConnectionPool.size());
+    assertEquals(Optional.of("connection-1"), videoServerConnectionPool.acquire(NODE));
+    assertEquals(Optional.of("connection-2"), videoServerConnectionPool.acquire(NODE));
+    assertTrue(videoServerConnectionPool.acquire(NODE).isEmpty());
+    verify(videoServerClient, times(2))
+        .sendVideoServerRequest(
+            VideoServerMessageRequest.create().messageRequest("create").apiSecret("token"));
+    verifyNoMoreInteractions(videoServerClient);
+  }
+
+  @Test
+  @DisplayName("Keeps idle connections alive and replaces the expired ones")
+  void maintain_keepsAliveAndReplacesExpiredConnections() {
+    when(videoServerClient.sendVideoServerRequest(any(VideoServerMessageRequest.class)))
+        .thenReturn(
+            connectionResponse("connection-1"),
+            connectionResponse("connection-2"),
+            connectionResponse("connection-3"));
+    videoServerConnectionPool.maintain();
+
+    when(videoServerClient.sendConnectionVideoServerRequest(
+            eq("connection-1"), any(VideoServerMessageRequest.class)))
+        .thenReturn(VideoServerResponse.create().status("ack"));
+    when(videoServerClient.sendConnectionVideoServerRequest(
+            eq("connection-2"), any(VideoServerMessageRequest.class)))
+        .thenReturn(VideoServerResponse.create().status("error"));
+    videoServerConnectionPool.maintain();
+
+    assertEquals(Optional.of("connection-1"), videoServerConnectionPool.acquire(NODE));
+    assertEquals(Optional.of("connection-3"), videoServerConnectionPool.acquire(NODE));
+    verify(videoServerClient, times(1))
+        .sendConnectionVideoServerRequest(
+            "connection-1",
+            VideoServerMessageRequest.create().messageRequest("keepalive").apiSecret("token"));
+    verify(videoServerClient, times(1))
+        .sendConnectionVideoServerRequest(
+            "connection-2",
+            VideoServerMessageRequest.create().messageRequest("keepalive").apiSecret("token"));
+  }
+
+  @Test
+  @DisplayName("Keeps the already created connections if the video server fails")
+  void maintain_videoServerFails() {
+    when(videoServerClient.sendVideoServerRequest(any(VideoServerMessageRequest.class)))
+        .thenReturn(connectionResponse("connection-1"))
+        .thenThrow(new VideoServerException());
+
+    videoServerConnectionPool.maintain();
+
+    assertEquals(1, videoServerConnectionPool.size());
+    assertTrue(videoServerConnectionPool.isRefillFailing(NODE));
+    assertEquals(Optional.of("connection-1"), videoServerConnectionPool.acquire(NODE));
+  }
+
+  @Test
+  @DisplayName("Reports a node as failing until its pool is refilled again")
+  void maintain_videoServerRecovers() {
+    when(videoServerClient.sendVideoServerRequest(any(VideoServerMessageRequest.class)))
+        .thenThrow(new VideoServerException())
+        .thenReturn(connectionResponse("connection-1"), connectionResponse("connection-2"));
+
+    videoServerConnectionPool.maintain();
+    assertTrue(videoServerConnectionPool.isRefillFailing(NODE));
+
+    videoServerConnectionPool.maintain();
+    assertFalse(videoServerConnectionPool.isRefillFailing(NODE));
+    assertEquals(2, videoServerConnectionPool.size());
+  }
+
+  @Test
+  @DisplayName("Keeps a separate pool for each video server node")
+  void maintain_separatePoolForEachNode() {
+    Map<String, VideoServerClient> clients = new LinkedHashMap<>();
+    clients.put(NODE, videoServerClient);
+    clients.put(OTHER_NODE, otherVideoServerClient);
+    VideoServerConnectionPool multiNodePool =
+        createVideoServerConnectionPool(new VideoServerNodes(clients));
+    when(videoServerClient.sendVideoServerRequest(any(VideoServerMessageRequest.class)))
+        .thenReturn(connectionResponse("connection-1"), connectionResponse("connection-2"));
+    when(otherVideoServerClient.sendVideoServerRequest(any(VideoServerMessageRequest.class)))
+        .thenThrow(new VideoServerException());
+
+    multiNodePool.maintain();
+
+    assertEquals(2, multiNodePool.size());
+    assertFalse(multiNodePool.isRefillFailing(NODE));
+    assertTrue(multiNodePool.isRefillFailing(OTHER_NODE));
+    assertTrue(multiNodePool.acquire(OTHER_NODE).isEmpty());
+    assertEquals(Optional.of("connection-1"), multiNodePool.acquire(NODE));
+    assertEquals(Optional.of("connection-2"), multiNodePool.acquire(NODE));
+    assertTrue(multiNodePool.acquire("videoserver-3:8088").isEmpty());
+  }
+}
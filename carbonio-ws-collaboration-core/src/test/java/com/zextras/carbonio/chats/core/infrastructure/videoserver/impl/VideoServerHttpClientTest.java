@@ -6,116 +6,122 @@ package com.zextras.carbonio.chats.core.infrastructure.videoserver.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.verifyNoMoreInteractions;
-import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
 import com.zextras.carbonio.chats.core.exception.VideoServerException;
 import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.request.VideoServerMessageRequest;
 import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.PongResponse;
 import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.VideoServerResponse;
 import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.audiobridge.AudioBridgeResponse;
 import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.videoroom.VideoRoomResponse;
-import com.zextras.carbonio.chats.core.web.utility.HttpClient;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
 import java.nio.charset.StandardCharsets;
-import java.util.Map;
-import org.apache.http.HttpEntity;
-import org.apache.http.StatusLine;
-import org.apache.http.client.methods.CloseableHttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 class VideoServerHttpClientTest {
 
-  private final HttpClient httpClient;
-  private final ObjectMapper objectMapper;
-  private final VideoServerHttpClient videoServerHttpClient;
-
-  private final String videoServerURL = "http://127.78.0.4:20006";
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final List<ReceivedRequest> receivedRequests = new CopyOnWriteArrayList<>();
 
   private final String janusEndpoint = "/janus";
   private final String janusInfoEndpoint = "/info";
 
-  public VideoServerHttpClientTest() {
-    this.httpClient = mock(HttpClient.class);
-    this.objectMapper = new ObjectMapper();
-    this.videoServerHttpClient =
-        new VideoServerHttpClient(httpClient, videoServerURL, objectMapper);
+  private HttpServer videoServer;
+  private VideoServerHttpClient videoServerHttpClient;
+
+  private int responseStatusCode;
+  private byte[] responseBody;
+
+  @BeforeEach
+  void init() throws IOException {
+    videoServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    videoServer.createContext(
+        "/",
+        exchange -> {
+          receivedRequests.add(
+              new ReceivedRequest(
+                  exchange.getRequestMethod(),
+                  exchange.getRequestURI().getPath(),
+                  exchange.getRequestHeaders().getFirst("Content-Type"),
+                  new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)));
+          exchange.sendResponseHeaders(responseStatusCode, responseBody.length);
+          try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(responseBody);
+          }
+        });
+    videoServer.start();
+    videoServerHttpClient =
+        new VideoServerHttpClient(
+            HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(),
+            "http://127.0.0.1:" + videoServer.getAddress().getPort(),
+            objectMapper);
   }
 
   @AfterEach
-  void mocksCheck() {
-    verifyNoMoreInteractions(httpClient);
+  void cleanUp() {
+    videoServer.stop(0);
+  }
+
+  private void mockResponse(int statusCode, Object bodyResponse) throws IOException {
+    responseStatusCode = statusCode;
+    responseBody = objectMapper.writeValueAsString(bodyResponse).getBytes(StandardCharsets.UTF_8);
+  }
+
+  private void assertReceived(String method, String path, String body) {
+    assertEquals(
+        List.of(new ReceivedRequest(method, path, "application/json", body)), receivedRequests);
   }
 
-  private void mockResponse(String url, int statusCode, Object bodyResponse) throws IOException {
-    CloseableHttpResponse sessionResponse = mock(CloseableHttpResponse.class);
-    StatusLine sessionStatusLine = mock(StatusLine.class);
-    HttpEntity sessionHttpEntity = mock(HttpEntity.class);
-    when(sessionResponse.getStatusLine()).thenReturn(sessionStatusLine);
-    when(sessionResponse.getEntity()).thenReturn(sessionHttpEntity);
-    when(sessionStatusLine.getStatusCode()).thenReturn(statusCode);
-    when(sessionHttpEntity.getContent())
-        .thenReturn(
-            new ByteArrayInputStream(
-                objectMapper.writeValueAsString(bodyResponse).getBytes(StandardCharsets.UTF_8)));
-    when(httpClient.sendPost(eq(url), any(), anyString())).thenReturn(sessionResponse);
-    when(httpClient.sendGet(eq(url), any())).thenReturn(sessionResponse);
+  private void assertPostReceived(String path) throws IOException {
+    assertReceived(
+        "POST", path, objectMapper.writeValueAsString(VideoServerMessageRequest.create()));
   }
 
   @Test
   @DisplayName("Send get info http request to video server service")
   void sendIsAliveHttpRequestCorrectly() throws IOException {
-    String url = videoServerURL + janusEndpoint + janusInfoEndpoint;
-    mockResponse(url, 200, PongResponse.create());
+    mockResponse(200, PongResponse.create());
 
     VideoServerResponse videoServerResponse = videoServerHttpClient.sendGetInfoRequest();
 
     assertEquals(VideoServerResponse.create(), videoServerResponse);
-
-    verify(httpClient, times(1)).sendGet(url, Map.of("Content-Type", "application/json"));
+    assertReceived("GET", janusEndpoint + janusInfoEndpoint, "");
   }
 
   @Test
   @DisplayName(
       "throws video server exception if video server service returns error sending info request")
   void throwsVideoServerExceptionWhenErrorOccursSendingInfoRequest() throws IOException {
-    String url = videoServerURL + janusEndpoint + janusInfoEndpoint;
-    mockResponse(url, 404, null);
+    mockResponse(404, null);
 
     assertThrows(
         VideoServerException.class,
         videoServerHttpClient::sendGetInfoRequest,
         "Could not get any response by video server");
-
-    verify(httpClient, times(1)).sendGet(url, Map.of("Content-Type", "application/json"));
+    assertReceived("GET", janusEndpoint + janusInfoEndpoint, "");
   }
 
   @Test
   @DisplayName("Send video server http request to video server service")
   void sendVideoServerHttpRequestCorrectly() throws IOException {
-    String url = videoServerURL + janusEndpoint;
-    mockResponse(url, 200, VideoServerResponse.create());
+    mockResponse(200, VideoServerResponse.create());
 
     VideoServerResponse videoServerResponse =
         videoServerHttpClient.sendVideoServerRequest(VideoServerMessageRequest.create());
 
     assertEquals(VideoServerResponse.create(), videoServerResponse);
-
-    verify(httpClient, times(1))
-        .sendPost(
-            url,
-            Map.of("Content-Type", "application/json"),
-            objectMapper.writeValueAsString(VideoServerMessageRequest.create()));
+    assertPostReceived(janusEndpoint);
   }
 
   @Test
@@ -123,37 +129,25 @@ class VideoServerHttpClientTest {
       "throws video server exception if video server service returns error sending video server"
           + " request")
   void throwsVideoServerExceptionWhenErrorOccursSendingVideoServerRequest() throws IOException {
-    String url = videoServerURL + janusEndpoint;
-    mockResponse(url, 404, null);
+    mockResponse(404, null);
 
     assertThrows(
         VideoServerException.class,
         () -> videoServerHttpClient.sendVideoServerRequest(VideoServerMessageRequest.create()));
-
-    verify(httpClient, times(1))
-        .sendPost(
-            url,
-            Map.of("Content-Type", "application/json"),
-            objectMapper.writeValueAsString(VideoServerMessageRequest.create()));
+    assertPostReceived(janusEndpoint);
   }
 
   @Test
   @DisplayName("Send http request to video server service for audio bridge")
   void sendAudioBridgeHttpRequestCorrectly() throws IOException {
-    String url = videoServerURL + janusEndpoint + "/connectionId" + "/handleId";
-    mockResponse(url, 200, AudioBridgeResponse.create());
+    mockResponse(200, AudioBridgeResponse.create());
 
     AudioBridgeResponse audioBridgeResponse =
         videoServerHttpClient.sendAudioBridgeRequest(
             "connectionId", "handleId", VideoServerMessageRequest.create());
 
     assertEquals(AudioBridgeResponse.create(), audioBridgeResponse);
-
-    verify(httpClient, times(1))
-        .sendPost(
-            url,
-            Map.of("Content-Type", "application/json"),
-            objectMapper.writeValueAsString(VideoServerMessageRequest.create()));
+    assertPostReceived(janusEndpoint + "/connectionId" + "/handleId");
   }
 
   @Test
@@ -161,39 +155,27 @@ class VideoServerHttpClientTest {
       "throws video server exception if video server service returns error sending audio bridge"
           + " request")
   void throwsVideoServerExceptionWhenErrorOccursSendingAudioBridgeRequest() throws IOException {
-    String url = videoServerURL + janusEndpoint + "/connectionId" + "/handleId";
-    mockResponse(url, 404, null);
+    mockResponse(404, null);
 
     assertThrows(
         VideoServerException.class,
         () ->
             videoServerHttpClient.sendAudioBridgeRequest(
                 "connectionId", "handleId", VideoServerMessageRequest.create()));
-
-    verify(httpClient, times(1))
-        .sendPost(
-            url,
-            Map.of("Content-Type", "application/json"),
-            objectMapper.writeValueAsString(VideoServerMessageRequest.create()));
+    assertPostReceived(janusEndpoint + "/connectionId" + "/handleId");
   }
 
   @Test
   @DisplayName("Send http request to video server service for video room")
   void sendVideoRoomHttpRequestCorrectly() throws IOException {
-    String url = videoServerURL + janusEndpoint + "/connectionId" + "/handleId";
-    mockResponse(url, 200, VideoRoomResponse.create());
+    mockResponse(200, VideoRoomResponse.create());
 
     VideoRoomResponse videoRoomResponse =
         videoServerHttpClient.sendVideoRoomRequest(
             "connectionId", "handleId", VideoServerMessageRequest.create());
 
     assertEquals(VideoRoomResponse.create(), videoRoomResponse);
-
-    verify(httpClient, times(1))
-        .sendPost(
-            url,
-            Map.of("Content-Type", "application/json"),
-            objectMapper.writeValueAsString(VideoServerMessageRequest.create()));
+    assertPostReceived(janusEndpoint + "/connectionId" + "/handleId");
   }
 
   @Test
@@ -201,19 +183,62 @@ class VideoServerHttpClientTest {
       "throws video server exception if video server service returns error sending video room"
           + " request")
   void throwsVideoServerExceptionWhenErrorOccursSendingVideoRoomRequest() throws IOException {
-    String url = videoServerURL + janusEndpoint + "/connectionId" + "/handleId";
-    mockResponse(url, 404, null);
+    mockResponse(404, null);
 
     assertThrows(
         VideoServerException.class,
         () ->
             videoServerHttpClient.sendVideoRoomRequest(
                 "connectionId", "handleId", VideoServerMessageRequest.create()));
+    assertPostReceived(janusEndpoint + "/connectionId" + "/handleId");
+  }
+
+  @Test
+  @DisplayName("Send asynchronous http request to video server service for video room")
+  void sendVideoRoomHttpRequestAsyncCorrectly() throws IOException {
+    mockResponse(200, VideoRoomResponse.create());
 
-    verify(httpClient, times(1))
-        .sendPost(
-            url,
-            Map.of("Content-Type", "application/json"),
-            objectMapper.writeValueAsString(VideoServerMessageRequest.create()));
+    VideoRoomResponse videoRoomResponse =
+        videoServerHttpClient
+            .sendVideoRoomRequestAsync(
+                "connectionId", "handleId", VideoServerMessageRequest.create())
+            .join();
+
+    assertEquals(VideoRoomResponse.create(), videoRoomResponse);
+    assertPostReceived(janusEndpoint + "/connectionId" + "/handleId");
+  }
+
+  @Test
+  @DisplayName(
+      "completes exceptionally if video server service returns error sending asynchronous"
+          + " connection request")
+  void completesExceptionallyWhenErrorOccursSendingConnectionRequestAsync() throws IOException {
+    mockResponse(404, null);
+
+    CompletionException exception =
+        assertThrows(
+            CompletionException.class,
+            () ->
+                videoServerHttpClient
+                    .sendConnectionVideoServerRequestAsync(
+                        "connectionId", VideoServerMessageRequest.create())
+                    .join());
+
+    assertEquals(VideoServerException.class, exception.getCause().getClass());
+    assertPostReceived(janusEndpoint + "/connectionId");
   }
+
+  @Test
+  @DisplayName("throws video server exception if video server response is not valid JSON")
+  void throwsVideoServerExceptionWhenResponseIsNotValidJson() throws IOException {
+    responseStatusCode = 200;
+    responseBody = "{\"janus\":".getBytes(StandardCharsets.UTF_8);
+
+    assertThrows(
+        VideoServerException.class,
+        () -> videoServerHttpClient.sendVideoServerRequest(VideoServerMessageRequest.create()));
+    assertPostReceived(janusEndpoint);
+  }
+
+  private record ReceivedRequest(String method, String path, String contentType, String body) {}
 }
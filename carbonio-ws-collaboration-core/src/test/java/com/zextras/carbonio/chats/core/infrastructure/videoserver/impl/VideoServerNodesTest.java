@@ -0,0 +1,98 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.infrastructure.videoserver.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import com.zextras.carbonio.chats.core.annotations.UnitTest;
+import com.zextras.carbonio.chats.core.exception.VideoServerException;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.VideoServerClient;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+class VideoServerNodesTest {
+
+  private static final String NODE_1 = "videoserver-1:8088";
+  private static final String NODE_2 = "videoserver-2:8088";
+  private static final String NODE_3 = "videoserver-3:8088";
+
+  private final VideoServerClient client1 = mock(VideoServerClient.class);
+  private final VideoServerClient client2 = mock(VideoServerClient.class);
+  private final VideoServerClient client3 = mock(VideoServerClient.class);
+  private final VideoServerNodes videoServerNodes;
+
+  public VideoServerNodesTest() {
+    Map<String, VideoServerClient> clients = new LinkedHashMap<>();
+    clients.put(NODE_1, client1);
+    clients.put(NODE_2, client2);
+    clients.put(NODE_3, client3);
+    this.videoServerNodes = new VideoServerNodes(clients);
+  }
+
+  @Test
+  @DisplayName("Returns the client of the node and the first one for meetings without a node")
+  void getClient_testOk() {
+    assertSame(client2, videoServerNodes.getClient(NODE_2));
+    assertSame(client1, videoServerNodes.getClient(null));
+    assertEquals(NODE_1, videoServerNodes.getNode(null));
+  }
+
+  @Test
+  @DisplayName("Throws a video server exception if the node is not configured")
+  void getClient_testUnknownNode() {
+    assertThrows(
+        VideoServerException.class, () -> videoServerNodes.getClient("videoserver-4:8088"));
+  }
+
+  @Test
+  @DisplayName("Places the meeting on the node hosting the fewest meetings")
+  void selectNode_testLeastLoadedNode() {
+    Map<String, Integer> activeMeetings = Map.of(NODE_1, 4, NODE_2, 2, NODE_3, 7);
+
+    assertEquals(
+        NODE_2, videoServerNodes.selectNode("meeting-id", activeMeetings::get, node -> true));
+  }
+
+  @Test
+  @DisplayName("Places the same meeting on the same node and spreads meetings among equal nodes")
+  void selectNode_testEquallyLoadedNodes() {
+    assertEquals(
+        videoServerNodes.selectNode("meeting-id", node -> 0, node -> true),
+        videoServerNodes.selectNode("meeting-id", node -> 0, node -> true));
+    assertNotEquals(
+        1L,
+        IntStream.range(0, 100)
+            .mapToObj(i -> videoServerNodes.selectNode("meeting-" + i, node -> 0, node -> true))
+            .distinct()
+            .count());
+  }
+
+  @Test
+  @DisplayName("Skips the nodes that cannot take meetings, even if they host the fewest")
+  void selectNode_testUnavailableNode() {
+    Map<String, Integer> activeMeetings = Map.of(NODE_1, 4, NODE_2, 0, NODE_3, 7);
+
+    assertEquals(
+        NODE_1,
+        videoServerNodes.selectNode(
+            "meeting-id", activeMeetings::get, node -> !NODE_2.equals(node)));
+  }
+
+  @Test
+  @DisplayName("Throws a video server exception if no node can take meetings")
+  void selectNode_testNoAvailableNode() {
+    assertThrows(
+        VideoServerException.class,
+        () -> videoServerNodes.selectNode("meeting-id", node -> 0, node -> false));
+  }
+}
@@ -0,0 +1,355 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.infrastructure.videoserver.impl;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.zextras.carbonio.chats.core.annotations.UnitTest;
+import com.zextras.carbonio.chats.core.cache.CacheHandler;
+import com.zextras.carbonio.chats.core.config.impl.MockAppConfig;
+import com.zextras.carbonio.chats.core.data.entity.Participant;
+import com.zextras.carbonio.chats.core.data.entity.VideoServerMeeting;
+import com.zextras.carbonio.chats.core.data.entity.VideoServerSession;
+import com.zextras.carbonio.chats.core.exception.VideoServerException;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.VideoServerClient;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.VideoServerConfig;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.request.VideoServerMessageRequest;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.request.audiobridge.AudioBridgeDestroyRequest;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.request.audiobridge.AudioBridgeListRequest;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.request.videoroom.VideoRoomDestroyRequest;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.request.videoroom.VideoRoomListRequest;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.VideoServerDataInfo;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.VideoServerError;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.VideoServerResponse;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.audiobridge.AudioBridgeDataInfo;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.audiobridge.AudioBridgeDataRoom;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.audiobridge.AudioBridgePluginData;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.audiobridge.AudioBridgeResponse;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.videoroom.VideoRoomDataInfo;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.videoroom.VideoRoomDataRoom;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.videoroom.VideoRoomPluginData;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.videoroom.VideoRoomResponse;
+import com.zextras.carbonio.chats.core.repository.ParticipantRepository;
+import com.zextras.carbonio.chats.core.repository.VideoServerMeetingRepository;
+import com.zextras.carbonio.chats.core.repository.VideoServerSessionRepository;
+import com.zextras.carbonio.chats.core.service.ParticipantService;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+class VideoServerReaperTest {
+
+  private static final String NODE = "videoserver-1:8088";
+  private static final String MEETING_ID = "meeting-1";
+  private static final String REAPER_CONNECTION_ID = "reaper-connection";
+  private static final String HANDLE_ID = "handle";
+  private static final UUID QUEUE_1_ID = UUID.randomUUID();
+  private static final UUID QUEUE_2_ID = UUID.randomUUID();
+
+  private VideoServerClient videoServerClient;
+  private VideoServerMeetingRepository videoServerMeetingRepository;
+  private VideoServerSessionRepository videoServerSessionRepository;
+  private ParticipantRepository participantRepository;
+  private ParticipantService participantService;
+  private VideoServerReaper videoServerReaper;
+
+  @BeforeEach
+  void init() {
+    videoServerClient = mock(VideoServerClient.class);
+    videoServerMeetingRepository = mock(VideoServerMeetingRepository.class);
+    videoServerSessionRepository = mock(VideoServerSessionRepository.class);
+    participantRepository = mock(ParticipantRepository.class);
+    participantService = mock(ParticipantService.class);
+    VideoServerConfig videoServerConfig = mock(VideoServerConfig.class);
+    when(videoServerConfig.getApiSecret()).thenReturn("token");
+    videoServerReaper =
+        new VideoServerReaper(
+            new VideoServerNodes(Map.of(NODE, videoServerClient)),
+            videoServerMeetingRepository,
+            videoServerSessionRepository,
+            participantRepository,
+            participantService,
+            new CacheHandler(MockAppConfig.create()),
+            videoServerConfig,
+            MockAppConfig.create());
+  }
+
+  private VideoServerMeeting createMeeting(VideoServerSession... videoServerSessions) {
+    VideoServerMeeting videoServerMeeting =
+        VideoServerMeeting.create()
+            .meetingId(MEETING_ID)
+            .connectionId("meeting-connection")
+            .audioRoomId("audio_" + MEETING_ID)
+            .videoRoomId("video_" + MEETING_ID)
+            .serverNode(NODE);
+    return videoServerMeeting.videoServerSessions(List.of(videoServerSessions));
+  }
+
+  private VideoServerSession createSession(String userId, String connectionId, UUID queueId) {
+    return VideoServerSession.create()
+        .userId(userId)
+        .connectionId(connectionId)
+        .queueId(queueId.toString());
+  }
+
+  private CompletableFuture<VideoServerResponse> ack() {
+    return CompletableFuture.completedFuture(VideoServerResponse.create().status("ack"));
+  }
+
+  private CompletableFuture<VideoServerResponse> sessionNotFound() {
+    return CompletableFuture.completedFuture(
+        VideoServerResponse.create()
+            .status("error")
+            .error(VideoServerError.create().code(458L).reason("No such session")));
+  }
+
+  private VideoServerMessageRequest keepAlive() {
+    return VideoServerMessageRequest.create().messageRequest("keepalive").apiSecret("token");
+  }
+
+  private VideoServerMessageRequest claim() {
+    return VideoServerMessageRequest.create().messageRequest("claim").apiSecret("token");
+  }
+
+  private VideoServerMessageRequest destroy() {
+    return VideoServerMessageRequest.create().messageRequest("destroy").apiSecret("token");
+  }
+
+  @Test
+  @DisplayName("Removes the participant sessions whose connection does not exist anymore")
+  void keepAlive_removesGoneSessions() {
+    VideoServerSession alive = createSession("user-1", "c-1", QUEUE_1_ID);
+    VideoServerSession gone = createSession("user-2", "c-2", QUEUE_2_ID);
+    when(videoServerMeetingRepository.getAll()).thenReturn(List.of(createMeeting(alive, gone)));
+    when(videoServerClient.sendConnectionVideoServerRequestAsync(eq("meeting-connection"), any()))
+        .thenReturn(ack());
+    when(videoServerClient.sendConnectionVideoServerRequestAsync(eq("c-1"), any()))
+        .thenReturn(ack());
+    when(videoServerClient.sendConnectionVideoServerRequestAsync(eq("c-2"), any()))
+        .thenReturn(sessionNotFound());
+
+    videoServerReaper.keepAlive();
+
+    verify(videoServerClient, times(1)).sendConnectionVideoServerRequestAsync("c-1", keepAlive());
+    verify(videoServerSessionRepository, times(1)).remove(gone);
+    verify(participantService, times(1)).removeMeetingParticipant(QUEUE_2_ID);
+    verify(videoServerSessionRepository, never()).remove(alive);
+    verify(participantService, never()).removeMeetingParticipant(QUEUE_1_ID);
+    verify(videoServerMeetingRepository, never()).deleteById(anyString());
+  }
+
+  @Test
+  @DisplayName("Removes the meeting whose connection does not exist anymore with its participants")
+  void keepAlive_removesGoneMeeting() {
+    VideoServerSession session = createSession("user-1", "c-1", QUEUE_1_ID);
+    when(videoServerMeetingRepository.getAll()).thenReturn(List.of(createMeeting(session)));
+    when(participantRepository.getByMeetingId(MEETING_ID))
+        .thenReturn(
+            List.of(
+                Participant.create().userId("user-1").queueId(QUEUE_1_ID.toString()),
+                Participant.create().userId("user-2").queueId(QUEUE_2_ID.toString())));
+    when(videoServerClient.sendConnectionVideoServerRequestAsync(eq("meeting-connection"), any()))
+        .thenReturn(sessionNotFound());
+    when(videoServerClient.sendConnectionVideoServerRequestAsync(eq("c-1"), any()))
+        .thenReturn(ack());
+
+    videoServerReaper.keepAlive();
+
+    verify(videoServerMeetingRepository, times(1)).deleteById(MEETING_ID);
+    verify(videoServerClient, times(1)).sendConnectionVideoServerRequest("c-1", destroy());
+    verify(videoServerSessionRepository, never()).remove(any());
+    verify(participantService, times(1)).removeMeetingParticipant(QUEUE_1_ID);
+    verify(participantService, times(1)).removeMeetingParticipant(QUEUE_2_ID);
+  }
+
+  @Test
+  @DisplayName("Keeps everything when the video server is not reachable")
+  void keepAlive_keepsEverythingWhenVideoServerIsNotReachable() {
+    VideoServerSession session = VideoServerSession.create().userId("user-1").connectionId("c-1");
+    when(videoServerMeetingRepository.getAll()).thenReturn(List.of(createMeeting(session)));
+    when(videoServerClient.sendConnectionVideoServerRequestAsync(anyString(), any()))
+        .thenReturn(
+            CompletableFuture.failedFuture(
+                new VideoServerException("Video server did not reply in time")));
+
+    videoServerReaper.keepAlive();
+
+    verify(videoServerMeetingRepository, never()).deleteById(anyString());
+    verify(videoServerSessionRepository, never()).remove(any());
+    verify(participantService, never()).removeMeetingParticipant(any(UUID.class));
+  }
+
+  @Test
+  @DisplayName("Keeps alive every stored connection, whichever instance created it")
+  void keepAlive_allStoredConnections() {
+    VideoServerSession session1 = createSession("user-1", "c-1", QUEUE_1_ID);
+    VideoServerSession session2 = createSession("user-2", "c-2", QUEUE_2_ID);
+    when(videoServerMeetingRepository.getAll())
+        .thenReturn(List.of(createMeeting(session1, session2)));
+    when(videoServerClient.bindsConnections()).thenReturn(true);
+    when(videoServerClient.sendConnectionVideoServerRequestAsync(anyString(), any()))
+        .thenReturn(ack());
+
+    videoServerReaper.keepAlive();
+
+    verify(videoServerClient, times(1))
+        .sendConnectionVideoServerRequestAsync("meeting-connection", keepAlive());
+    verify(videoServerClient, times(1)).sendConnectionVideoServerRequestAsync("c-1", keepAlive());
+    verify(videoServerClient, times(1)).sendConnectionVideoServerRequestAsync("c-2", keepAlive());
+    verify(videoServerClient, never())
+        .sendConnectionVideoServerRequestAsync(anyString(), eq(claim()));
+  }
+
+  @Test
+  @DisplayName("Claims the stored connections when the transport binds them")
+  void claimConnections_claimsBoundConnections() {
+    VideoServerSession alive = createSession("user-1", "c-1", QUEUE_1_ID);
+    VideoServerSession gone = createSession("user-2", "c-2", QUEUE_2_ID);
+    when(videoServerMeetingRepository.getAll()).thenReturn(List.of(createMeeting(alive, gone)));
+    when(videoServerClient.bindsConnections()).thenReturn(true);
+    when(videoServerClient.sendConnectionVideoServerRequestAsync(eq("meeting-connection"), any()))
+        .thenReturn(ack());
+    when(videoServerClient.sendConnectionVideoServerRequestAsync(eq("c-1"), any()))
+        .thenReturn(ack());
+    when(videoServerClient.sendConnectionVideoServerRequestAsync(eq("c-2"), any()))
+        .thenReturn(sessionNotFound());
+
+    videoServerReaper.claimConnections();
+
+    verify(videoServerClient, times(1))
+        .sendConnectionVideoServerRequestAsync("meeting-connection", claim());
+    verify(videoServerClient, times(1)).sendConnectionVideoServerRequestAsync("c-1", claim());
+    verify(videoServerClient, times(1)).sendConnectionVideoServerRequestAsync("c-2", claim());
+    verify(videoServerSessionRepository, times(1)).remove(gone);
+    verify(participantService, times(1)).removeMeetingParticipant(QUEUE_2_ID);
+    verify(videoServerMeetingRepository, never()).deleteById(anyString());
+  }
+
+  @Test
+  @DisplayName("Keeps alive the stored connections at startup when the transport does not bind")
+  void claimConnections_keepsAliveUnboundConnections() {
+    VideoServerSession session = createSession("user-1", "c-1", QUEUE_1_ID);
+    when(videoServerMeetingRepository.getAll()).thenReturn(List.of(createMeeting(session)));
+    when(videoServerClient.sendConnectionVideoServerRequestAsync(anyString(), any()))
+        .thenReturn(ack());
+
+    videoServerReaper.claimConnections();
+
+    verify(videoServerClient, times(1))
+        .sendConnectionVideoServerRequestAsync("meeting-connection", keepAlive());
+    verify(videoServerClient, times(1)).sendConnectionVideoServerRequestAsync("c-1", keepAlive());
+    verify(videoServerClient, never())
+        .sendConnectionVideoServerRequestAsync(anyString(), eq(claim()));
+  }
+
+  @Test
+  @DisplayName("Destroys the rooms found orphan by two reconciliations in a row")
+  void reapOrphanRooms_destroysConfirmedOrphanRooms() {
+    when(videoServerMeetingRepository.getAll()).thenReturn(List.of(createMeeting()));
+    when(videoServerClient.sendGetInfoRequest())
+        .thenReturn(VideoServerResponse.create().status("server_info"));
+    when(videoServerClient.sendVideoServerRequest(any()))
+        .thenReturn(
+            VideoServerResponse.create()
+                .status("success")
+                .data(VideoServerDataInfo.create().id(REAPER_CONNECTION_ID)));
+    when(videoServerClient.sendConnectionVideoServerRequest(eq(REAPER_CONNECTION_ID), any()))
+        .thenReturn(
+            VideoServerResponse.create()
+                .status("success")
+                .data(VideoServerDataInfo.create().id(HANDLE_ID)));
+    when(videoServerClient.sendAudioBridgeRequest(
+            REAPER_CONNECTION_ID,
+            HANDLE_ID,
+            VideoServerMessageRequest.create()
+                .messageRequest("message")
+                .apiSecret("token")
+                .videoServerPluginRequest(AudioBridgeListRequest.create().request("list"))))
+        .thenReturn(
+            AudioBridgeResponse.create()
+                .pluginData(
+                    AudioBridgePluginData.create()
+                        .dataInfo(
+                            AudioBridgeDataInfo.create()
+                                .rooms(
+                                    List.of(
+                                        AudioBridgeDataRoom.create().room("audio_" + MEETING_ID),
+                                        AudioBridgeDataRoom.create().room("audio_orphan"),
+                                        AudioBridgeDataRoom.create().room("external"))))));
+    when(videoServerClient.sendVideoRoomRequest(
+            REAPER_CONNECTION_ID,
+            HANDLE_ID,
+            VideoServerMessageRequest.create()
+                .messageRequest("message")
+                .apiSecret("token")
+                .videoServerPluginRequest(VideoRoomListRequest.create().request("list"))))
+        .thenReturn(
+            VideoRoomResponse.create()
+                .pluginData(
+                    VideoRoomPluginData.create()
+                        .dataInfo(
+                            VideoRoomDataInfo.create()
+                                .rooms(
+                                    List.of(
+                                        VideoRoomDataRoom.create().room("video_" + MEETING_ID),
+                                        VideoRoomDataRoom.create().room("video_orphan"))))));
+
+    videoServerReaper.reapOrphanRooms();
+
+    verify(videoServerClient, never())
+        .sendAudioBridgeRequest(
+            REAPER_CONNECTION_ID, HANDLE_ID, audioBridgeDestroy("audio_orphan"));
+    verify(videoServerClient, never())
+        .sendVideoRoomRequest(REAPER_CONNECTION_ID, HANDLE_ID, videoRoomDestroy("video_orphan"));
+    verify(videoServerClient, times(1))
+        .sendConnectionVideoServerRequest(REAPER_CONNECTION_ID, destroy());
+
+    videoServerReaper.reapOrphanRooms();
+
+    verify(videoServerClient, times(1))
+        .sendAudioBridgeRequest(
+            REAPER_CONNECTION_ID, HANDLE_ID, audioBridgeDestroy("audio_orphan"));
+    verify(videoServerClient, times(1))
+        .sendVideoRoomRequest(REAPER_CONNECTION_ID, HANDLE_ID, videoRoomDestroy("video_orphan"));
+    verify(videoServerClient, never())
+        .sendAudioBridgeRequest(
+            REAPER_CONNECTION_ID, HANDLE_ID, audioBridgeDestroy("audio_" + MEETING_ID));
+    verify(videoServerClient, never())
+        .sendAudioBridgeRequest(REAPER_CONNECTION_ID, HANDLE_ID, audioBridgeDestroy("external"));
+    verify(videoServerClient, never())
+        .sendVideoRoomRequest(
+            REAPER_CONNECTION_ID, HANDLE_ID, videoRoomDestroy("video_" + MEETING_ID));
+    verify(videoServerClient, times(2))
+        .sendConnectionVideoServerRequest(REAPER_CONNECTION_ID, destroy());
+  }
+
+  private VideoServerMessageRequest audioBridgeDestroy(String room) {
+    return VideoServerMessageRequest.create()
+        .messageRequest("message")
+        .apiSecret("token")
+        .videoServerPluginRequest(
+            AudioBridgeDestroyRequest.create().request("destroy").room(room).permanent(false));
+  }
+
+  private VideoServerMessageRequest videoRoomDestroy(String room) {
+    return VideoServerMessageRequest.create()
+        .messageRequest("message")
+        .apiSecret("token")
+        .videoServerPluginRequest(
+            VideoRoomDestroyRequest.create().request("destroy").room(room).permanent(false));
+  }
+}
@@ -0,0 +1,214 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.infrastructure.videoserver.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zextras.carbonio.chats.core.annotations.UnitTest;
+import com.zextras.carbonio.chats.core.exception.VideoServerException;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.request.VideoServerMessageRequest;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.VideoServerResponse;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.videoroom.VideoRoomResponse;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+class VideoServerWebSocketClientTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final List<JsonNode> sentMessages = new CopyOnWriteArrayList<>();
+
+  private HttpClient httpClient;
+  private WebSocket.Builder webSocketBuilder;
+  private WebSocket.Listener listener;
+  private WebSocket webSocket;
+  private VideoServerWebSocketClient videoServerWebSocketClient;
+
+  @BeforeEach
+  void init() {
+    httpClient = mock(HttpClient.class);
+    webSocketBuilder = mock(WebSocket.Builder.class, RETURNS_SELF);
+    webSocket = mock(WebSocket.class);
+    when(httpClient.newWebSocketBuilder()).thenReturn(webSocketBuilder);
+    when(webSocketBuilder.buildAsync(any(URI.class), any(WebSocket.Listener.class)))
+        .thenAnswer(
+            invocation -> {
+              listener = invocation.getArgument(1);
+              return CompletableFuture.completedFuture(webSocket);
+            });
+    when(webSocket.sendText(any(CharSequence.class), anyBoolean()))
+        .thenAnswer(
+            invocation -> {
+              CharSequence text = invocation.getArgument(0);
+              sentMessages.add(objectMapper.readTree(text.toString()));
+              return CompletableFuture.completedFuture(webSocket);
+            });
+    videoServerWebSocketClient =
+        new VideoServerWebSocketClient(httpClient, "ws://127.78.0.4:8188", objectMapper);
+  }
+
+  private void reply(int sentMessage, String status) {
+    listener.onText(
+        webSocket,
+        String.format(
+            "{\"janus\":\"%s\",\"transaction\":\"%s\"}",
+            status, sentMessages.get(sentMessage).get("transaction").asText()),
+        true);
+  }
+
+  /** Answers every request as soon as it is sent, with the status configured for its type. */
+  private void replyImmediately(Map<String, String> statuses) {
+    when(webSocket.sendText(any(CharSequence.class), anyBoolean()))
+        .thenAnswer(
+            invocation -> {
+              JsonNode message = objectMapper.readTree(invocation.getArgument(0).toString());
+              sentMessages.add(message);
+              String type = message.get("janus").asText();
+              listener.onText(
+                  webSocket,
+                  String.format(
+                      "{\"janus\":\"%s\",\"transaction\":\"%s\",\"data\":{\"id\":111}}",
+                      statuses.getOrDefault(type, "success"), message.get("transaction").asText()),
+                  true);
+              return CompletableFuture.completedFuture(webSocket);
+            });
+  }
+
+  private List<String> sentTypes() {
+    return sentMessages.stream().map(message -> message.get("janus").asText()).toList();
+  }
+
+  @Test
+  @DisplayName("Sends the request with the connection and handle ids on a single connection")
+  void sendsRequestsOnSingleConnection() {
+    CompletableFuture<VideoServerResponse> first =
+        videoServerWebSocketClient.sendConnectionVideoServerRequestAsync(
+            "123", VideoServerMessageRequest.create().messageRequest("attach"));
+    CompletableFuture<VideoRoomResponse> second =
+        videoServerWebSocketClient.sendVideoRoomRequestAsync(
+            "123", "456", VideoServerMessageRequest.create().messageRequest("message"));
+
+    assertEquals(2, sentMessages.size());
+    assertEquals("attach", sentMessages.get(0).get("janus").asText());
+    assertEquals(123L, sentMessages.get(0).get("session_id").asLong());
+    assertFalse(sentMessages.get(0).has("handle_id"));
+    assertEquals(123L, sentMessages.get(1).get("session_id").asLong());
+    assertEquals(456L, sentMessages.get(1).get("handle_id").asLong());
+    assertFalse(first.isDone());
+    assertFalse(second.isDone());
+    verify(webSocketBuilder, times(1)).buildAsync(any(URI.class), any(WebSocket.Listener.class));
+  }
+
+  @Test
+  @DisplayName("Matches the replies to the requests through the transaction identifier")
+  void matchesRepliesByTransaction() {
+    CompletableFuture<VideoServerResponse> first =
+        videoServerWebSocketClient.sendConnectionVideoServerRequestAsync(
+            "123", VideoServerMessageRequest.create().messageRequest("keepalive"));
+    CompletableFuture<VideoServerResponse> second =
+        videoServerWebSocketClient.sendConnectionVideoServerRequestAsync(
+            "123", VideoServerMessageRequest.create().messageRequest("detach"));
+
+    reply(1, "success");
+    assertTrue(second.isDone());
+    assertFalse(first.isDone());
+
+    reply(0, "ack");
+    assertEquals("ack", first.join().getStatus());
+    assertEquals("success", second.join().getStatus());
+  }
+
+  @Test
+  @DisplayName("Fails the pending requests when the connection is closed and then reconnects")
+  void failsPendingRequestsWhenConnectionIsClosed() {
+    CompletableFuture<VideoServerResponse> pending =
+        videoServerWebSocketClient.sendConnectionVideoServerRequestAsync(
+            "123", VideoServerMessageRequest.create().messageRequest("keepalive"));
+
+    listener.onClose(webSocket, WebSocket.NORMAL_CLOSURE, "");
+
+    CompletionException exception = assertThrows(CompletionException.class, pending::join);
+    assertEquals(VideoServerException.class, exception.getCause().getClass());
+
+    videoServerWebSocketClient.sendConnectionVideoServerRequestAsync(
+        "123", VideoServerMessageRequest.create().messageRequest("keepalive"));
+    verify(webSocketBuilder, times(2)).buildAsync(any(URI.class), any(WebSocket.Listener.class));
+  }
+
+  @Test
+  @DisplayName("Claims the created sessions on the new connection before any other request")
+  void claimsSessionsAfterReconnecting() {
+    replyImmediately(Map.of());
+    videoServerWebSocketClient.sendVideoServerRequest(
+        VideoServerMessageRequest.create().messageRequest("create").apiSecret("token"));
+
+    listener.onClose(webSocket, WebSocket.NORMAL_CLOSURE, "");
+    VideoServerResponse response =
+        videoServerWebSocketClient.sendConnectionVideoServerRequest(
+            "111", VideoServerMessageRequest.create().messageRequest("keepalive"));
+
+    assertEquals("success", response.getStatus());
+    assertEquals(List.of("create", "claim", "keepalive"), sentTypes());
+    assertEquals(111L, sentMessages.get(1).get("session_id").asLong());
+    assertEquals("token", sentMessages.get(1).get("apisecret").asText());
+    verify(webSocketBuilder, times(2)).buildAsync(any(URI.class), any(WebSocket.Listener.class));
+  }
+
+  @Test
+  @DisplayName("Forgets the sessions the video server destroyed with the lost connection")
+  void forgetsSessionsNotClaimed() {
+    replyImmediately(Map.of("claim", "error"));
+    videoServerWebSocketClient.sendVideoServerRequest(
+        VideoServerMessageRequest.create().messageRequest("create"));
+
+    listener.onClose(webSocket, WebSocket.NORMAL_CLOSURE, "");
+    videoServerWebSocketClient.sendConnectionVideoServerRequest(
+        "111", VideoServerMessageRequest.create().messageRequest("keepalive"));
+    listener.onClose(webSocket, WebSocket.NORMAL_CLOSURE, "");
+    videoServerWebSocketClient.sendConnectionVideoServerRequest(
+        "111", VideoServerMessageRequest.create().messageRequest("keepalive"));
+
+    assertEquals(List.of("create", "claim", "keepalive", "keepalive"), sentTypes());
+    assertFalse(sentMessages.get(1).has("apisecret"));
+    verify(webSocketBuilder, times(3)).buildAsync(any(URI.class), any(WebSocket.Listener.class));
+  }
+
+  @Test
+  @DisplayName("Does not claim the sessions destroyed through the client")
+  void doesNotClaimDestroyedSessions() {
+    replyImmediately(Map.of());
+    videoServerWebSocketClient.sendVideoServerRequest(
+        VideoServerMessageRequest.create().messageRequest("create"));
+    videoServerWebSocketClient.sendConnectionVideoServerRequest(
+        "111", VideoServerMessageRequest.create().messageRequest("destroy"));
+
+    listener.onClose(webSocket, WebSocket.NORMAL_CLOSURE, "");
+    videoServerWebSocketClient.sendVideoServerRequest(
+        VideoServerMessageRequest.create().messageRequest("create"));
+
+    assertEquals(List.of("create", "destroy", "create"), sentTypes());
+  }
+}
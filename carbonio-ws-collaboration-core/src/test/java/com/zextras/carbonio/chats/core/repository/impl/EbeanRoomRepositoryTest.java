@@ -5,16 +5,21 @@
 package com.zextras.carbonio.chats.core.repository.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.zextras.carbonio.chats.core.annotations.UnitTest;
 import com.zextras.carbonio.chats.core.data.entity.Room;
+import com.zextras.carbonio.chats.core.data.entity.Subscription;
 import com.zextras.carbonio.chats.model.RoomTypeDto;
 import io.ebean.Database;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
@@ -45,14 +50,7 @@ class EbeanRoomRepositoryTest {
     @DisplayName("Retrieves a one-to-one room by both users")
     public void getOneToOneByAllUserIds_testOK() {
       when(database.find(Room.class).where()
-        .eq("type", RoomTypeDto.ONE_TO_ONE)
-        .and().raw("id in ( " +
-          "select distinct a.room_id from chats.subscription a " +
-          "inner join chats.subscription b on a.room_id = b.room_id " +
-          "and (a.user_id = 'user1Id' or a.user_id = 'user2Id') " +
-          "and (b.user_id = 'user1Id' or b.user_id = 'user2Id') " +
-          "where (a.user_id = 'user1Id' and b.user_id = 'user2Id') " +
-          "or (a.user_id = 'user2Id' and b.user_id = 'user1Id'))")
+        .eq("oneToOneKey", "user1Id/user2Id")
         .findOneOrEmpty()).thenReturn(Optional.of(Room.create().id("roomId")));
 
       Optional<Room> room = ebeanRoomRepository.getOneToOneByAllUserIds("user1Id", "user2Id");
@@ -61,18 +59,24 @@ class EbeanRoomRepositoryTest {
       assertEquals("roomId", room.get().getId());
     }
 
+    @Test
+    @DisplayName("Retrieves a one-to-one room by both users in any order")
+    public void getOneToOneByAllUserIds_testUsersInReverseOrder() {
+      when(database.find(Room.class).where()
+        .eq("oneToOneKey", "user1Id/user2Id")
+        .findOneOrEmpty()).thenReturn(Optional.of(Room.create().id("roomId")));
+
+      Optional<Room> room = ebeanRoomRepository.getOneToOneByAllUserIds("user2Id", "user1Id");
+
+      assertTrue(room.isPresent());
+      assertEquals("roomId", room.get().getId());
+    }
+
     @Test
     @DisplayName("Returns an empty optional if there isn't a one-to-one room for required users")
     public void getOneToOneByAllUserIds_testNotFound() {
       when(database.find(Room.class).where()
-        .eq("type", RoomTypeDto.ONE_TO_ONE)
-        .and().raw("id in ( " +
-          "select distinct a.room_id from chats.subscription a " +
-          "inner join chats.subscription b on a.room_id = b.room_id " +
-          "and (a.user_id = 'user1Id' or a.user_id = 'user2Id') " +
-          "and (b.user_id = 'user1Id' or b.user_id = 'user2Id') " +
-          "where (a.user_id = 'user1Id' and b.user_id = 'user2Id') " +
-          "or (a.user_id = 'user2Id' and b.user_id = 'user1Id'))")
+        .eq("oneToOneKey", "user1Id/user2Id")
         .findOneOrEmpty()).thenReturn(Optional.empty());
 
       Optional<Room> room = ebeanRoomRepository.getOneToOneByAllUserIds("user1Id", "user2Id");
@@ -80,4 +84,35 @@ class EbeanRoomRepositoryTest {
       assertTrue(room.isEmpty());
     }
   }
+
+  @Nested
+  @DisplayName("Inserts room tests")
+  class InsertTests {
+
+    @Test
+    @DisplayName("Fills the one-to-one key with the sorted members before inserting the room")
+    public void insert_testOneToOneKey() {
+      Room room = Room.create().id("roomId").type(RoomTypeDto.ONE_TO_ONE);
+      room.subscriptions(
+        List.of(Subscription.create(room, "user2Id"), Subscription.create(room, "user1Id")));
+
+      ebeanRoomRepository.insert(room);
+
+      assertEquals("user1Id/user2Id", room.getOneToOneKey());
+      verify(database, times(1)).insert(room);
+    }
+
+    @Test
+    @DisplayName("Does not fill the one-to-one key for a group room")
+    public void insert_testGroupWithoutOneToOneKey() {
+      Room room = Room.create().id("roomId").type(RoomTypeDto.GROUP);
+      room.subscriptions(
+        List.of(Subscription.create(room, "user1Id"), Subscription.create(room, "user2Id")));
+
+      ebeanRoomRepository.insert(room);
+
+      assertNull(room.getOneToOneKey());
+      verify(database, times(1)).insert(room);
+    }
+  }
 }
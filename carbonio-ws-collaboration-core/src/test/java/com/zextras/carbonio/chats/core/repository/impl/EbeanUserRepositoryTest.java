@@ -43,8 +43,7 @@ class EbeanUserRepositoryTest {
     @Test
     @DisplayName("Retrieves a user by it's id")
     public void getById_testOK() {
-      when(database.find(User.class).where().eq("id", "123").findOneOrEmpty()).thenReturn(
-        Optional.of(User.create().id("123")));
+      when(database.find(User.class, "123")).thenReturn(User.create().id("123"));
 
       Optional<User> user = ebeanUserRepository.getById("123");
 
@@ -55,8 +54,7 @@ class EbeanUserRepositoryTest {
     @Test
     @DisplayName("Returns an empty optional if the user was not found")
     public void getById_testNotFound() {
-      when(database.find(User.class).where().eq("id", "123").findOneOrEmpty()).thenReturn(
-        Optional.empty());
+      when(database.find(User.class, "123")).thenReturn(null);
       Optional<User> user = ebeanUserRepository.getById("123");
 
       assertTrue(user.isEmpty());
@@ -156,7 +156,7 @@ public class AttachmentServiceImplTest {
       assertEquals(file1Id, attachmentsPagination.getAttachments().get(0).getId());
       assertEquals(file2Id, attachmentsPagination.getAttachments().get(1).getId());
       assertNull(attachmentsPagination.getFilter());
-      verify(roomService, times(1)).getRoomAndValidateUser(roomId, currentUser, false);
+      verify(roomService, times(1)).validateUserMembership(roomId, currentUser, false);
       verifyNoMoreInteractions(roomService);
     }
 
@@ -219,7 +219,7 @@ public class AttachmentServiceImplTest {
                       PaginationFilter.create(
                           file2Id.toString(), attachmentTimestamp.plusHours(1))));
       assertEquals(expectedFilter, attachmentsPagination.getFilter());
-      verify(roomService, times(1)).getRoomAndValidateUser(roomId, currentUser, false);
+      verify(roomService, times(1)).validateUserMembership(roomId, currentUser, false);
       verifyNoMoreInteractions(roomService);
     }
 
@@ -259,7 +259,7 @@ public class AttachmentServiceImplTest {
       assertEquals(1, attachmentsPagination.getAttachments().size());
       assertEquals(file2Id, attachmentsPagination.getAttachments().get(0).getId());
       assertNull(attachmentsPagination.getFilter());
-      verify(roomService, times(1)).getRoomAndValidateUser(roomId, currentUser, false);
+      verify(roomService, times(1)).validateUserMembership(roomId, currentUser, false);
       verifyNoMoreInteractions(roomService);
     }
 
@@ -269,11 +269,12 @@ public class AttachmentServiceImplTest {
             + " 'forbidden' exception")
     void getAttachmentInfoByRoomId_testAuthenticatedUserIsNotARoomMember() {
       UserPrincipal currentUser = UserPrincipal.create(user1Id);
-      when(roomService.getRoomAndValidateUser(roomId, currentUser, false))
-          .thenThrow(
+      doThrow(
               new ForbiddenException(
                   String.format(
-                      "User '%s' is not a member of room '%s'", currentUser.getId(), roomId)));
+                      "User '%s' is not a member of room '%s'", currentUser.getId(), roomId)))
+          .when(roomService)
+          .validateUserMembership(roomId, currentUser, false);
 
       assertThrows(
           ForbiddenException.class,
@@ -284,8 +285,9 @@ public class AttachmentServiceImplTest {
     @DisplayName("Re throws the exception if the room was not found")
     void getAttachmentInfoByRoomId_testRoomNotFound() {
       UserPrincipal currentUser = UserPrincipal.create(user1Id);
-      when(roomService.getRoomAndValidateUser(roomId, currentUser, false))
-          .thenThrow(new NotFoundException());
+      doThrow(new NotFoundException())
+          .when(roomService)
+          .validateUserMembership(roomId, currentUser, false);
 
       NotFoundException notFoundException =
           assertThrows(
@@ -310,7 +312,7 @@ public class AttachmentServiceImplTest {
       assertNotNull(attachmentsPagination);
       assertEquals(0, attachmentsPagination.getAttachments().size());
       assertNull(attachmentsPagination.getFilter());
-      verify(roomService, times(1)).getRoomAndValidateUser(roomId, currentUser, false);
+      verify(roomService, times(1)).validateUserMembership(roomId, currentUser, false);
       verifyNoMoreInteractions(roomService);
     }
   }
@@ -350,7 +352,7 @@ public class AttachmentServiceImplTest {
       assertNotNull(attachmentById.getMetadata());
       assertEquals(attachmentUuid.toString(), attachmentById.getMetadata().getId());
       verify(fileMetadataRepository, times(1)).getById(attachmentUuid.toString());
-      verify(roomService, times(1)).getRoomAndValidateUser(roomId, currentUser, false);
+      verify(roomService, times(1)).validateUserMembership(roomId, currentUser, false);
       verify(storagesService, times(1))
           .getFileStreamById(attachmentUuid.toString(), user1Id.toString());
       verifyNoMoreInteractions(fileMetadataRepository, roomService, storagesService);
@@ -395,15 +397,16 @@ public class AttachmentServiceImplTest {
                       .createdAt(OffsetDateTime.now())
                       .updatedAt(OffsetDateTime.now())
                       .build()));
-      when(roomService.getRoomAndValidateUser(roomId, currentUser, false))
-          .thenThrow(new ForbiddenException());
+      doThrow(new ForbiddenException())
+          .when(roomService)
+          .validateUserMembership(roomId, currentUser, false);
 
       assertThrows(
           ForbiddenException.class,
           () -> attachmentService.getAttachmentById(attachmentUuid, currentUser));
 
       verify(fileMetadataRepository, times(1)).getById(attachmentUuid.toString());
-      verify(roomService, times(1)).getRoomAndValidateUser(roomId, currentUser, false);
+      verify(roomService, times(1)).validateUserMembership(roomId, currentUser, false);
       verifyNoMoreInteractions(fileMetadataRepository, roomService);
       verifyNoInteractions(storagesService);
     }
@@ -427,8 +430,9 @@ public class AttachmentServiceImplTest {
                       .createdAt(OffsetDateTime.now())
                       .updatedAt(OffsetDateTime.now())
                       .build()));
-      when(roomService.getRoomAndValidateUser(roomId, currentUser, false))
-          .thenThrow(new NotFoundException());
+      doThrow(new NotFoundException())
+          .when(roomService)
+          .validateUserMembership(roomId, currentUser, false);
 
       NotFoundException notFoundException =
           assertThrows(
@@ -437,7 +441,7 @@ public class AttachmentServiceImplTest {
       assertEquals("Not Found - Not Found", notFoundException.getMessage());
 
       verify(fileMetadataRepository, times(1)).getById(attachmentUuid.toString());
-      verify(roomService, times(1)).getRoomAndValidateUser(roomId, currentUser, false);
+      verify(roomService, times(1)).validateUserMembership(roomId, currentUser, false);
       verifyNoMoreInteractions(fileMetadataRepository, roomService);
       verifyNoInteractions(storagesService);
     }
@@ -468,7 +472,7 @@ public class AttachmentServiceImplTest {
           () -> attachmentService.getAttachmentById(attachmentUuid, currentUser));
 
       verify(fileMetadataRepository, times(1)).getById(attachmentUuid.toString());
-      verify(roomService, times(1)).getRoomAndValidateUser(roomId, currentUser, false);
+      verify(roomService, times(1)).validateUserMembership(roomId, currentUser, false);
       verify(storagesService, times(1))
           .getFileStreamById(attachmentUuid.toString(), user1Id.toString());
       verifyNoMoreInteractions(fileMetadataRepository, roomService, storagesService);
@@ -504,7 +508,7 @@ public class AttachmentServiceImplTest {
 
       assertNotNull(attachmentInfo);
       assertEquals(attachmentUuid, attachmentInfo.getId());
-      verify(roomService, times(1)).getRoomAndValidateUser(roomId, currentUser, false);
+      verify(roomService, times(1)).validateUserMembership(roomId, currentUser, false);
       verifyNoMoreInteractions(roomService);
     }
 
@@ -543,8 +547,9 @@ public class AttachmentServiceImplTest {
               .build();
       when(fileMetadataRepository.getById(attachmentUuid.toString()))
           .thenReturn(Optional.of(metadata));
-      when(roomService.getRoomAndValidateUser(roomId, currentUser, false))
-          .thenThrow(new ForbiddenException());
+      doThrow(new ForbiddenException())
+          .when(roomService)
+          .validateUserMembership(roomId, currentUser, false);
 
       assertThrows(
           ForbiddenException.class,
@@ -570,8 +575,9 @@ public class AttachmentServiceImplTest {
               .build();
       when(fileMetadataRepository.getById(attachmentUuid.toString()))
           .thenReturn(Optional.of(metadata));
-      when(roomService.getRoomAndValidateUser(roomId, currentUser, false))
-          .thenThrow(new NotFoundException());
+      doThrow(new NotFoundException())
+          .when(roomService)
+          .validateUserMembership(roomId, currentUser, false);
 
       NotFoundException notFoundException =
           assertThrows(
@@ -591,7 +597,6 @@ public class AttachmentServiceImplTest {
       UUID attachmentUuid = UUID.randomUUID();
       OffsetDateTime attachmentDate = OffsetDateTime.parse("2022-01-01T00:00:00Z");
       UserPrincipal currentUser = UserPrincipal.create(user1Id);
-      when(roomService.getRoomAndValidateUser(roomId, currentUser, false)).thenReturn(room1);
       InputStream fileStream = mock(InputStream.class);
       FileMetadataBuilder metadataBuilder =
           FileMetadataBuilder.create()
@@ -623,7 +628,7 @@ public class AttachmentServiceImplTest {
             currentUser);
       }
 
-      verify(roomService, times(1)).getRoomAndValidateUser(roomId, currentUser, false);
+      verify(roomService, times(1)).validateUserMembership(roomId, currentUser, false);
       verify(storagesService, times(1))
           .saveFile(fileStream, attachmentUuid.toString(), currentUser.toString(), 1024L);
       verify(fileMetadataRepository, times(1)).save(expectedMetadata);
@@ -636,8 +641,9 @@ public class AttachmentServiceImplTest {
       UUID attachmentUuid = UUID.randomUUID();
       UserPrincipal currentUser = UserPrincipal.create(user1Id);
       InputStream fileStream = mock(InputStream.class);
-      when(roomService.getRoomAndValidateUser(roomId, currentUser, false))
-          .thenThrow(new NotFoundException());
+      doThrow(new NotFoundException())
+          .when(roomService)
+          .validateUserMembership(roomId, currentUser, false);
       try (MockedStatic<UUID> uuid = Mockito.mockStatic(UUID.class)) {
         uuid.when(UUID::randomUUID).thenReturn(attachmentUuid);
         uuid.when(() -> UUID.fromString(user1Id.toString())).thenReturn(user1Id);
@@ -657,7 +663,7 @@ public class AttachmentServiceImplTest {
                     currentUser));
       }
 
-      verify(roomService, times(1)).getRoomAndValidateUser(roomId, currentUser, false);
+      verify(roomService, times(1)).validateUserMembership(roomId, currentUser, false);
       verifyNoMoreInteractions(roomService, storagesService, fileMetadataRepository);
     }
 
@@ -667,8 +673,9 @@ public class AttachmentServiceImplTest {
       UUID attachmentUuid = UUID.randomUUID();
       UserPrincipal currentUser = UserPrincipal.create(user1Id);
       InputStream fileStream = mock(InputStream.class);
-      when(roomService.getRoomAndValidateUser(roomId, currentUser, false))
-          .thenThrow(new ForbiddenException());
+      doThrow(new ForbiddenException())
+          .when(roomService)
+          .validateUserMembership(roomId, currentUser, false);
       try (MockedStatic<UUID> uuid = Mockito.mockStatic(UUID.class)) {
         uuid.when(UUID::randomUUID).thenReturn(attachmentUuid);
         uuid.when(() -> UUID.fromString(user1Id.toString())).thenReturn(user1Id);
@@ -688,7 +695,7 @@ public class AttachmentServiceImplTest {
                     currentUser));
       }
 
-      verify(roomService, times(1)).getRoomAndValidateUser(roomId, currentUser, false);
+      verify(roomService, times(1)).validateUserMembership(roomId, currentUser, false);
       verifyNoMoreInteractions(roomService, storagesService, fileMetadataRepository);
     }
 
@@ -698,7 +705,6 @@ public class AttachmentServiceImplTest {
       UUID attachmentUuid = UUID.randomUUID();
       UserPrincipal currentUser = UserPrincipal.create(user1Id);
       InputStream fileStream = mock(InputStream.class);
-      when(roomService.getRoomAndValidateUser(roomId, currentUser, false)).thenReturn(room1);
       doThrow(new StorageException())
           .when(storagesService)
           .saveFile(fileStream, attachmentUuid.toString(), user1Id.toString(), 1024L);
@@ -721,7 +727,7 @@ public class AttachmentServiceImplTest {
                     currentUser));
       }
 
-      verify(roomService, times(1)).getRoomAndValidateUser(roomId, currentUser, false);
+      verify(roomService, times(1)).validateUserMembership(roomId, currentUser, false);
       verify(storagesService, times(1))
           .saveFile(fileStream, attachmentUuid.toString(), currentUser.getId(), 1024L);
       verifyNoMoreInteractions(roomService, storagesService, fileMetadataRepository);
@@ -749,7 +755,6 @@ public class AttachmentServiceImplTest {
       FileMetadata fileMetadata = metadataBuilder.build();
       when(fileMetadataRepository.getById(originalAttachmentId.toString()))
           .thenReturn(Optional.of(fileMetadata));
-      when(roomService.getRoomAndValidateUser(roomId, currentUser, false)).thenReturn(room1);
       UUID attachmentUuid = UUID.randomUUID();
       try (MockedStatic<UUID> uuid = Mockito.mockStatic(UUID.class)) {
         uuid.when(UUID::randomUUID).thenReturn(attachmentUuid);
@@ -759,7 +764,7 @@ public class AttachmentServiceImplTest {
       }
 
       verify(fileMetadataRepository, times(1)).getById(originalAttachmentId.toString());
-      verify(roomService, times(1)).getRoomAndValidateUser(roomId, currentUser, false);
+      verify(roomService, times(1)).validateUserMembership(roomId, currentUser, false);
       verify(storagesService, times(1))
           .copyFile(
               originalAttachmentId.toString(),
@@ -797,8 +802,9 @@ public class AttachmentServiceImplTest {
       FileMetadata fileMetadata = metadataBuilder.build();
       when(fileMetadataRepository.getById(originalAttachmentId.toString()))
           .thenReturn(Optional.of(fileMetadata));
-      when(roomService.getRoomAndValidateUser(roomId, currentUser, false))
-          .thenThrow(NotFoundException.class);
+      doThrow(NotFoundException.class)
+          .when(roomService)
+          .validateUserMembership(roomId, currentUser, false);
       try (MockedStatic<UUID> uuid = Mockito.mockStatic(UUID.class)) {
         uuid.when(() -> UUID.fromString(user1Id.toString())).thenReturn(user1Id);
         uuid.when(() -> UUID.fromString(roomId.toString())).thenReturn(roomId);
@@ -809,7 +815,7 @@ public class AttachmentServiceImplTest {
       }
 
       verify(fileMetadataRepository, times(1)).getById(originalAttachmentId.toString());
-      verify(roomService, times(1)).getRoomAndValidateUser(roomId, currentUser, false);
+      verify(roomService, times(1)).validateUserMembership(roomId, currentUser, false);
       verifyNoMoreInteractions(roomService, storagesService, fileMetadataRepository);
     }
 
@@ -830,8 +836,9 @@ public class AttachmentServiceImplTest {
       FileMetadata fileMetadata = metadataBuilder.build();
       when(fileMetadataRepository.getById(originalAttachmentId.toString()))
           .thenReturn(Optional.of(fileMetadata));
-      when(roomService.getRoomAndValidateUser(roomId, currentUser, false))
-          .thenThrow(ForbiddenException.class);
+      doThrow(ForbiddenException.class)
+          .when(roomService)
+          .validateUserMembership(roomId, currentUser, false);
       try (MockedStatic<UUID> uuid = Mockito.mockStatic(UUID.class)) {
         uuid.when(() -> UUID.fromString(user1Id.toString())).thenReturn(user1Id);
         uuid.when(() -> UUID.fromString(roomId.toString())).thenReturn(roomId);
@@ -842,7 +849,7 @@ public class AttachmentServiceImplTest {
       }
 
       verify(fileMetadataRepository, times(1)).getById(originalAttachmentId.toString());
-      verify(roomService, times(1)).getRoomAndValidateUser(roomId, currentUser, false);
+      verify(roomService, times(1)).validateUserMembership(roomId, currentUser, false);
       verifyNoMoreInteractions(roomService, storagesService, fileMetadataRepository);
     }
 
@@ -863,7 +870,6 @@ public class AttachmentServiceImplTest {
       FileMetadata fileMetadata = metadataBuilder.build();
       when(fileMetadataRepository.getById(originalAttachmentId.toString()))
           .thenReturn(Optional.of(fileMetadata));
-      when(roomService.getRoomAndValidateUser(roomId, currentUser, false)).thenReturn(room1);
       UUID attachmentUuid = UUID.randomUUID();
       doThrow(StorageException.class)
           .when(storagesService)
@@ -883,7 +889,7 @@ public class AttachmentServiceImplTest {
       }
 
       verify(fileMetadataRepository, times(1)).getById(originalAttachmentId.toString());
-      verify(roomService, times(1)).getRoomAndValidateUser(roomId, currentUser, false);
+      verify(roomService, times(1)).validateUserMembership(roomId, currentUser, false);
       verify(storagesService, times(1))
           .copyFile(
               originalAttachmentId.toString(),
@@ -8,9 +8,14 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.zextras.carbonio.chats.core.annotations.UnitTest;
+import com.zextras.carbonio.chats.core.config.AppConfig;
+import com.zextras.carbonio.chats.core.config.ConfigName;
+import com.zextras.carbonio.chats.core.config.impl.MockAppConfig;
 import com.zextras.carbonio.chats.core.infrastructure.authentication.AuthenticationService;
 import com.zextras.carbonio.chats.core.infrastructure.database.DatabaseInfoService;
 import com.zextras.carbonio.chats.core.infrastructure.event.EventDispatcher;
@@ -51,7 +56,11 @@ class HealthcheckServiceImplTest {
     this.authenticationService = mock(AuthenticationService.class);
     this.profilingService = mock(ProfilingService.class);
     this.videoServerService = mock(VideoServerService.class);
-    this.healthcheckService = new HealthcheckServiceImpl(
+    this.healthcheckService = createHealthcheckService(MockAppConfig.create());
+  }
+
+  private HealthcheckServiceImpl createHealthcheckService(AppConfig appConfig) {
+    return new HealthcheckServiceImpl(
       this.messageDispatcher,
       this.databaseInfoService,
       this.eventDispatcher,
@@ -59,10 +68,22 @@ class HealthcheckServiceImplTest {
       this.previewService,
       this.authenticationService,
       this.profilingService,
-      this.videoServerService
+      this.videoServerService,
+      appConfig
     );
   }
 
+  private void mockAllAlive() {
+    when(messageDispatcher.isAlive()).thenReturn(true);
+    when(databaseInfoService.isAlive()).thenReturn(true);
+    when(eventDispatcher.isAlive()).thenReturn(true);
+    when(storagesService.isAlive()).thenReturn(true);
+    when(previewService.isAlive()).thenReturn(true);
+    when(authenticationService.isAlive()).thenReturn(true);
+    when(profilingService.isAlive()).thenReturn(true);
+    when(videoServerService.isAlive()).thenReturn(true);
+  }
+
   @AfterEach
   public void cleanup() {
     reset(
@@ -348,4 +369,94 @@ class HealthcheckServiceImplTest {
 
   }
 
-}
\ No newline at end of file
+  @Nested
+  @DisplayName("Health snapshot tests")
+  class HealthSnapshotTests {
+
+    @Test
+    @DisplayName("Probes every dependency once and reuses the snapshot until it expires")
+    public void getServiceHealth_testSnapshotReused() {
+      mockAllAlive();
+
+      assertEquals(HealthStatusTypeDto.OK, healthcheckService.getServiceStatus());
+      assertEquals(HealthStatusTypeDto.OK, healthcheckService.getServiceHealth().getStatus());
+
+      verify(messageDispatcher, times(1)).isAlive();
+      verify(databaseInfoService, times(1)).isAlive();
+      verify(storagesService, times(1)).isAlive();
+      verify(videoServerService, times(1)).isAlive();
+    }
+
+    @Test
+    @DisplayName("Probes the dependencies on every call when the snapshot is disabled")
+    public void getServiceHealth_testSnapshotDisabled() {
+      HealthcheckServiceImpl service =
+        createHealthcheckService(
+          MockAppConfig.create().set(ConfigName.HEALTH_CHECK_SNAPSHOT_TTL_IN_SEC, "0"));
+      mockAllAlive();
+      assertEquals(HealthStatusTypeDto.OK, service.getServiceStatus());
+
+      when(storagesService.isAlive()).thenReturn(false);
+      assertEquals(HealthStatusTypeDto.WARN, service.getServiceStatus());
+
+      verify(storagesService, times(2)).isAlive();
+    }
+
+    @Test
+    @DisplayName("Reports as not healthy a dependency slower than the probe timeout")
+    public void getServiceHealth_testProbeTimeout() {
+      HealthcheckServiceImpl service =
+        createHealthcheckService(
+          MockAppConfig.create().set(ConfigName.HEALTH_CHECK_PROBE_TIMEOUT_IN_MILLI, "100"));
+      mockAllAlive();
+      when(storagesService.isAlive())
+        .thenAnswer(
+          invocation -> {
+            Thread.sleep(2000);
+            return true;
+          });
+
+      HealthStatusDto serviceHealth = service.getServiceHealth();
+
+      assertEquals(HealthStatusTypeDto.WARN, serviceHealth.getStatus());
+      assertTrue(
+        serviceHealth.getDependencies()
+          .contains(
+            DependencyHealthDto.create()
+              .name(DependencyHealthTypeDto.STORAGE_SERVICE)
+              .isHealthy(false)));
+    }
+
+    @Test
+    @DisplayName("Waits on the running probe of a slow dependency instead of submitting another one")
+    public void getServiceHealth_testSlowProbeNotResubmitted() {
+      HealthcheckServiceImpl service =
+        createHealthcheckService(
+          MockAppConfig.create()
+            .set(ConfigName.HEALTH_CHECK_SNAPSHOT_TTL_IN_SEC, "0")
+            .set(ConfigName.HEALTH_CHECK_PROBE_TIMEOUT_IN_MILLI, "100"));
+      mockAllAlive();
+      when(storagesService.isAlive())
+        .thenAnswer(
+          invocation -> {
+            Thread.sleep(2000);
+            return true;
+          });
+
+      assertEquals(HealthStatusTypeDto.WARN, service.getServiceStatus());
+      assertEquals(HealthStatusTypeDto.WARN, service.getServiceStatus());
+
+      verify(storagesService, times(1)).isAlive();
+      verify(databaseInfoService, times(2)).isAlive();
+    }
+
+    @Test
+    @DisplayName("Reports as not healthy a dependency whose probe fails")
+    public void getServiceHealth_testProbeFails() {
+      mockAllAlive();
+      when(databaseInfoService.isAlive()).thenThrow(new RuntimeException("connection refused"));
+
+      assertEquals(HealthStatusTypeDto.ERROR, healthcheckService.getServiceStatus());
+    }
+  }
+}
@@ -642,8 +642,6 @@ class MeetingServiceImplTest {
     @Test
     @DisplayName("Returns the meeting of the required with all participants")
     void getMeetingByRoomId_testOk() {
-      when(roomService.getRoomAndValidateUser(room1Id, UserPrincipal.create(user1Id), false))
-          .thenReturn(room1);
       when(meetingRepository.getByRoomId(room1Id.toString())).thenReturn(Optional.of(meeting1));
 
       MeetingDto meetingDto =
@@ -674,7 +672,7 @@ class MeetingServiceImplTest {
       assertTrue(participant1.get().isAudioStreamEnabled());
 
       verify(roomService, times(1))
-          .getRoomAndValidateUser(room1Id, UserPrincipal.create(user1Id), false);
+          .validateUserMembership(room1Id, UserPrincipal.create(user1Id), false);
       verify(meetingRepository, times(1)).getByRoomId(room1Id.toString());
       verifyNoMoreInteractions(meetingRepository, roomService);
       verifyNoInteractions(membersService, videoServerService, eventDispatcher);
@@ -683,8 +681,6 @@ class MeetingServiceImplTest {
     @Test
     @DisplayName("If the room meeting doesn't exists, it throws a 'not found' exception")
     void getMeetingByRoomId_testMeetingNotExists() {
-      when(roomService.getRoomAndValidateUser(room1Id, UserPrincipal.create(user1Id), false))
-          .thenReturn(room1);
       when(meetingRepository.getByRoomId(room1Id.toString())).thenReturn(Optional.empty());
 
       ChatsHttpException exception =
@@ -699,7 +695,7 @@ class MeetingServiceImplTest {
           exception.getMessage());
 
       verify(roomService, times(1))
-          .getRoomAndValidateUser(room1Id, UserPrincipal.create(user1Id), false);
+          .validateUserMembership(room1Id, UserPrincipal.create(user1Id), false);
       verify(meetingRepository, times(1)).getByRoomId(room1Id.toString());
       verifyNoMoreInteractions(roomService, meetingRepository);
       verifyNoInteractions(membersService, videoServerService, eventDispatcher);
@@ -7,6 +7,7 @@ package com.zextras.carbonio.chats.core.service.impl;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -21,11 +22,14 @@ import com.zextras.carbonio.async.model.RoomMemberRemoved;
 import com.zextras.carbonio.async.model.RoomOwnerDemoted;
 import com.zextras.carbonio.async.model.RoomOwnerPromoted;
 import com.zextras.carbonio.chats.core.annotations.UnitTest;
+import com.zextras.carbonio.chats.core.cache.CacheHandler;
+import com.zextras.carbonio.chats.core.config.impl.MockAppConfig;
 import com.zextras.carbonio.chats.core.data.entity.Meeting;
 import com.zextras.carbonio.chats.core.data.entity.Participant;
 import com.zextras.carbonio.chats.core.data.entity.Room;
 import com.zextras.carbonio.chats.core.data.entity.RoomUserSettings;
 import com.zextras.carbonio.chats.core.data.entity.Subscription;
+import com.zextras.carbonio.chats.core.data.model.RoomMembership;
 import com.zextras.carbonio.chats.core.exception.BadRequestException;
 import com.zextras.carbonio.chats.core.exception.ChatsHttpException;
 import com.zextras.carbonio.chats.core.exception.ForbiddenException;
@@ -52,6 +56,7 @@ import jakarta.ws.rs.core.Response.Status;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.AfterEach;
@@ -73,6 +78,7 @@ class MembersServiceImplTest {
   private final MeetingService meetingService;
   private final ParticipantService participantService;
   private final CapabilityService capabilityService;
+  private final CacheHandler cacheHandler;
 
   public MembersServiceImplTest(SubscriptionMapper subscriptionMapper) {
     this.roomService = mock(RoomService.class);
@@ -84,6 +90,7 @@ class MembersServiceImplTest {
     this.meetingService = mock(MeetingService.class);
     this.participantService = mock(ParticipantService.class);
     this.capabilityService = mock(CapabilityService.class);
+    this.cacheHandler = new CacheHandler(MockAppConfig.create());
     this.membersService =
         new MembersServiceImpl(
             roomService,
@@ -95,7 +102,8 @@ class MembersServiceImplTest {
             messageDispatcher,
             meetingService,
             participantService,
-            capabilityService);
+            capabilityService,
+            cacheHandler);
   }
 
   private static UUID user1Id;
@@ -154,10 +162,17 @@ class MembersServiceImplTest {
               Subscription.create(room, user3Id.toString()).owner(false)));
       UserPrincipal principal = UserPrincipal.create(user1Id);
       when(roomService.getRoomAndValidateUser(roomId, principal, true)).thenReturn(room);
+      cacheHandler
+          .getRoomMembershipCache()
+          .put(
+              roomId.toString(),
+              RoomMembership.create(
+                  roomId.toString(), RoomTypeDto.GROUP, Map.of(user2Id.toString(), false)));
       membersService.setOwner(roomId, user2Id, true, principal);
 
       verify(roomService, times(1)).getRoomAndValidateUser(roomId, principal, true);
       verify(subscriptionRepository, times(1)).update(user2subscription.owner(true));
+      assertNull(cacheHandler.getRoomMembershipCache().getIfPresent(roomId.toString()));
       verify(eventDispatcher, times(1))
           .sendToUserExchange(
               List.of(user1Id.toString(), user2Id.toString(), user3Id.toString()),
@@ -293,10 +308,7 @@ class MembersServiceImplTest {
       verify(userService, times(1)).userExists(user2Id, principal);
       verify(capabilityService, times(1)).getCapabilities(principal);
       verify(messageDispatcher, times(1))
-          .addRoomMember(roomId.toString(), user1Id.toString(), user2Id.toString());
-      verify(messageDispatcher, times(1))
-          .sendAffiliationMessage(
-              roomId.toString(), user1Id.toString(), user2Id.toString(), MessageType.MEMBER_ADDED);
+          .addRoomMembers(roomId.toString(), user1Id.toString(), List.of(user2Id.toString()));
       verify(subscriptionRepository, times(1)).insert(any(Subscription.class));
       verify(eventDispatcher, times(1))
           .sendToUserExchange(
@@ -427,10 +439,7 @@ class MembersServiceImplTest {
       verify(capabilityService, times(1)).getCapabilities(principal);
       verify(userService, times(1)).userExists(user2Id, principal);
       verify(messageDispatcher, times(1))
-          .addRoomMember(roomId.toString(), user1Id.toString(), user2Id.toString());
-      verify(messageDispatcher, times(1))
-          .sendAffiliationMessage(
-              roomId.toString(), user1Id.toString(), user2Id.toString(), MessageType.MEMBER_ADDED);
+          .addRoomMembers(roomId.toString(), user1Id.toString(), List.of(user2Id.toString()));
       verify(subscriptionRepository, times(1)).insert(any(Subscription.class));
       verify(roomUserSettingsRepository, times(1))
           .getByRoomIdAndUserId(roomId.toString(), user2Id.toString());
@@ -640,9 +649,16 @@ class MembersServiceImplTest {
               Subscription.create(room, user3Id.toString()).owner(false)));
       UserPrincipal principal = UserPrincipal.create(user1Id);
       when(roomService.getRoomAndValidateUser(roomId, principal, true)).thenReturn(room);
+      cacheHandler
+          .getRoomMembershipCache()
+          .put(
+              roomId.toString(),
+              RoomMembership.create(
+                  roomId.toString(), RoomTypeDto.GROUP, Map.of(user2Id.toString(), false)));
 
       membersService.deleteRoomMember(roomId, user2Id, principal);
 
+      assertNull(cacheHandler.getRoomMembershipCache().getIfPresent(roomId.toString()));
       verify(roomService, times(1)).getRoomAndValidateUser(roomId, principal, true);
       verify(messageDispatcher, times(1)).removeRoomMember(roomId.toString(), user2Id.toString());
       verify(messageDispatcher, times(1))
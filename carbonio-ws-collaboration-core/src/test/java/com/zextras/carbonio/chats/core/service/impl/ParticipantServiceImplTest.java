@@ -5,7 +5,9 @@
 package com.zextras.carbonio.chats.core.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -189,6 +191,15 @@ class ParticipantServiceImplTest {
             .participants(List.of(participant2Session1))
             .build();
 
+    when(participantRepository.getById(permanentMeetingId.toString(), user1Id.toString()))
+        .thenReturn(Optional.of(participant1Session1));
+    when(participantRepository.getById(permanentMeetingId.toString(), user2Id.toString()))
+        .thenReturn(Optional.of(participant2Session1));
+    when(participantRepository.getById(permanentMeetingId.toString(), user4Id.toString()))
+        .thenReturn(Optional.of(participant4Session1));
+    when(participantRepository.getParticipantsIds(permanentMeetingId.toString()))
+        .thenReturn(List.of(user1Id.toString(), user2Id.toString(), user4Id.toString()));
+
     scheduledMeetingId = UUID.randomUUID();
     scheduledMeeting =
         MeetingBuilder.create(scheduledMeetingId)
@@ -515,15 +526,11 @@ class ParticipantServiceImplTest {
     @Test
     @DisplayName("It enables the video stream for the current user")
     void enableVideoStream_testOkEnableWithSessionEqualToCurrent() {
-      when(meetingService.getMeetingEntity(permanentMeetingId))
-          .thenReturn(Optional.of(permanentMeeting));
-
       participantService.updateMediaStream(
           permanentMeetingId,
           MediaStreamSettingsDto.create().type(TypeEnum.VIDEO).enabled(true).sdp("sdp"),
           UserPrincipal.create(user1Id).queueId(user1Queue1));
 
-      verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
       verify(participantRepository, times(1))
           .update(
               ParticipantBuilder.create(Meeting.create(), user1Id.toString())
@@ -540,6 +547,8 @@ class ParticipantServiceImplTest {
               permanentMeetingId.toString(),
               MediaStreamSettingsDto.create().type(TypeEnum.VIDEO).enabled(true).sdp("sdp"));
 
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user1Id.toString());
       verifyNoMoreInteractions(meetingService, participantRepository, videoServerService);
       verifyNoInteractions(eventDispatcher, roomService);
     }
@@ -547,23 +556,23 @@ class ParticipantServiceImplTest {
     @Test
     @DisplayName("If video stream is already enabled for the current user, correctly it ignores")
     void enableVideoStream_testOkVideoStreamAlreadyEnabledWithSessionEqualToCurrent() {
-      when(meetingService.getMeetingEntity(permanentMeetingId))
-          .thenReturn(Optional.of(permanentMeeting));
-
       participantService.updateMediaStream(
           permanentMeetingId,
           MediaStreamSettingsDto.create().type(TypeEnum.VIDEO).enabled(true).sdp("sdp"),
           UserPrincipal.create(user4Id).queueId(user4Queue1));
 
-      verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
-      verifyNoMoreInteractions(meetingService);
-      verifyNoInteractions(roomService, participantRepository, eventDispatcher, videoServerService);
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user4Id.toString());
+      verifyNoMoreInteractions(meetingService, participantRepository);
+      verifyNoInteractions(roomService, eventDispatcher, videoServerService);
     }
 
     @Test
     @DisplayName("If the requested meeting doesn't exist, it throws a 'not found' exception")
     void enableVideoStream_testErrorMeetingNotExists() {
       when(meetingService.getMeetingEntity(permanentMeetingId)).thenReturn(Optional.empty());
+      when(participantRepository.getById(permanentMeetingId.toString(), user1Id.toString()))
+          .thenReturn(Optional.empty());
 
       ChatsHttpException exception =
           assertThrows(
@@ -581,8 +590,10 @@ class ParticipantServiceImplTest {
           exception.getMessage());
 
       verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
-      verifyNoMoreInteractions(meetingService);
-      verifyNoInteractions(roomService, participantRepository, eventDispatcher, videoServerService);
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user1Id.toString());
+      verifyNoMoreInteractions(meetingService, participantRepository);
+      verifyNoInteractions(roomService, eventDispatcher, videoServerService);
     }
   }
 
@@ -593,15 +604,11 @@ class ParticipantServiceImplTest {
     @Test
     @DisplayName("It disables the video stream for the current user")
     void disableVideoStream_testOkDisableWithSessionEqualToCurrent() {
-      when(meetingService.getMeetingEntity(permanentMeetingId))
-          .thenReturn(Optional.of(permanentMeeting));
-
       participantService.updateMediaStream(
           permanentMeetingId,
           MediaStreamSettingsDto.create().type(TypeEnum.VIDEO).enabled(false),
           UserPrincipal.create(user4Id).queueId(user4Queue1));
 
-      verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
       verify(participantRepository, times(1))
           .update(
               ParticipantBuilder.create(Meeting.create(), user4Id.toString())
@@ -625,6 +632,9 @@ class ParticipantServiceImplTest {
                   .userId(user4Id)
                   .mediaType(MediaType.VIDEO)
                   .active(false));
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user4Id.toString());
+      verify(participantRepository, times(1)).getParticipantsIds(permanentMeetingId.toString());
       verifyNoMoreInteractions(
           meetingService, participantRepository, eventDispatcher, videoServerService);
       verifyNoInteractions(roomService);
@@ -634,17 +644,15 @@ class ParticipantServiceImplTest {
     @DisplayName(
         "If video stream is already disabled for the current session, correctly it ignores")
     void disableVideoStream_testOkVideoStreamAlreadyDisabledWithSessionEqualToCurrent() {
-      when(meetingService.getMeetingEntity(permanentMeetingId))
-          .thenReturn(Optional.of(permanentMeeting));
-
       participantService.updateMediaStream(
           permanentMeetingId,
           MediaStreamSettingsDto.create().type(TypeEnum.VIDEO).enabled(false),
           UserPrincipal.create(user1Id).queueId(user1Queue1));
 
-      verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
-      verifyNoMoreInteractions(meetingService);
-      verifyNoInteractions(roomService, participantRepository, eventDispatcher, videoServerService);
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user1Id.toString());
+      verifyNoMoreInteractions(meetingService, participantRepository);
+      verifyNoInteractions(roomService, eventDispatcher, videoServerService);
     }
 
     @Test
@@ -672,14 +680,18 @@ class ParticipantServiceImplTest {
           exception.getMessage());
 
       verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
-      verifyNoMoreInteractions(meetingService);
-      verifyNoInteractions(roomService, participantRepository, eventDispatcher, videoServerService);
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user3Id.toString());
+      verifyNoMoreInteractions(meetingService, participantRepository);
+      verifyNoInteractions(roomService, eventDispatcher, videoServerService);
     }
 
     @Test
     @DisplayName("If the requested meeting doesn't exist, it throws a 'not found' exception")
     void disableVideoStream_testErrorMeetingNotExists() {
       when(meetingService.getMeetingEntity(permanentMeetingId)).thenReturn(Optional.empty());
+      when(participantRepository.getById(permanentMeetingId.toString(), user1Id.toString()))
+          .thenReturn(Optional.empty());
 
       ChatsHttpException exception =
           assertThrows(
@@ -697,8 +709,10 @@ class ParticipantServiceImplTest {
           exception.getMessage());
 
       verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
-      verifyNoMoreInteractions(meetingService);
-      verifyNoInteractions(roomService, participantRepository, eventDispatcher, videoServerService);
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user1Id.toString());
+      verifyNoMoreInteractions(meetingService, participantRepository);
+      verifyNoInteractions(roomService, eventDispatcher, videoServerService);
     }
   }
 
@@ -711,15 +725,11 @@ class ParticipantServiceImplTest {
     @Test
     @DisplayName("It enables the audio stream for the current session")
     void enableAudioStream_testOkEnableWithSessionEqualToCurrent() {
-      when(meetingService.getMeetingEntity(permanentMeetingId))
-          .thenReturn(Optional.of(permanentMeeting));
-
       participantService.updateAudioStream(
           permanentMeetingId,
           AudioStreamSettingsDto.create().enabled(hasAudioStreamOn),
           UserPrincipal.create(user1Id).queueId(user1Queue1));
 
-      verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
       verify(participantRepository, times(1))
           .update(
               ParticipantBuilder.create(Meeting.create(), user1Id.toString())
@@ -738,6 +748,9 @@ class ParticipantServiceImplTest {
       verify(videoServerService, times(1))
           .updateAudioStream(user1Id.toString(), permanentMeetingId.toString(), true);
 
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user1Id.toString());
+      verify(participantRepository, times(1)).getParticipantsIds(permanentMeetingId.toString());
       verifyNoMoreInteractions(
           meetingService, participantRepository, eventDispatcher, videoServerService);
       verifyNoInteractions(roomService);
@@ -746,26 +759,21 @@ class ParticipantServiceImplTest {
     @Test
     @DisplayName("If audio stream is already enabled for the current session, correctly it ignores")
     void enableAudioStream_testOkAudioStreamAlreadyEnabledWithSessionEqualToCurrent() {
-      when(meetingService.getMeetingEntity(permanentMeetingId))
-          .thenReturn(Optional.of(permanentMeeting));
-
       participantService.updateAudioStream(
           permanentMeetingId,
           AudioStreamSettingsDto.create().enabled(hasAudioStreamOn),
           UserPrincipal.create(user4Id).queueId(user4Queue1));
 
-      verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
-      verifyNoMoreInteractions(meetingService);
-      verifyNoInteractions(roomService, participantRepository, eventDispatcher, videoServerService);
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user4Id.toString());
+      verifyNoMoreInteractions(meetingService, participantRepository);
+      verifyNoInteractions(roomService, eventDispatcher, videoServerService);
     }
 
     @Test
     @DisplayName(
         "If the current session is not the requested session, it throws a 'bad request' exception")
     void enableAudioStream_testErrorEnableWithSessionDifferentToCurrent() {
-      when(meetingService.getMeetingEntity(permanentMeetingId))
-          .thenReturn(Optional.of(permanentMeeting));
-
       ChatsHttpException exception =
           assertThrows(
               BadRequestException.class,
@@ -784,9 +792,10 @@ class ParticipantServiceImplTest {
               "Bad Request - User '%s' cannot perform this action for user '%s'", user1Id, user2Id),
           exception.getMessage());
 
-      verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
-      verifyNoMoreInteractions(meetingService);
-      verifyNoInteractions(roomService, participantRepository, eventDispatcher, videoServerService);
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user2Id.toString());
+      verifyNoMoreInteractions(meetingService, participantRepository);
+      verifyNoInteractions(roomService, eventDispatcher, videoServerService);
     }
 
     @Test
@@ -816,8 +825,10 @@ class ParticipantServiceImplTest {
           exception.getMessage());
 
       verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
-      verifyNoMoreInteractions(meetingService);
-      verifyNoInteractions(roomService, participantRepository, eventDispatcher, videoServerService);
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user3Id.toString());
+      verifyNoMoreInteractions(meetingService, participantRepository);
+      verifyNoInteractions(roomService, eventDispatcher, videoServerService);
     }
 
     @Test
@@ -843,8 +854,10 @@ class ParticipantServiceImplTest {
           exception.getMessage());
 
       verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
-      verifyNoMoreInteractions(meetingService);
-      verifyNoInteractions(roomService, participantRepository, eventDispatcher, videoServerService);
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user3Id.toString());
+      verifyNoMoreInteractions(meetingService, participantRepository);
+      verifyNoInteractions(roomService, eventDispatcher, videoServerService);
     }
   }
 
@@ -857,15 +870,11 @@ class ParticipantServiceImplTest {
     @Test
     @DisplayName("It disables the audio stream for the current user")
     void disableAudioStream_testOkDisableWithSessionEqualToCurrent() {
-      when(meetingService.getMeetingEntity(permanentMeetingId))
-          .thenReturn(Optional.of(permanentMeeting));
-
       participantService.updateAudioStream(
           permanentMeetingId,
           AudioStreamSettingsDto.create().enabled(hasAudioStreamOn),
           UserPrincipal.create(user4Id).queueId(user4Queue1));
 
-      verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
       verify(participantRepository, times(1))
           .update(
               ParticipantBuilder.create(Meeting.create(), user4Id.toString())
@@ -885,6 +894,9 @@ class ParticipantServiceImplTest {
                   .active(false));
       verify(videoServerService, times(1))
           .updateAudioStream(user4Id.toString(), permanentMeetingId.toString(), false);
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user4Id.toString());
+      verify(participantRepository, times(1)).getParticipantsIds(permanentMeetingId.toString());
       verifyNoMoreInteractions(
           meetingService, participantRepository, eventDispatcher, videoServerService);
       verifyNoInteractions(roomService);
@@ -893,17 +905,15 @@ class ParticipantServiceImplTest {
     @Test
     @DisplayName("If audio stream is already disabled for the current user, correctly it ignores")
     void disableAudioStream_testOkAudioStreamAlreadyDisabledWithSessionEqualToCurrent() {
-      when(meetingService.getMeetingEntity(permanentMeetingId))
-          .thenReturn(Optional.of(permanentMeeting));
-
       participantService.updateAudioStream(
           permanentMeetingId,
           AudioStreamSettingsDto.create().enabled(hasAudioStreamOn),
           UserPrincipal.create(user1Id).queueId(user1Queue1));
 
-      verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
-      verifyNoMoreInteractions(meetingService);
-      verifyNoInteractions(roomService, participantRepository, eventDispatcher, videoServerService);
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user1Id.toString());
+      verifyNoMoreInteractions(meetingService, participantRepository);
+      verifyNoInteractions(roomService, eventDispatcher, videoServerService);
     }
 
     @Test
@@ -921,7 +931,7 @@ class ParticipantServiceImplTest {
           currentUser);
 
       verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
-      verify(roomService, times(1)).getRoomAndValidateUser(roomId, currentUser, true);
+      verify(roomService, times(1)).validateUserMembership(roomId, currentUser, true);
       verify(participantRepository, times(1))
           .update(
               ParticipantBuilder.create(Meeting.create(), user4Id.toString())
@@ -942,6 +952,11 @@ class ParticipantServiceImplTest {
                   .active(false));
       verify(videoServerService, times(1))
           .updateAudioStream(user4Id.toString(), permanentMeetingId.toString(), false);
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user4Id.toString());
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user1Id.toString());
+      verify(participantRepository, times(1)).getParticipantsIds(permanentMeetingId.toString());
       verifyNoMoreInteractions(
           meetingService, roomService, participantRepository, eventDispatcher, videoServerService);
     }
@@ -961,9 +976,13 @@ class ParticipantServiceImplTest {
           currentUser);
 
       verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
-      verify(roomService, times(1)).getRoomAndValidateUser(roomId, currentUser, true);
-      verifyNoMoreInteractions(meetingService, roomService);
-      verifyNoInteractions(participantRepository, eventDispatcher, videoServerService);
+      verify(roomService, times(1)).validateUserMembership(roomId, currentUser, true);
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user2Id.toString());
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user1Id.toString());
+      verifyNoMoreInteractions(meetingService, roomService, participantRepository);
+      verifyNoInteractions(eventDispatcher, videoServerService);
     }
 
     @Test
@@ -993,8 +1012,10 @@ class ParticipantServiceImplTest {
           exception.getMessage());
 
       verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
-      verifyNoMoreInteractions(meetingService);
-      verifyNoInteractions(roomService, participantRepository, eventDispatcher, videoServerService);
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user3Id.toString());
+      verifyNoMoreInteractions(meetingService, participantRepository);
+      verifyNoInteractions(roomService, eventDispatcher, videoServerService);
     }
 
     @Test
@@ -1020,8 +1041,10 @@ class ParticipantServiceImplTest {
           exception.getMessage());
 
       verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
-      verifyNoMoreInteractions(meetingService);
-      verifyNoInteractions(roomService, participantRepository, eventDispatcher, videoServerService);
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user3Id.toString());
+      verifyNoMoreInteractions(meetingService, participantRepository);
+      verifyNoInteractions(roomService, eventDispatcher, videoServerService);
     }
 
     @Test
@@ -1031,10 +1054,11 @@ class ParticipantServiceImplTest {
       UserPrincipal user = UserPrincipal.create(user2Id).queueId(user2Queue1);
       when(meetingService.getMeetingEntity(permanentMeetingId))
           .thenReturn(Optional.of(permanentMeeting));
-      when(roomService.getRoomAndValidateUser(roomId, user, true))
-          .thenThrow(
+      doThrow(
               new ForbiddenException(
-                  String.format("User '%s' is not an owner of room '%s'", user.getId(), roomId)));
+                  String.format("User '%s' is not an owner of room '%s'", user.getId(), roomId)))
+          .when(roomService)
+          .validateUserMembership(roomId, user, true);
 
       ChatsHttpException exception =
           assertThrows(
@@ -1055,8 +1079,11 @@ class ParticipantServiceImplTest {
 
       verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
       verifyNoMoreInteractions(meetingService);
-      verify(roomService, times(1)).getRoomAndValidateUser(roomId, user, true);
-      verifyNoInteractions(participantRepository, eventDispatcher, videoServerService);
+      verify(roomService, times(1)).validateUserMembership(roomId, user, true);
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user4Id.toString());
+      verifyNoMoreInteractions(participantRepository);
+      verifyNoInteractions(eventDispatcher, videoServerService);
     }
   }
 
@@ -1067,15 +1094,11 @@ class ParticipantServiceImplTest {
     @Test
     @DisplayName("It enables the screen stream for the current user")
     void enableScreenStream_testOkEnableWithSessionEqualToCurrent() {
-      when(meetingService.getMeetingEntity(permanentMeetingId))
-          .thenReturn(Optional.of(permanentMeeting));
-
       participantService.updateMediaStream(
           permanentMeetingId,
           MediaStreamSettingsDto.create().type(TypeEnum.SCREEN).enabled(true).sdp("sdp"),
           UserPrincipal.create(user1Id).queueId(user1Queue1));
 
-      verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
       verify(participantRepository, times(1))
           .update(
               ParticipantBuilder.create(Meeting.create(), user1Id.toString())
@@ -1090,6 +1113,8 @@ class ParticipantServiceImplTest {
               permanentMeetingId.toString(),
               MediaStreamSettingsDto.create().type(TypeEnum.SCREEN).enabled(true).sdp("sdp"));
 
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user1Id.toString());
       verifyNoMoreInteractions(meetingService, participantRepository, videoServerService);
       verifyNoInteractions(eventDispatcher, roomService);
     }
@@ -1097,17 +1122,15 @@ class ParticipantServiceImplTest {
     @Test
     @DisplayName("If screen stream is already enabled for the current user, correctly it ignores")
     void enableScreenStream_testOkScreenStreamAlreadyEnabledWithSessionEqualToCurrent() {
-      when(meetingService.getMeetingEntity(permanentMeetingId))
-          .thenReturn(Optional.of(permanentMeeting));
-
       participantService.updateMediaStream(
           permanentMeetingId,
           MediaStreamSettingsDto.create().type(TypeEnum.SCREEN).enabled(true).sdp("sdp"),
           UserPrincipal.create(user4Id).queueId(user4Queue1));
 
-      verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
-      verifyNoMoreInteractions(meetingService);
-      verifyNoInteractions(roomService, participantRepository, eventDispatcher, videoServerService);
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user4Id.toString());
+      verifyNoMoreInteractions(meetingService, participantRepository);
+      verifyNoInteractions(roomService, eventDispatcher, videoServerService);
     }
 
     @Test
@@ -1138,14 +1161,18 @@ class ParticipantServiceImplTest {
           exception.getMessage());
 
       verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
-      verifyNoMoreInteractions(meetingService);
-      verifyNoInteractions(roomService, participantRepository, eventDispatcher, videoServerService);
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user3Id.toString());
+      verifyNoMoreInteractions(meetingService, participantRepository);
+      verifyNoInteractions(roomService, eventDispatcher, videoServerService);
     }
 
     @Test
     @DisplayName("If the requested meeting doesn't exist, it throws a 'not found' exception")
     void enableScreenStream_testErrorMeetingNotExists() {
       when(meetingService.getMeetingEntity(permanentMeetingId)).thenReturn(Optional.empty());
+      when(participantRepository.getById(permanentMeetingId.toString(), user1Id.toString()))
+          .thenReturn(Optional.empty());
 
       ChatsHttpException exception =
           assertThrows(
@@ -1166,8 +1193,10 @@ class ParticipantServiceImplTest {
           exception.getMessage());
 
       verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
-      verifyNoMoreInteractions(meetingService);
-      verifyNoInteractions(roomService, participantRepository, eventDispatcher, videoServerService);
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user1Id.toString());
+      verifyNoMoreInteractions(meetingService, participantRepository);
+      verifyNoInteractions(roomService, eventDispatcher, videoServerService);
     }
   }
 
@@ -1178,15 +1207,11 @@ class ParticipantServiceImplTest {
     @Test
     @DisplayName("It disables the screen stream for the current user")
     void disableScreenStream_testOkDisableWithSessionEqualToCurrent() {
-      when(meetingService.getMeetingEntity(permanentMeetingId))
-          .thenReturn(Optional.of(permanentMeeting));
-
       participantService.updateMediaStream(
           permanentMeetingId,
           MediaStreamSettingsDto.create().type(TypeEnum.SCREEN).enabled(false),
           UserPrincipal.create(user4Id).queueId(user4Queue1));
 
-      verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
       verify(participantRepository, times(1))
           .update(
               ParticipantBuilder.create(Meeting.create(), user4Id.toString())
@@ -1210,6 +1235,9 @@ class ParticipantServiceImplTest {
                   .userId(user4Id)
                   .mediaType(MediaType.SCREEN)
                   .active(false));
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user4Id.toString());
+      verify(participantRepository, times(1)).getParticipantsIds(permanentMeetingId.toString());
       verifyNoMoreInteractions(
           meetingService, participantRepository, eventDispatcher, videoServerService);
       verifyNoInteractions(roomService);
@@ -1218,17 +1246,15 @@ class ParticipantServiceImplTest {
     @Test
     @DisplayName("If screen stream is already disabled for the current user, correctly it ignores")
     void disableScreenStream_testOkScreenStreamAlreadyDisabledWithSessionEqualToCurrent() {
-      when(meetingService.getMeetingEntity(permanentMeetingId))
-          .thenReturn(Optional.of(permanentMeeting));
-
       participantService.updateMediaStream(
           permanentMeetingId,
           MediaStreamSettingsDto.create().type(TypeEnum.SCREEN).enabled(false),
           UserPrincipal.create(user1Id).queueId(user1Queue1));
 
-      verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
-      verifyNoMoreInteractions(meetingService);
-      verifyNoInteractions(roomService, participantRepository, eventDispatcher, videoServerService);
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user1Id.toString());
+      verifyNoMoreInteractions(meetingService, participantRepository);
+      verifyNoInteractions(roomService, eventDispatcher, videoServerService);
     }
 
     @Test
@@ -1256,14 +1282,18 @@ class ParticipantServiceImplTest {
           exception.getMessage());
 
       verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
-      verifyNoMoreInteractions(meetingService);
-      verifyNoInteractions(roomService, participantRepository, eventDispatcher, videoServerService);
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user3Id.toString());
+      verifyNoMoreInteractions(meetingService, participantRepository);
+      verifyNoInteractions(roomService, eventDispatcher, videoServerService);
     }
 
     @Test
     @DisplayName("If the requested meeting doesn't exist, it throws a 'not found' exception")
     void disableScreenStream_testErrorMeetingNotExists() {
       when(meetingService.getMeetingEntity(permanentMeetingId)).thenReturn(Optional.empty());
+      when(participantRepository.getById(permanentMeetingId.toString(), user1Id.toString()))
+          .thenReturn(Optional.empty());
 
       ChatsHttpException exception =
           assertThrows(
@@ -1281,8 +1311,10 @@ class ParticipantServiceImplTest {
           exception.getMessage());
 
       verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
-      verifyNoMoreInteractions(meetingService);
-      verifyNoInteractions(roomService, participantRepository, eventDispatcher, videoServerService);
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user1Id.toString());
+      verifyNoMoreInteractions(meetingService, participantRepository);
+      verifyNoInteractions(roomService, eventDispatcher, videoServerService);
     }
   }
 
@@ -1293,9 +1325,8 @@ class ParticipantServiceImplTest {
     @Test
     @DisplayName("It raises the hand for the current user")
     void raiseHand_testOk() {
-      when(meetingService.getMeetingEntity(permanentMeetingId))
-          .thenReturn(Optional.of(permanentMeeting));
       OffsetDateTime dateTime = OffsetDateTime.now(clock);
+
       when(participantRepository.getHandRaisedByMeetingId(permanentMeetingId.toString()))
           .thenReturn(
               List.of(
@@ -1306,10 +1337,7 @@ class ParticipantServiceImplTest {
           HandStatusDto.create().raised(true),
           UserPrincipal.create(user1Id).queueId(user1Queue1));
 
-      verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
       verify(participantRepository, times(1)).update(participant1Session1.handRaisedAt(dateTime));
-      verify(participantRepository, times(1))
-          .getHandRaisedByMeetingId(permanentMeetingId.toString());
       verify(eventDispatcher, times(1))
           .sendToUserExchange(
               List.of(user1Id.toString(), user2Id.toString(), user4Id.toString()),
@@ -1324,6 +1352,11 @@ class ParticipantServiceImplTest {
               MeetingParticipantHandRaisedList.create()
                   .meetingId(permanentMeetingId)
                   .participants(List.of(user1Id)));
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user1Id.toString());
+      verify(participantRepository, times(1))
+          .getHandRaisedByMeetingId(permanentMeetingId.toString());
+      verify(participantRepository, times(1)).getParticipantsIds(permanentMeetingId.toString());
       verifyNoMoreInteractions(
           meetingService, participantRepository, eventDispatcher, videoServerService);
       verifyNoInteractions(roomService);
@@ -1338,15 +1371,13 @@ class ParticipantServiceImplTest {
               participant2Session1,
               participant4Session1));
 
-      when(meetingService.getMeetingEntity(permanentMeetingId))
-          .thenReturn(Optional.of(permanentMeeting));
-
       participantService.updateHandStatus(
           permanentMeetingId,
           HandStatusDto.create().raised(true),
           UserPrincipal.create(user1Id).queueId(user1Queue1));
 
-      verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user1Id.toString());
       verifyNoMoreInteractions(
           meetingService, participantRepository, eventDispatcher, videoServerService);
       verifyNoInteractions(roomService);
@@ -1361,9 +1392,8 @@ class ParticipantServiceImplTest {
               participant2Session1,
               participant4Session1));
 
-      when(meetingService.getMeetingEntity(permanentMeetingId))
-          .thenReturn(Optional.of(permanentMeeting));
       OffsetDateTime dateTime = OffsetDateTime.now(clock);
+
       when(participantRepository.getHandRaisedByMeetingId(permanentMeetingId.toString()))
           .thenReturn(
               List.of(
@@ -1376,10 +1406,7 @@ class ParticipantServiceImplTest {
           HandStatusDto.create().raised(true),
           UserPrincipal.create(user2Id).queueId(user2Queue1));
 
-      verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
       verify(participantRepository, times(1)).update(participant2Session1.handRaisedAt(dateTime));
-      verify(participantRepository, times(1))
-          .getHandRaisedByMeetingId(permanentMeetingId.toString());
       verify(eventDispatcher, times(1))
           .sendToUserExchange(
               List.of(user1Id.toString(), user2Id.toString(), user4Id.toString()),
@@ -1394,6 +1421,11 @@ class ParticipantServiceImplTest {
               MeetingParticipantHandRaisedList.create()
                   .meetingId(permanentMeetingId)
                   .participants(List.of(user1Id, user2Id)));
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user2Id.toString());
+      verify(participantRepository, times(1))
+          .getHandRaisedByMeetingId(permanentMeetingId.toString());
+      verify(participantRepository, times(1)).getParticipantsIds(permanentMeetingId.toString());
       verifyNoMoreInteractions(
           meetingService, participantRepository, eventDispatcher, videoServerService);
       verifyNoInteractions(roomService);
@@ -1408,20 +1440,12 @@ class ParticipantServiceImplTest {
               participant2Session1,
               participant4Session1));
 
-      when(meetingService.getMeetingEntity(permanentMeetingId))
-          .thenReturn(Optional.of(permanentMeeting));
-      when(participantRepository.getHandRaisedByMeetingId(permanentMeetingId.toString()))
-          .thenReturn(List.of());
-
       participantService.updateHandStatus(
           permanentMeetingId,
           HandStatusDto.create().raised(false),
           UserPrincipal.create(user1Id).queueId(user1Queue1));
 
-      verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
       verify(participantRepository, times(1)).update(participant1Session1.handRaisedAt(null));
-      verify(participantRepository, times(1))
-          .getHandRaisedByMeetingId(permanentMeetingId.toString());
       verify(eventDispatcher, times(1))
           .sendToUserExchange(
               List.of(user1Id.toString(), user2Id.toString(), user4Id.toString()),
@@ -1435,6 +1459,11 @@ class ParticipantServiceImplTest {
               MeetingParticipantHandRaisedList.create()
                   .meetingId(permanentMeetingId)
                   .participants(List.of()));
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user1Id.toString());
+      verify(participantRepository, times(1))
+          .getHandRaisedByMeetingId(permanentMeetingId.toString());
+      verify(participantRepository, times(1)).getParticipantsIds(permanentMeetingId.toString());
       verifyNoMoreInteractions(
           meetingService, participantRepository, eventDispatcher, videoServerService);
       verifyNoInteractions(roomService);
@@ -1449,25 +1478,15 @@ class ParticipantServiceImplTest {
               participant2Session1.handRaisedAt(OffsetDateTime.parse("2022-01-01T12:00+01:00")),
               participant4Session1.handRaisedAt(OffsetDateTime.parse("2022-01-01T12:02+01:00"))));
 
-      when(meetingService.getMeetingEntity(permanentMeetingId))
-          .thenReturn(Optional.of(permanentMeeting));
       when(participantRepository.getHandRaisedByMeetingId(permanentMeetingId.toString()))
-          .thenReturn(
-              List.of(
-                  Participant.create(permanentMeeting, user1Id.toString())
-                      .handRaisedAt(OffsetDateTime.parse("2022-01-01T11:58+01:00")),
-                  Participant.create(permanentMeeting, user2Id.toString())
-                      .handRaisedAt(OffsetDateTime.parse("2022-01-01T12:00+01:00"))));
+          .thenReturn(List.of(participant1Session1, participant2Session1));
 
       participantService.updateHandStatus(
           permanentMeetingId,
           HandStatusDto.create().raised(false),
           UserPrincipal.create(user4Id).queueId(user4Queue1));
 
-      verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
       verify(participantRepository, times(1)).update(participant4Session1.handRaisedAt(null));
-      verify(participantRepository, times(1))
-          .getHandRaisedByMeetingId(permanentMeetingId.toString());
       verify(eventDispatcher, times(1))
           .sendToUserExchange(
               List.of(user1Id.toString(), user2Id.toString(), user4Id.toString()),
@@ -1481,6 +1500,11 @@ class ParticipantServiceImplTest {
               MeetingParticipantHandRaisedList.create()
                   .meetingId(permanentMeetingId)
                   .participants(List.of(user1Id, user2Id)));
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user4Id.toString());
+      verify(participantRepository, times(1))
+          .getHandRaisedByMeetingId(permanentMeetingId.toString());
+      verify(participantRepository, times(1)).getParticipantsIds(permanentMeetingId.toString());
       verifyNoMoreInteractions(
           meetingService, participantRepository, eventDispatcher, videoServerService);
       verifyNoInteractions(roomService);
@@ -1490,15 +1514,13 @@ class ParticipantServiceImplTest {
     @DisplayName(
         "It tries to stop raising the hand but the hand is not raised for the current user")
     void stopRaisingHand_testOkAlreadyNotRaised() {
-      when(meetingService.getMeetingEntity(permanentMeetingId))
-          .thenReturn(Optional.of(permanentMeeting));
-
       participantService.updateHandStatus(
           permanentMeetingId,
           HandStatusDto.create().raised(false),
           UserPrincipal.create(user1Id).queueId(user1Queue1));
 
-      verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user1Id.toString());
       verifyNoMoreInteractions(
           meetingService, participantRepository, eventDispatcher, videoServerService);
       verifyNoInteractions(roomService);
@@ -1515,8 +1537,6 @@ class ParticipantServiceImplTest {
 
       when(meetingService.getMeetingEntity(permanentMeetingId))
           .thenReturn(Optional.of(permanentMeeting));
-      when(participantRepository.getHandRaisedByMeetingId(permanentMeetingId.toString()))
-          .thenReturn(List.of());
 
       UserPrincipal currentUser = UserPrincipal.create(user1Id).queueId(user1Queue1);
       participantService.updateHandStatus(
@@ -1525,10 +1545,8 @@ class ParticipantServiceImplTest {
           currentUser);
 
       verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
-      verify(roomService, times(1)).getRoomAndValidateUser(roomId, currentUser, true);
+      verify(roomService, times(1)).validateUserMembership(roomId, currentUser, true);
       verify(participantRepository, times(1)).update(participant4Session1.handRaisedAt(null));
-      verify(participantRepository, times(1))
-          .getHandRaisedByMeetingId(permanentMeetingId.toString());
       verify(eventDispatcher, times(1))
           .sendToUserExchange(
               List.of(user1Id.toString(), user2Id.toString(), user4Id.toString()),
@@ -1543,8 +1561,15 @@ class ParticipantServiceImplTest {
               MeetingParticipantHandRaisedList.create()
                   .meetingId(permanentMeetingId)
                   .participants(List.of()));
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user4Id.toString());
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user1Id.toString());
+      verify(participantRepository, times(1))
+          .getHandRaisedByMeetingId(permanentMeetingId.toString());
       verifyNoMoreInteractions(
           meetingService, participantRepository, eventDispatcher, videoServerService);
+      verify(participantRepository, times(1)).getParticipantsIds(permanentMeetingId.toString());
       verifyNoMoreInteractions(roomService);
     }
 
@@ -1556,8 +1581,6 @@ class ParticipantServiceImplTest {
       permanentMeeting.participants(
           List.of(participant1Session1, participant2Session1, participant4Session1));
 
-      when(meetingService.getMeetingEntity(permanentMeetingId))
-          .thenReturn(Optional.of(permanentMeeting));
       UserPrincipal currentUser = UserPrincipal.create(user1Id).queueId(user1Queue1);
 
       ChatsHttpException exception =
@@ -1576,8 +1599,8 @@ class ParticipantServiceImplTest {
               "Bad Request - User '%s' cannot perform this action for user '%s'", user1Id, user4Id),
           exception.getMessage());
 
-      verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
-
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user4Id.toString());
       verifyNoMoreInteractions(
           meetingService, participantRepository, eventDispatcher, videoServerService);
       verifyNoMoreInteractions(roomService);
@@ -1596,11 +1619,12 @@ class ParticipantServiceImplTest {
       when(meetingService.getMeetingEntity(permanentMeetingId))
           .thenReturn(Optional.of(permanentMeeting));
       UserPrincipal currentUser = UserPrincipal.create(user2Id).queueId(user2Queue1);
-      when(roomService.getRoomAndValidateUser(roomId, currentUser, true))
-          .thenThrow(
+      doThrow(
               new ForbiddenException(
                   String.format(
-                      "User '%s' is not an owner of room '%s'", currentUser.getId(), roomId)));
+                      "User '%s' is not an owner of room '%s'", currentUser.getId(), roomId)))
+          .when(roomService)
+          .validateUserMembership(roomId, currentUser, true);
 
       ChatsHttpException exception =
           assertThrows(
@@ -1618,8 +1642,10 @@ class ParticipantServiceImplTest {
           exception.getMessage());
 
       verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
-      verify(roomService, times(1)).getRoomAndValidateUser(roomId, currentUser, true);
+      verify(roomService, times(1)).validateUserMembership(roomId, currentUser, true);
 
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user4Id.toString());
       verifyNoMoreInteractions(
           meetingService, participantRepository, eventDispatcher, videoServerService);
       verifyNoMoreInteractions(roomService);
@@ -1648,14 +1674,18 @@ class ParticipantServiceImplTest {
           exception.getMessage());
 
       verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
-      verifyNoMoreInteractions(meetingService);
-      verifyNoInteractions(roomService, participantRepository, eventDispatcher, videoServerService);
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user3Id.toString());
+      verifyNoMoreInteractions(meetingService, participantRepository);
+      verifyNoInteractions(roomService, eventDispatcher, videoServerService);
     }
 
     @Test
     @DisplayName("If the requested meeting doesn't exist, it throws a 'not found' exception")
     void raiseHand_testErrorMeetingNotExists() {
       when(meetingService.getMeetingEntity(permanentMeetingId)).thenReturn(Optional.empty());
+      when(participantRepository.getById(permanentMeetingId.toString(), user1Id.toString()))
+          .thenReturn(Optional.empty());
 
       ChatsHttpException exception =
           assertThrows(
@@ -1673,8 +1703,108 @@ class ParticipantServiceImplTest {
           exception.getMessage());
 
       verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
-      verifyNoMoreInteractions(meetingService);
-      verifyNoInteractions(roomService, participantRepository, eventDispatcher, videoServerService);
+      verify(participantRepository, times(1))
+          .getById(permanentMeetingId.toString(), user1Id.toString());
+      verifyNoMoreInteractions(meetingService, participantRepository);
+      verifyNoInteractions(roomService, eventDispatcher, videoServerService);
+    }
+  }
+
+  @Nested
+  @DisplayName("Participants reads tests")
+  class ParticipantsReadsTests {
+
+    @Test
+    @DisplayName("It sends every update to the participants read at the time of the update")
+    void updates_testParticipantsReadForEachUpdate() {
+      UserPrincipal currentUser = UserPrincipal.create(user4Id).queueId(user4Queue1);
+      when(participantRepository.getParticipantsIds(permanentMeetingId.toString()))
+          .thenReturn(List.of(user1Id.toString(), user2Id.toString(), user4Id.toString()))
+          .thenReturn(List.of(user2Id.toString(), user4Id.toString()));
+
+      participantService.updateMediaStream(
+          permanentMeetingId,
+          MediaStreamSettingsDto.create().type(TypeEnum.VIDEO).enabled(false),
+          currentUser);
+      participantService.updateMediaStream(
+          permanentMeetingId,
+          MediaStreamSettingsDto.create().type(TypeEnum.SCREEN).enabled(false),
+          currentUser);
+
+      verify(eventDispatcher, times(1))
+          .sendToUserExchange(
+              List.of(user1Id.toString(), user2Id.toString(), user4Id.toString()),
+              MeetingMediaStreamChanged.create()
+                  .meetingId(permanentMeetingId)
+                  .userId(user4Id)
+                  .mediaType(MediaType.VIDEO)
+                  .active(false));
+      verify(eventDispatcher, times(1))
+          .sendToUserExchange(
+              List.of(user2Id.toString(), user4Id.toString()),
+              MeetingMediaStreamChanged.create()
+                  .meetingId(permanentMeetingId)
+                  .userId(user4Id)
+                  .mediaType(MediaType.SCREEN)
+                  .active(false));
+      verify(participantRepository, times(2)).getParticipantsIds(permanentMeetingId.toString());
+      verifyNoInteractions(meetingService);
+    }
+
+    @Test
+    @DisplayName(
+        "It decides from the database when the participant was changed through another node")
+    void updates_testParticipantChangedThroughAnotherNode() {
+      UserPrincipal currentUser = UserPrincipal.create(user1Id).queueId(user1Queue1);
+      Participant changedParticipant =
+          ParticipantBuilder.create(Meeting.create(), user1Id.toString())
+              .queueId(user1Queue1)
+              .audioStreamOn(false)
+              .videoStreamOn(true)
+              .screenStreamOn(false)
+              .createdAt(OffsetDateTime.parse("2022-01-01T13:00:00Z"))
+              .build();
+      when(participantRepository.getById(permanentMeetingId.toString(), user1Id.toString()))
+          .thenReturn(Optional.of(changedParticipant));
+
+      participantService.updateMediaStream(
+          permanentMeetingId,
+          MediaStreamSettingsDto.create().type(TypeEnum.VIDEO).enabled(false),
+          currentUser);
+
+      verify(videoServerService, times(1))
+          .updateMediaStream(
+              user1Id.toString(),
+              permanentMeetingId.toString(),
+              MediaStreamSettingsDto.create().type(TypeEnum.VIDEO).enabled(false));
+      verify(participantRepository, times(1)).update(changedParticipant);
+      assertFalse(changedParticipant.hasVideoStreamOn());
+      verifyNoInteractions(meetingService);
+    }
+
+    @Test
+    @DisplayName("It does not find a participant who left through another node")
+    void updates_testParticipantLeftThroughAnotherNode() {
+      when(meetingService.getMeetingEntity(permanentMeetingId))
+          .thenReturn(Optional.of(permanentMeeting));
+      when(participantRepository.getById(permanentMeetingId.toString(), user1Id.toString()))
+          .thenReturn(Optional.empty());
+
+      ChatsHttpException exception =
+          assertThrows(
+              NotFoundException.class,
+              () ->
+                  participantService.updateAudioStream(
+                      permanentMeetingId,
+                      AudioStreamSettingsDto.create().enabled(false),
+                      UserPrincipal.create(user1Id).queueId(user1Queue1)));
+
+      assertEquals(
+          String.format(
+              "Not Found - User '%s' not found into meeting '%s'", user1Id, permanentMeetingId),
+          exception.getMessage());
+      verify(meetingService, times(1)).getMeetingEntity(permanentMeetingId);
+      verifyNoInteractions(videoServerService, eventDispatcher);
     }
   }
 }
@@ -32,7 +32,10 @@ import com.zextras.carbonio.async.model.RoomPictureDeleted;
 import com.zextras.carbonio.async.model.RoomUnmuted;
 import com.zextras.carbonio.async.model.RoomUpdated;
 import com.zextras.carbonio.chats.core.annotations.UnitTest;
+import com.zextras.carbonio.chats.core.cache.CacheHandler;
 import com.zextras.carbonio.chats.core.config.AppConfig;
+import com.zextras.carbonio.chats.core.config.ConfigName;
+import com.zextras.carbonio.chats.core.config.impl.MockAppConfig;
 import com.zextras.carbonio.chats.core.data.entity.FileMetadata;
 import com.zextras.carbonio.chats.core.data.entity.Meeting;
 import com.zextras.carbonio.chats.core.data.entity.ParticipantBuilder;
@@ -40,6 +43,7 @@ import com.zextras.carbonio.chats.core.data.entity.Room;
 import com.zextras.carbonio.chats.core.data.entity.RoomUserSettings;
 import com.zextras.carbonio.chats.core.data.entity.Subscription;
 import com.zextras.carbonio.chats.core.data.model.FileContentAndMetadata;
+import com.zextras.carbonio.chats.core.data.model.RoomSummary;
 import com.zextras.carbonio.chats.core.data.type.FileMetadataType;
 import com.zextras.carbonio.chats.core.exception.BadRequestException;
 import com.zextras.carbonio.chats.core.exception.ChatsHttpException;
@@ -69,6 +73,8 @@ import com.zextras.carbonio.chats.model.RoomDto;
 import com.zextras.carbonio.chats.model.RoomEditableFieldsDto;
 import com.zextras.carbonio.chats.model.RoomExtraFieldDto;
 import com.zextras.carbonio.chats.model.RoomTypeDto;
+import com.zextras.carbonio.chats.model.RoomsChangesDto;
+import io.ebean.DuplicateKeyException;
 import jakarta.ws.rs.core.Response.Status;
 import java.io.InputStream;
 import java.time.Clock;
@@ -106,6 +112,7 @@ class RoomServiceImplTest {
   private final StoragesService storagesService;
   private final Clock clock;
   private final CapabilityService capabilityService;
+  private final AppConfig appConfig;
 
   public RoomServiceImplTest(RoomMapper roomMapper) {
     this.roomRepository = mock(RoomRepository.class);
@@ -120,7 +127,7 @@ class RoomServiceImplTest {
     this.eventDispatcher = mock(EventDispatcher.class);
     this.messageDispatcher = mock(MessageDispatcher.class);
     this.clock = mock(Clock.class);
-    AppConfig appConfig = mock(AppConfig.class);
+    this.appConfig = mock(AppConfig.class);
     this.roomService =
         new RoomServiceImpl(
             this.roomRepository,
@@ -136,7 +143,8 @@ class RoomServiceImplTest {
             this.messageDispatcher,
             roomMapper,
             this.clock,
-            appConfig);
+            appConfig,
+            new CacheHandler(MockAppConfig.create()));
   }
 
   private UUID user1Id;
@@ -270,13 +278,32 @@ class RoomServiceImplTest {
   @DisplayName("Get rooms tests")
   class GetRoomTests {
 
+    private List<RoomSummary> toSummaries(boolean withMembers, Room... rooms) {
+      return Arrays.stream(rooms)
+          .map(
+              room -> {
+                RoomSummary summary = RoomSummary.create();
+                summary.setId(room.getId());
+                summary.setName(room.getName());
+                summary.setDescription(room.getDescription());
+                summary.setType(room.getType().name());
+                summary.setPictureUpdatedAt(room.getPictureUpdatedAt());
+                if (withMembers) {
+                  room.getSubscriptions()
+                      .forEach(s -> summary.addMember(s.getUserId(), s.isOwner()));
+                }
+                return summary;
+              })
+          .toList();
+    }
+
     @Test
     @DisplayName(
         "Returns all rooms without members or user settings of which the authenticated user is a"
             + " member")
     void getRooms_testOkBasicRooms() {
-      when(roomRepository.getByUserId(user1Id.toString(), false))
-          .thenReturn(Arrays.asList(roomGroup2, roomOneToOne1));
+      when(roomRepository.getSummariesByUserId(user1Id.toString(), false))
+          .thenReturn(toSummaries(false, roomGroup2, roomOneToOne1));
 
       List<RoomDto> rooms = roomService.getRooms(null, UserPrincipal.create(user1Id));
 
@@ -300,8 +327,8 @@ class RoomServiceImplTest {
         "Returns all rooms with members and without user settings of which the authenticated user"
             + " is a member")
     void getRooms_testOkWithMembers() {
-      when(roomRepository.getByUserId(user1Id.toString(), true))
-          .thenReturn(Arrays.asList(roomGroup1, roomOneToOne1));
+      when(roomRepository.getSummariesByUserId(user1Id.toString(), true))
+          .thenReturn(toSummaries(true, roomGroup1, roomOneToOne1));
 
       List<RoomDto> rooms =
           roomService.getRooms(List.of(RoomExtraFieldDto.MEMBERS), UserPrincipal.create(user1Id));
@@ -313,6 +340,12 @@ class RoomServiceImplTest {
       assertEquals(RoomTypeDto.ONE_TO_ONE, rooms.get(1).getType());
       assertNotNull(rooms.get(0).getMembers());
       assertNotNull(rooms.get(1).getMembers());
+      assertEquals(
+          List.of(
+              MemberDto.create().userId(user1Id).owner(true),
+              MemberDto.create().userId(user2Id).owner(false),
+              MemberDto.create().userId(user3Id).owner(false)),
+          rooms.get(0).getMembers());
       assertNull(rooms.get(0).getUserSettings());
       assertNull(rooms.get(1).getUserSettings());
     }
@@ -322,8 +355,8 @@ class RoomServiceImplTest {
         "Returns all rooms without members and with user settings of which the authenticated user"
             + " is a member")
     void getRooms_testOkWithSettings() {
-      when(roomRepository.getByUserId(user1Id.toString(), false))
-          .thenReturn(Arrays.asList(roomGroup1, roomOneToOne1));
+      when(roomRepository.getSummariesByUserId(user1Id.toString(), false))
+          .thenReturn(toSummaries(false, roomGroup1, roomOneToOne1));
       when(roomUserSettingsRepository.getMapGroupedByUserId(user1Id.toString()))
           .thenReturn(
               Map.of(
@@ -348,8 +381,8 @@ class RoomServiceImplTest {
     @DisplayName("Returns all complete rooms of which the authenticated user is a member")
     void getRooms_testOkCompleteRooms() {
       UserPrincipal currentUser = UserPrincipal.create(user1Id);
-      when(roomRepository.getByUserId(user1Id.toString(), true))
-          .thenReturn(Arrays.asList(roomGroup1, roomOneToOne1));
+      when(roomRepository.getSummariesByUserId(user1Id.toString(), true))
+          .thenReturn(toSummaries(true, roomGroup1, roomOneToOne1));
       when(roomUserSettingsRepository.getMapGroupedByUserId(currentUser.getId()))
           .thenReturn(
               Map.of(
@@ -375,6 +408,109 @@ class RoomServiceImplTest {
     }
   }
 
+  @Nested
+  @DisplayName("Get rooms changes tests")
+  class GetRoomsChangesTests {
+
+    @Test
+    @DisplayName("Returns the rooms changed since the date with the identifiers of every room")
+    void getRoomsChanges_testOk() {
+      OffsetDateTime since = OffsetDateTime.parse("2021-12-31T00:00:00Z");
+      when(roomRepository.getByUserIdChangedSince(
+              user1Id.toString(), since.minusSeconds(60), false))
+          .thenReturn(List.of(roomGroup1));
+      when(roomRepository.getIdsByUserId(user1Id.toString()))
+          .thenReturn(List.of(roomGroup1Id.toString(), roomOneToOne1Id.toString()));
+
+      RoomsChangesDto changes =
+          roomService.getRoomsChanges(since, null, UserPrincipal.create(user1Id));
+
+      assertEquals(
+          OffsetDateTime.ofInstant(Instant.parse("2022-01-01T00:00:00Z"), ZoneId.systemDefault()),
+          changes.getSyncedAt());
+      assertEquals(1, changes.getRooms().size());
+      assertEquals(roomGroup1Id, changes.getRooms().get(0).getId());
+      assertEquals(0, changes.getRooms().get(0).getMembers().size());
+      assertNull(changes.getRooms().get(0).getUserSettings());
+      assertEquals(List.of(roomGroup1Id, roomOneToOne1Id), changes.getRoomsIds());
+      verifyNoInteractions(roomUserSettingsRepository);
+    }
+
+    @Test
+    @DisplayName("Returns the complete rooms changed since the date, loading only their settings")
+    void getRoomsChanges_testOkCompleteRooms() {
+      OffsetDateTime since = OffsetDateTime.parse("2021-12-31T00:00:00Z");
+      when(roomRepository.getByUserIdChangedSince(
+              user1Id.toString(), since.minusSeconds(60), true))
+          .thenReturn(List.of(roomGroup1));
+      when(roomRepository.getIdsByUserId(user1Id.toString()))
+          .thenReturn(List.of(roomGroup1Id.toString(), roomOneToOne1Id.toString()));
+      when(roomUserSettingsRepository.getMapGroupedByUserId(
+              user1Id.toString(), List.of(roomGroup1Id.toString())))
+          .thenReturn(
+              Map.of(
+                  roomGroup1Id.toString(),
+                  RoomUserSettings.create(roomGroup1, user1Id.toString())
+                      .mutedUntil(OffsetDateTime.now())));
+
+      RoomsChangesDto changes =
+          roomService.getRoomsChanges(
+              since,
+              List.of(RoomExtraFieldDto.MEMBERS, RoomExtraFieldDto.SETTINGS),
+              UserPrincipal.create(user1Id));
+
+      assertEquals(1, changes.getRooms().size());
+      assertEquals(3, changes.getRooms().get(0).getMembers().size());
+      assertTrue(changes.getRooms().get(0).getUserSettings().isMuted());
+      assertEquals(List.of(roomGroup1Id, roomOneToOne1Id), changes.getRoomsIds());
+    }
+
+    @Test
+    @DisplayName("Returns only the identifiers of every room if nothing changed since the date")
+    void getRoomsChanges_testOkNoChanges() {
+      OffsetDateTime since = OffsetDateTime.parse("2021-12-31T00:00:00Z");
+      when(roomRepository.getByUserIdChangedSince(
+              user1Id.toString(), since.minusSeconds(60), false))
+          .thenReturn(List.of());
+      when(roomRepository.getIdsByUserId(user1Id.toString()))
+          .thenReturn(List.of(roomGroup1Id.toString()));
+
+      RoomsChangesDto changes =
+          roomService.getRoomsChanges(
+              since, List.of(RoomExtraFieldDto.SETTINGS), UserPrincipal.create(user1Id));
+
+      assertEquals(0, changes.getRooms().size());
+      assertEquals(List.of(roomGroup1Id), changes.getRoomsIds());
+      verifyNoInteractions(roomUserSettingsRepository);
+    }
+
+    @Test
+    @DisplayName("Reads the rooms changed since the configured time before the date")
+    void getRoomsChanges_testConfiguredLookback() {
+      OffsetDateTime since = OffsetDateTime.parse("2021-12-31T00:00:00Z");
+      when(appConfig.get(Integer.class, ConfigName.ROOMS_CHANGES_LOOKBACK_IN_SEC))
+          .thenReturn(Optional.of(300));
+      when(roomRepository.getByUserIdChangedSince(
+              user1Id.toString(), OffsetDateTime.parse("2021-12-30T23:55:00Z"), false))
+          .thenReturn(List.of(roomGroup1));
+
+      RoomsChangesDto changes =
+          roomService.getRoomsChanges(since, null, UserPrincipal.create(user1Id));
+
+      assertEquals(1, changes.getRooms().size());
+      assertEquals(roomGroup1Id, changes.getRooms().get(0).getId());
+    }
+
+    @Test
+    @DisplayName("If the date of the last sync is missing it throws a 'bad request' exception")
+    void getRoomsChanges_testErrorMissingSince() {
+      UserPrincipal currentUser = UserPrincipal.create(user1Id);
+      assertThrows(
+          BadRequestException.class, () -> roomService.getRoomsChanges(null, null, currentUser));
+      verifyNoInteractions(roomRepository);
+    }
+  }
+
   @Nested
   @DisplayName("Get room by id tests")
   class GetRoomByIdTests {
@@ -1025,6 +1161,36 @@ class RoomServiceImplTest {
             "Conflict - The one-to-one room already exists for these users",
             exception.getMessage());
       }
+
+      @Test
+      @DisplayName(
+          "Given creation fields for a one-to-one room, if the same room is created concurrently"
+              + " returns a status code 409")
+      void createRoomOneToOne_testOneToOneCreatedConcurrently() {
+        UserPrincipal mockUserPrincipal = UserPrincipal.create(user1Id);
+        when(userService.userExists(user2Id, mockUserPrincipal)).thenReturn(true);
+        when(roomRepository.getOneToOneByAllUserIds(user1Id.toString(), user2Id.toString()))
+            .thenReturn(Optional.empty());
+        when(roomRepository.insert(any(Room.class)))
+            .thenThrow(new DuplicateKeyException("duplicate key", null));
+        RoomCreationFieldsDto creationFields =
+            RoomCreationFieldsDto.create()
+                .type(RoomTypeDto.ONE_TO_ONE)
+                .members(List.of(MemberDto.create().userId(user2Id)));
+        ChatsHttpException exception =
+            assertThrows(
+                ConflictException.class,
+                () -> roomService.createRoom(creationFields, mockUserPrincipal));
+        assertEquals(Status.CONFLICT.getStatusCode(), exception.getHttpStatusCode());
+        assertEquals(
+            "Conflict - The one-to-one room already exists for these users",
+            exception.getMessage());
+        verify(messageDispatcher, times(1))
+            .createRoom(anyString(), eq(user1Id.toString()), eq(List.of(user2Id.toString())));
+        verify(messageDispatcher, times(1))
+            .removeRoomMembers(anyString(), eq(List.of(user1Id.toString(), user2Id.toString())));
+        verifyNoInteractions(eventDispatcher);
+      }
     }
   }
 
@@ -1201,11 +1367,9 @@ class RoomServiceImplTest {
       roomService.deleteRoom(roomGroup1Id, UserPrincipal.create(user1Id));
 
       verify(messageDispatcher, times(1))
-          .removeRoomMember(roomGroup1Id.toString(), user1Id.toString());
-      verify(messageDispatcher, times(1))
-          .removeRoomMember(roomGroup1Id.toString(), user2Id.toString());
-      verify(messageDispatcher, times(1))
-          .removeRoomMember(roomGroup1Id.toString(), user3Id.toString());
+          .removeRoomMembers(
+              roomGroup1Id.toString(),
+              List.of(user1Id.toString(), user2Id.toString(), user3Id.toString()));
       verify(eventDispatcher, times(1))
           .sendToUserExchange(
               List.of(user1Id.toString(), user2Id.toString(), user3Id.toString()),
@@ -1241,9 +1405,8 @@ class RoomServiceImplTest {
       verify(storagesService, times(1)).deleteFile(pfpMetadata.getId(), user2Id.toString());
       verify(fileMetadataRepository, times(1)).delete(pfpMetadata);
       verify(messageDispatcher, times(1))
-          .removeRoomMember(roomGroup2Id.toString(), user2Id.toString());
-      verify(messageDispatcher, times(1))
-          .removeRoomMember(roomGroup2Id.toString(), user3Id.toString());
+          .removeRoomMembers(
+              roomGroup2Id.toString(), List.of(user2Id.toString(), user3Id.toString()));
       verify(eventDispatcher, times(1))
           .sendToUserExchange(
               List.of(user2Id.toString(), user3Id.toString()),
@@ -1282,11 +1445,9 @@ class RoomServiceImplTest {
       verify(meetingService, times(1)).getMeetingEntity(meetingId);
       verify(meetingService, times(1)).deleteMeeting(user1Id.toString(), meeting, roomGroup1);
       verify(messageDispatcher, times(1))
-          .removeRoomMember(roomGroup1Id.toString(), user1Id.toString());
-      verify(messageDispatcher, times(1))
-          .removeRoomMember(roomGroup1Id.toString(), user2Id.toString());
-      verify(messageDispatcher, times(1))
-          .removeRoomMember(roomGroup1Id.toString(), user3Id.toString());
+          .removeRoomMembers(
+              roomGroup1Id.toString(),
+              List.of(user1Id.toString(), user2Id.toString(), user3Id.toString()));
       verify(eventDispatcher, times(1))
           .sendToUserExchange(
               List.of(user1Id.toString(), user2Id.toString(), user3Id.toString()),
@@ -1771,6 +1932,87 @@ class RoomServiceImplTest {
     }
   }
 
+  @Nested
+  @DisplayName("Validate user membership tests")
+  class ValidateUserMembershipTests {
+
+    @Test
+    @DisplayName("It loads the room members once and then checks them from the cache")
+    void validateUserMembership_testOk() {
+      when(roomRepository.getById(roomGroup1Id.toString())).thenReturn(Optional.of(roomGroup1));
+
+      roomService.validateUserMembership(roomGroup1Id, UserPrincipal.create(user1Id), true);
+      roomService.validateUserMembership(roomGroup1Id, UserPrincipal.create(user2Id), false);
+
+      verify(roomRepository, times(1)).getById(roomGroup1Id.toString());
+      verifyNoMoreInteractions(roomRepository);
+    }
+
+    @Test
+    @DisplayName("It does not cache the room members read while getting the room")
+    void validateUserMembership_testNotCachedByGetRoomAndValidateUser() {
+      when(roomRepository.getById(roomGroup1Id.toString())).thenReturn(Optional.of(roomGroup1));
+
+      roomService.getRoomAndValidateUser(roomGroup1Id, UserPrincipal.create(user1Id), false);
+      roomService.validateUserMembership(roomGroup1Id, UserPrincipal.create(user3Id), false);
+
+      verify(roomRepository, times(2)).getById(roomGroup1Id.toString());
+      verifyNoMoreInteractions(roomRepository);
+    }
+
+    @Test
+    @DisplayName("If the room doesn't exist throws 'not found' exception")
+    void validateUserMembership_testRoomNotExists() {
+      when(roomRepository.getById(roomGroup1Id.toString())).thenReturn(Optional.empty());
+
+      ChatsHttpException exception =
+          assertThrows(
+              NotFoundException.class,
+              () ->
+                  roomService.validateUserMembership(
+                      roomGroup1Id, UserPrincipal.create(user1Id), false));
+
+      assertEquals(Status.NOT_FOUND.getStatusCode(), exception.getHttpStatusCode());
+      assertEquals(String.format("Not Found - Room '%s'", roomGroup1Id), exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("If the user isn't a room member throws 'forbidden' exception")
+    void validateUserMembership_testAuthenticatedUserIsNotARoomMember() {
+      when(roomRepository.getById(roomGroup2Id.toString())).thenReturn(Optional.of(roomGroup2));
+
+      ChatsHttpException exception =
+          assertThrows(
+              ForbiddenException.class,
+              () ->
+                  roomService.validateUserMembership(
+                      roomGroup2Id, UserPrincipal.create(user1Id), false));
+
+      assertEquals(
+          String.format(
+              "Forbidden - User '%s' is not a member of room '%s'", user1Id, roomGroup2Id),
+          exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("If the user isn't a room owner throws 'forbidden' exception")
+    void validateUserMembership_testAuthenticatedUserIsNotARoomOwner() {
+      when(roomRepository.getById(roomGroup1Id.toString())).thenReturn(Optional.of(roomGroup1));
+
+      ChatsHttpException exception =
+          assertThrows(
+              ForbiddenException.class,
+              () ->
+                  roomService.validateUserMembership(
+                      roomGroup1Id, UserPrincipal.create(user2Id), true));
+
+      assertEquals(
+          String.format(
+              "Forbidden - User '%s' is not an owner of room '%s'", user2Id, roomGroup1Id),
+          exception.getMessage());
+    }
+  }
+
   @Nested
   @DisplayName("Get room picture tests")
   class GetRoomPictureTests {
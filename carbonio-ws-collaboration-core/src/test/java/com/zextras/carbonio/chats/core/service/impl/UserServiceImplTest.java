@@ -11,9 +11,14 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import com.zextras.carbonio.chats.core.annotations.UnitTest;
+import com.zextras.carbonio.chats.core.cache.CacheHandler;
+import com.zextras.carbonio.chats.core.config.impl.MockAppConfig;
 import com.zextras.carbonio.chats.core.data.entity.User;
 import com.zextras.carbonio.chats.core.data.model.UserProfile;
 import com.zextras.carbonio.chats.core.exception.NotFoundException;
@@ -43,7 +48,9 @@ class UserServiceImplTest {
   public UserServiceImplTest() {
     this.profilingService = mock(ProfilingService.class);
     this.userRepository = mock(UserRepository.class);
-    this.userService = new UserServiceImpl(profilingService, userRepository);
+    this.userService =
+        new UserServiceImpl(
+            profilingService, userRepository, new CacheHandler(MockAppConfig.create()));
   }
 
   @Nested
@@ -186,7 +193,8 @@ class UserServiceImplTest {
           .thenReturn(
               Collections.singletonList(
                   User.create().id(requestedUserId1.toString()).statusMessage("my status 1")));
-      when(profilingService.getByIds(currentPrincipal, strUserIds))
+      when(profilingService.getByIds(
+              currentPrincipal, Collections.singletonList(requestedUserId1.toString())))
           .thenReturn(
               Collections.singletonList(
                   UserProfile.create(requestedUserId1)
@@ -211,6 +219,36 @@ class UserServiceImplTest {
       assertTrue(userService.getUsersByIds(Collections.emptyList(), currentPrincipal).isEmpty());
     }
 
+    @Test
+    @DisplayName("Retrieves from the profiling service only the users not already cached")
+    void getUsersByIds_testOnlyMissingProfilesRetrieved() {
+      UUID requestedUserId1 = UUID.randomUUID();
+      UUID requestedUserId2 = UUID.randomUUID();
+      UserPrincipal currentPrincipal = UserPrincipal.create(requestedUserId1);
+      when(profilingService.getById(currentPrincipal, requestedUserId1))
+          .thenReturn(Optional.of(UserProfile.create(requestedUserId1).name("test user 1")));
+      when(profilingService.getByIds(
+              currentPrincipal, Collections.singletonList(requestedUserId2.toString())))
+          .thenReturn(
+              Collections.singletonList(UserProfile.create(requestedUserId2).name("test user 2")));
+      when(userRepository.getByIds(
+              List.of(requestedUserId1.toString(), requestedUserId2.toString())))
+          .thenReturn(Collections.emptyList());
+
+      assertTrue(userService.userExists(requestedUserId1, currentPrincipal));
+      List<UserDto> usersById =
+          userService.getUsersByIds(
+              List.of(requestedUserId1, requestedUserId2), currentPrincipal);
+
+      assertEquals(2, usersById.size());
+      assertEquals("test user 1", usersById.get(0).getName());
+      assertEquals("test user 2", usersById.get(1).getName());
+      verify(profilingService, times(1)).getById(currentPrincipal, requestedUserId1);
+      verify(profilingService, times(1))
+          .getByIds(currentPrincipal, Collections.singletonList(requestedUserId2.toString()));
+      verifyNoMoreInteractions(profilingService);
+    }
+
     @Test
     @DisplayName("Returns the user with the profiling info if it's not found in out db")
     void getUsersByIds_testDbNotFound() {
@@ -9,15 +9,20 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import com.zextras.carbonio.chats.core.annotations.UnitTest;
+import com.zextras.carbonio.chats.core.cache.CacheHandler;
+import com.zextras.carbonio.chats.core.config.impl.MockAppConfig;
 import com.zextras.carbonio.chats.core.data.entity.VideoServerMeeting;
 import com.zextras.carbonio.chats.core.data.entity.VideoServerSession;
 import com.zextras.carbonio.chats.core.exception.VideoServerException;
@@ -48,6 +53,8 @@ import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.
 import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.videoroom.VideoRoomDataInfo;
 import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.videoroom.VideoRoomPluginData;
 import com.zextras.carbonio.chats.core.infrastructure.videoserver.data.response.videoroom.VideoRoomResponse;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.impl.VideoServerConnectionPool;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.impl.VideoServerNodes;
 import com.zextras.carbonio.chats.core.infrastructure.videoserver.impl.VideoServerServiceImpl;
 import com.zextras.carbonio.chats.core.repository.VideoServerMeetingRepository;
 import com.zextras.carbonio.chats.core.repository.VideoServerSessionRepository;
@@ -58,9 +65,12 @@ import com.zextras.carbonio.chats.model.SubscriptionUpdatesDto;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -71,28 +81,41 @@ import org.mockito.ArgumentCaptor;
 @UnitTest
 class VideoServerServiceImplTest {
 
+  private static final String VIDEO_SERVER_NODE = "videoserver-1:8088";
+
   private final VideoServerClient videoServerClient;
+  private final VideoServerConnectionPool videoServerConnectionPool;
   private final VideoServerMeetingRepository videoServerMeetingRepository;
   private final VideoServerSessionRepository videoServerSessionRepository;
+  private final VideoServerConfig videoServerConfig;
+  private final Clock clock;
   private final VideoServerService videoServerService;
 
   public VideoServerServiceImplTest() {
     this.videoServerClient = mock(VideoServerClient.class);
+    this.videoServerConnectionPool = mock(VideoServerConnectionPool.class);
     this.videoServerMeetingRepository = mock(VideoServerMeetingRepository.class);
     this.videoServerSessionRepository = mock(VideoServerSessionRepository.class);
-    Clock clock = mock(Clock.class);
+    this.clock = mock(Clock.class);
     when(clock.instant()).thenReturn(Instant.parse("2022-01-01T11:00:00Z"));
     when(clock.getZone()).thenReturn(ZoneId.of("UTC+01:00"));
-    VideoServerConfig videoServerConfig = mock(VideoServerConfig.class);
+    this.videoServerConfig = mock(VideoServerConfig.class);
     when(videoServerConfig.getApiSecret()).thenReturn("token");
 
     this.videoServerService =
-        new VideoServerServiceImpl(
-            videoServerConfig,
-            videoServerClient,
-            videoServerMeetingRepository,
-            videoServerSessionRepository,
-            clock);
+        createVideoServerService(
+            new VideoServerNodes(Map.of(VIDEO_SERVER_NODE, videoServerClient)));
+  }
+
+  private VideoServerService createVideoServerService(VideoServerNodes videoServerNodes) {
+    return new VideoServerServiceImpl(
+        videoServerConfig,
+        videoServerNodes,
+        videoServerConnectionPool,
+        videoServerMeetingRepository,
+        videoServerSessionRepository,
+        new CacheHandler(MockAppConfig.create()),
+        clock);
   }
 
   private UUID meeting1Id;
@@ -147,7 +170,11 @@ class VideoServerServiceImplTest {
     verifyNoMoreInteractions(videoServerClient);
     verifyNoMoreInteractions(videoServerMeetingRepository);
     verifyNoMoreInteractions(videoServerSessionRepository);
-    reset(videoServerClient, videoServerMeetingRepository, videoServerSessionRepository);
+    reset(
+        videoServerClient,
+        videoServerConnectionPool,
+        videoServerMeetingRepository,
+        videoServerSessionRepository);
   }
 
   private VideoServerMeeting createVideoServerMeeting(UUID meetingId) {
@@ -273,7 +300,8 @@ class VideoServerServiceImplTest {
                   .audioHandleId(meeting1AudioHandleId.toString())
                   .videoHandleId(meeting1VideoHandleId.toString())
                   .audioRoomId(meeting1AudioRoomId.toString())
-                  .videoRoomId(meeting1VideoRoomId.toString()));
+                  .videoRoomId(meeting1VideoRoomId.toString())
+                  .serverNode(VIDEO_SERVER_NODE));
 
       assertEquals(1, createConnectionRequestCaptor.getAllValues().size());
       assertEquals(
@@ -583,13 +611,13 @@ class VideoServerServiceImplTest {
               .transactionId("transaction-id")
               .data(VideoServerDataInfo.create().id(user1ScreenHandleId.toString()));
 
-      when(videoServerClient.sendConnectionVideoServerRequest(
+      when(videoServerClient.sendConnectionVideoServerRequestAsync(
               eq(user1SessionId.toString()), any(VideoServerMessageRequest.class)))
           .thenReturn(
-              audioHandleResponse,
-              videoOutHandleResponse,
-              videoInHandleResponse,
-              screenHandleResponse);
+              CompletableFuture.completedFuture(audioHandleResponse),
+              CompletableFuture.completedFuture(videoOutHandleResponse),
+              CompletableFuture.completedFuture(videoInHandleResponse),
+              CompletableFuture.completedFuture(screenHandleResponse));
 
       VideoRoomResponse joinPublisherVideoResponse =
           VideoRoomResponse.create()
@@ -597,11 +625,11 @@ class VideoServerServiceImplTest {
               .connectionId(user1SessionId.toString())
               .transactionId("transaction-id")
               .handleId(user1VideoOutHandleId.toString());
-      when(videoServerClient.sendVideoRoomRequest(
+      when(videoServerClient.sendVideoRoomRequestAsync(
               eq(user1SessionId.toString()),
               eq(user1VideoOutHandleId.toString()),
               any(VideoServerMessageRequest.class)))
-          .thenReturn(joinPublisherVideoResponse);
+          .thenReturn(CompletableFuture.completedFuture(joinPublisherVideoResponse));
 
       VideoRoomResponse joinPublisherScreenResponse =
           VideoRoomResponse.create()
@@ -609,11 +637,11 @@ class VideoServerServiceImplTest {
               .connectionId(user1SessionId.toString())
               .transactionId("transaction-id")
               .handleId(user1ScreenHandleId.toString());
-      when(videoServerClient.sendVideoRoomRequest(
+      when(videoServerClient.sendVideoRoomRequestAsync(
               eq(user1SessionId.toString()),
               eq(user1ScreenHandleId.toString()),
               any(VideoServerMessageRequest.class)))
-          .thenReturn(joinPublisherScreenResponse);
+          .thenReturn(CompletableFuture.completedFuture(joinPublisherScreenResponse));
 
       videoServerService.addMeetingParticipant(
           user1Id.toString(), queue1Id.toString(), meeting1Id.toString(), false, true);
@@ -631,15 +659,15 @@ class VideoServerServiceImplTest {
       verify(videoServerClient, times(1))
           .sendVideoServerRequest(createConnectionRequestCaptor.capture());
       verify(videoServerClient, times(4))
-          .sendConnectionVideoServerRequest(
+          .sendConnectionVideoServerRequestAsync(
               eq(user1SessionId.toString()), createHandleRequestCaptor.capture());
       verify(videoServerClient, times(1))
-          .sendVideoRoomRequest(
+          .sendVideoRoomRequestAsync(
               eq(user1SessionId.toString()),
               eq(user1VideoOutHandleId.toString()),
               joinPublisherVideoRequestCaptor.capture());
       verify(videoServerClient, times(1))
-          .sendVideoRoomRequest(
+          .sendVideoRoomRequestAsync(
               eq(user1SessionId.toString()),
               eq(user1ScreenHandleId.toString()),
               joinPublisherScreenRequestCaptor.capture());
@@ -726,6 +754,57 @@ class VideoServerServiceImplTest {
           joinPublisherScreenRequest);
     }
 
+    @Test
+    @DisplayName("add a participant in an existing meeting using a pooled connection")
+    void addMeetingParticipant_testOkWithPooledConnection() {
+      VideoServerMeeting videoServerMeeting = createVideoServerMeeting(meeting1Id);
+      when(videoServerConnectionPool.acquire(VIDEO_SERVER_NODE))
+          .thenReturn(Optional.of(user1SessionId.toString()));
+
+      when(videoServerClient.sendConnectionVideoServerRequestAsync(
+              eq(user1SessionId.toString()), any(VideoServerMessageRequest.class)))
+          .thenReturn(
+              CompletableFuture.completedFuture(createHandleResponse(user1AudioHandleId)),
+              CompletableFuture.completedFuture(createHandleResponse(user1VideoOutHandleId)),
+              CompletableFuture.completedFuture(createHandleResponse(user1VideoInHandleId)),
+              CompletableFuture.completedFuture(createHandleResponse(user1ScreenHandleId)));
+      when(videoServerClient.sendVideoRoomRequestAsync(
+              eq(user1SessionId.toString()),
+              any(String.class),
+              any(VideoServerMessageRequest.class)))
+          .thenReturn(CompletableFuture.completedFuture(VideoRoomResponse.create().status("ack")));
+
+      videoServerService.addMeetingParticipant(
+          user1Id.toString(), queue1Id.toString(), meeting1Id.toString(), false, true);
+
+      verify(videoServerMeetingRepository, times(1)).getById(meeting1Id.toString());
+      verify(videoServerConnectionPool, times(1)).acquire(VIDEO_SERVER_NODE);
+      verify(videoServerClient, times(4))
+          .sendConnectionVideoServerRequestAsync(
+              eq(user1SessionId.toString()), any(VideoServerMessageRequest.class));
+      verify(videoServerClient, times(2))
+          .sendVideoRoomRequestAsync(
+              eq(user1SessionId.toString()),
+              any(String.class),
+              any(VideoServerMessageRequest.class));
+      verify(videoServerSessionRepository, times(1))
+          .insert(
+              VideoServerSession.create(user1Id.toString(), queue1Id.toString(), videoServerMeeting)
+                  .connectionId(user1SessionId.toString())
+                  .audioHandleId(user1AudioHandleId.toString())
+                  .videoOutHandleId(user1VideoOutHandleId.toString())
+                  .videoInHandleId(user1VideoInHandleId.toString())
+                  .screenHandleId(user1ScreenHandleId.toString()));
+    }
+
+    private VideoServerResponse createHandleResponse(UUID handleId) {
+      return VideoServerResponse.create()
+          .status("success")
+          .connectionId(user1SessionId.toString())
+          .transactionId("transaction-id")
+          .data(VideoServerDataInfo.create().id(handleId.toString()));
+    }
+
     @Test
     @DisplayName("Try to add a participant which is already in")
     void addMeetingParticipant_testIgnoreAlreadyPresent() {
@@ -809,16 +888,41 @@ class VideoServerServiceImplTest {
               .transactionId("transaction-id")
               .data(VideoServerDataInfo.create().id(user1VideoOutHandleId.toString()));
 
-      when(videoServerClient.sendConnectionVideoServerRequest(
+      VideoServerResponse videoInHandleResponse =
+          VideoServerResponse.create()
+              .status("success")
+              .connectionId(user1SessionId.toString())
+              .transactionId("transaction-id")
+              .data(VideoServerDataInfo.create().id(user1VideoInHandleId.toString()));
+
+      VideoServerResponse screenHandleResponse =
+          VideoServerResponse.create()
+              .status("success")
+              .connectionId(user1SessionId.toString())
+              .transactionId("transaction-id")
+              .data(VideoServerDataInfo.create().id(user1ScreenHandleId.toString()));
+
+      when(videoServerClient.sendConnectionVideoServerRequestAsync(
               eq(user1SessionId.toString()), any(VideoServerMessageRequest.class)))
-          .thenReturn(audioHandleResponse, videoOutHandleResponse);
+          .thenReturn(
+              CompletableFuture.completedFuture(audioHandleResponse),
+              CompletableFuture.completedFuture(videoOutHandleResponse),
+              CompletableFuture.completedFuture(videoInHandleResponse),
+              CompletableFuture.completedFuture(screenHandleResponse));
 
       VideoRoomResponse joinPublisherVideoResponse = VideoRoomResponse.create().status("error");
-      when(videoServerClient.sendVideoRoomRequest(
+      when(videoServerClient.sendVideoRoomRequestAsync(
               eq(user1SessionId.toString()),
               eq(user1VideoOutHandleId.toString()),
               any(VideoServerMessageRequest.class)))
-          .thenReturn(joinPublisherVideoResponse);
+          .thenReturn(CompletableFuture.completedFuture(joinPublisherVideoResponse));
+
+      VideoRoomResponse joinPublisherScreenResponse = VideoRoomResponse.create().status("ack");
+      when(videoServerClient.sendVideoRoomRequestAsync(
+              eq(user1SessionId.toString()),
+              eq(user1ScreenHandleId.toString()),
+              any(VideoServerMessageRequest.class)))
+          .thenReturn(CompletableFuture.completedFuture(joinPublisherScreenResponse));
 
       assertThrows(
           VideoServerException.class,
@@ -835,13 +939,18 @@ class VideoServerServiceImplTest {
       verify(videoServerClient, times(1))
           .sendVideoServerRequest(any(VideoServerMessageRequest.class));
       verify(videoServerClient, times(4))
-          .sendConnectionVideoServerRequest(
+          .sendConnectionVideoServerRequestAsync(
               eq(user1SessionId.toString()), any(VideoServerMessageRequest.class));
       verify(videoServerClient, times(1))
-          .sendVideoRoomRequest(
+          .sendVideoRoomRequestAsync(
               eq(user1SessionId.toString()),
               eq(user1VideoOutHandleId.toString()),
               any(VideoServerMessageRequest.class));
+      verify(videoServerClient, times(1))
+          .sendVideoRoomRequestAsync(
+              eq(user1SessionId.toString()),
+              eq(user1ScreenHandleId.toString()),
+              any(VideoServerMessageRequest.class));
     }
   }
 
@@ -2397,4 +2506,218 @@ class VideoServerServiceImplTest {
       verify(videoServerClient, times(1)).sendGetInfoRequest();
     }
   }
+
+  @Nested
+  @DisplayName("Video server nodes tests")
+  class VideoServerNodesTests {
+
+    private static final String OTHER_VIDEO_SERVER_NODE = "videoserver-2:8088";
+
+    private final VideoServerClient otherVideoServerClient = mock(VideoServerClient.class);
+
+    private VideoServerService createMultiNodeVideoServerService() {
+      Map<String, VideoServerClient> clients = new LinkedHashMap<>();
+      clients.put(VIDEO_SERVER_NODE, videoServerClient);
+      clients.put(OTHER_VIDEO_SERVER_NODE, otherVideoServerClient);
+      return createVideoServerService(new VideoServerNodes(clients));
+    }
+
+    @Test
+    @DisplayName("Start a new meeting on the node hosting the fewest meetings")
+    void startMeeting_testLeastLoadedNode() {
+      when(videoServerMeetingRepository.countByServerNode(VIDEO_SERVER_NODE, true)).thenReturn(3);
+      when(videoServerMeetingRepository.countByServerNode(OTHER_VIDEO_SERVER_NODE, false))
+          .thenReturn(1);
+      when(otherVideoServerClient.sendGetInfoRequest())
+          .thenReturn(VideoServerResponse.create().status("server_info"));
+      when(otherVideoServerClient.sendVideoServerRequest(any(VideoServerMessageRequest.class)))
+          .thenReturn(
+              VideoServerResponse.create()
+                  .status("success")
+                  .data(VideoServerDataInfo.create().id(meeting1SessionId.toString())));
+      when(otherVideoServerClient.sendConnectionVideoServerRequest(
+              eq(meeting1SessionId.toString()), any(VideoServerMessageRequest.class)))
+          .thenReturn(
+              VideoServerResponse.create()
+                  .status("success")
+                  .data(VideoServerDataInfo.create().id(meeting1AudioHandleId.toString())),
+              VideoServerResponse.create()
+                  .status("success")
+                  .data(VideoServerDataInfo.create().id(meeting1VideoHandleId.toString())));
+      when(otherVideoServerClient.sendAudioBridgeRequest(
+              eq(meeting1SessionId.toString()),
+              eq(meeting1AudioHandleId.toString()),
+              any(VideoServerMessageRequest.class)))
+          .thenReturn(
+              AudioBridgeResponse.create()
+                  .pluginData(
+                      AudioBridgePluginData.create()
+                          .dataInfo(
+                              AudioBridgeDataInfo.create()
+                                  .audioBridge("created")
+                                  .room(meeting1AudioRoomId.toString()))));
+      when(otherVideoServerClient.sendVideoRoomRequest(
+              eq(meeting1SessionId.toString()),
+              eq(meeting1VideoHandleId.toString()),
+              any(VideoServerMessageRequest.class)))
+          .thenReturn(
+              VideoRoomResponse.create()
+                  .pluginData(
+                      VideoRoomPluginData.create()
+                          .dataInfo(
+                              VideoRoomDataInfo.create()
+                                  .videoRoom("created")
+                                  .room(meeting1VideoRoomId.toString()))));
+
+      createMultiNodeVideoServerService().startMeeting(meeting1Id.toString());
+
+      ArgumentCaptor<VideoServerMeeting> videoServerMeetingCaptor =
+          ArgumentCaptor.forClass(VideoServerMeeting.class);
+      verify(videoServerMeetingRepository, times(1)).getById(meeting1Id.toString());
+      verify(videoServerMeetingRepository, times(1)).countByServerNode(VIDEO_SERVER_NODE, true);
+      verify(videoServerMeetingRepository, times(1))
+          .countByServerNode(OTHER_VIDEO_SERVER_NODE, false);
+      verify(videoServerMeetingRepository, times(1)).insert(videoServerMeetingCaptor.capture());
+      verify(videoServerConnectionPool, times(1)).isRefillFailing(OTHER_VIDEO_SERVER_NODE);
+      verify(videoServerConnectionPool, times(1)).acquire(OTHER_VIDEO_SERVER_NODE);
+      verify(otherVideoServerClient, times(1)).sendGetInfoRequest();
+      verify(otherVideoServerClient, times(1))
+          .sendVideoServerRequest(any(VideoServerMessageRequest.class));
+      assertEquals(OTHER_VIDEO_SERVER_NODE, videoServerMeetingCaptor.getValue().getServerNode());
+      assertEquals(
+          meeting1SessionId.toString(), videoServerMeetingCaptor.getValue().getConnectionId());
+      verifyNoInteractions(videoServerClient);
+    }
+
+    @Test
+    @DisplayName("Start a new meeting on the next node if the least loaded one does not answer")
+    void startMeeting_testLeastLoadedNodeDown() {
+      when(videoServerMeetingRepository.countByServerNode(VIDEO_SERVER_NODE, true)).thenReturn(1);
+      when(videoServerMeetingRepository.countByServerNode(OTHER_VIDEO_SERVER_NODE, false))
+          .thenReturn(3);
+      when(videoServerClient.sendGetInfoRequest()).thenThrow(RuntimeException.class);
+      when(otherVideoServerClient.sendGetInfoRequest())
+          .thenReturn(VideoServerResponse.create().status("server_info"));
+      when(otherVideoServerClient.sendVideoServerRequest(any(VideoServerMessageRequest.class)))
+          .thenThrow(VideoServerException.class);
+
+      VideoServerService multiNodeVideoServerService = createMultiNodeVideoServerService();
+      assertThrows(
+          VideoServerException.class,
+          () -> multiNodeVideoServerService.startMeeting(meeting1Id.toString()));
+
+      verify(videoServerClient, times(1)).sendGetInfoRequest();
+      verify(otherVideoServerClient, times(1)).sendGetInfoRequest();
+      verify(videoServerConnectionPool, times(1)).acquire(OTHER_VIDEO_SERVER_NODE);
+      verify(otherVideoServerClient, times(1))
+          .sendVideoServerRequest(any(VideoServerMessageRequest.class));
+      verify(videoServerMeetingRepository, never()).insert(any(VideoServerMeeting.class));
+    }
+
+    @Test
+    @DisplayName("Fail to start a new meeting if no node can take it")
+    void startMeeting_testNoNodeAvailable() {
+      when(videoServerClient.sendGetInfoRequest())
+          .thenReturn(VideoServerResponse.create().status("server_info"));
+      when(videoServerConnectionPool.isRefillFailing(VIDEO_SERVER_NODE)).thenReturn(true);
+      when(otherVideoServerClient.sendGetInfoRequest()).thenThrow(RuntimeException.class);
+
+      VideoServerService multiNodeVideoServerService = createMultiNodeVideoServerService();
+      assertThrows(
+          VideoServerException.class,
+          () -> multiNodeVideoServerService.startMeeting(meeting1Id.toString()));
+
+      verify(videoServerConnectionPool, never()).acquire(anyString());
+      verify(videoServerMeetingRepository, never()).insert(any(VideoServerMeeting.class));
+      verify(videoServerClient, never())
+          .sendVideoServerRequest(any(VideoServerMessageRequest.class));
+      verify(otherVideoServerClient, never())
+          .sendVideoServerRequest(any(VideoServerMessageRequest.class));
+    }
+
+    @Test
+    @DisplayName("Send the participant interactions to the node the meeting was placed on")
+    void answerRtcMediaStream_testMeetingNode() {
+      VideoServerMeeting videoServerMeeting =
+          createVideoServerMeeting(meeting1Id).serverNode(OTHER_VIDEO_SERVER_NODE);
+      videoServerMeeting.videoServerSessions(
+          List.of(
+              VideoServerSession.create()
+                  .userId(user1Id.toString())
+                  .queueId(queue1Id.toString())
+                  .videoServerMeeting(videoServerMeeting)
+                  .connectionId(user1SessionId.toString())
+                  .videoInHandleId(user1VideoInHandleId.toString())));
+      when(otherVideoServerClient.sendVideoRoomRequest(
+              eq(user1SessionId.toString()),
+              eq(user1VideoInHandleId.toString()),
+              any(VideoServerMessageRequest.class)))
+          .thenReturn(VideoRoomResponse.create().status("ack"));
+
+      createMultiNodeVideoServerService()
+          .answerRtcMediaStream(
+              user1Id.toString(), meeting1Id.toString(), "session-description-protocol");
+
+      verify(videoServerMeetingRepository, times(1)).getById(meeting1Id.toString());
+      verify(otherVideoServerClient, times(1))
+          .sendVideoRoomRequest(
+              eq(user1SessionId.toString()),
+              eq(user1VideoInHandleId.toString()),
+              any(VideoServerMessageRequest.class));
+      verifyNoInteractions(videoServerClient);
+    }
+
+    @Test
+    @DisplayName("Fail the interactions of a meeting placed on a node which is not configured")
+    void answerRtcMediaStream_testUnknownNode() {
+      VideoServerMeeting videoServerMeeting =
+          createVideoServerMeeting(meeting1Id).serverNode("videoserver-3:8088");
+      videoServerMeeting.videoServerSessions(
+          List.of(
+              VideoServerSession.create()
+                  .userId(user1Id.toString())
+                  .queueId(queue1Id.toString())
+                  .videoServerMeeting(videoServerMeeting)
+                  .connectionId(user1SessionId.toString())
+                  .videoInHandleId(user1VideoInHandleId.toString())));
+
+      VideoServerService multiNodeVideoServerService = createMultiNodeVideoServerService();
+      assertThrows(
+          VideoServerException.class,
+          () ->
+              multiNodeVideoServerService.answerRtcMediaStream(
+                  user1Id.toString(), meeting1Id.toString(), "session-description-protocol"));
+
+      verify(videoServerMeetingRepository, times(1)).getById(meeting1Id.toString());
+      verifyNoInteractions(videoServerClient, otherVideoServerClient);
+    }
+
+    @Test
+    @DisplayName("Report the video server as alive while one node can take meetings")
+    void isAlive_testOneNodeDown() {
+      when(videoServerClient.sendGetInfoRequest()).thenThrow(RuntimeException.class);
+      when(otherVideoServerClient.sendGetInfoRequest())
+          .thenReturn(VideoServerResponse.create().status("server_info"));
+
+      assertTrue(createMultiNodeVideoServerService().isAlive());
+
+      verify(videoServerClient, times(1)).sendGetInfoRequest();
+      verify(otherVideoServerClient, times(1)).sendGetInfoRequest();
+    }
+
+    @Test
+    @DisplayName("Report the video server as not alive if no node can take meetings")
+    void isAlive_testAllNodesDown() {
+      when(videoServerClient.sendGetInfoRequest())
+          .thenReturn(VideoServerResponse.create().status("server_info"));
+      when(videoServerConnectionPool.isRefillFailing(VIDEO_SERVER_NODE)).thenReturn(true);
+      when(otherVideoServerClient.sendGetInfoRequest()).thenThrow(RuntimeException.class);
+
+      assertFalse(createMultiNodeVideoServerService().isAlive());
+
+      verify(videoServerConnectionPool, times(1)).isRefillFailing(VIDEO_SERVER_NODE);
+      verify(videoServerClient, never()).sendGetInfoRequest();
+      verify(otherVideoServerClient, times(1)).sendGetInfoRequest();
+    }
+  }
 }
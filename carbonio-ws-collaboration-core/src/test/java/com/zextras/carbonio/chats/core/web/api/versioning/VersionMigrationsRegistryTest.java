@@ -0,0 +1,126 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.web.api.versioning;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.vdurmont.semver4j.Semver;
+import com.zextras.carbonio.async.model.DomainEvent;
+import com.zextras.carbonio.chats.core.annotations.UnitTest;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+class VersionMigrationsRegistryTest {
+
+  private VersionMigrationsRegistry registry;
+
+  @BeforeEach
+  void init() {
+    registry = new VersionMigrationsRegistry();
+  }
+
+  private ChangeSet changeSet(String version, String field) {
+    return new ChangeSet(new Semver(version), DomainEvent.class, List.of(new AddField(field)));
+  }
+
+  @Test
+  @DisplayName("Changes the revision every time the change sets are modified")
+  void getRevision_testBumpedOnChanges() {
+    long initialRevision = registry.getRevision();
+
+    registry.register(changeSet("1.6.1", "first"));
+    long registeredRevision = registry.getRevision();
+    registry.clear();
+
+    assertNotEquals(initialRevision, registeredRevision);
+    assertNotEquals(registeredRevision, registry.getRevision());
+    assertNotEquals(initialRevision, registry.getRevision());
+  }
+
+  @Test
+  @DisplayName("Reuses the migrator resolved for the same version and class")
+  void migratorFor_testCached() {
+    registry.register(changeSet("1.6.1", "first"));
+
+    ApiVersionMigrator migrator = registry.migratorFor(new Semver("1.6.0"), DomainEvent.class);
+
+    assertSame(migrator, registry.migratorFor(new Semver("1.6.0"), DomainEvent.class));
+    assertNotSame(migrator, registry.migratorFor(new Semver("1.5.0"), DomainEvent.class));
+  }
+
+  @Test
+  @DisplayName("Resolves the migrator again after a change set is registered")
+  void migratorFor_testResolvedAgainAfterRegister() {
+    registry.register(changeSet("1.6.1", "first"));
+    ApiVersionMigrator migrator = registry.migratorFor(new Semver("1.6.0"), DomainEvent.class);
+
+    registry.register(changeSet("1.6.2", "second"));
+    ApiVersionMigrator newMigrator = registry.migratorFor(new Semver("1.6.0"), DomainEvent.class);
+
+    assertNotSame(migrator, newMigrator);
+    ObjectNode result =
+        (ObjectNode) newMigrator.downgrade(JsonNodeFactory.instance.objectNode().put("id", 1));
+    assertTrue(result.has("first"));
+    assertTrue(result.has("second"));
+  }
+
+  @Test
+  @DisplayName("Applies only the change sets newer than the requested version, newest first")
+  void getMigrationsAfter_testNewerChangeSets() {
+    AddField first = new AddField("first");
+    AddField second = new AddField("second");
+    registry.register(new ChangeSet(new Semver("1.6.1"), DomainEvent.class, List.of(first)));
+    registry.register(new ChangeSet(new Semver("1.6.2"), DomainEvent.class, List.of(second)));
+
+    assertEquals(
+        List.of(second, first),
+        registry.getMigrationsAfter(new Semver("1.6.0"), DomainEvent.class));
+    assertEquals(
+        List.of(second), registry.getMigrationsAfter(new Semver("1.6.1"), DomainEvent.class));
+    assertEquals(List.of(), registry.getMigrationsAfter(new Semver("1.6.2"), DomainEvent.class));
+  }
+
+  @Test
+  @DisplayName("Checks again whether a version needs migrations after a change set is registered")
+  void hasMigrationsAfter_testResolvedAgainAfterRegister() {
+    registry.register(changeSet("1.6.1", "first"));
+    assertFalse(registry.hasMigrationsAfter(new Semver("1.6.1")));
+
+    registry.register(changeSet("1.6.2", "second"));
+    assertTrue(registry.hasMigrationsAfter(new Semver("1.6.1")));
+
+    registry.clear();
+    assertFalse(registry.hasMigrationsAfter(new Semver("1.6.1")));
+  }
+
+  private static class AddField implements ApiVersionMigration {
+
+    private final String field;
+
+    private AddField(String field) {
+      this.field = field;
+    }
+
+    @Override
+    public boolean canDowngrade(Class<?> clazz) {
+      return true;
+    }
+
+    @Override
+    public ObjectNode downgrade(ObjectNode input) {
+      return input.put(field, true);
+    }
+  }
+}
@@ -0,0 +1,160 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.web.socket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.zextras.carbonio.chats.core.annotations.UnitTest;
+import jakarta.websocket.Extension;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+class EventsWebSocketEndpointConfiguratorTest {
+
+  private static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+  private static final String SERVER_NO_CONTEXT_TAKEOVER = "server_no_context_takeover";
+  private static final String CLIENT_MAX_WINDOW_BITS = "client_max_window_bits";
+
+  private final EventsWebSocketManager eventsWebSocketManager = mock(EventsWebSocketManager.class);
+
+  private final List<Extension> installed =
+      List.of(extension(PERMESSAGE_DEFLATE), extension("x-webkit-deflate-frame"));
+
+  private EventsWebSocketEndpointConfigurator createConfigurator(
+      boolean compressionEnabled, boolean compressionContextTakeover) {
+    return new EventsWebSocketEndpointConfigurator(
+        eventsWebSocketManager, compressionEnabled, compressionContextTakeover);
+  }
+
+  private static Extension extension(String name, Extension.Parameter... parameters) {
+    return new TestExtension(name, Arrays.asList(parameters));
+  }
+
+  private static Extension.Parameter parameter(String name, String value) {
+    return new TestParameter(name, value);
+  }
+
+  private static List<String> parameterNames(Extension extension) {
+    return extension.getParameters().stream().map(Extension.Parameter::getName).toList();
+  }
+
+  @Nested
+  @DisplayName("Get negotiated extensions tests")
+  class GetNegotiatedExtensionsTests {
+
+    @Test
+    @DisplayName("Negotiates permessage-deflate without server context takeover by default")
+    void getNegotiatedExtensions_testDefault() {
+      Extension requested =
+          extension(PERMESSAGE_DEFLATE, parameter(CLIENT_MAX_WINDOW_BITS, "15"));
+
+      List<Extension> negotiated =
+          new EventsWebSocketEndpointConfigurator(eventsWebSocketManager)
+              .getNegotiatedExtensions(installed, List.of(requested));
+
+      assertEquals(1, negotiated.size());
+      assertEquals(PERMESSAGE_DEFLATE, negotiated.get(0).getName());
+      assertEquals(
+          List.of(CLIENT_MAX_WINDOW_BITS, SERVER_NO_CONTEXT_TAKEOVER),
+          parameterNames(negotiated.get(0)));
+      assertEquals("15", negotiated.get(0).getParameters().get(0).getValue());
+      assertNull(negotiated.get(0).getParameters().get(1).getValue());
+    }
+
+    @Test
+    @DisplayName("Keeps the extension requested with server_no_context_takeover as it is")
+    void getNegotiatedExtensions_testServerNoContextTakeoverRequested() {
+      Extension requested =
+          extension(PERMESSAGE_DEFLATE, parameter(SERVER_NO_CONTEXT_TAKEOVER, null));
+
+      List<Extension> negotiated =
+          createConfigurator(true, false).getNegotiatedExtensions(installed, List.of(requested));
+
+      assertEquals(List.of(requested), negotiated);
+      assertEquals(List.of(SERVER_NO_CONTEXT_TAKEOVER), parameterNames(negotiated.get(0)));
+    }
+
+    @Test
+    @DisplayName("Keeps the requested parameters as they are with context takeover enabled")
+    void getNegotiatedExtensions_testContextTakeoverEnabled() {
+      Extension requested =
+          extension(PERMESSAGE_DEFLATE, parameter(CLIENT_MAX_WINDOW_BITS, "15"));
+
+      List<Extension> negotiated =
+          createConfigurator(true, true).getNegotiatedExtensions(installed, List.of(requested));
+
+      assertEquals(List.of(requested), negotiated);
+    }
+
+    @Test
+    @DisplayName("Does not negotiate permessage-deflate when compression is disabled")
+    void getNegotiatedExtensions_testCompressionDisabled() {
+      Extension deflateFrame = extension("x-webkit-deflate-frame");
+
+      List<Extension> negotiated =
+          createConfigurator(false, false)
+              .getNegotiatedExtensions(
+                  installed, List.of(extension(PERMESSAGE_DEFLATE), deflateFrame));
+
+      assertEquals(List.of(deflateFrame), negotiated);
+    }
+
+    @Test
+    @DisplayName("Negotiates only the first offer of an extension and skips those not installed")
+    void getNegotiatedExtensions_testFirstInstalledOffer() {
+      Extension preferred =
+          extension(PERMESSAGE_DEFLATE, parameter(CLIENT_MAX_WINDOW_BITS, "10"));
+      Extension fallback = extension(PERMESSAGE_DEFLATE);
+
+      List<Extension> negotiated =
+          createConfigurator(true, true)
+              .getNegotiatedExtensions(
+                  installed, List.of(extension("x-unknown"), preferred, fallback));
+
+      assertEquals(List.of(preferred), negotiated);
+    }
+
+    @Test
+    @DisplayName("Negotiates nothing when no extension is requested")
+    void getNegotiatedExtensions_testNoneRequested() {
+      assertTrue(
+          createConfigurator(true, false).getNegotiatedExtensions(installed, List.of()).isEmpty());
+    }
+  }
+
+  private record TestExtension(String name, List<Extension.Parameter> parameters)
+      implements Extension {
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public List<Parameter> getParameters() {
+      return parameters;
+    }
+  }
+
+  private record TestParameter(String name, String value) implements Extension.Parameter {
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public String getValue() {
+      return value;
+    }
+  }
+}
@@ -0,0 +1,338 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.web.socket;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.BuiltinExchangeType;
+import com.rabbitmq.client.CancelCallback;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.DeliverCallback;
+import com.rabbitmq.client.Delivery;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.Recoverable;
+import com.rabbitmq.client.RecoveryListener;
+import com.zextras.carbonio.async.model.DomainEvent;
+import com.zextras.carbonio.chats.core.annotations.UnitTest;
+import com.zextras.carbonio.chats.core.config.AppConfig;
+import com.zextras.carbonio.chats.core.config.ConfigName;
+import com.zextras.carbonio.chats.core.config.impl.MockAppConfig;
+import com.zextras.carbonio.chats.core.service.ParticipantService;
+import com.zextras.carbonio.chats.core.web.socket.versioning.WebsocketVersionMigrator;
+import jakarta.servlet.http.HttpSession;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendHandler;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+@UnitTest
+class EventsWebSocketManagerTest {
+
+  private static final String USER_ROUTING_KEY = "user-events";
+  private static final String NODE_QUEUE_PREFIX = "ws-collaboration-node-";
+  private static final String CONNECTED_EVENT = "{\"type\":\"websocketConnected\"}";
+  private static final String EVENT = "{\"type\":\"roomUpdated\"}";
+
+  private final String user1Id = UUID.randomUUID().toString();
+  private final String user2Id = UUID.randomUUID().toString();
+
+  private Channel channel;
+  private WebsocketVersionMigrator migrator;
+  private ParticipantService participantService;
+
+  @BeforeEach
+  void init() throws Exception {
+    channel = mock(Channel.class, withSettings().extraInterfaces(Recoverable.class));
+    migrator = mock(WebsocketVersionMigrator.class);
+    participantService = mock(ParticipantService.class);
+    when(channel.isOpen()).thenReturn(true);
+    when(migrator.downgradeIfNeeded(any(DomainEvent.class), anyString()))
+        .thenReturn(CONNECTED_EVENT);
+    when(migrator.downgradeIfNeeded(anyString(), anyString()))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+  }
+
+  private EventsWebSocketManager createManager(AppConfig appConfig) {
+    return new EventsWebSocketManager(
+        channel, new ObjectMapper(), migrator, participantService, appConfig);
+  }
+
+  private EventsWebSocketManager createSharedConsumerManager() {
+    return createManager(MockAppConfig.create().set(ConfigName.SHARED_CONSUMER_ENABLED, "true"));
+  }
+
+  private Session createSession(String userId) {
+    Session session = mock(Session.class);
+    HttpSession httpSession = mock(HttpSession.class);
+    RemoteEndpoint.Async asyncRemote = mock(RemoteEndpoint.Async.class);
+    Map<String, Object> userProperties = new HashMap<>();
+    userProperties.put(HttpSession.class.getName(), httpSession);
+    when(httpSession.getAttribute("userId")).thenReturn(userId);
+    when(session.getId()).thenReturn(UUID.randomUUID().toString());
+    when(session.getUserProperties()).thenReturn(userProperties);
+    when(session.getNegotiatedSubprotocol()).thenReturn("");
+    when(session.isOpen()).thenReturn(true);
+    when(session.getAsyncRemote()).thenReturn(asyncRemote);
+    doAnswer(
+            invocation -> {
+              invocation.getArgument(1, SendHandler.class).onResult(new SendResult());
+              return null;
+            })
+        .when(asyncRemote)
+        .sendText(anyString(), any(SendHandler.class));
+    return session;
+  }
+
+  private String captureNodeQueue() throws Exception {
+    ArgumentCaptor<String> nodeQueue = ArgumentCaptor.forClass(String.class);
+    verify(channel, times(1))
+        .queueDeclare(nodeQueue.capture(), eq(false), eq(true), eq(true), any());
+    return nodeQueue.getValue();
+  }
+
+  private DeliverCallback captureNodeDeliverCallback() throws Exception {
+    ArgumentCaptor<DeliverCallback> deliverCallback =
+        ArgumentCaptor.forClass(DeliverCallback.class);
+    verify(channel, times(1))
+        .basicConsume(
+            anyString(), anyBoolean(), deliverCallback.capture(), any(CancelCallback.class));
+    return deliverCallback.getValue();
+  }
+
+  private void deliver(DeliverCallback deliverCallback, String userId, AMQP.BasicProperties props)
+      throws Exception {
+    deliverCallback.handle(
+        "tag",
+        new Delivery(
+            new Envelope(1L, false, userId, USER_ROUTING_KEY),
+            props,
+            EVENT.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private void verifyEventSent(Session session, int times) {
+    verify(session.getAsyncRemote(), times(times)).sendText(eq(EVENT), any(SendHandler.class));
+  }
+
+  @Nested
+  @DisplayName("Shared consumer tests")
+  class SharedConsumerTests {
+
+    @Test
+    @DisplayName("Declares an exclusive node queue and consumes from it on start")
+    void start_testNodeQueueDeclared() throws Exception {
+      createSharedConsumerManager().start();
+
+      String nodeQueue = captureNodeQueue();
+      assertTrue(nodeQueue.startsWith(NODE_QUEUE_PREFIX));
+      verify(channel, times(1))
+          .basicConsume(
+              eq(nodeQueue), eq(true), any(DeliverCallback.class), any(CancelCallback.class));
+    }
+
+    @Test
+    @DisplayName("Does not fail to start when the channel is not up")
+    void start_testChannelNotUp() throws Exception {
+      when(channel.isOpen()).thenReturn(false);
+
+      assertDoesNotThrow(() -> createSharedConsumerManager().start());
+
+      verify(channel, never())
+          .queueDeclare(anyString(), anyBoolean(), anyBoolean(), anyBoolean(), any());
+    }
+
+    @Test
+    @DisplayName("Binds the node queue to the exchange of a user only for the first session")
+    void onOpen_testNodeQueueBoundOncePerUser() throws Exception {
+      EventsWebSocketManager manager = createSharedConsumerManager();
+      manager.start();
+      String nodeQueue = captureNodeQueue();
+
+      manager.onOpen(createSession(user1Id));
+      manager.onOpen(createSession(user1Id));
+      manager.onOpen(createSession(user2Id));
+
+      verify(channel, times(1))
+          .exchangeDeclare(user1Id, BuiltinExchangeType.DIRECT, false, false, null);
+      verify(channel, times(1)).queueBind(nodeQueue, user1Id, USER_ROUTING_KEY);
+      verify(channel, times(1)).queueBind(nodeQueue, user2Id, USER_ROUTING_KEY);
+      verify(channel, never()).queueBindNoWait(anyString(), anyString(), anyString(), any());
+      verify(channel, times(1))
+          .basicConsume(
+              anyString(), anyBoolean(), any(DeliverCallback.class), any(CancelCallback.class));
+    }
+
+    @Test
+    @DisplayName("Unbinds the node queue from the exchange of a user only after the last session")
+    void onClose_testNodeQueueUnboundAfterLastSession() throws Exception {
+      EventsWebSocketManager manager = createSharedConsumerManager();
+      manager.start();
+      String nodeQueue = captureNodeQueue();
+      Session session1 = createSession(user1Id);
+      Session session2 = createSession(user1Id);
+      manager.onOpen(session1);
+      manager.onOpen(session2);
+
+      manager.onClose(session1);
+      verify(channel, never()).queueUnbind(nodeQueue, user1Id, USER_ROUTING_KEY);
+
+      manager.onClose(session2);
+      verify(channel, times(1)).queueUnbind(nodeQueue, user1Id, USER_ROUTING_KEY);
+      verify(channel, never()).queueDeleteNoWait(anyString(), anyBoolean(), anyBoolean());
+
+      manager.onOpen(createSession(user1Id));
+      verify(channel, times(2)).queueBind(nodeQueue, user1Id, USER_ROUTING_KEY);
+    }
+
+    @Test
+    @DisplayName("Binds the node queue again with the next session if the broker refused it")
+    void onOpen_testNodeQueueBindingFailed() throws Exception {
+      EventsWebSocketManager manager = createSharedConsumerManager();
+      manager.start();
+      String nodeQueue = captureNodeQueue();
+      when(channel.queueBind(nodeQueue, user1Id, USER_ROUTING_KEY))
+          .thenThrow(new IOException("bind refused"))
+          .thenReturn(null);
+
+      manager.onOpen(createSession(user1Id));
+      manager.onOpen(createSession(user1Id));
+      manager.onOpen(createSession(user1Id));
+
+      verify(channel, times(2)).queueBind(nodeQueue, user1Id, USER_ROUTING_KEY);
+    }
+
+    @Test
+    @DisplayName("Delivers an event to all the sessions of the user it was published to")
+    void deliver_testRoutedToUserSessions() throws Exception {
+      EventsWebSocketManager manager = createSharedConsumerManager();
+      manager.start();
+      DeliverCallback deliverCallback = captureNodeDeliverCallback();
+      Session user1Session1 = createSession(user1Id);
+      Session user1Session2 = createSession(user1Id);
+      Session user2Session = createSession(user2Id);
+      manager.onOpen(user1Session1);
+      manager.onOpen(user1Session2);
+      manager.onOpen(user2Session);
+
+      deliver(deliverCallback, user1Id, null);
+
+      verifyEventSent(user1Session1, 1);
+      verifyEventSent(user1Session2, 1);
+      verifyEventSent(user2Session, 0);
+    }
+
+    @Test
+    @DisplayName("Delivers an event with the target session header only to that session")
+    void deliver_testRoutedToTargetSession() throws Exception {
+      EventsWebSocketManager manager = createSharedConsumerManager();
+      manager.start();
+      DeliverCallback deliverCallback = captureNodeDeliverCallback();
+      Session session1 = createSession(user1Id);
+      Session session2 = createSession(user1Id);
+      manager.onOpen(session1);
+      manager.onOpen(session2);
+
+      deliver(
+          deliverCallback,
+          user1Id,
+          new AMQP.BasicProperties.Builder()
+              .headers(Map.of("target-session", session2.getId()))
+              .build());
+
+      verifyEventSent(session1, 0);
+      verifyEventSent(session2, 1);
+    }
+
+    @Test
+    @DisplayName("Ignores the events of users without sessions on this node")
+    void deliver_testNoUserSessions() throws Exception {
+      EventsWebSocketManager manager = createSharedConsumerManager();
+      manager.start();
+      DeliverCallback deliverCallback = captureNodeDeliverCallback();
+      Session session = createSession(user1Id);
+      manager.onOpen(session);
+      manager.onClose(session);
+
+      deliver(deliverCallback, user1Id, null);
+
+      verifyEventSent(session, 0);
+      verify(migrator, never()).downgradeIfNeeded(eq(EVENT), anyString());
+    }
+
+    @Test
+    @DisplayName("Declares the node queue again and binds it to the connected users after recovery")
+    void handleRecovery_testRestarted() throws Exception {
+      EventsWebSocketManager manager = createSharedConsumerManager();
+      ArgumentCaptor<RecoveryListener> recoveryListener =
+          ArgumentCaptor.forClass(RecoveryListener.class);
+      verify((Recoverable) channel, times(1)).addRecoveryListener(recoveryListener.capture());
+      manager.start();
+      String nodeQueue = captureNodeQueue();
+      manager.onOpen(createSession(user1Id));
+      manager.onOpen(createSession(user2Id));
+
+      recoveryListener.getValue().handleRecovery((Recoverable) channel);
+
+      verify(channel, times(2)).queueDeclare(nodeQueue, false, true, true, null);
+      verify(channel, times(2)).queueBind(nodeQueue, user1Id, USER_ROUTING_KEY);
+      verify(channel, times(2)).queueBind(nodeQueue, user2Id, USER_ROUTING_KEY);
+      verify(channel, times(2))
+          .basicConsume(
+              eq(nodeQueue), eq(true), any(DeliverCallback.class), any(CancelCallback.class));
+    }
+  }
+
+  @Nested
+  @DisplayName("Session consumer tests")
+  class SessionConsumerTests {
+
+    @Test
+    @DisplayName("Does not declare a node queue nor listen for recovery")
+    void start_testNothingDone() throws Exception {
+      createManager(MockAppConfig.create()).start();
+
+      verify(channel, never())
+          .queueDeclare(anyString(), anyBoolean(), anyBoolean(), anyBoolean(), any());
+      verify((Recoverable) channel, never()).addRecoveryListener(any(RecoveryListener.class));
+    }
+
+    @Test
+    @DisplayName("Declares a queue bound to the user exchange for every session")
+    void onOpen_testSessionQueueDeclared() throws Exception {
+      EventsWebSocketManager manager = createManager(MockAppConfig.create());
+      Session session = createSession(user1Id);
+
+      manager.onOpen(session);
+
+      verify(channel, times(1)).queueDeclare(session.getId(), false, false, true, null);
+      verify(channel, times(1)).queueBind(session.getId(), user1Id, USER_ROUTING_KEY);
+      verify(channel, never()).queueBindNoWait(anyString(), anyString(), anyString(), isNull());
+    }
+  }
+}
@@ -0,0 +1,165 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.web.socket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zextras.carbonio.chats.core.annotations.UnitTest;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendHandler;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+@UnitTest
+class SessionOutboundQueueTest {
+
+  private Session session;
+  private RemoteEndpoint.Async asyncRemote;
+  private SessionOutboundQueue.Metrics metrics;
+
+  @BeforeEach
+  void init() {
+    session = mock(Session.class);
+    asyncRemote = mock(RemoteEndpoint.Async.class);
+    metrics = new SessionOutboundQueue.Metrics();
+    when(session.getId()).thenReturn("session-id");
+    when(session.isOpen()).thenReturn(true);
+    when(session.getAsyncRemote()).thenReturn(asyncRemote);
+  }
+
+  private SessionOutboundQueue createQueue(OutboundOverflowPolicy policy) {
+    return new SessionOutboundQueue(session, 2, policy, new ObjectMapper(), metrics);
+  }
+
+  private String event(String type, String userId, boolean enabled) {
+    return String.format(
+        "{\"type\":\"%s\",\"meetingId\":\"meeting\",\"userId\":\"%s\",\"enabled\":%s}",
+        type, userId, enabled);
+  }
+
+  @Test
+  @DisplayName("Sends one message at a time in the order they are offered")
+  void offer_sendsInOrder() {
+    SessionOutboundQueue outboundQueue = createQueue(OutboundOverflowPolicy.DISCONNECT);
+
+    outboundQueue.offer("first");
+    outboundQueue.offer("second");
+
+    verify(asyncRemote, times(1)).sendText(anyString(), any(SendHandler.class));
+    assertEquals(1, outboundQueue.size());
+
+    outboundQueue.onResult(new SendResult());
+
+    InOrder inOrder = Mockito.inOrder(asyncRemote);
+    inOrder.verify(asyncRemote, times(1)).sendText("first", outboundQueue);
+    inOrder.verify(asyncRemote, times(1)).sendText("second", outboundQueue);
+    assertEquals(0, outboundQueue.size());
+  }
+
+  @Test
+  @DisplayName("Drops the new messages when the queue is full with the drop policy")
+  void offer_dropsWhenFull() throws Exception {
+    SessionOutboundQueue outboundQueue = createQueue(OutboundOverflowPolicy.DROP);
+
+    outboundQueue.offer("in-flight");
+    outboundQueue.offer("first");
+    outboundQueue.offer("second");
+    outboundQueue.offer("third");
+
+    assertEquals(2, outboundQueue.size());
+    assertEquals(1, metrics.getDropped());
+    verify(session, never()).close(any(CloseReason.class));
+  }
+
+  @Test
+  @DisplayName("Replaces in place a queued message of the same kind when the queue is full")
+  void offer_coalescesWhenFull() {
+    SessionOutboundQueue outboundQueue = createQueue(OutboundOverflowPolicy.COALESCE);
+
+    outboundQueue.offer("in-flight");
+    outboundQueue.offer(event("meetingAudioStreamChanged", "user-1", true));
+    outboundQueue.offer(event("meetingAudioStreamChanged", "user-2", true));
+    outboundQueue.offer(event("meetingAudioStreamChanged", "user-1", false));
+
+    assertEquals(2, outboundQueue.size());
+    assertEquals(1, metrics.getCoalesced());
+
+    outboundQueue.onResult(new SendResult());
+    outboundQueue.onResult(new SendResult());
+
+    InOrder inOrder = Mockito.inOrder(asyncRemote);
+    inOrder.verify(asyncRemote, times(1)).sendText("in-flight", outboundQueue);
+    inOrder
+        .verify(asyncRemote, times(1))
+        .sendText(event("meetingAudioStreamChanged", "user-1", false), outboundQueue);
+    inOrder
+        .verify(asyncRemote, times(1))
+        .sendText(event("meetingAudioStreamChanged", "user-2", true), outboundQueue);
+    verify(asyncRemote, never())
+        .sendText(event("meetingAudioStreamChanged", "user-1", true), outboundQueue);
+  }
+
+  @Test
+  @DisplayName("Moves the new message to the tail when a later queued event has the same entities")
+  void offer_coalescesAfterLaterEventOnSameEntities() {
+    SessionOutboundQueue outboundQueue = createQueue(OutboundOverflowPolicy.COALESCE);
+
+    outboundQueue.offer("in-flight");
+    outboundQueue.offer(event("meetingParticipantJoined", "user-1", true));
+    outboundQueue.offer(event("meetingParticipantLeft", "user-1", true));
+    outboundQueue.offer(event("meetingParticipantJoined", "user-1", false));
+
+    assertEquals(2, outboundQueue.size());
+    assertEquals(1, metrics.getCoalesced());
+
+    outboundQueue.onResult(new SendResult());
+    outboundQueue.onResult(new SendResult());
+
+    InOrder inOrder = Mockito.inOrder(asyncRemote);
+    inOrder.verify(asyncRemote, times(1)).sendText("in-flight", outboundQueue);
+    inOrder
+        .verify(asyncRemote, times(1))
+        .sendText(event("meetingParticipantLeft", "user-1", true), outboundQueue);
+    inOrder
+        .verify(asyncRemote, times(1))
+        .sendText(event("meetingParticipantJoined", "user-1", false), outboundQueue);
+    verify(asyncRemote, never())
+        .sendText(event("meetingParticipantJoined", "user-1", true), outboundQueue);
+  }
+
+  @Test
+  @DisplayName("Closes the session when the queue is full and nothing can be coalesced")
+  void offer_disconnectsWhenNothingToCoalesce() throws Exception {
+    SessionOutboundQueue outboundQueue = createQueue(OutboundOverflowPolicy.COALESCE);
+
+    outboundQueue.offer("in-flight");
+    outboundQueue.offer(event("meetingAudioStreamChanged", "user-1", true));
+    outboundQueue.offer(event("meetingAudioStreamChanged", "user-2", true));
+    outboundQueue.offer(event("meetingAudioStreamChanged", "user-3", true));
+
+    assertEquals(0, outboundQueue.size());
+    assertEquals(1, metrics.getDisconnected());
+    verify(session, times(1)).close(any(CloseReason.class));
+
+    outboundQueue.onResult(new SendResult());
+    outboundQueue.offer("after-close");
+
+    verify(asyncRemote, times(1)).sendText(anyString(), any(SendHandler.class));
+  }
+}
@@ -0,0 +1,195 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.web.socket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.zextras.carbonio.chats.core.annotations.UnitTest;
+import com.zextras.carbonio.chats.core.web.socket.SessionPingManager.PingWheel;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.Session;
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+class SessionPingManagerTest {
+
+  private Session createSession(boolean open) {
+    Session session = mock(Session.class);
+    when(session.getId()).thenReturn("session-id");
+    when(session.isOpen()).thenReturn(open);
+    when(session.getAsyncRemote()).thenReturn(mock(RemoteEndpoint.Async.class));
+    return session;
+  }
+
+  @Nested
+  @DisplayName("Ping wheel tests")
+  class PingWheelTests {
+
+    @Test
+    @DisplayName("Visits a new session only after a whole turn of the wheel")
+    void add_testVisitedAfterWholeTurn() {
+      PingWheel wheel = new PingWheel(3);
+      Session session = createSession(true);
+
+      wheel.next();
+      assertTrue(wheel.add(session));
+
+      assertFalse(wheel.next().contains(session));
+      assertFalse(wheel.next().contains(session));
+      assertTrue(wheel.next().contains(session));
+      assertFalse(wheel.next().contains(session));
+      assertFalse(wheel.next().contains(session));
+      assertTrue(wheel.next().contains(session));
+    }
+
+    @Test
+    @DisplayName("Spreads the sessions added at different times over different buckets")
+    void add_testSessionsSpread() {
+      PingWheel wheel = new PingWheel(3);
+      Session session1 = createSession(true);
+      Session session2 = createSession(true);
+      Session session3 = createSession(true);
+
+      wheel.add(session1);
+      wheel.next();
+      wheel.add(session2);
+      wheel.add(session3);
+
+      assertTrue(wheel.next().isEmpty());
+      assertEquals(Set.of(session1), Set.copyOf(wheel.next()));
+      assertEquals(Set.of(session2, session3), Set.copyOf(wheel.next()));
+    }
+
+    @Test
+    @DisplayName("Keeps a session added twice in a single bucket")
+    void add_testAlreadyAdded() {
+      PingWheel wheel = new PingWheel(3);
+      Session session = createSession(true);
+
+      assertTrue(wheel.add(session));
+      wheel.next();
+      assertFalse(wheel.add(session));
+
+      assertEquals(1, wheel.size());
+      assertFalse(wheel.next().contains(session));
+      assertTrue(wheel.next().contains(session));
+    }
+
+    @Test
+    @DisplayName("Does not visit a removed session anymore")
+    void remove_testNotVisited() {
+      PingWheel wheel = new PingWheel(3);
+      Session session = createSession(true);
+      wheel.add(session);
+
+      wheel.remove(session);
+      wheel.remove(session);
+
+      assertEquals(0, wheel.size());
+      assertFalse(wheel.next().contains(session));
+      assertFalse(wheel.next().contains(session));
+      assertFalse(wheel.next().contains(session));
+    }
+
+    @Test
+    @DisplayName("Keeps the buckets in line with the sessions when added and removed concurrently")
+    void remove_testConcurrentAdd() throws Exception {
+      PingWheel wheel = new PingWheel(3);
+      Session session = createSession(true);
+
+      for (int i = 0; i < 1000; i++) {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread adder = new Thread(() -> awaitAndRun(start, () -> wheel.add(session)));
+        Thread remover = new Thread(() -> awaitAndRun(start, () -> wheel.remove(session)));
+        adder.start();
+        remover.start();
+        start.countDown();
+        adder.join();
+        remover.join();
+
+        long buckets =
+            IntStream.range(0, 3).filter(bucket -> wheel.next().contains(session)).count();
+        assertEquals(wheel.size(), buckets);
+        wheel.remove(session);
+      }
+    }
+
+    private void awaitAndRun(CountDownLatch start, Runnable action) {
+      try {
+        start.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      action.run();
+    }
+  }
+
+  @Nested
+  @DisplayName("Session ping manager tests")
+  class SessionPingManagerTests {
+
+    @Test
+    @DisplayName("Pings a session as soon as it is added")
+    void add_testPingedAtOnce() throws Exception {
+      Session session = createSession(true);
+
+      SessionPingManager.add(session);
+
+      verify(session.getAsyncRemote(), timeout(1000).times(1)).sendPing(any(ByteBuffer.class));
+      SessionPingManager.remove(session);
+    }
+
+    @Test
+    @DisplayName("Pings a session only once if it is added twice")
+    void add_testAddedTwice() throws Exception {
+      Session session = createSession(true);
+
+      SessionPingManager.add(session);
+      SessionPingManager.add(session);
+
+      verify(session.getAsyncRemote(), after(500).times(1)).sendPing(any(ByteBuffer.class));
+      SessionPingManager.remove(session);
+    }
+
+    @Test
+    @DisplayName("Closes a removed session")
+    void remove_testSessionClosed() throws Exception {
+      Session session = createSession(true);
+      SessionPingManager.add(session);
+
+      SessionPingManager.remove(session);
+
+      verify(session, times(1)).close();
+    }
+
+    @Test
+    @DisplayName("Does not ping a session which is already closed")
+    void add_testClosedSession() throws Exception {
+      Session session = createSession(false);
+
+      SessionPingManager.add(session);
+
+      verify(session, timeout(1000).atLeastOnce()).isOpen();
+      verify(session.getAsyncRemote(), after(200).never()).sendPing(any(ByteBuffer.class));
+      verify(session, never()).close();
+    }
+  }
+}
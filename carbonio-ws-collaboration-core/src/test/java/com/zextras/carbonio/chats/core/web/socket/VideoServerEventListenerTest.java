@@ -0,0 +1,219 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.web.socket;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.CancelCallback;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.DeliverCallback;
+import com.rabbitmq.client.Delivery;
+import com.rabbitmq.client.Recoverable;
+import com.zextras.carbonio.async.model.DomainEvent;
+import com.zextras.carbonio.async.model.MeetingParticipantTalking;
+import com.zextras.carbonio.chats.core.annotations.UnitTest;
+import com.zextras.carbonio.chats.core.cache.CacheHandler;
+import com.zextras.carbonio.chats.core.config.ConfigName;
+import com.zextras.carbonio.chats.core.config.impl.MockAppConfig;
+import com.zextras.carbonio.chats.core.data.entity.VideoServerSession;
+import com.zextras.carbonio.chats.core.infrastructure.event.EventDispatcher;
+import com.zextras.carbonio.chats.core.infrastructure.videoserver.VideoServerService;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+@UnitTest
+class VideoServerEventListenerTest {
+
+  private static final int TALKING_EVENT_INTERVAL_IN_MILLI = 200;
+
+  private final Channel channel;
+  private final EventDispatcher eventDispatcher;
+  private final VideoServerService videoServerService;
+  private final CacheHandler cacheHandler;
+
+  private final String meetingId = UUID.randomUUID().toString();
+  private final String user1Id = UUID.randomUUID().toString();
+  private final String user2Id = UUID.randomUUID().toString();
+  private final String user3Id = UUID.randomUUID().toString();
+
+  private VideoServerEventListener videoServerEventListener;
+
+  public VideoServerEventListenerTest() {
+    this.channel = mock(Channel.class, withSettings().extraInterfaces(Recoverable.class));
+    this.eventDispatcher = mock(EventDispatcher.class);
+    this.videoServerService = mock(VideoServerService.class);
+    this.cacheHandler = new CacheHandler(MockAppConfig.create());
+    when(channel.isOpen()).thenReturn(true);
+    when(videoServerService.getSessions(meetingId))
+        .thenReturn(List.of(createSession(user1Id), createSession(user2Id)));
+  }
+
+  @AfterEach
+  public void cleanup() {
+    videoServerEventListener.stop();
+  }
+
+  private DeliverCallback startListener(int talkingEventInterval) throws Exception {
+    videoServerEventListener =
+        new VideoServerEventListener(
+            channel,
+            eventDispatcher,
+            new ObjectMapper(),
+            videoServerService,
+            cacheHandler,
+            MockAppConfig.create()
+                .set(
+                    ConfigName.VIDEO_SERVER_TALKING_EVENT_INTERVAL_IN_MILLI,
+                    String.valueOf(talkingEventInterval)));
+    videoServerEventListener.start();
+    ArgumentCaptor<DeliverCallback> deliverCallback =
+        ArgumentCaptor.forClass(DeliverCallback.class);
+    verify(channel, times(1))
+        .basicConsume(
+            anyString(), anyBoolean(), deliverCallback.capture(), any(CancelCallback.class));
+    return deliverCallback.getValue();
+  }
+
+  private VideoServerSession createSession(String userId) {
+    return VideoServerSession.create().userId(userId);
+  }
+
+  private void deliverAudioBridgeEvent(
+      DeliverCallback deliverCallback, String userId, String audioBridgeEvent) throws Exception {
+    String event =
+        String.format(
+            "{\"type\":64,\"opaque_id\":\"a/%s/%s\","
+                + "\"event\":{\"data\":{\"audiobridge\":\"%s\"}}}",
+            userId, meetingId, audioBridgeEvent);
+    deliverCallback.handle("tag", new Delivery(null, null, event.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private DomainEvent talking(String userId, boolean isTalking) {
+    return argThat(
+        event ->
+            event instanceof MeetingParticipantTalking talkingEvent
+                && talkingEvent.getUserId().toString().equals(userId)
+                && talkingEvent.isIsTalking() == isTalking);
+  }
+
+  @Nested
+  @DisplayName("Talking events tests")
+  class TalkingEventsTests {
+
+    @Test
+    @DisplayName("Sends the first talking event of a user at once")
+    void handleTalking_testFirstEventSentAtOnce() throws Exception {
+      DeliverCallback deliverCallback = startListener(TALKING_EVENT_INTERVAL_IN_MILLI);
+
+      deliverAudioBridgeEvent(deliverCallback, user1Id, "talking");
+
+      verify(eventDispatcher, times(1))
+          .sendToUserExchange(eq(List.of(user1Id, user2Id)), talking(user1Id, true));
+    }
+
+    @Test
+    @DisplayName("Merges the changes received within the interval and sends only the last state")
+    void handleTalking_testChangesMergedWithinInterval() throws Exception {
+      DeliverCallback deliverCallback = startListener(TALKING_EVENT_INTERVAL_IN_MILLI);
+
+      deliverAudioBridgeEvent(deliverCallback, user1Id, "talking");
+      deliverAudioBridgeEvent(deliverCallback, user1Id, "stopped-talking");
+      deliverAudioBridgeEvent(deliverCallback, user1Id, "talking");
+      deliverAudioBridgeEvent(deliverCallback, user1Id, "stopped-talking");
+
+      verify(eventDispatcher, times(1)).sendToUserExchange(anyList(), any(DomainEvent.class));
+      verify(eventDispatcher, timeout(TALKING_EVENT_INTERVAL_IN_MILLI * 10).times(1))
+          .sendToUserExchange(eq(List.of(user1Id, user2Id)), talking(user1Id, false));
+      verify(eventDispatcher, after(TALKING_EVENT_INTERVAL_IN_MILLI * 3).times(2))
+          .sendToUserExchange(anyList(), any(DomainEvent.class));
+    }
+
+    @Test
+    @DisplayName("Does not send a change reverted within the interval")
+    void handleTalking_testRevertedChangeNotSent() throws Exception {
+      DeliverCallback deliverCallback = startListener(TALKING_EVENT_INTERVAL_IN_MILLI);
+
+      deliverAudioBridgeEvent(deliverCallback, user1Id, "talking");
+      deliverAudioBridgeEvent(deliverCallback, user1Id, "stopped-talking");
+      deliverAudioBridgeEvent(deliverCallback, user1Id, "talking");
+
+      verify(eventDispatcher, after(TALKING_EVENT_INTERVAL_IN_MILLI * 3).times(1))
+          .sendToUserExchange(anyList(), any(DomainEvent.class));
+
+      deliverAudioBridgeEvent(deliverCallback, user1Id, "stopped-talking");
+
+      verify(eventDispatcher, times(1))
+          .sendToUserExchange(eq(List.of(user1Id, user2Id)), talking(user1Id, false));
+    }
+
+    @Test
+    @DisplayName("Keeps the state of each user separately")
+    void handleTalking_testUsersHandledSeparately() throws Exception {
+      DeliverCallback deliverCallback = startListener(TALKING_EVENT_INTERVAL_IN_MILLI);
+
+      deliverAudioBridgeEvent(deliverCallback, user1Id, "talking");
+      deliverAudioBridgeEvent(deliverCallback, user2Id, "talking");
+
+      verify(eventDispatcher, times(1))
+          .sendToUserExchange(eq(List.of(user1Id, user2Id)), talking(user1Id, true));
+      verify(eventDispatcher, times(1))
+          .sendToUserExchange(eq(List.of(user1Id, user2Id)), talking(user2Id, true));
+    }
+
+    @Test
+    @DisplayName("Sends every talking event when the interval is zero")
+    void handleTalking_testCoalescingDisabled() throws Exception {
+      DeliverCallback deliverCallback = startListener(0);
+
+      deliverAudioBridgeEvent(deliverCallback, user1Id, "talking");
+      deliverAudioBridgeEvent(deliverCallback, user1Id, "stopped-talking");
+      deliverAudioBridgeEvent(deliverCallback, user1Id, "talking");
+
+      verify(eventDispatcher, times(2))
+          .sendToUserExchange(eq(List.of(user1Id, user2Id)), talking(user1Id, true));
+      verify(eventDispatcher, times(1))
+          .sendToUserExchange(eq(List.of(user1Id, user2Id)), talking(user1Id, false));
+    }
+
+    @Test
+    @DisplayName("Reuses the meeting sessions until their cache entry is invalidated")
+    void handleTalking_testMeetingSessionsCacheInvalidated() throws Exception {
+      DeliverCallback deliverCallback = startListener(TALKING_EVENT_INTERVAL_IN_MILLI);
+
+      deliverAudioBridgeEvent(deliverCallback, user1Id, "talking");
+      deliverAudioBridgeEvent(deliverCallback, user2Id, "talking");
+      verify(videoServerService, times(1)).getSessions(meetingId);
+
+      when(videoServerService.getSessions(meetingId))
+          .thenReturn(
+              List.of(createSession(user1Id), createSession(user2Id), createSession(user3Id)));
+      cacheHandler.getMeetingSessionsCache().invalidate(meetingId);
+      deliverAudioBridgeEvent(deliverCallback, user3Id, "talking");
+
+      verify(videoServerService, times(2)).getSessions(meetingId);
+      verify(eventDispatcher, times(1))
+          .sendToUserExchange(eq(List.of(user1Id, user2Id, user3Id)), talking(user3Id, true));
+    }
+  }
+}
@@ -0,0 +1,132 @@
+// SPDX-FileCopyrightText: 2025 Zextras <https://www.zextras.com>
+//
+// SPDX-License-Identifier: AGPL-3.0-only
+
+package com.zextras.carbonio.chats.core.web.socket.versioning;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.vdurmont.semver4j.Semver;
+import com.zextras.carbonio.async.model.DomainEvent;
+import com.zextras.carbonio.chats.core.annotations.UnitTest;
+import com.zextras.carbonio.chats.core.web.api.versioning.ApiVersionMigration;
+import com.zextras.carbonio.chats.core.web.api.versioning.ChangeEvenTypeNameMigration;
+import com.zextras.carbonio.chats.core.web.api.versioning.ChangeSet;
+import com.zextras.carbonio.chats.core.web.api.versioning.VersionMigrationsRegistry;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+class WebsocketVersionMigratorTest {
+
+  private static final String OLD_VERSION = "1.6.0";
+  private static final String CURRENT_VERSION = "1.6.2";
+  private static final String ROOM_UPDATED = "{\"type\":\"RoomUpdated\",\"roomId\":\"room\"}";
+  private static final String ROOM_DELETED = "{\"type\":\"RoomDeleted\",\"roomId\":\"room\"}";
+
+  private ObjectMapper objectMapper;
+  private WebsocketVersionMigrator migrator;
+
+  @BeforeEach
+  void init() {
+    objectMapper = spy(new ObjectMapper());
+    migrator = new WebsocketVersionMigrator(objectMapper);
+  }
+
+  @AfterEach
+  void cleanup() {
+    VersionMigrationsRegistry.REGISTRY.clear();
+    VersionMigrationsRegistry.REGISTRY.register(
+        new ChangeSet(
+            new Semver(CURRENT_VERSION),
+            DomainEvent.class,
+            List.of(new ChangeEvenTypeNameMigration())));
+  }
+
+  @Test
+  @DisplayName("Downgrades an event for a version older than the last change set")
+  void downgradeIfNeeded_testDowngraded() throws Exception {
+    assertEquals(
+        "{\"roomId\":\"room\",\"type\":\"ROOM_UPDATED\"}",
+        migrator.downgradeIfNeeded(ROOM_UPDATED, OLD_VERSION));
+  }
+
+  @Test
+  @DisplayName("Returns the event as it is for an up to date version without parsing it")
+  void downgradeIfNeeded_testNotNeeded() throws Exception {
+    assertSame(ROOM_UPDATED, migrator.downgradeIfNeeded(ROOM_UPDATED, CURRENT_VERSION));
+    assertSame(ROOM_UPDATED, migrator.downgradeIfNeeded(ROOM_UPDATED, CURRENT_VERSION));
+
+    verify(objectMapper, never()).readTree(anyString());
+  }
+
+  @Test
+  @DisplayName("Downgrades the same event only once for the same version")
+  void downgradeIfNeeded_testCachedByVersionAndMessage() throws Exception {
+    String downgraded = migrator.downgradeIfNeeded(ROOM_UPDATED, OLD_VERSION);
+
+    assertSame(downgraded, migrator.downgradeIfNeeded(ROOM_UPDATED, OLD_VERSION));
+    verify(objectMapper, times(1)).readTree(ROOM_UPDATED);
+
+    migrator.downgradeIfNeeded(ROOM_UPDATED, "1.5.0");
+    verify(objectMapper, times(2)).readTree(ROOM_UPDATED);
+
+    assertEquals(
+        "{\"roomId\":\"room\",\"type\":\"ROOM_DELETED\"}",
+        migrator.downgradeIfNeeded(ROOM_DELETED, OLD_VERSION));
+    verify(objectMapper, times(1)).readTree(ROOM_DELETED);
+  }
+
+  @Test
+  @DisplayName("Downgrades an event again when the registered migrations change")
+  void downgradeIfNeeded_testRegistryRevisionChanged() throws Exception {
+    migrator.downgradeIfNeeded(ROOM_UPDATED, OLD_VERSION);
+
+    VersionMigrationsRegistry.REGISTRY.register(
+        new ChangeSet(new Semver("1.6.1"), DomainEvent.class, List.of(new AddLegacyField())));
+
+    assertEquals(
+        "{\"roomId\":\"room\",\"type\":\"ROOM_UPDATED\",\"legacy\":true}",
+        migrator.downgradeIfNeeded(ROOM_UPDATED, OLD_VERSION));
+    verify(objectMapper, times(2)).readTree(ROOM_UPDATED);
+  }
+
+  @Test
+  @DisplayName("Applies the migrations after the version of every session to the same event")
+  void downgradeIfNeeded_testVersionsHandledSeparately() throws Exception {
+    VersionMigrationsRegistry.REGISTRY.register(
+        new ChangeSet(new Semver("1.6.1"), DomainEvent.class, List.of(new AddLegacyField())));
+
+    assertEquals(
+        "{\"roomId\":\"room\",\"type\":\"ROOM_UPDATED\",\"legacy\":true}",
+        migrator.downgradeIfNeeded(ROOM_UPDATED, OLD_VERSION));
+    assertEquals(
+        "{\"roomId\":\"room\",\"type\":\"ROOM_UPDATED\"}",
+        migrator.downgradeIfNeeded(ROOM_UPDATED, "1.6.1"));
+    assertSame(ROOM_UPDATED, migrator.downgradeIfNeeded(ROOM_UPDATED, CURRENT_VERSION));
+  }
+
+  private static class AddLegacyField implements ApiVersionMigration {
+
+    @Override
+    public boolean canDowngrade(Class<?> clazz) {
+      return true;
+    }
+
+    @Override
+    public ObjectNode downgrade(ObjectNode input) {
+      return input.put("legacy", true);
+    }
+  }
+}
@@ -12,6 +12,7 @@ import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.Connection;
 import com.rabbitmq.client.ConnectionFactory;
 import com.zextras.carbonio.chats.core.config.AppConfig;
+import com.zextras.carbonio.chats.core.config.ConfigName;
 import com.zextras.carbonio.chats.core.exception.EventDispatcherException;
 import com.zextras.carbonio.chats.it.utils.IntegrationTestUtils;
 import com.zextras.carbonio.chats.it.utils.MeetingTestUtils;
@@ -34,7 +35,8 @@ public class TestModule extends AbstractModule {
   @Provides
   @Singleton
   public AppConfig getAppConfig() {
-    return TestAppConfig.create();
+    // health checks must follow the mock servers state, changed by each test
+    return TestAppConfig.create().set(ConfigName.HEALTH_CHECK_SNAPSHOT_TTL_IN_SEC, "0");
   }
 
   @Provides
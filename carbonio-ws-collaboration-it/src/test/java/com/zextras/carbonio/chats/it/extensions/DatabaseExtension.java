@@ -4,8 +4,10 @@
 
 package com.zextras.carbonio.chats.it.extensions;
 
+import com.google.inject.Injector;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zextras.carbonio.chats.core.cache.CacheHandler;
 import com.zextras.carbonio.chats.core.config.ConfigName;
 import com.zextras.carbonio.chats.core.logging.ChatsLogger;
 import com.zextras.carbonio.chats.it.config.InMemoryConfigStore;
@@ -99,5 +101,13 @@ public class DatabaseExtension implements BeforeAllCallback, BeforeEachCallback,
               ChatsLogger.debug("Cleaning up test DB...");
               flyway.clean();
             });
+    // cached data would outlive the cleaned rows, as the same identifiers are reused by tests
+    Optional.ofNullable(
+            extensionContext
+                .getRoot()
+                .getStore(Namespace.GLOBAL)
+                .get(GuiceExtension.GUICE_STORE_ENTRY))
+        .map(objectInjector -> (Injector) objectInjector)
+        .ifPresent(injector -> injector.getInstance(CacheHandler.class).invalidateAll());
   }
 }
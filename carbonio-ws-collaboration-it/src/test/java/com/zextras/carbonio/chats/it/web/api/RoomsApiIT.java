@@ -51,6 +51,7 @@ import com.zextras.carbonio.chats.model.MemberToInsertDto;
 import com.zextras.carbonio.chats.model.ParticipantDto;
 import com.zextras.carbonio.chats.model.RoomDto;
 import com.zextras.carbonio.chats.model.RoomTypeDto;
+import com.zextras.carbonio.chats.model.RoomsChangesDto;
 import jakarta.annotation.Nullable;
 import java.time.Clock;
 import java.time.Duration;
@@ -326,6 +327,74 @@ public class RoomsApiIT {
     }
   }
 
+  @Nested
+  @DisplayName("Gets rooms changes tests")
+  class GetsRoomsChangesTests {
+
+    private static final String URL = "/rooms/changes";
+
+    @Test
+    @DisplayName("Correctly gets the rooms of authenticated user changed since the date")
+    void listRoomsChanges_testOkChangedRooms() throws Exception {
+      UUID room1Id = UUID.randomUUID();
+      UUID room2Id = UUID.randomUUID();
+      integrationTestUtils.generateAndSaveRoom(
+          room1Id, RoomTypeDto.GROUP, "room1", List.of(user1Id, user2Id, user3Id));
+      integrationTestUtils.generateAndSaveRoom(
+          room2Id, RoomTypeDto.GROUP, "room2", List.of(user2Id, user3Id));
+
+      MockHttpResponse response =
+          dispatcher.get(
+              URL + "?since=2020-01-01T00:00:00Z&extraFields=members&extraFields=settings",
+              user1Token);
+      assertEquals(200, response.getStatus());
+      RoomsChangesDto changes =
+          objectMapper.readValue(response.getContentAsString(), RoomsChangesDto.class);
+      assertNotNull(changes.getSyncedAt());
+      assertEquals(1, changes.getRooms().size());
+      assertEquals(room1Id, changes.getRooms().get(0).getId());
+      assertEquals(3, changes.getRooms().get(0).getMembers().size());
+      assertNotNull(changes.getRooms().get(0).getUserSettings());
+      assertEquals(List.of(room1Id), changes.getRoomsIds());
+    }
+
+    @Test
+    @DisplayName("Correctly gets only the rooms identifiers if nothing changed since the date")
+    void listRoomsChanges_testOkNoChanges() throws Exception {
+      UUID room1Id = UUID.randomUUID();
+      UUID room2Id = UUID.randomUUID();
+      integrationTestUtils.generateAndSaveRoom(
+          room1Id, RoomTypeDto.GROUP, "room1", List.of(user1Id, user2Id, user3Id));
+      integrationTestUtils.generateAndSaveRoom(
+          room2Id, RoomTypeDto.GROUP, "room2", List.of(user1Id, user2Id));
+
+      MockHttpResponse response = dispatcher.get(URL + "?since=2999-01-01T00:00:00Z", user1Token);
+      assertEquals(200, response.getStatus());
+      RoomsChangesDto changes =
+          objectMapper.readValue(response.getContentAsString(), RoomsChangesDto.class);
+      assertEquals(0, changes.getRooms().size());
+      assertEquals(2, changes.getRoomsIds().size());
+      assertTrue(changes.getRoomsIds().containsAll(List.of(room1Id, room2Id)));
+    }
+
+    @Test
+    @DisplayName("If the date of the last sync is missing it returns a status code 400")
+    void listRoomsChanges_testErrorMissingSince() throws Exception {
+      MockHttpResponse response = dispatcher.get(URL, user1Token);
+
+      assertEquals(400, response.getStatus());
+    }
+
+    @Test
+    @DisplayName("If there isn't an authenticated user return a status code 401")
+    void listRoomsChanges_testErrorUnauthenticatedUser() throws Exception {
+      MockHttpResponse response = dispatcher.get(URL + "?since=2020-01-01T00:00:00Z", null);
+
+      assertEquals(401, response.getStatus());
+      assertEquals(0, response.getOutput().length);
+    }
+  }
+
   @Nested
   @DisplayName("Insert room tests")
   class InsertRoomTests {
@@ -345,8 +414,6 @@ public class RoomsApiIT {
         MockHttpResponse response;
         UUID roomId = UUID.fromString("86cc37de-1217-4056-8c95-69997a6bccce");
         mongooseImMockServer.mockCreateRoom(roomId.toString(), user1Id.toString(), true);
-        mongooseImMockServer.mockAddRoomMember(
-            roomId.toString(), user1Id.toString(), user2Id.toString(), true);
         String hopedXmppAffiliationMessage1 =
             String.format(
                     "<message xmlns='jabber:client' from='%s@carbonio' to='%s@muclight.carbonio'"
@@ -358,9 +425,6 @@ public class RoomsApiIT {
                 + "</x>"
                 + "<body/>"
                 + "</message>";
-        mongooseImMockServer.mockSendStanza(hopedXmppAffiliationMessage1, true);
-        mongooseImMockServer.mockAddRoomMember(
-            roomId.toString(), user1Id.toString(), user3Id.toString(), true);
         String hopedXmppAffiliationMessage2 =
             String.format(
                     "<message xmlns='jabber:client' from='%s@carbonio' to='%s@muclight.carbonio'"
@@ -372,7 +436,12 @@ public class RoomsApiIT {
                 + "</x>"
                 + "<body/>"
                 + "</message>";
-        mongooseImMockServer.mockSendStanza(hopedXmppAffiliationMessage2, true);
+        mongooseImMockServer.mockAddRoomMembers(
+            roomId.toString(),
+            user1Id.toString(),
+            List.of(user2Id.toString(), user3Id.toString()),
+            List.of(hopedXmppAffiliationMessage1, hopedXmppAffiliationMessage2),
+            true);
         try (MockedStatic<UUID> uuid = Mockito.mockStatic(UUID.class)) {
           uuid.when(UUID::randomUUID).thenReturn(roomId);
           uuid.when(() -> UUID.fromString(user1Id.toString())).thenReturn(user1Id);
@@ -433,8 +502,6 @@ public class RoomsApiIT {
         MockHttpResponse response;
         UUID roomId = UUID.fromString("86cc37de-1217-4056-8c95-69997a6bccce");
         mongooseImMockServer.mockCreateRoom(roomId.toString(), user1Id.toString(), true);
-        mongooseImMockServer.mockAddRoomMember(
-            roomId.toString(), user1Id.toString(), user2Id.toString(), true);
         String hopedXmppAffiliationMessage1 =
             String.format(
                     "<message xmlns='jabber:client' from='%s@carbonio' to='%s@muclight.carbonio'"
@@ -446,9 +513,6 @@ public class RoomsApiIT {
                 + "</x>"
                 + "<body/>"
                 + "</message>";
-        mongooseImMockServer.mockSendStanza(hopedXmppAffiliationMessage1, true);
-        mongooseImMockServer.mockAddRoomMember(
-            roomId.toString(), user1Id.toString(), user3Id.toString(), true);
         String hopedXmppAffiliationMessage2 =
             String.format(
                     "<message xmlns='jabber:client' from='%s@carbonio' to='%s@muclight.carbonio'"
@@ -460,7 +524,12 @@ public class RoomsApiIT {
                 + "</x>"
                 + "<body/>"
                 + "</message>";
-        mongooseImMockServer.mockSendStanza(hopedXmppAffiliationMessage2, true);
+        mongooseImMockServer.mockAddRoomMembers(
+            roomId.toString(),
+            user1Id.toString(),
+            List.of(user2Id.toString(), user3Id.toString()),
+            List.of(hopedXmppAffiliationMessage1, hopedXmppAffiliationMessage2),
+            true);
         try (MockedStatic<UUID> uuid = Mockito.mockStatic(UUID.class)) {
           uuid.when(UUID::randomUUID).thenReturn(roomId);
           uuid.when(() -> UUID.fromString(user1Id.toString())).thenReturn(user1Id);
@@ -562,8 +631,6 @@ public class RoomsApiIT {
         MockHttpResponse response;
         UUID roomId = UUID.fromString("86cc37de-1217-4056-8c95-69997a6bccce");
         mongooseImMockServer.mockCreateRoom(roomId.toString(), user1Id.toString(), true);
-        mongooseImMockServer.mockAddRoomMember(
-            roomId.toString(), user1Id.toString(), user2Id.toString(), true);
         String hopedXmppAffiliationMessage1 =
             String.format(
                     "<message xmlns='jabber:client' from='%s@carbonio' to='%s@muclight.carbonio'"
@@ -575,9 +642,6 @@ public class RoomsApiIT {
                 + "</x>"
                 + "<body/>"
                 + "</message>";
-        mongooseImMockServer.mockSendStanza(hopedXmppAffiliationMessage1, true);
-        mongooseImMockServer.mockAddRoomMember(
-            roomId.toString(), user1Id.toString(), user3Id.toString(), true);
         String hopedXmppAffiliationMessage2 =
             String.format(
                     "<message xmlns='jabber:client' from='%s@carbonio' to='%s@muclight.carbonio'"
@@ -589,7 +653,12 @@ public class RoomsApiIT {
                 + "</x>"
                 + "<body/>"
                 + "</message>";
-        mongooseImMockServer.mockSendStanza(hopedXmppAffiliationMessage2, true);
+        mongooseImMockServer.mockAddRoomMembers(
+            roomId.toString(),
+            user1Id.toString(),
+            List.of(user2Id.toString(), user3Id.toString()),
+            List.of(hopedXmppAffiliationMessage1, hopedXmppAffiliationMessage2),
+            true);
         try (MockedStatic<UUID> uuid = Mockito.mockStatic(UUID.class)) {
           uuid.when(UUID::randomUUID).thenReturn(roomId);
           uuid.when(() -> UUID.fromString(user1Id.toString())).thenReturn(user1Id);
@@ -650,8 +719,6 @@ public class RoomsApiIT {
         MockHttpResponse response;
         UUID roomId = UUID.fromString("86cc37de-1217-4056-8c95-69997a6bccce");
         mongooseImMockServer.mockCreateRoom(roomId.toString(), user1Id.toString(), true);
-        mongooseImMockServer.mockAddRoomMember(
-            roomId.toString(), user1Id.toString(), user2Id.toString(), true);
         String hopedXmppAffiliationMessage1 =
             String.format(
                     "<message xmlns='jabber:client' from='%s@carbonio' to='%s@muclight.carbonio'"
@@ -663,9 +730,6 @@ public class RoomsApiIT {
                 + "</x>"
                 + "<body/>"
                 + "</message>";
-        mongooseImMockServer.mockSendStanza(hopedXmppAffiliationMessage1, true);
-        mongooseImMockServer.mockAddRoomMember(
-            roomId.toString(), user1Id.toString(), user3Id.toString(), true);
         String hopedXmppAffiliationMessage2 =
             String.format(
                     "<message xmlns='jabber:client' from='%s@carbonio' to='%s@muclight.carbonio'"
@@ -677,7 +741,12 @@ public class RoomsApiIT {
                 + "</x>"
                 + "<body/>"
                 + "</message>";
-        mongooseImMockServer.mockSendStanza(hopedXmppAffiliationMessage2, true);
+        mongooseImMockServer.mockAddRoomMembers(
+            roomId.toString(),
+            user1Id.toString(),
+            List.of(user2Id.toString(), user3Id.toString()),
+            List.of(hopedXmppAffiliationMessage1, hopedXmppAffiliationMessage2),
+            true);
         try (MockedStatic<UUID> uuid = Mockito.mockStatic(UUID.class)) {
           uuid.when(UUID::randomUUID).thenReturn(roomId);
           uuid.when(() -> UUID.fromString(user1Id.toString())).thenReturn(user1Id);
@@ -802,8 +871,6 @@ public class RoomsApiIT {
         MockHttpResponse response;
         UUID roomId = UUID.fromString("c9f83f1c-9b96-4731-9404-79e45a5d6d3c");
         mongooseImMockServer.mockCreateRoom(roomId.toString(), user1Id.toString(), true);
-        mongooseImMockServer.mockAddRoomMember(
-            roomId.toString(), user1Id.toString(), user2Id.toString(), true);
         String hopedXmppAffiliationMessage =
             String.format(
                     "<message xmlns='jabber:client' from='%s@carbonio' to='%s@muclight.carbonio'"
@@ -815,7 +882,12 @@ public class RoomsApiIT {
                 + "</x>"
                 + "<body/>"
                 + "</message>";
-        mongooseImMockServer.mockSendStanza(hopedXmppAffiliationMessage, true);
+        mongooseImMockServer.mockAddRoomMembers(
+            roomId.toString(),
+            user1Id.toString(),
+            List.of(user2Id.toString()),
+            List.of(hopedXmppAffiliationMessage),
+            true);
         mongooseImMockServer.mockAddUserToContacts(user1Id.toString(), user2Id.toString(), true);
         try (MockedStatic<UUID> uuid = Mockito.mockStatic(UUID.class)) {
           uuid.when(UUID::randomUUID).thenReturn(roomId);
@@ -1529,9 +1601,7 @@ public class RoomsApiIT {
               RoomMemberField.create().id(user1Id).owner(true),
               RoomMemberField.create().id(user2Id).muted(true),
               RoomMemberField.create().id(user3Id)));
-      mongooseImMockServer.mockRemoveRoomMember(roomId.toString(), user1Id.toString(), true);
-      mongooseImMockServer.mockRemoveRoomMember(roomId.toString(), user2Id.toString(), true);
-      mongooseImMockServer.mockRemoveRoomMember(roomId.toString(), user3Id.toString(), true);
+      mongooseImMockServer.mockRemoveRoomMembers(roomId.toString(), true);
 
       MockHttpResponse response = dispatcher.delete(url(roomId), user1Token);
       assertEquals(204, response.getStatus());
@@ -1561,9 +1631,7 @@ public class RoomsApiIT {
                       .audioStreamOn(false)
                       .videoStreamOn(false)));
       integrationTestUtils.updateRoom(room.meetingId(meetingId.toString()));
-      mongooseImMockServer.mockRemoveRoomMember(roomId.toString(), user1Id.toString(), true);
-      mongooseImMockServer.mockRemoveRoomMember(roomId.toString(), user2Id.toString(), true);
-      mongooseImMockServer.mockRemoveRoomMember(roomId.toString(), user3Id.toString(), true);
+      mongooseImMockServer.mockRemoveRoomMembers(roomId.toString(), true);
 
       MockHttpResponse response = dispatcher.delete(url(roomId), user1Token);
       assertEquals(204, response.getStatus());
@@ -1596,9 +1664,7 @@ public class RoomsApiIT {
                       .audioStreamOn(false)
                       .videoStreamOn(false)));
       integrationTestUtils.updateRoom(room.meetingId(meetingId.toString()));
-      mongooseImMockServer.mockRemoveRoomMember(roomId.toString(), user1Id.toString(), true);
-      mongooseImMockServer.mockRemoveRoomMember(roomId.toString(), user2Id.toString(), true);
-      mongooseImMockServer.mockRemoveRoomMember(roomId.toString(), user3Id.toString(), true);
+      mongooseImMockServer.mockRemoveRoomMembers(roomId.toString(), true);
 
       meetingTestUtils.insertVideoServerMeeting(
           meetingId.toString(),
@@ -1684,9 +1750,7 @@ public class RoomsApiIT {
                 .mimeType("-"));
         storageMockServer.setBulkDeleteResponse(
             List.of(file1Id, file2Id), List.of(file1Id, file2Id));
-        mongooseImMockServer.mockRemoveRoomMember(roomId.toString(), user1Id.toString(), true);
-        mongooseImMockServer.mockRemoveRoomMember(roomId.toString(), user2Id.toString(), true);
-        mongooseImMockServer.mockRemoveRoomMember(roomId.toString(), user3Id.toString(), true);
+        mongooseImMockServer.mockRemoveRoomMembers(roomId.toString(), true);
 
         MockHttpResponse response = dispatcher.delete(url(roomId), user1Token);
 
@@ -1732,9 +1796,7 @@ public class RoomsApiIT {
                 .originalSize(0L)
                 .mimeType("-"));
         storageMockServer.setBulkDeleteResponse(List.of(file1Id, file2Id), List.of(file1Id));
-        mongooseImMockServer.mockRemoveRoomMember(roomId.toString(), user1Id.toString(), true);
-        mongooseImMockServer.mockRemoveRoomMember(roomId.toString(), user2Id.toString(), true);
-        mongooseImMockServer.mockRemoveRoomMember(roomId.toString(), user3Id.toString(), true);
+        mongooseImMockServer.mockRemoveRoomMembers(roomId.toString(), true);
 
         MockHttpResponse response = dispatcher.delete(url(roomId), user1Token);
 
@@ -1780,9 +1842,7 @@ public class RoomsApiIT {
                 .roomId(roomId.toString())
                 .originalSize(0L)
                 .mimeType("-"));
-        mongooseImMockServer.mockRemoveRoomMember(roomId.toString(), user1Id.toString(), true);
-        mongooseImMockServer.mockRemoveRoomMember(roomId.toString(), user2Id.toString(), true);
-        mongooseImMockServer.mockRemoveRoomMember(roomId.toString(), user3Id.toString(), true);
+        mongooseImMockServer.mockRemoveRoomMembers(roomId.toString(), true);
         storageMockServer.setBulkDeleteResponse(List.of(file1Id, file2Id), null);
 
         MockHttpResponse response = dispatcher.delete(url(roomId), user1Token);
@@ -2540,8 +2600,6 @@ public class RoomsApiIT {
       UUID roomId = UUID.randomUUID();
       integrationTestUtils.generateAndSaveRoom(
           roomId, RoomTypeDto.GROUP, "room", List.of(user1Id, user2Id));
-      mongooseImMockServer.mockAddRoomMember(
-          roomId.toString(), user1Id.toString(), user4Id.toString(), true);
       String hopedXmppAffiliationMessage =
           String.format(
                   "<message xmlns='jabber:client' from='%s@carbonio' to='%s@muclight.carbonio'"
@@ -2553,7 +2611,12 @@ public class RoomsApiIT {
               + "</x>"
               + "<body/>"
               + "</message>";
-      mongooseImMockServer.mockSendStanza(hopedXmppAffiliationMessage, true);
+      mongooseImMockServer.mockAddRoomMembers(
+          roomId.toString(),
+          user1Id.toString(),
+          List.of(user4Id.toString()),
+          List.of(hopedXmppAffiliationMessage),
+          true);
       List<MemberToInsertDto> requestMembers =
           List.of(MemberToInsertDto.create().userId(user4Id).historyCleared(false));
       MockHttpResponse response =
@@ -2594,8 +2657,6 @@ public class RoomsApiIT {
       UUID roomId = UUID.randomUUID();
       integrationTestUtils.generateAndSaveRoom(
           roomId, RoomTypeDto.GROUP, "room", List.of(user1Id, user2Id));
-      mongooseImMockServer.mockAddRoomMember(
-          roomId.toString(), user1Id.toString(), user4Id.toString(), true);
       String hopedXmppAffiliationMessage =
           String.format(
                   "<message xmlns='jabber:client' from='%s@carbonio' to='%s@muclight.carbonio'"
@@ -2607,7 +2668,12 @@ public class RoomsApiIT {
               + "</x>"
               + "<body/>"
               + "</message>";
-      mongooseImMockServer.mockSendStanza(hopedXmppAffiliationMessage, true);
+      mongooseImMockServer.mockAddRoomMembers(
+          roomId.toString(),
+          user1Id.toString(),
+          List.of(user4Id.toString()),
+          List.of(hopedXmppAffiliationMessage),
+          true);
       List<MemberToInsertDto> requestMembers =
           List.of(MemberToInsertDto.create().userId(user4Id).historyCleared(true));
       MockHttpResponse response =
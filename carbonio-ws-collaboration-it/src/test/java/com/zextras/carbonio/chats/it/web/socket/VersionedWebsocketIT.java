@@ -19,6 +19,7 @@ import com.zextras.carbonio.async.model.MeetingCreated;
 import com.zextras.carbonio.async.model.Ping;
 import com.zextras.carbonio.async.model.Pong;
 import com.zextras.carbonio.async.model.WebsocketConnected;
+import com.zextras.carbonio.chats.core.config.AppConfig;
 import com.zextras.carbonio.chats.core.infrastructure.authentication.AuthenticationService;
 import com.zextras.carbonio.chats.core.logging.ChatsLogger;
 import com.zextras.carbonio.chats.core.service.ParticipantService;
@@ -74,18 +75,21 @@ class VersionedWebsocketIT {
   private final ObjectMapper objectMapper;
   private final WebsocketVersionMigrator websocketVersionMigrator;
   private final ParticipantService participantService;
+  private final AppConfig appConfig;
 
   public VersionedWebsocketIT(
       AuthenticationService authenticationService,
       Channel channel,
       ObjectMapper objectMapper,
       WebsocketVersionMigrator websocketVersionMigrator,
-      ParticipantService participantService) {
+      ParticipantService participantService,
+      AppConfig appConfig) {
     this.authenticationService = authenticationService;
     this.channel = channel;
     this.objectMapper = objectMapper;
     this.websocketVersionMigrator = websocketVersionMigrator;
     this.participantService = participantService;
+    this.appConfig = appConfig;
   }
 
   @BeforeEach
@@ -93,7 +97,7 @@ class VersionedWebsocketIT {
     jettyServer = new Server(8081);
     eventsWebSocketManager =
         new EventsWebSocketManager(
-            channel, objectMapper, websocketVersionMigrator, participantService);
+            channel, objectMapper, websocketVersionMigrator, participantService, appConfig);
 
     ServletContextHandler context = new ServletContextHandler(ServletContextHandler.SESSIONS);
     context.setContextPath("/");